@@ -0,0 +1,71 @@
+package caas.service;
+
+import caas.dto.response.ContainerListResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kubernetes.client.openapi.ApiClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ContainerService.getContainers() 벤치마크.
+ * LIVE 는 컨테이너마다 (지연이 주입된) Deployment 조회를, CACHED 는 DB 컬럼만 사용한다.
+ * 지연 변경 예: java -jar build/libs/fast-cloud-caas-1.0-SNAPSHOT-jmh.jar ContainerListBenchmark -p latencyMicros=1000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContainerListBenchmark {
+
+	@Param({"10", "100", "1000", "10000"})
+	int applications;
+
+	@Param({"0"})
+	long latencyMicros;
+
+	@Param({"LIVE", "CACHED"})
+	StatusReadMode readMode;
+
+	// 캐시에 없는 상태 조회의 요청당 동시 실행 수 (1 = 순차)
+	@Param({"1", "8"})
+	int statusConcurrency;
+
+	private ContainerService containerService;
+
+	@Setup
+	public void setUp() {
+		ApiClient apiClient = StubKubernetes.apiClient(Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(latencyMicros)));
+		ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		containerService = new ContainerService(
+				StubKubernetes.repository(StubKubernetes.containerViews(applications)),
+				StubKubernetes.clusters(apiClient),
+				null,
+				objectMapper,
+				null,
+				null,
+				null,
+				null,
+				new ContainerStatusFanOut(new SimpleAsyncTaskExecutor("container-status-"), statusConcurrency));
+	}
+
+	@Benchmark
+	public ContainerListResponseDto getContainers() {
+		return containerService.getContainers(readMode);
+	}
+}
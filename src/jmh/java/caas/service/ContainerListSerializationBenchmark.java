@@ -0,0 +1,75 @@
+package caas.service;
+
+import caas.dto.response.ContainerListResponseDto;
+import caas.repositoty.projection.ContainerView;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ContainerListResponseDto 의 Jackson 직렬화. ObjectMapper 는 Spring MVC 와 같은 설정으로 만든다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContainerListSerializationBenchmark {
+
+	@Param({"10", "100", "1000", "10000"})
+	int applications;
+
+	private ObjectMapper objectMapper;
+	private ContainerListResponseDto response;
+
+	@Setup
+	public void setUp() {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+		List<ContainerListResponseDto.ContainerInfo> containers = StubKubernetes.containerViews(applications).stream()
+				.map(ContainerListSerializationBenchmark::toContainerInfo)
+				.toList();
+		response = ContainerListResponseDto.builder()
+				.summary(ContainerListResponseDto.Summary.builder()
+						.totalContainers(containers.size())
+						.runningContainers(containers.size())
+						.clusterCount(Math.min(containers.size(), 50))
+						.build())
+				.containers(containers)
+				.build();
+	}
+
+	@Benchmark
+	public byte[] serialize() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(response);
+	}
+
+	private static ContainerListResponseDto.ContainerInfo toContainerInfo(ContainerView view) {
+		return ContainerListResponseDto.ContainerInfo.builder()
+				.containerId(view.appId())
+				.clusterName(view.appName())
+				.status(view.cachedStatus())
+				.image(view.imageLink())
+				.ports(ContainerListResponseDto.ContainerInfo.Ports.builder()
+						.external(view.externalPort())
+						.internal(view.internalPort())
+						.build())
+				.createdAt(view.createdAt())
+				.build();
+	}
+}
@@ -0,0 +1,62 @@
+package caas.service;
+
+import io.kubernetes.client.openapi.JSON;
+import io.kubernetes.client.openapi.models.V1Deployment;
+import io.kubernetes.client.openapi.models.V1Ingress;
+import io.kubernetes.client.openapi.models.V1Service;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 생성 경로의 Deployment / Service / Ingress 매니페스트 구성과 요청 본문 직렬화 비용.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ManifestBenchmark {
+
+	private static final String CONTAINER_ID = "00000000-0000-0000-0000-000000000001";
+	private static final String DEPLOYMENT_NAME = "cluster-1-00000000";
+	private static final String SERVICE_NAME = DEPLOYMENT_NAME + "-svc";
+	private static final Instant REQUESTED_AT = Instant.parse("2025-01-01T00:00:00Z");
+
+	private final JSON json = new JSON();
+
+	@Benchmark
+	public V1Deployment deployment() {
+		return ContainerProvisioner.deploymentManifest(DEPLOYMENT_NAME, CONTAINER_ID, StubKubernetes.OWNER_USER_ID,
+				"nginx:1.25", 8080, StubKubernetes.resources(), REQUESTED_AT);
+	}
+
+	@Benchmark
+	public V1Service service() {
+		return ContainerProvisioner.serviceManifest(SERVICE_NAME, DEPLOYMENT_NAME, CONTAINER_ID,
+				StubKubernetes.OWNER_USER_ID, 8080);
+	}
+
+	@Benchmark
+	public V1Ingress ingress() {
+		return ContainerProvisioner.ingressManifest(ContainerProvisioner.ingressNameOf(DEPLOYMENT_NAME), SERVICE_NAME,
+				CONTAINER_ID, StubKubernetes.OWNER_USER_ID,
+				ContainerProvisioner.hostOf("Cluster 1", "apps.example.com"), 8080);
+	}
+
+	// ApiClient 가 요청 본문을 만들 때와 같은 Gson 직렬화 포함
+	@Benchmark
+	public String allSerialized() {
+		return json.serialize(deployment()) + json.serialize(service()) + json.serialize(ingress());
+	}
+}
@@ -0,0 +1,141 @@
+package caas.service;
+
+import caas.kubernetes.DeploymentStatusCache;
+import caas.kubernetes.KubernetesApiMetrics;
+import caas.kubernetes.KubernetesCluster;
+import caas.kubernetes.KubernetesClusterRegistry;
+import caas.kubernetes.KubernetesLabels;
+import caas.kubernetes.KubernetesResilience;
+import caas.repositoty.ApplicationRepository;
+import caas.repositoty.projection.ContainerView;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.JSON;
+import io.kubernetes.client.openapi.apis.AppsV1Api;
+import io.kubernetes.client.openapi.models.V1DeploymentStatus;
+import io.kubernetes.client.openapi.models.V1ResourceRequirements;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 벤치마크용 Kubernetes / DB 대역.
+ * 네트워크 없이 ApiClient 의 OkHttp 계층에서 고정 응답을 돌려주므로 결과가 클러스터 상태와 무관하게 재현된다.
+ */
+final class StubKubernetes {
+
+	static final String OWNER_USER_ID = "1";
+	static final String CLUSTER = "default";
+	static final String NAMESPACE = "default";
+	// 고정 시각: 실행 시각에 따라 데이터가 달라지지 않도록 한다
+	static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+	private static final MediaType JSON = MediaType.get("application/json");
+	// 실제 생성 경로가 만드는 매니페스트에 status 만 채운 응답 (응답 크기 / 역직렬화 비용을 실제와 맞춤)
+	private static final String RUNNING_DEPLOYMENT = new JSON().serialize(
+			ContainerProvisioner.deploymentManifest("cluster-1-00000000", "00000000-0000-0000-0000-000000000001",
+							OWNER_USER_ID, "nginx:1.25", 8080, resources(), Instant.parse("2025-01-01T00:00:00Z"))
+					.status(new V1DeploymentStatus().replicas(1).readyReplicas(1).availableReplicas(1)));
+
+	private StubKubernetes() {
+	}
+
+	/**
+	 * 기본 크기(100m / 128Mi, limit 비율 2 / 1)의 resources. 실제 생성 경로의 매니페스트와 크기를 맞춘다.
+	 */
+	static V1ResourceRequirements resources() {
+		return ContainerResourcePolicy.requirementsOf(new ContainerResources(100, 128L * 1024 * 1024), 2.0, 1.0);
+	}
+
+	/**
+	 * 모든 요청에 latency 만큼 지연한 뒤 RUNNING Deployment 를 응답하는 ApiClient.
+	 */
+	static ApiClient apiClient(Duration latency) {
+		long latencyNanos = latency.toNanos();
+		Interceptor stub = chain -> {
+			if (latencyNanos > 0) {
+				LockSupport.parkNanos(latencyNanos);
+			}
+			return new Response.Builder()
+					.request(chain.request())
+					.protocol(Protocol.HTTP_1_1)
+					.code(200)
+					.message("OK")
+					.body(ResponseBody.create(RUNNING_DEPLOYMENT, JSON))
+					.build();
+		};
+
+		OkHttpClient httpClient = new OkHttpClient.Builder()
+				.addInterceptor(stub)
+				.readTimeout(0, TimeUnit.MILLISECONDS)
+				.build();
+		ApiClient apiClient = new ApiClient(httpClient);
+		apiClient.setBasePath("http://kubernetes.stub");
+		return apiClient;
+	}
+
+	/**
+	 * Informer 를 띄우지 않는 캐시. LIVE 조회는 항상 ApiClient 로 내려간다.
+	 */
+	static DeploymentStatusCache disabledCache(ApiClient apiClient) {
+		return new DeploymentStatusCache(apiClient, false, NAMESPACE, KubernetesLabels.MANAGED_SELECTOR,
+				Duration.ofMinutes(5), Duration.ofMinutes(15), Duration.ofSeconds(30));
+	}
+
+	/**
+	 * Informer 를 띄우지 않는 단일 클러스터. 상태 조회에 쓰는 AppsV1Api 만 채운다.
+	 */
+	static KubernetesClusterRegistry clusters(ApiClient apiClient) {
+		return new KubernetesClusterRegistry(new KubernetesCluster(CLUSTER, NAMESPACE, apiClient,
+				new AppsV1Api(apiClient), null, null, null, disabledCache(apiClient), resilience()), List.of());
+	}
+
+	// 운영 기본값과 같은 보호 계층 설정
+	static KubernetesResilience resilience() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		return new KubernetesResilience(new KubernetesApiMetrics(meterRegistry), meterRegistry, CLUSTER,
+				32, Duration.ofMillis(100), 16, Duration.ofSeconds(5),
+				3, Duration.ofMillis(100), Duration.ofSeconds(1),
+				50, 20, 0.5, Duration.ofSeconds(30), 3);
+	}
+
+	static List<ContainerView> containerViews(int count) {
+		List<ContainerView> views = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			String appId = String.format("00000000-0000-0000-0000-%012d", i);
+			String appName = "cluster-" + (i % 50);
+			String deploymentName = appName + "-" + appId.substring(0, 8);
+			views.add(new ContainerView(appId, appName, CLUSTER, NAMESPACE, deploymentName, "RUNNING",
+					BASE_TIME.plusSeconds(i), "nginx:1.25." + (i % 10), 30000 + (i % 1000), 8080));
+		}
+		return views;
+	}
+
+	/**
+	 * findContainerViewsByOwnerUserId 만 구현한 ApplicationRepository. 다른 메서드는 호출되면 실패한다.
+	 */
+	static ApplicationRepository repository(List<ContainerView> views) {
+		return (ApplicationRepository) Proxy.newProxyInstance(
+				ApplicationRepository.class.getClassLoader(),
+				new Class<?>[]{ApplicationRepository.class},
+				(proxy, method, args) -> switch (method.getName()) {
+					case "findContainerViewsByOwnerUserId" -> views;
+					case "toString" -> "StubApplicationRepository";
+					case "hashCode" -> System.identityHashCode(proxy);
+					case "equals" -> proxy == args[0];
+					default -> throw new UnsupportedOperationException(method.getName());
+				});
+	}
+}
@@ -0,0 +1,126 @@
+package caas.service;
+
+import caas.kubernetes.DeploymentStatusResolver;
+import caas.kubernetes.KubernetesProtobuf;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import io.kubernetes.client.openapi.JSON;
+import io.kubernetes.client.openapi.models.V1Deployment;
+import io.kubernetes.client.openapi.models.V1DeploymentStatus;
+import io.kubernetes.client.proto.Runtime;
+import io.kubernetes.client.proto.V1Apps;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * kubernetes.client.wire-format 비교: Deployment 상태 조회 응답 파싱과 생성 요청 본문 직렬화 (JSON vs protobuf).
+ * 보조 지표 wireBytes 는 iteration 동안 전송한 바이트 합계(호출 수로 나누면 본문 크기), 호출당 할당량은 gc 프로파일러의 gc.alloc.rate.norm 으로 본다.
+ * java -jar build/libs/fast-cloud-caas-1.0-SNAPSHOT-jmh.jar WireFormatBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+	// ProtoClient 와 같은 응답 / 요청 framing: "k8s\0" + runtime.Unknown
+	private static final byte[] MAGIC = {0x6b, 0x38, 0x73, 0x00};
+	private static final String CONTAINER_ID = "00000000-0000-0000-0000-000000000001";
+	private static final String DEPLOYMENT_NAME = "cluster-1-00000000";
+	private static final Instant REQUESTED_AT = Instant.parse("2025-01-01T00:00:00Z");
+
+	private V1Deployment manifest;
+	private byte[] jsonResponse;
+	private byte[] protobufResponse;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class WireBytes {
+		public long wireBytes;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			wireBytes = 0;
+		}
+	}
+
+	@Setup
+	public void setUp() throws IOException {
+		manifest = ContainerProvisioner.deploymentManifest(DEPLOYMENT_NAME, CONTAINER_ID, StubKubernetes.OWNER_USER_ID,
+				"nginx:1.25", 8080, StubKubernetes.resources(), REQUESTED_AT);
+
+		V1Deployment running = ContainerProvisioner.deploymentManifest(DEPLOYMENT_NAME, CONTAINER_ID,
+				StubKubernetes.OWNER_USER_ID, "nginx:1.25", 8080, StubKubernetes.resources(), REQUESTED_AT);
+		running.getMetadata().namespace("default").uid(CONTAINER_ID).resourceVersion("12345").generation(1L);
+		running.status(new V1DeploymentStatus()
+				.observedGeneration(1L).replicas(1).updatedReplicas(1).readyReplicas(1).availableReplicas(1));
+		jsonResponse = JSON.serialize(running).getBytes(StandardCharsets.UTF_8);
+
+		V1Apps.Deployment.Builder proto = KubernetesProtobuf.toProto(running).toBuilder();
+		proto.getMetadataBuilder().setUid(CONTAINER_ID).setResourceVersion("12345").setGeneration(1);
+		proto.setStatus(V1Apps.DeploymentStatus.newBuilder()
+						.setObservedGeneration(1).setReplicas(1).setUpdatedReplicas(1).setReadyReplicas(1).setAvailableReplicas(1));
+		protobufResponse = frame(proto.build(), "apps/v1", "Deployment");
+	}
+
+	// 응답 본문 -> 모델 -> 상태 문자열 (ContainerService.readDeploymentStatus)
+	@Benchmark
+	public String readJson(WireBytes counters) {
+		counters.wireBytes += jsonResponse.length;
+		V1Deployment deployment = JSON.deserialize(new String(jsonResponse, StandardCharsets.UTF_8), V1Deployment.class);
+		return DeploymentStatusResolver.resolve(deployment);
+	}
+
+	@Benchmark
+	public String readProtobuf(WireBytes counters) throws InvalidProtocolBufferException {
+		counters.wireBytes += protobufResponse.length;
+		Runtime.Unknown unknown = Runtime.Unknown.parseFrom(Arrays.copyOfRange(protobufResponse, MAGIC.length, protobufResponse.length));
+		return KubernetesProtobuf.resolveStatus(V1Apps.Deployment.parseFrom(unknown.getRaw()));
+	}
+
+	// 매니페스트 -> 요청 본문 (ContainerProvisioner.createDeployment)
+	@Benchmark
+	public byte[] createJson(WireBytes counters) {
+		byte[] body = JSON.serialize(manifest).getBytes(StandardCharsets.UTF_8);
+		counters.wireBytes += body.length;
+		return body;
+	}
+
+	@Benchmark
+	public byte[] createProtobuf(WireBytes counters) throws IOException {
+		byte[] body = frame(KubernetesProtobuf.toProto(manifest), "apps/v1", "Deployment");
+		counters.wireBytes += body.length;
+		return body;
+	}
+
+	private static byte[] frame(Message message, String apiVersion, String kind) throws IOException {
+		Runtime.Unknown unknown = Runtime.Unknown.newBuilder()
+				.setTypeMeta(Runtime.TypeMeta.newBuilder().setApiVersion(apiVersion).setKind(kind))
+				.setRaw(ByteString.copyFrom(message.toByteArray()))
+				.build();
+		ByteArrayOutputStream out = new ByteArrayOutputStream(MAGIC.length + unknown.getSerializedSize());
+		out.write(MAGIC);
+		unknown.writeTo(out);
+		return out.toByteArray();
+	}
+}
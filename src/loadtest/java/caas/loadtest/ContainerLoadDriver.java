@@ -0,0 +1,209 @@
+package caas.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * ContainerController 부하 테스트 드라이버.
+ * 동시 worker 들이 정해진 시간 동안 생성(POST)과 목록 조회(GET)를 섞어 호출하고,
+ * 작업별 처리량과 p50 / p90 / p99 / max 지연, 응답 코드 분포를 출력한다.
+ *
+ * 옵션 (--key=value):
+ *   base-url     대상 서버 (기본 http://localhost:8080)
+ *   concurrency  동시 worker 수 (기본 16)
+ *   duration     측정 시간 (기본 60s, 예: 30s, 2m)
+ *   warmup       측정 전 워밍업 시간 (기본 10s)
+ *   create-ratio 요청 중 생성 비율 0.0 ~ 1.0 (기본 0.2)
+ *   create-path  생성 경로 (기본 /container/async, 동기 생성은 /container)
+ *   list-path    조회 경로 (기본 /container)
+ *   seed         작업 선택 난수 seed (기본 42)
+ */
+public final class ContainerLoadDriver {
+
+	private static final String CREATE = "create";
+	private static final String LIST = "list";
+
+	private ContainerLoadDriver() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = parseOptions(args);
+		String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+		int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "16"));
+		Duration duration = parseDuration(options.getOrDefault("duration", "60s"));
+		Duration warmup = parseDuration(options.getOrDefault("warmup", "10s"));
+		double createRatio = Double.parseDouble(options.getOrDefault("create-ratio", "0.2"));
+		String createPath = options.getOrDefault("create-path", "/container/async");
+		String listPath = options.getOrDefault("list-path", "/container");
+		long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+
+		HttpClient httpClient = HttpClient.newBuilder()
+				.connectTimeout(Duration.ofSeconds(5))
+				.executor(Executors.newFixedThreadPool(Math.max(2, concurrency / 4)))
+				.build();
+
+		System.out.printf("Target: %s, concurrency: %d, warmup: %s, duration: %s, create-ratio: %.2f%n",
+				baseUrl, concurrency, warmup, duration, createRatio);
+
+		if (!warmup.isZero()) {
+			run(httpClient, baseUrl, createPath, listPath, concurrency, warmup, createRatio, seed);
+		}
+		Map<String, Recorder> results = run(httpClient, baseUrl, createPath, listPath, concurrency, duration, createRatio, seed);
+		report(results, duration);
+		System.exit(0);
+	}
+
+	private static Map<String, Recorder> run(HttpClient httpClient, String baseUrl, String createPath, String listPath,
+											 int concurrency, Duration duration, double createRatio, long seed) throws Exception {
+		ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+		long deadline = System.nanoTime() + duration.toNanos();
+		List<Future<Map<String, Recorder>>> futures = new ArrayList<>(concurrency);
+
+		for (int i = 0; i < concurrency; i++) {
+			int workerIndex = i;
+			futures.add(workers.submit(() -> {
+				// worker 별로 독립된 recorder 를 쓰고 끝난 뒤 합쳐 측정 중 경합을 피한다
+				Map<String, Recorder> recorders = Map.of(CREATE, new Recorder(), LIST, new Recorder());
+				Random random = new Random(seed + workerIndex);
+				int sequence = 0;
+				while (System.nanoTime() < deadline) {
+					boolean create = random.nextDouble() < createRatio;
+					HttpRequest request = create
+							? createRequest(baseUrl + createPath, "load-" + workerIndex + "-" + sequence++)
+							: HttpRequest.newBuilder(URI.create(baseUrl + listPath)).timeout(Duration.ofSeconds(60)).GET().build();
+					recorders.get(create ? CREATE : LIST).record(httpClient, request);
+				}
+				return recorders;
+			}));
+		}
+
+		Map<String, Recorder> merged = new TreeMap<>(Map.of(CREATE, new Recorder(), LIST, new Recorder()));
+		for (Future<Map<String, Recorder>> future : futures) {
+			future.get().forEach((operation, recorder) -> merged.get(operation).merge(recorder));
+		}
+		workers.shutdown();
+		return merged;
+	}
+
+	private static HttpRequest createRequest(String url, String clusterName) {
+		String body = """
+				{"clusterName":"%s","imageLink":"nginx:1.25","externalPort":30080,"internalPort":80}""".formatted(clusterName);
+		return HttpRequest.newBuilder(URI.create(url))
+				.timeout(Duration.ofSeconds(60))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body))
+				.build();
+	}
+
+	private static void report(Map<String, Recorder> results, Duration duration) {
+		double seconds = duration.toMillis() / 1000.0;
+		long total = 0;
+		System.out.println();
+		System.out.printf("%-8s %9s %10s %9s %9s %9s %9s  %s%n",
+				"op", "count", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)", "status");
+		for (Map.Entry<String, Recorder> entry : results.entrySet()) {
+			Recorder recorder = entry.getValue();
+			long[] latencies = recorder.sortedLatencies();
+			total += latencies.length;
+			System.out.printf(Locale.ROOT, "%-8s %9d %10.1f %9.2f %9.2f %9.2f %9.2f  %s%n",
+					entry.getKey(), latencies.length, latencies.length / seconds,
+					millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.90)),
+					millis(percentile(latencies, 0.99)), millis(latencies.length == 0 ? 0 : latencies[latencies.length - 1]),
+					recorder.statusCounts);
+		}
+		System.out.printf(Locale.ROOT, "%-8s %9d %10.1f%n", "total", total, total / seconds);
+	}
+
+	private static long percentile(long[] sorted, double quantile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(quantile * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+
+	private static Map<String, String> parseOptions(String[] args) {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			if (arg.startsWith("--") && arg.contains("=")) {
+				int separator = arg.indexOf('=');
+				options.put(arg.substring(2, separator), arg.substring(separator + 1));
+			}
+		}
+		return options;
+	}
+
+	private static Duration parseDuration(String value) {
+		String normalized = value.trim().toLowerCase(Locale.ROOT);
+		if (normalized.endsWith("ms")) {
+			return Duration.ofMillis(Long.parseLong(normalized.substring(0, normalized.length() - 2)));
+		}
+		long amount = Long.parseLong(normalized.substring(0, normalized.length() - 1));
+		return switch (normalized.charAt(normalized.length() - 1)) {
+			case 's' -> Duration.ofSeconds(amount);
+			case 'm' -> Duration.ofMinutes(amount);
+			case 'h' -> Duration.ofHours(amount);
+			default -> throw new IllegalArgumentException("Unsupported duration: " + value);
+		};
+	}
+
+	private static final class Recorder {
+		private long[] latencies = new long[1024];
+		private int size;
+		private final Map<String, Integer> statusCounts = new TreeMap<>();
+
+		void record(HttpClient httpClient, HttpRequest request) {
+			long start = System.nanoTime();
+			String status;
+			try {
+				HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+				status = String.valueOf(response.statusCode());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (Exception e) {
+				status = e.getClass().getSimpleName();
+			}
+			add(System.nanoTime() - start);
+			statusCounts.merge(status, 1, Integer::sum);
+		}
+
+		void merge(Recorder other) {
+			for (int i = 0; i < other.size; i++) {
+				add(other.latencies[i]);
+			}
+			other.statusCounts.forEach((status, count) -> statusCounts.merge(status, count, Integer::sum));
+		}
+
+		long[] sortedLatencies() {
+			long[] sorted = Arrays.copyOf(latencies, size);
+			Arrays.sort(sorted);
+			return sorted;
+		}
+
+		private void add(long latency) {
+			if (size == latencies.length) {
+				latencies = Arrays.copyOf(latencies, size * 2);
+			}
+			latencies[size++] = latency;
+		}
+	}
+}
@@ -2,8 +2,10 @@ package caas;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class CaasApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(CaasApplication.class, args);
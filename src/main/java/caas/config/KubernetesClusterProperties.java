@@ -0,0 +1,15 @@
+package caas.config;
+
+/**
+ * kubernetes.clusters[n] 로 설정하는 추가 클러스터.
+ * kubeconfig 파일 경로, 사용할 context (비우면 current-context), 컨테이너를 만드는 namespace.
+ */
+public record KubernetesClusterProperties(String name, String kubeconfig, String context, String namespace) {
+
+	public KubernetesClusterProperties {
+		if (name == null || name.isBlank()) {
+			throw new IllegalStateException("kubernetes.clusters[].name is required");
+		}
+		namespace = namespace == null || namespace.isBlank() ? "default" : namespace;
+	}
+}
@@ -1,20 +1,208 @@
 package caas.config;
 
+import caas.kubernetes.DeploymentStatusCache;
+import caas.kubernetes.KubernetesCluster;
+import caas.kubernetes.KubernetesClusterRegistry;
+import caas.kubernetes.KubernetesProtoClient;
+import caas.kubernetes.KubernetesRateLimitInterceptor;
+import caas.kubernetes.KubernetesRateLimiter;
+import caas.kubernetes.KubernetesResilience;
+import caas.kubernetes.KubernetesTimeoutInterceptor;
+import caas.kubernetes.fake.FakeKubernetesApiServer;
 import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.apis.AppsV1Api;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.apis.NetworkingV1Api;
 import io.kubernetes.client.util.ClientBuilder;
 import io.kubernetes.client.util.KubeConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.okhttp3.OkHttpConnectionPoolMetrics;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
 
+import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class KubernetesConfig {
 
+	@Value("${kubernetes.client.http.max-idle-connections:10}")
+	private int maxIdleConnections;
+
+	@Value("${kubernetes.client.http.keep-alive:5m}")
+	private Duration keepAlive;
+
+	@Value("${kubernetes.client.http.http2-enabled:true}")
+	private boolean http2Enabled;
+
+	@Value("${kubernetes.client.http.ping-interval:30s}")
+	private Duration pingInterval;
+
+	@Value("${kubernetes.client.http.max-requests:128}")
+	private int maxRequests;
+
+	@Value("${kubernetes.client.http.max-requests-per-host:64}")
+	private int maxRequestsPerHost;
+
+	@Value("${kubernetes.client.http.call-timeout:60s}")
+	private Duration callTimeout;
+
+	@Value("${kubernetes.client.http.compression:true}")
+	private boolean compression;
+
+	// 두 ApiClient(요청용 / watch 용)가 같은 커넥션 풀과 dispatcher 를 공유
 	@Bean
-	public ApiClient kubernetesApiClient() throws IOException {
+	public ConnectionPool kubernetesConnectionPool() {
+		return new ConnectionPool(maxIdleConnections, keepAlive.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	@Bean
+	public Dispatcher kubernetesDispatcher() {
+		Dispatcher dispatcher = new Dispatcher();
+		dispatcher.setMaxRequests(maxRequests);
+		dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+		return dispatcher;
+	}
+
+	/**
+	 * 모든 Kubernetes API 호출이 쓰는 ApiClient. 비동기 호출은 dispatcher 한도를, 모든 호출은 call-timeout 을 따른다.
+	 * fake-k8s 프로파일이면 클러스터 대신 인프로세스 fake API 서버에 연결한다 (--spring.profiles.active=fake-k8s).
+	 */
+	@Bean
+	@Primary
+	public ApiClient kubernetesApiClient(ObjectProvider<FakeKubernetesApiServer> fakeKubernetesApiServer,
+										 ConnectionPool kubernetesConnectionPool,
+										 Dispatcher kubernetesDispatcher,
+										 KubernetesRateLimitInterceptor rateLimitInterceptor,
+										 KubernetesTimeoutInterceptor timeoutInterceptor) throws IOException {
+		ApiClient client = newApiClient(fakeKubernetesApiServer.getIfAvailable());
+		configureHttpClient(client, kubernetesConnectionPool, kubernetesDispatcher, rateLimitInterceptor, timeoutInterceptor, callTimeout);
+
+		io.kubernetes.client.openapi.Configuration.setDefaultApiClient(client);
+		return client;
+	}
+
+	/**
+	 * Informer 의 LIST / watch 용 ApiClient. watch 는 연결을 계속 유지하므로 call timeout 을 두지 않는다.
+	 */
+	@Bean
+	public ApiClient kubernetesWatchApiClient(ObjectProvider<FakeKubernetesApiServer> fakeKubernetesApiServer,
+											  ConnectionPool kubernetesConnectionPool,
+											  Dispatcher kubernetesDispatcher,
+											  KubernetesRateLimitInterceptor rateLimitInterceptor,
+											  KubernetesTimeoutInterceptor timeoutInterceptor) throws IOException {
+		ApiClient client = newApiClient(fakeKubernetesApiServer.getIfAvailable());
+		configureHttpClient(client, kubernetesConnectionPool, kubernetesDispatcher, rateLimitInterceptor, timeoutInterceptor, Duration.ZERO);
+		return client;
+	}
+
+	// 타입별 API 객체는 상태가 없으므로 호출마다 만들지 않고 공유
+	@Bean
+	public AppsV1Api appsV1Api(ApiClient kubernetesApiClient) {
+		return new AppsV1Api(kubernetesApiClient);
+	}
+
+	@Bean
+	public CoreV1Api coreV1Api(ApiClient kubernetesApiClient) {
+		return new CoreV1Api(kubernetesApiClient);
+	}
+
+	@Bean
+	public NetworkingV1Api networkingV1Api(ApiClient kubernetesApiClient) {
+		return new NetworkingV1Api(kubernetesApiClient);
+	}
+
+	/**
+	 * 컨테이너를 배치할 클러스터 목록. 위의 ApiClient / API 객체 / Informer 캐시가 기본 클러스터(kubernetes.cluster.name)가 되고,
+	 * kubernetes.clusters[n] 마다 요청용 / watch 용 ApiClient, rate limiter, Informer 캐시, 보호 계층을 따로 만든다.
+	 * 커넥션 풀과 dispatcher 는 모든 클러스터가 공유한다. fake-k8s 프로파일에서는 모든 클러스터가 같은 fake API 서버에 연결된다.
+	 */
+	@Bean(destroyMethod = "stop")
+	public KubernetesClusterRegistry kubernetesClusterRegistry(Environment environment,
+															   ObjectProvider<FakeKubernetesApiServer> fakeKubernetesApiServer,
+															   ConnectionPool kubernetesConnectionPool,
+															   Dispatcher kubernetesDispatcher,
+															   KubernetesRateLimiter rateLimiter,
+															   KubernetesResilience resilience,
+															   KubernetesTimeoutInterceptor timeoutInterceptor,
+															   ApiClient kubernetesApiClient,
+															   AppsV1Api appsV1Api,
+															   CoreV1Api coreV1Api,
+															   NetworkingV1Api networkingV1Api,
+															   KubernetesProtoClient protoClient,
+															   DeploymentStatusCache deploymentStatusCache,
+															   @Value("${kubernetes.cluster.name:default}") String defaultClusterName,
+															   @Value("${kubernetes.informer.namespace:default}") String defaultNamespace) throws IOException {
+		KubernetesCluster defaultCluster = new KubernetesCluster(defaultClusterName, defaultNamespace, kubernetesApiClient,
+				appsV1Api, coreV1Api, networkingV1Api, protoClient, deploymentStatusCache, resilience);
+
+		List<KubernetesCluster> additionalClusters = new ArrayList<>();
+		List<KubernetesClusterProperties> configured = Binder.get(environment)
+				.bind("kubernetes.clusters", Bindable.listOf(KubernetesClusterProperties.class))
+				.orElse(List.of());
+		for (KubernetesClusterProperties properties : configured) {
+			KubernetesRateLimitInterceptor rateLimitInterceptor =
+					new KubernetesRateLimitInterceptor(rateLimiter.forCluster(properties.name()));
+
+			ApiClient client = newApiClient(fakeKubernetesApiServer.getIfAvailable(), properties);
+			configureHttpClient(client, kubernetesConnectionPool, kubernetesDispatcher, rateLimitInterceptor, timeoutInterceptor, callTimeout);
+			ApiClient watchClient = newApiClient(fakeKubernetesApiServer.getIfAvailable(), properties);
+			configureHttpClient(watchClient, kubernetesConnectionPool, kubernetesDispatcher, rateLimitInterceptor, timeoutInterceptor, Duration.ZERO);
+
+			additionalClusters.add(new KubernetesCluster(properties.name(), properties.namespace(), client,
+					new AppsV1Api(client), new CoreV1Api(client), new NetworkingV1Api(client), new KubernetesProtoClient(client),
+					deploymentStatusCache.forCluster(watchClient, properties.namespace()),
+					resilience.forCluster(properties.name())));
+		}
+
+		KubernetesClusterRegistry registry = new KubernetesClusterRegistry(defaultCluster, additionalClusters);
+		registry.start();
+		return registry;
+	}
+
+	/**
+	 * 커넥션 풀(caas.k8s.http.pool.*)과 dispatcher(caas.k8s.http.dispatcher.*) 지표.
+	 * API 서버의 동시 요청 한도(max-requests-inflight)에 맞춰 풀 크기를 정할 때 사용한다.
+	 */
+	@Bean
+	public MeterBinder kubernetesHttpMetrics(ConnectionPool kubernetesConnectionPool, Dispatcher kubernetesDispatcher) {
+		return registry -> {
+			new OkHttpConnectionPoolMetrics(kubernetesConnectionPool, "caas.k8s.http.pool", Tags.empty(), maxIdleConnections)
+					.bindTo(registry);
+			Gauge.builder("caas.k8s.http.dispatcher.running", kubernetesDispatcher, Dispatcher::runningCallsCount)
+					.description("Asynchronous Kubernetes API calls currently executing")
+					.register(registry);
+			Gauge.builder("caas.k8s.http.dispatcher.queued", kubernetesDispatcher, Dispatcher::queuedCallsCount)
+					.description("Asynchronous Kubernetes API calls waiting for a dispatcher slot")
+					.register(registry);
+		};
+	}
+
+	private static ApiClient newApiClient(FakeKubernetesApiServer fakeKubernetesApiServer) throws IOException {
+		if (fakeKubernetesApiServer != null) {
+			return new ClientBuilder()
+					.setBasePath(fakeKubernetesApiServer.getBaseUrl())
+					.build();
+		}
+
 		ApiClient client;
 		String kubeConfigPath = System.getenv("KUBECONFIG");
 		
@@ -37,9 +225,51 @@ public class KubernetesConfig {
 				client = ClientBuilder.cluster().build();
 			}
 		}
-		
-		io.kubernetes.client.openapi.Configuration.setDefaultApiClient(client);
 		return client;
 	}
-}
 
+	// 추가 클러스터: 지정한 kubeconfig 파일과 context 로 연결
+	private static ApiClient newApiClient(FakeKubernetesApiServer fakeKubernetesApiServer,
+										  KubernetesClusterProperties properties) throws IOException {
+		if (fakeKubernetesApiServer != null) {
+			return newApiClient(fakeKubernetesApiServer);
+		}
+		if (properties.kubeconfig() == null || properties.kubeconfig().isBlank()) {
+			throw new IllegalStateException("kubernetes.clusters[].kubeconfig is required for cluster " + properties.name());
+		}
+
+		try (FileReader reader = new FileReader(properties.kubeconfig())) {
+			KubeConfig kubeConfig = KubeConfig.loadKubeConfig(reader);
+			// kubeconfig 안의 상대 경로(인증서 파일 등)를 파일 위치 기준으로 해석
+			kubeConfig.setFile(new File(properties.kubeconfig()));
+			if (properties.context() != null && !properties.context().isBlank() && !kubeConfig.setContext(properties.context())) {
+				throw new IllegalStateException("Context " + properties.context() + " not found in " + properties.kubeconfig());
+			}
+			return ClientBuilder.kubeconfig(kubeConfig).build();
+		}
+	}
+
+	// ClientBuilder 가 만든 OkHttpClient(인증 / TLS 설정 포함)를 기반으로 전송 계층 설정과 interceptor 를 추가
+	// 모든 요청(Informer 의 LIST 포함)이 같은 token bucket 을 거치며, 토큰 대기 시간은 요청 타임아웃에 포함되지 않도록 rate limit 을 먼저 적용
+	private void configureHttpClient(ApiClient client, ConnectionPool connectionPool, Dispatcher dispatcher,
+									 KubernetesRateLimitInterceptor rateLimitInterceptor,
+									 KubernetesTimeoutInterceptor timeoutInterceptor, Duration callTimeout) {
+		OkHttpClient.Builder builder = client.getHttpClient().newBuilder()
+				.connectionPool(connectionPool)
+				.dispatcher(dispatcher)
+				// HTTP/2 는 TLS(ALPN) 연결에서 협상되며, 요청과 watch 가 하나의 연결을 다중화해 쓴다
+				.protocols(http2Enabled ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1) : List.of(Protocol.HTTP_1_1))
+				.pingInterval(pingInterval)
+				.callTimeout(callTimeout)
+				.retryOnConnectionFailure(true)
+				.addInterceptor(rateLimitInterceptor)
+				.addInterceptor(timeoutInterceptor);
+		// OkHttp 는 Accept-Encoding 이 없으면 gzip 을 요청하고 응답을 자동으로 풀어준다. 끄면 압축하지 않은 응답을 요청
+		if (!compression) {
+			builder.addInterceptor(chain -> chain.proceed(chain.request().newBuilder()
+					.header("Accept-Encoding", "identity")
+					.build()));
+		}
+		client.setHttpClient(builder.build());
+	}
+}
@@ -0,0 +1,46 @@
+package caas.config;
+
+import caas.kubernetes.KubernetesLeaderElection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * GET /actuator/leader: 이 인스턴스의 leader election 상태.
+ * 로드 밸런서 뒤의 모든 인스턴스가 요청을 받으므로 health 에는 반영하지 않는다 (follower 도 UP).
+ */
+@Component
+@Endpoint(id = "leader")
+@RequiredArgsConstructor
+public class LeaderElectionEndpoint {
+
+	private final KubernetesLeaderElection leaderElection;
+
+	@ReadOperation
+	public LeaderElectionState leader() {
+		return new LeaderElectionState(
+				leaderElection.isEnabled(),
+				leaderElection.isLeader(),
+				leaderElection.identity(),
+				leaderElection.holder(),
+				leaderElection.namespace() + "/" + leaderElection.leaseName(),
+				leaderElection.leaderSince(),
+				leaderElection.lastRenewedAt(),
+				(long) leaderElection.transitions(true),
+				(long) leaderElection.transitions(false));
+	}
+
+	public record LeaderElectionState(boolean enabled,
+									  boolean leader,
+									  String identity,
+									  String holder,
+									  String lease,
+									  Instant leaderSince,
+									  Instant lastRenewedAt,
+									  long acquired,
+									  long lost) {
+	}
+}
@@ -0,0 +1,138 @@
+package caas.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ProvisioningExecutorConfig {
+
+	/**
+	 * 비동기 컨테이너 생성 작업을 처리하는 워커 풀.
+	 * 큐 깊이 제한은 ProvisioningOutboxDispatcher 의 입장 제어(inFlight Semaphore, 풀 최대 크기 + 큐 용량)와 함께 back-pressure 를 만든다.
+	 */
+	@Bean(name = "provisioningExecutor", destroyMethod = "shutdown")
+	public ThreadPoolTaskExecutor provisioningExecutor(
+			@Value("${caas.provisioning.core-pool-size:4}") int corePoolSize,
+			@Value("${caas.provisioning.max-pool-size:8}") int maxPoolSize,
+			@Value("${caas.provisioning.queue-capacity:100}") int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(corePoolSize);
+		executor.setMaxPoolSize(maxPoolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("provisioning-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(30);
+		executor.initialize();
+		return executor;
+	}
+
+	/**
+	 * Deployment 생성 이후 Service / Ingress 를 동시에 만들기 위한 팬아웃 풀.
+	 * 풀이 가득 차면 호출 스레드가 직접 실행하므로 워커 풀과 교착되지 않는다.
+	 * 가상 스레드 모드(spring.threads.virtual.enabled, Java 21+)에서는 동시 실행 수만 pool-size 로 제한한 가상 스레드를 쓴다.
+	 */
+	@Bean(name = "provisioningFanOutExecutor")
+	public TaskExecutor provisioningFanOutExecutor(
+			Environment environment,
+			@Value("${caas.provisioning.fan-out-pool-size:8}") int poolSize) {
+		if (Threading.VIRTUAL.isActive(environment)) {
+			return virtualThreadExecutor("provisioning-fanout-", poolSize);
+		}
+
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setQueueCapacity(0);
+		executor.setThreadNamePrefix("provisioning-fanout-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.initialize();
+		return executor;
+	}
+
+	/**
+	 * 일괄 생성(POST /container/batch)의 항목별 생성 saga 를 동시에 실행하는 풀.
+	 * 풀이 가득 차면 요청 스레드가 직접 실행하므로 동시 실행 수가 pool-size 근처로 유지된다.
+	 */
+	@Bean(name = "batchProvisioningExecutor")
+	public TaskExecutor batchProvisioningExecutor(
+			Environment environment,
+			@Value("${caas.container.batch.parallelism:8}") int parallelism) {
+		if (Threading.VIRTUAL.isActive(environment)) {
+			return virtualThreadExecutor("provisioning-batch-", parallelism);
+		}
+
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(parallelism);
+		executor.setMaxPoolSize(parallelism);
+		executor.setQueueCapacity(0);
+		executor.setThreadNamePrefix("provisioning-batch-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.initialize();
+		return executor;
+	}
+
+	/**
+	 * 컨테이너 목록 조회에서 Informer 캐시에 없는 Deployment 상태를 API 서버에서 동시에 읽는 풀.
+	 * 요청 하나의 동시 조회 수는 ContainerStatusFanOut 이, 전체 동시 조회 수는 이 풀의 크기가 제한한다.
+	 * 풀이 가득 차면 요청 스레드가 직접 조회한다. 가상 스레드 모드에서는 같은 한도의 가상 스레드를 쓴다.
+	 */
+	@Bean(name = "containerStatusExecutor")
+	public TaskExecutor containerStatusExecutor(
+			Environment environment,
+			@Value("${caas.container.status-lookup.pool-size:32}") int poolSize) {
+		if (Threading.VIRTUAL.isActive(environment)) {
+			return virtualThreadExecutor("container-status-", poolSize);
+		}
+
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setQueueCapacity(0);
+		executor.setThreadNamePrefix("container-status-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.initialize();
+		return executor;
+	}
+
+	/**
+	 * Pod 로그 / 이벤트 스트림(GET /container/{id}/logs, /pod-events)을 클라이언트로 복사하는 풀.
+	 * 스트림 하나가 스레드 하나를 끝날 때까지 쓰며, 동시 스트림 수는 ContainerLogService 가 max-streams 로 먼저 제한한다.
+	 */
+	@Bean(name = "containerLogExecutor")
+	public TaskExecutor containerLogExecutor(
+			Environment environment,
+			@Value("${caas.container.logs.max-streams:256}") int maxStreams) {
+		if (Threading.VIRTUAL.isActive(environment)) {
+			return virtualThreadExecutor("container-log-", maxStreams);
+		}
+
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(maxStreams);
+		executor.setMaxPoolSize(maxStreams);
+		// 끝난 스트림의 스레드가 풀로 돌아오기 전에 새 스트림이 들어오는 경우를 위한 여유
+		executor.setQueueCapacity(maxStreams);
+		executor.setAllowCoreThreadTimeOut(true);
+		executor.setThreadNamePrefix("container-log-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		executor.initialize();
+		return executor;
+	}
+
+	// 작업마다 가상 스레드를 만들고, 동시 실행 수가 한도에 닿으면 제출한 스레드가 자리가 날 때까지 기다린다
+	private static SimpleAsyncTaskExecutor virtualThreadExecutor(String threadNamePrefix, int concurrencyLimit) {
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+		executor.setVirtualThreads(true);
+		executor.setConcurrencyLimit(concurrencyLimit);
+		executor.setTaskTerminationTimeout(30_000);
+		return executor;
+	}
+}
@@ -0,0 +1,23 @@
+package caas.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class ReactiveConfig {
+
+	/**
+	 * reactive API 의 JPA(블로킹) 호출을 실행하는 스케줄러.
+	 * 스레드 수를 Hikari 풀 크기에 맞춰, 커넥션을 기다리며 막히는 스레드가 생기지 않고 나머지 작업은 큐에서 기다리게 한다.
+	 * 큐도 가득 차면 작업이 거절되어 요청이 실패한다.
+	 */
+	@Bean(name = "jpaScheduler", destroyMethod = "dispose")
+	public Scheduler jpaScheduler(
+			@Value("${caas.reactive.jpa.thread-cap:${spring.datasource.hikari.maximum-pool-size:10}}") int threadCap,
+			@Value("${caas.reactive.jpa.queued-task-cap:10000}") int queuedTaskCap) {
+		return Schedulers.newBoundedElastic(threadCap, queuedTaskCap, "jpa");
+	}
+}
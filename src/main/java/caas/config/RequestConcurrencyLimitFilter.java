@@ -0,0 +1,91 @@
+package caas.config;
+
+import caas.dto.response.ApiResponseDto;
+import caas.dto.response.ErrorCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 가상 스레드 모드의 요청 입장 제어.
+ * Tomcat 이 요청마다 가상 스레드를 만들면 server.tomcat.threads.max 가 동시 요청 수를 제한하지 못해, 대기 요청이 전부 Hikari 커넥션을
+ * 기다리며 쌓인다 (JDBC 드라이버 I/O 중에는 carrier 스레드도 고정될 수 있다). 동시에 처리 중인 요청 수를 제한하고 넘치면 503 으로 거절한다.
+ * 비동기 응답(NDJSON 스트림, SSE)은 요청 스레드가 반환될 때 자리를 돌려준다.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class RequestConcurrencyLimitFilter extends OncePerRequestFilter {
+
+	private final Semaphore permits;
+	private final Duration maxWait;
+	private final ObjectMapper objectMapper;
+	private final Counter rejected;
+
+	public RequestConcurrencyLimitFilter(ObjectMapper objectMapper,
+										 MeterRegistry meterRegistry,
+										 @Value("${caas.web.virtual-threads.max-concurrent-requests:200}") int maxConcurrentRequests,
+										 @Value("${caas.web.virtual-threads.max-wait:1s}") Duration maxWait) {
+		this.permits = new Semaphore(maxConcurrentRequests);
+		this.maxWait = maxWait;
+		this.objectMapper = objectMapper;
+		this.rejected = Counter.builder("caas.web.requests.rejected")
+				.description("Requests rejected by the virtual-thread concurrency limit")
+				.register(meterRegistry);
+		Gauge.builder("caas.web.requests.active", permits, semaphore -> maxConcurrentRequests - semaphore.availablePermits())
+				.description("Requests currently admitted by the virtual-thread concurrency limit")
+				.register(meterRegistry);
+		log.info("Virtual-thread request concurrency limit enabled. Max concurrent requests: {}", maxConcurrentRequests);
+	}
+
+	// health check / 지표 수집은 포화 상태에서도 응답해야 한다
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return request.getRequestURI().startsWith("/actuator");
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		if (!acquire()) {
+			rejected.increment();
+			ErrorCode errorCode = ErrorCode.TOO_MANY_CONCURRENT_REQUESTS;
+			response.setStatus(errorCode.getCode() / 100);
+			response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+			objectMapper.writeValue(response.getOutputStream(), ApiResponseDto.fail(errorCode));
+			return;
+		}
+
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			permits.release();
+		}
+	}
+
+	private boolean acquire() {
+		try {
+			return permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package caas.config;
+
+import caas.dto.response.ApiResponseDto;
+import caas.dto.response.ErrorCode;
+import caas.service.IdleContainerScaler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * scale-to-zero 된 컨테이너의 activator.
+ * 유휴 컨테이너의 Service 는 컨트롤 서버를 가리키므로, Host 가 replicas 0 인 애플리케이션의 것인 요청은 API 가 아니라 깨우기 요청이다.
+ * 요청 스레드를 반환한 채(servlet async) 컨테이너가 RUNNING 이 되어 Service 가 돌아올 때까지 기다린 뒤 같은 주소로 307 redirect 한다.
+ * wake-timeout 안에 깨어나지 않으면 Retry-After 와 함께 503 으로 응답한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "kubernetes.scale-to-zero.enabled", havingValue = "true")
+public class ScaleToZeroActivatorFilter extends OncePerRequestFilter {
+
+	private static final String RETRY_AFTER_SECONDS = "1";
+
+	private final IdleContainerScaler idleContainerScaler;
+	private final ObjectMapper objectMapper;
+	private final Duration wakeTimeout;
+
+	public ScaleToZeroActivatorFilter(IdleContainerScaler idleContainerScaler,
+									  ObjectMapper objectMapper,
+									  @Value("${kubernetes.scale-to-zero.wake-timeout:60s}") Duration wakeTimeout) {
+		this.idleContainerScaler = idleContainerScaler;
+		this.objectMapper = objectMapper;
+		this.wakeTimeout = wakeTimeout;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		Optional<CompletableFuture<Void>> wake = idleContainerScaler.wakeByHost(request.getServerName());
+		if (wake.isEmpty()) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+
+		String location = request.getQueryString() == null
+				? request.getRequestURI()
+				: request.getRequestURI() + "?" + request.getQueryString();
+		AsyncContext asyncContext = request.startAsync();
+		// 깨우기 future 가 wake-timeout 으로 먼저 끝나도록 여유를 둔다
+		asyncContext.setTimeout(wakeTimeout.plusSeconds(5).toMillis());
+		wake.get().whenComplete((ignored, failure) -> {
+			HttpServletResponse asyncResponse = (HttpServletResponse) asyncContext.getResponse();
+			try {
+				if (failure == null) {
+					asyncResponse.setStatus(HttpServletResponse.SC_TEMPORARY_REDIRECT);
+					asyncResponse.setHeader(HttpHeaders.LOCATION, location);
+				} else {
+					ErrorCode errorCode = ErrorCode.CONTAINER_WAKE_TIMEOUT;
+					asyncResponse.setStatus(errorCode.getCode() / 100);
+					asyncResponse.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+					asyncResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+					objectMapper.writeValue(asyncResponse.getOutputStream(), ApiResponseDto.fail(errorCode));
+				}
+			} catch (IOException | IllegalStateException e) {
+				log.debug("Failed to answer activator request for {}: {}", request.getServerName(), e.getMessage());
+			} finally {
+				asyncContext.complete();
+			}
+		});
+	}
+}
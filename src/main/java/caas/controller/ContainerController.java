@@ -1,16 +1,32 @@
 package caas.controller;
 
+import caas.dto.request.ContainerBatchCreateRequestDto;
 import caas.dto.request.ContainerCreateRequestDto;
 import caas.dto.response.ApiResponseDto;
+import caas.dto.response.ContainerBatchCreateResponseDto;
 import caas.dto.response.ContainerCreateResponseDto;
 import caas.dto.response.ContainerListResponseDto;
+import caas.dto.response.ContainerPageResponseDto;
+import caas.dto.response.ProvisioningStatusResponseDto;
 import caas.dto.response.SuccessCode;
+import caas.service.AsyncProvisioningService;
+import caas.service.BatchProvisioningService;
+import caas.service.ContainerLogService;
 import caas.service.ContainerService;
+import caas.service.StatusReadMode;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.OffsetDateTime;
 
 @RestController
 @RequestMapping("/container")
@@ -18,6 +34,9 @@ import org.springframework.web.bind.annotation.*;
 public class ContainerController {
 
 	private final ContainerService containerService;
+	private final AsyncProvisioningService asyncProvisioningService;
+	private final BatchProvisioningService batchProvisioningService;
+	private final ContainerLogService containerLogService;
 
 	@PostMapping
 	public ApiResponseDto<ContainerCreateResponseDto> createContainer(
@@ -26,10 +45,79 @@ public class ContainerController {
 		return ApiResponseDto.success(SuccessCode.CONTAINER_CREATE_SUCCESS, response);
 	}
 
+	@PostMapping("/async")
+	public ResponseEntity<ApiResponseDto<ContainerCreateResponseDto>> createContainerAsync(
+			@Valid @RequestBody ContainerCreateRequestDto request) {
+		ContainerCreateResponseDto response = asyncProvisioningService.submit(request);
+		return ResponseEntity.status(HttpStatus.ACCEPTED)
+				.body(ApiResponseDto.success(SuccessCode.CONTAINER_CREATE_ACCEPTED, response));
+	}
+
+	@PostMapping("/batch")
+	public ApiResponseDto<ContainerBatchCreateResponseDto> createContainers(
+			@Valid @RequestBody ContainerBatchCreateRequestDto request) {
+		ContainerBatchCreateResponseDto response = batchProvisioningService.createContainers(request);
+		return ApiResponseDto.success(SuccessCode.CONTAINER_BATCH_CREATE_SUCCESS, response);
+	}
+
 	@GetMapping
-	public ApiResponseDto<ContainerListResponseDto> getContainers() {
-		ContainerListResponseDto response = containerService.getContainers();
+	public ApiResponseDto<ContainerListResponseDto> getContainers(
+			@RequestParam(required = false) StatusReadMode readMode) {
+		ContainerListResponseDto response = containerService.getContainers(readMode);
 		return ApiResponseDto.success(SuccessCode.CONTAINER_LIST_SUCCESS, response);
 	}
+
+	@GetMapping("/page")
+	public ApiResponseDto<ContainerPageResponseDto> getContainerPage(
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "50") int size,
+			@RequestParam(required = false) StatusReadMode readMode) {
+		ContainerPageResponseDto response = containerService.getContainerPage(cursor, size, readMode);
+		return ApiResponseDto.success(SuccessCode.CONTAINER_LIST_SUCCESS, response);
+	}
+
+	@GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamContainers(
+			@RequestParam(required = false) StatusReadMode readMode) {
+		StreamingResponseBody body = outputStream -> containerService.streamContainers(outputStream, readMode);
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(body);
+	}
+
+	@GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter subscribeStatusEvents() {
+		return containerService.subscribeStatusEvents();
+	}
+
+	@GetMapping("/{containerId}/provisioning")
+	public ApiResponseDto<ProvisioningStatusResponseDto> getProvisioningStatus(@PathVariable String containerId) {
+		ProvisioningStatusResponseDto response = asyncProvisioningService.getProvisioningStatus(containerId);
+		return ApiResponseDto.success(SuccessCode.CONTAINER_PROVISIONING_STATUS_SUCCESS, response);
+	}
+
+	@DeleteMapping("/{containerId}")
+	public ApiResponseDto<Void> deleteContainer(@PathVariable String containerId) {
+		containerService.deleteContainer(containerId);
+		return ApiResponseDto.success(SuccessCode.CONTAINER_DELETE_SUCCESS);
+	}
+
+	@GetMapping("/{containerId}/logs")
+	public void streamLogs(@PathVariable String containerId,
+						   @RequestParam(required = false) String pod,
+						   @RequestParam(defaultValue = "false") boolean follow,
+						   @RequestParam(required = false) Integer tailLines,
+						   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime sinceTime,
+						   HttpServletRequest request, HttpServletResponse response) {
+		containerLogService.streamLogs(containerId, pod, follow, tailLines, sinceTime, request, response);
+	}
+
+	@GetMapping("/{containerId}/pod-events")
+	public void streamPodEvents(@PathVariable String containerId,
+								@RequestParam(required = false) String pod,
+								@RequestParam(defaultValue = "false") boolean follow,
+								HttpServletRequest request, HttpServletResponse response) {
+		containerLogService.streamEvents(containerId, pod, follow, request, response);
+	}
     
 }
@@ -0,0 +1,38 @@
+package caas.controller;
+
+import caas.dto.request.ContainerCreateRequestDto;
+import caas.dto.response.ApiResponseDto;
+import caas.dto.response.ContainerCreateResponseDto;
+import caas.dto.response.ContainerListResponseDto;
+import caas.dto.response.SuccessCode;
+import caas.service.ReactiveContainerService;
+import caas.service.StatusReadMode;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * /container 와 같은 응답을 Mono 로 반환한다. 결과를 기다리는 동안 요청 스레드를 점유하지 않는다 (서블릿 비동기 처리).
+ */
+@RestController
+@RequestMapping("/reactive/container")
+@RequiredArgsConstructor
+public class ReactiveContainerController {
+
+	private final ReactiveContainerService reactiveContainerService;
+
+	@PostMapping
+	public Mono<ApiResponseDto<ContainerCreateResponseDto>> createContainer(
+			@Valid @RequestBody ContainerCreateRequestDto request) {
+		return reactiveContainerService.createContainer(request)
+				.map(response -> ApiResponseDto.success(SuccessCode.CONTAINER_CREATE_SUCCESS, response));
+	}
+
+	@GetMapping
+	public Mono<ApiResponseDto<ContainerListResponseDto>> getContainers(
+			@RequestParam(required = false) StatusReadMode readMode) {
+		return reactiveContainerService.getContainers(readMode)
+				.map(response -> ApiResponseDto.success(SuccessCode.CONTAINER_LIST_SUCCESS, response));
+	}
+}
@@ -0,0 +1,17 @@
+package caas.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContainerBatchCreateRequestDto {
+	@NotEmpty(message = "생성할 컨테이너 목록은 필수입니다.")
+	private List<@Valid ContainerCreateRequestDto> containers;
+}
@@ -21,4 +21,9 @@ public class ContainerCreateRequestDto {
 
 	@NotNull(message = "내부 포트는 필수입니다.")
 	private Integer internalPort;
+
+	// Kubernetes quantity 형식 (예: 250m, 0.5 / 256Mi, 1Gi). 비어 있으면 기본 크기
+	private String cpu;
+
+	private String memory;
 }
@@ -0,0 +1,57 @@
+package caas.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+
+import java.util.List;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+@Builder
+public record ContainerBatchCreateResponseDto(
+		@JsonProperty("summary")
+		Summary summary,
+
+		@JsonProperty("results")
+		List<Result> results
+) {
+	@Builder
+	public record Summary(
+			@JsonProperty("requested")
+			Integer requested,
+
+			@JsonProperty("succeeded")
+			Integer succeeded,
+
+			@JsonProperty("failed")
+			Integer failed
+	) {}
+
+	/**
+	 * 요청 목록의 index 번째 항목 결과. 실패한 항목의 상세 오류는 GET /container/{containerId}/provisioning 으로 조회한다.
+	 */
+	@Builder
+	public record Result(
+			@JsonProperty("index")
+			Integer index,
+
+			@JsonProperty("containerId")
+			String containerId,
+
+			@JsonProperty("result")
+			String result,
+
+			@JsonProperty("errorCode")
+			@JsonInclude(value = NON_NULL)
+			Integer errorCode,
+
+			@JsonProperty("errorMessage")
+			@JsonInclude(value = NON_NULL)
+			String errorMessage,
+
+			@JsonProperty("container")
+			@JsonInclude(value = NON_NULL)
+			ContainerCreateResponseDto container
+	) {}
+}
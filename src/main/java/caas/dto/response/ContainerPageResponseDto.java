@@ -0,0 +1,26 @@
+package caas.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+
+import java.util.List;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+@Builder
+public record ContainerPageResponseDto(
+		@JsonProperty("summary")
+		ContainerListResponseDto.Summary summary,
+
+		@JsonProperty("containers")
+		List<ContainerListResponseDto.ContainerInfo> containers,
+
+		@JsonProperty("nextCursor")
+		@JsonInclude(value = NON_NULL)
+		String nextCursor,
+
+		@JsonProperty("hasNext")
+		boolean hasNext
+) {
+}
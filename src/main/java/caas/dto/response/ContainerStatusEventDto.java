@@ -0,0 +1,24 @@
+package caas.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+@Builder
+public record ContainerStatusEventDto(
+		@JsonProperty("containerId")
+		String containerId,
+
+		@JsonProperty("previousStatus")
+		String previousStatus,
+
+		@JsonProperty("status")
+		String status,
+
+		@JsonProperty("occurredAt")
+		@JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+		LocalDateTime occurredAt
+) {
+}
@@ -12,6 +12,7 @@ public enum ErrorCode {
 	MISSING_REQUIRED_HEADER(40001, "필수 헤더가 누락되었습니다."),
 	MISSING_REQUIRED_PARAMETER(40002, "필수 파라미터가 누락되었습니다."),
 	INVALID_PARAMETER(40003, "유효하지 않은 파라미터입니다."),
+	INVALID_CONTAINER_RESOURCES(40004, "유효하지 않은 CPU / 메모리 크기입니다."),
 
 	//401 Unauthorized
 	UNAUTHORIZED_SOCIAL_TOKEN(40100, "유효하지 않은 소셜 토큰입니다."),
@@ -21,6 +22,7 @@ public enum ErrorCode {
 
 	//403 Forbidden
 	ACCESS_DENIED(40300, "권한이 없습니다."),
+	CONTAINER_QUOTA_EXCEEDED(40301, "컨테이너 할당량(개수 / CPU / 메모리)을 초과했습니다."),
 
 	//404 Not Found
 	NOT_FOUND(40400, "존재하지 않는 API입니다."),
@@ -28,12 +30,15 @@ public enum ErrorCode {
 	HOUSE_NOT_FOUND(40402, "존재하지 않는 매물입니다."),
 	ROOM_NOT_FOUND(40403, "존재하지 않는 방입니다."),
 	USER_NOT_FOUND(40404, "존재하지 않는 유저입니다."),
+	CONTAINER_NOT_FOUND(40405, "존재하지 않는 컨테이너입니다."),
+	CONTAINER_POD_NOT_FOUND(40406, "컨테이너의 Pod 가 없습니다."),
 
 	//405 Method Not Allowed
 	METHOD_NOT_ALLOWED(40500, "해당 요청은 지원되지 않습니다."),
 
 	//409 Conflict
 	USER_ALREADY_REGISTERED(40900, "이미 가입된 사용자입니다."),
+	CONTAINER_LOG_NOT_READY(40901, "컨테이너가 아직 시작되지 않아 로그를 읽을 수 없습니다."),
 
 	//422 Unprocessable Entity
 	UNSUPPORTED_SOCIAL_PROVIDER(42200, "지원하지 않는 소셜 로그인 제공자입니다."),
@@ -42,9 +47,16 @@ public enum ErrorCode {
 	INTERNAL_SERVER_ERROR(50000, "서버 내부 오류입니다."),
 	DATABASE_CONNECTION_ERROR(50001, "데이터베이스 연결 오류입니다."),
 	LOGOUT_FAILED(50002, "로그아웃 처리 중 오류가 발생했습니다."),
+	CONTAINER_CREATE_FAILED(50003, "컨테이너 생성 중 오류가 발생했습니다."),
 
 	//503 Service Unavailable
-	SERVICE_UNAVAILABLE(50300, "서비스를 이용할 수 없습니다.");
+	SERVICE_UNAVAILABLE(50300, "서비스를 이용할 수 없습니다."),
+	PROVISIONING_QUEUE_FULL(50301, "컨테이너 생성 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."),
+	KUBERNETES_UNAVAILABLE(50302, "Kubernetes API 서버에 연결할 수 없습니다. 잠시 후 다시 시도해주세요."),
+	TOO_MANY_CONCURRENT_REQUESTS(50303, "동시 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."),
+	CLUSTER_CAPACITY_EXCEEDED(50304, "컨테이너를 배치할 수 있는 클러스터 용량이 없습니다. 잠시 후 다시 시도해주세요."),
+	CONTAINER_WAKE_TIMEOUT(50305, "유휴 상태의 컨테이너를 깨우는 중입니다. 잠시 후 다시 시도해주세요."),
+	TOO_MANY_LOG_STREAMS(50306, "동시에 열린 로그 스트림이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
 
 	private final int code;
 	private final String message;
@@ -0,0 +1,31 @@
+package caas.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+@Builder
+public record ProvisioningStatusResponseDto(
+		@JsonProperty("containerId")
+		String containerId,
+
+		@JsonProperty("provisioningStatus")
+		String provisioningStatus,
+
+		@JsonProperty("status")
+		String status,
+
+		@JsonProperty("error")
+		@JsonInclude(value = NON_NULL)
+		String error,
+
+		@JsonProperty("updatedAt")
+		@JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+		LocalDateTime updatedAt
+) {
+}
@@ -10,7 +10,13 @@ public enum SuccessCode {
 	//200 OK
 	BUCKET_CREATE_SUCCESS(20001, "버킷 생성 성공"),
 	CONTAINER_CREATE_SUCCESS(20002, "컨테이너 생성 요청이 성공적으로 접수되었습니다."),
-	CONTAINER_LIST_SUCCESS(20003, "컨테이너 목록을 성공적으로 조회했습니다.");
+	CONTAINER_LIST_SUCCESS(20003, "컨테이너 목록을 성공적으로 조회했습니다."),
+	CONTAINER_PROVISIONING_STATUS_SUCCESS(20004, "컨테이너 생성 진행 상태를 성공적으로 조회했습니다."),
+	CONTAINER_BATCH_CREATE_SUCCESS(20005, "컨테이너 일괄 생성 요청을 처리했습니다. 항목별 결과를 확인해주세요."),
+	CONTAINER_DELETE_SUCCESS(20006, "컨테이너를 삭제했습니다."),
+
+	//202 Accepted
+	CONTAINER_CREATE_ACCEPTED(20201, "컨테이너 생성 요청이 접수되었습니다. 진행 상태를 조회해주세요.");
 
 	private final int code;
 	private final String message;
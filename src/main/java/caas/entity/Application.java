@@ -2,16 +2,21 @@ package caas.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "caas_application")
+@Table(name = "caas_application",
+        indexes = @Index(name = "idx_app_owner_created", columnList = "owner_user_id, created_at, app_id"))
 @Data
-public class Application {
+public class Application implements Persistable<String> {
 
     @Id
     @Column(name = "app_id", length = 36)
@@ -20,6 +25,10 @@ public class Application {
     @Column(name = "app_name", nullable = false, length = 255)
     private String appName;
 
+    // 배치된 클러스터 이름 (kubernetes.cluster.name / kubernetes.clusters[n].name). null 이면 기본 클러스터
+    @Column(name = "k8s_cluster", length = 100)
+    private String k8sCluster;
+
     @Column(name = "k8s_namespace", nullable = false, length = 255)
     private String k8sNamespace;
 
@@ -35,11 +44,52 @@ public class Application {
     @Column(name = "cached_status", nullable = false, length = 50)
     private String cachedStatus;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "provisioning_status", length = 50)
+    private ProvisioningStatus provisioningStatus;
+
+    @Column(name = "provisioning_error", length = 1000)
+    private String provisioningError;
+
+    // Ingress 로 마지막 요청이 관측된 시각. null 이면 created_at 부터 유휴로 본다
+    @Column(name = "last_activity_at")
+    private LocalDateTime lastActivityAt;
+
+    // 유휴 상태로 replicas 0 이 된 시각. null 이 아니면 Service 가 activator 를 가리킨다
+    @Column(name = "scaled_to_zero_at")
+    private LocalDateTime scaledToZeroAt;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     @OneToMany(mappedBy = "application", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Config> configs = new ArrayList<>();
-}
 
+    // 키를 직접 할당하므로 Spring Data 가 id 로 새 엔티티를 구분하지 못해 save() 가 merge(SELECT 후 INSERT)가 된다.
+    // 새 엔티티 여부를 직접 관리해 persist 로 처리하고, JDBC batch insert 가 가능하도록 한다.
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean newEntity = true;
+
+    @Override
+    public String getId() {
+        return appId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntity = false;
+    }
+}
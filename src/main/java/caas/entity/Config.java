@@ -7,7 +7,8 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "caas_config")
+@Table(name = "caas_config",
+        indexes = @Index(name = "idx_config_app_created", columnList = "app_id, created_at, config_id"))
 @Data
 public class Config {
 
@@ -28,6 +29,13 @@ public class Config {
     @Column(name = "internal_port", nullable = false)
     private Integer internalPort;
 
+    // 컨테이너 requests. 크기를 받기 전에 만든 Config 는 null (기본 크기로 간주)
+    @Column(name = "cpu_millicores")
+    private Integer cpuMillicores;
+
+    @Column(name = "memory_bytes")
+    private Long memoryBytes;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
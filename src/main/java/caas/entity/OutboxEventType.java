@@ -0,0 +1,5 @@
+package caas.entity;
+
+public enum OutboxEventType {
+    CREATE
+}
@@ -0,0 +1,8 @@
+package caas.entity;
+
+public enum OutboxStatus {
+    PENDING,
+    IN_PROGRESS,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,79 @@
+package caas.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Application / Config 와 같은 트랜잭션에서 기록되는 Kubernetes 작업 요청.
+ * 실제 리소스 생성은 트랜잭션 밖에서 ProvisioningOutboxDispatcher 가 수행한다.
+ */
+@Entity
+@Table(name = "caas_provisioning_outbox",
+        indexes = @Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at"))
+@Data
+public class ProvisioningOutbox implements Persistable<String> {
+
+    @Id
+    @Column(name = "outbox_id", length = 36)
+    private String outboxId;
+
+    @Column(name = "app_id", nullable = false, length = 36)
+    private String appId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 30)
+    private OutboxEventType eventType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 30)
+    private OutboxStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Application 과 같은 이유로 새 엔티티 여부를 직접 관리 (save() 가 SELECT 없이 persist)
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean newEntity = true;
+
+    @Override
+    public String getId() {
+        return outboxId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntity = false;
+    }
+}
@@ -0,0 +1,11 @@
+package caas.entity;
+
+/**
+ * Kubernetes 리소스 생성 진행 단계.
+ */
+public enum ProvisioningStatus {
+    REQUESTED,
+    DEPLOYMENT_CREATED,
+    PROVISIONED,
+    FAILED
+}
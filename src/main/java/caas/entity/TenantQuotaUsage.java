@@ -0,0 +1,51 @@
+package caas.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * 소유자별 할당량 사용량. 모든 컨트롤 서버가 같은 행을 조건부 UPDATE 로 고치므로 한도는 서버 수와 관계없이 적용된다.
+ */
+@Entity
+@Table(name = "caas_tenant_quota_usage")
+@Data
+public class TenantQuotaUsage implements Persistable<String> {
+
+    @Id
+    @Column(name = "owner_user_id", length = 36)
+    private String ownerUserId;
+
+    @Column(name = "containers", nullable = false)
+    private long containers;
+
+    @Column(name = "cpu_millicores", nullable = false)
+    private long cpuMillicores;
+
+    @Column(name = "memory_bytes", nullable = false)
+    private long memoryBytes;
+
+    // Application 과 같은 이유로 새 엔티티 여부를 직접 관리 (save() 가 SELECT 없이 persist)
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean newEntity = true;
+
+    @Override
+    public String getId() {
+        return ownerUserId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntity = false;
+    }
+}
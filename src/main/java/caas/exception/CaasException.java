@@ -0,0 +1,20 @@
+package caas.exception;
+
+import caas.dto.response.ErrorCode;
+import lombok.Getter;
+
+@Getter
+public class CaasException extends RuntimeException {
+
+	private final ErrorCode errorCode;
+
+	public CaasException(ErrorCode errorCode) {
+		super(errorCode.getMessage());
+		this.errorCode = errorCode;
+	}
+
+	public CaasException(ErrorCode errorCode, Throwable cause) {
+		super(errorCode.getMessage(), cause);
+		this.errorCode = errorCode;
+	}
+}
@@ -0,0 +1,22 @@
+package caas.exception;
+
+import caas.dto.response.ApiResponseDto;
+import caas.dto.response.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@Slf4j
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+	@ExceptionHandler(CaasException.class)
+	public ResponseEntity<ApiResponseDto<Void>> handleCaasException(CaasException e) {
+		ErrorCode errorCode = e.getErrorCode();
+		log.warn("Request failed. Code: {}, Message: {}", errorCode.getCode(), e.getMessage());
+		// ErrorCode 앞 세 자리가 HTTP 상태 코드 (예: 40400 -> 404)
+		return ResponseEntity.status(errorCode.getCode() / 100)
+				.body(ApiResponseDto.fail(errorCode));
+	}
+}
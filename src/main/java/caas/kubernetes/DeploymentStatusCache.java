@@ -0,0 +1,186 @@
+package caas.kubernetes;
+
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.informer.SharedInformerFactory;
+import io.kubernetes.client.informer.cache.Lister;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.apis.AppsV1Api;
+import io.kubernetes.client.openapi.models.V1Deployment;
+import io.kubernetes.client.openapi.models.V1DeploymentList;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 컨트롤 서버가 생성한 Deployment 를 SharedInformer 로 감시하는 인메모리 캐시.
+ * 동기화가 끝난 뒤에는 상태 조회가 API 서버 왕복 없이 로컬 메모리에서 처리된다.
+ */
+@Slf4j
+@Component
+public class DeploymentStatusCache {
+
+	private static final String OWNER_INDEX = "owner";
+
+	private final ApiClient apiClient;
+	private final boolean enabled;
+	private final String namespace;
+	private final String labelSelector;
+	private final Duration resyncPeriod;
+	private final Duration maxStaleness;
+	private final Duration missGracePeriod;
+
+	private SharedInformerFactory informerFactory;
+	private SharedIndexInformer<V1Deployment> informer;
+	private Lister<V1Deployment> lister;
+	private volatile Instant lastEventAt = Instant.now();
+	// 캐시에 있는 Deployment 수. isServing() 이 호출마다 인덱서 전체를 복사하지 않도록 이벤트로 센다
+	private final AtomicInteger cachedDeployments = new AtomicInteger();
+
+	public DeploymentStatusCache(
+			@Qualifier("kubernetesWatchApiClient") ApiClient apiClient,
+			@Value("${kubernetes.informer.enabled:true}") boolean enabled,
+			@Value("${kubernetes.informer.namespace:default}") String namespace,
+			@Value("${kubernetes.informer.label-selector:" + KubernetesLabels.MANAGED_SELECTOR + "}") String labelSelector,
+			@Value("${kubernetes.informer.resync-period:5m}") Duration resyncPeriod,
+			@Value("${kubernetes.informer.max-staleness:15m}") Duration maxStaleness,
+			@Value("${kubernetes.informer.miss-grace-period:30s}") Duration missGracePeriod) {
+		this.apiClient = apiClient;
+		this.enabled = enabled;
+		this.namespace = namespace;
+		this.labelSelector = labelSelector;
+		this.resyncPeriod = resyncPeriod;
+		this.maxStaleness = maxStaleness;
+		this.missGracePeriod = missGracePeriod;
+	}
+
+	/**
+	 * 같은 설정으로 다른 클러스터 / namespace 의 Deployment 를 감시하는 캐시를 만든다. start() 는 호출하는 쪽에서 한다.
+	 */
+	public DeploymentStatusCache forCluster(ApiClient watchApiClient, String targetNamespace) {
+		return new DeploymentStatusCache(watchApiClient, enabled, targetNamespace, labelSelector, resyncPeriod,
+				maxStaleness, missGracePeriod);
+	}
+
+	@PostConstruct
+	public void start() {
+		if (!enabled) {
+			log.info("Deployment informer disabled. Status lookups will call the API server directly.");
+			return;
+		}
+
+		AppsV1Api appsV1Api = new AppsV1Api(apiClient);
+		informerFactory = new SharedInformerFactory(apiClient);
+		informer = informerFactory.sharedIndexInformerFor(
+				params -> appsV1Api.listNamespacedDeployment(namespace)
+						.labelSelector(labelSelector.isBlank() ? null : labelSelector)
+						.resourceVersion(params.resourceVersion)
+						.timeoutSeconds(params.timeoutSeconds)
+						.watch(params.watch)
+						.buildCall(null),
+				V1Deployment.class,
+				V1DeploymentList.class,
+				resyncPeriod.toMillis());
+		informer.addIndexers(Map.of(OWNER_INDEX, deployment -> {
+			Map<String, String> labels = deployment.getMetadata() == null ? null : deployment.getMetadata().getLabels();
+			String owner = labels == null ? null : labels.get(KubernetesLabels.OWNER);
+			return owner == null ? List.of() : List.of(owner);
+		}));
+		informer.addEventHandler(new ResourceEventHandler<>() {
+			@Override
+			public void onAdd(V1Deployment deployment) {
+				cachedDeployments.incrementAndGet();
+				touch();
+			}
+
+			@Override
+			public void onUpdate(V1Deployment oldDeployment, V1Deployment newDeployment) {
+				touch();
+			}
+
+			@Override
+			public void onDelete(V1Deployment deployment, boolean deletedFinalStateUnknown) {
+				cachedDeployments.decrementAndGet();
+				touch();
+			}
+		});
+		lister = new Lister<>(informer.getIndexer());
+
+		informerFactory.startAllRegisteredInformers();
+		log.info("Deployment informer started. Namespace: {}, Selector: {}, Resync: {}", namespace, labelSelector, resyncPeriod);
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (informerFactory != null) {
+			informerFactory.stopAllRegisteredInformers();
+		}
+	}
+
+	/**
+	 * 주어진 namespace 의 조회를 캐시가 대신할 수 있는지 여부.
+	 * 초기 LIST 가 끝나지 않았거나 이벤트 처리가 max-staleness 이상 멈춘 경우 false 를 반환한다.
+	 */
+	public boolean isServing(String targetNamespace) {
+		if (informer == null || !namespace.equals(targetNamespace) || !informer.hasSynced()) {
+			return false;
+		}
+		return cachedDeployments.get() <= 0
+				|| Duration.between(lastEventAt, Instant.now()).compareTo(maxStaleness) <= 0;
+	}
+
+	public Optional<V1Deployment> find(String targetNamespace, String deploymentName) {
+		if (lister == null) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(lister.namespace(targetNamespace).get(deploymentName));
+	}
+
+	/**
+	 * 같은 watch 를 공유하는 추가 이벤트 핸들러를 등록한다. 이미 캐시에 있는 Deployment 는 onAdd 로 다시 전달된다.
+	 * Informer 가 비활성화된 경우 false 를 반환한다.
+	 */
+	public boolean addEventHandler(ResourceEventHandler<V1Deployment> handler) {
+		if (informer == null) {
+			return false;
+		}
+		informer.addEventHandler(handler);
+		return true;
+	}
+
+	/**
+	 * owner 라벨 인덱스로 소유자의 RUNNING Deployment 수를 센다. isServing() 이 true 일 때만 의미가 있다.
+	 */
+	public long countRunning(String ownerUserId) {
+		if (informer == null) {
+			return 0;
+		}
+		return informer.getIndexer().byIndex(OWNER_INDEX, ownerUserId).stream()
+				.map(DeploymentStatusResolver::resolve)
+				.filter(DeploymentStatusResolver.RUNNING::equals)
+				.count();
+	}
+
+	/**
+	 * 캐시에 없는 Deployment 를 "존재하지 않음"으로 신뢰해도 되는지 여부.
+	 * 방금 생성되어 아직 watch 이벤트가 도착하지 않았을 수 있는 애플리케이션은 직접 조회하도록 한다.
+	 */
+	public boolean isMissTrusted(LocalDateTime createdAt) {
+		return createdAt == null || createdAt.isBefore(LocalDateTime.now().minus(missGracePeriod));
+	}
+
+	private void touch() {
+		lastEventAt = Instant.now();
+	}
+}
@@ -0,0 +1,53 @@
+package caas.kubernetes;
+
+import io.kubernetes.client.openapi.models.V1Deployment;
+import io.kubernetes.client.openapi.models.V1DeploymentStatus;
+
+import java.util.Map;
+
+/**
+ * V1Deployment 의 status 를 API 응답에 쓰는 컨테이너 상태 문자열로 변환한다.
+ */
+public final class DeploymentStatusResolver {
+
+	public static final String RUNNING = "RUNNING";
+	public static final String PENDING = "PENDING";
+	public static final String STOPPED = "STOPPED";
+	// scale-to-zero 로 멈춘 상태. 요청이 들어오면 다시 실행된다
+	public static final String IDLE = "IDLE";
+	public static final String UNKNOWN = "UNKNOWN";
+
+	private DeploymentStatusResolver() {
+	}
+
+	public static String resolve(V1Deployment deployment) {
+		if (deployment == null || deployment.getStatus() == null) {
+			return UNKNOWN;
+		}
+
+		V1DeploymentStatus status = deployment.getStatus();
+		if (isScaledToZero(deployment) && (status.getReplicas() == null || status.getReplicas() == 0)) {
+			return IDLE;
+		}
+		return resolve(status.getReplicas(), status.getReadyReplicas(), status.getAvailableReplicas());
+	}
+
+	private static boolean isScaledToZero(V1Deployment deployment) {
+		Map<String, String> annotations = deployment.getMetadata() == null ? null : deployment.getMetadata().getAnnotations();
+		return deployment.getSpec() != null && Integer.valueOf(0).equals(deployment.getSpec().getReplicas())
+				&& annotations != null && annotations.containsKey(KubernetesLabels.SCALED_TO_ZERO_ANNOTATION);
+	}
+
+	public static String resolve(Integer replicas, Integer readyReplicas, Integer availableReplicas) {
+		// Deployment가 실행 중인지 확인
+		if (replicas != null && replicas > 0) {
+			if (readyReplicas != null && readyReplicas > 0 && availableReplicas != null && availableReplicas > 0) {
+				return RUNNING;
+			} else {
+				return PENDING;
+			}
+		} else {
+			return STOPPED;
+		}
+	}
+}
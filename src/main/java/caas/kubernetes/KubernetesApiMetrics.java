@@ -0,0 +1,107 @@
+package caas.kubernetes;
+
+import io.kubernetes.client.openapi.ApiException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Kubernetes API 호출 계측.
+ * caas.k8s.api.requests (timer, histogram): operation / namespace / outcome / status 태그.
+ *   성공한 호출은 응답 객체만 돌려받아 코드(200 / 201 / 202)를 알 수 없으므로 status 를 2xx 로 기록한다
+ * caas.k8s.api.inflight (gauge): operation 별 진행 중 호출 수
+ */
+@Component
+public class KubernetesApiMetrics {
+
+	private static final String REQUESTS = "caas.k8s.api.requests";
+	private static final String IN_FLIGHT = "caas.k8s.api.inflight";
+	private static final String SUCCESS_STATUS = "2xx";
+
+	private final MeterRegistry meterRegistry;
+	private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+	public KubernetesApiMetrics(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@FunctionalInterface
+	public interface KubernetesCall<T> {
+		T execute() throws ApiException;
+	}
+
+	public <T> T record(String operation, String namespace, KubernetesCall<T> call) throws ApiException {
+		AtomicInteger current = inFlight(operation);
+		current.incrementAndGet();
+		Timer.Sample sample = Timer.start(meterRegistry);
+		try {
+			T result = call.execute();
+			sample.stop(timer(operation, namespace, "SUCCESS", SUCCESS_STATUS));
+			return result;
+		} catch (ApiException e) {
+			sample.stop(timer(operation, namespace, outcome(e.getCode()), e.getCode() == 0 ? "IO_ERROR" : String.valueOf(e.getCode())));
+			throw e;
+		} catch (RuntimeException e) {
+			sample.stop(timer(operation, namespace, "UNKNOWN", "NONE"));
+			throw e;
+		} finally {
+			current.decrementAndGet();
+		}
+	}
+
+	/**
+	 * record() 의 비동기 버전. 반환된 future 가 끝날 때 계측한다.
+	 */
+	public <T> CompletableFuture<T> recordAsync(String operation, String namespace, Supplier<CompletableFuture<T>> call) {
+		AtomicInteger current = inFlight(operation);
+		current.incrementAndGet();
+		Timer.Sample sample = Timer.start(meterRegistry);
+		CompletableFuture<T> future;
+		try {
+			future = call.get();
+		} catch (RuntimeException e) {
+			sample.stop(timer(operation, namespace, "UNKNOWN", "NONE"));
+			current.decrementAndGet();
+			throw e;
+		}
+		return future.whenComplete((result, failure) -> {
+			Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+			if (cause == null) {
+				sample.stop(timer(operation, namespace, "SUCCESS", SUCCESS_STATUS));
+			} else if (cause instanceof ApiException e) {
+				sample.stop(timer(operation, namespace, outcome(e.getCode()), e.getCode() == 0 ? "IO_ERROR" : String.valueOf(e.getCode())));
+			} else {
+				sample.stop(timer(operation, namespace, "UNKNOWN", "NONE"));
+			}
+			current.decrementAndGet();
+		});
+	}
+
+	private AtomicInteger inFlight(String operation) {
+		return inFlight.computeIfAbsent(operation, key ->
+				meterRegistry.gauge(IN_FLIGHT, Tags.of("operation", key), new AtomicInteger()));
+	}
+
+	private Timer timer(String operation, String namespace, String outcome, String status) {
+		return Timer.builder(REQUESTS)
+				.description("Kubernetes API call latency")
+				.tags("operation", operation, "namespace", namespace, "outcome", outcome, "status", status)
+				.publishPercentileHistogram()
+				.register(meterRegistry);
+	}
+
+	private static String outcome(int code) {
+		if (code == 0) {
+			return "IO_ERROR";
+		}
+		return code >= 500 ? "SERVER_ERROR" : "CLIENT_ERROR";
+	}
+}
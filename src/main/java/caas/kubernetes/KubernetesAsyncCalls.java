@@ -0,0 +1,81 @@
+package caas.kubernetes;
+
+import io.kubernetes.client.openapi.ApiCallback;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.util.ProxyContentTypeRequestBody;
+import okhttp3.Call;
+import okhttp3.Request;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 생성된 API 클라이언트의 요청을 OkHttp dispatcher 에서 비동기로 실행하고 CompletableFuture 로 돌려준다.
+ * 호출 스레드가 응답을 기다리지 않으며, 동시 실행 수는 dispatcher 의 max-requests 한도를 따른다.
+ * rate limit 우선순위는 ThreadLocal 대신 요청 tag 로 전달하고, future 가 취소되면 HTTP 호출도 취소한다.
+ */
+public final class KubernetesAsyncCalls {
+
+	private KubernetesAsyncCalls() {
+	}
+
+	@FunctionalInterface
+	public interface CallBuilder {
+		Call build() throws ApiException;
+	}
+
+	/**
+	 * PATCH 요청의 Content-Type 을 patchFormat (V1Patch.PATCH_FORMAT_*) 으로 바꾼다. 동기 호출의 PatchUtils.patch() 에 해당한다.
+	 */
+	public static CallBuilder patch(ApiClient apiClient, CallBuilder callBuilder, String patchFormat) {
+		return () -> {
+			Request request = callBuilder.build().request();
+			return apiClient.getHttpClient().newCall(request.newBuilder()
+					.patch(new ProxyContentTypeRequestBody(request.body(), patchFormat))
+					.build());
+		};
+	}
+
+	public static <T> CompletableFuture<T> execute(ApiClient apiClient, CallBuilder callBuilder, Type returnType,
+												   KubernetesRequestPriority priority) {
+		Call call;
+		try {
+			Request request = callBuilder.build().request().newBuilder()
+					.tag(KubernetesRequestPriority.class, priority)
+					.build();
+			call = apiClient.getHttpClient().newCall(request);
+		} catch (ApiException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+
+		CompletableFuture<T> future = new CompletableFuture<>();
+		future.whenComplete((result, failure) -> {
+			if (future.isCancelled()) {
+				call.cancel();
+			}
+		});
+		apiClient.executeAsync(call, returnType, new ApiCallback<T>() {
+			@Override
+			public void onFailure(ApiException e, int statusCode, Map<String, List<String>> responseHeaders) {
+				future.completeExceptionally(e);
+			}
+
+			@Override
+			public void onSuccess(T result, int statusCode, Map<String, List<String>> responseHeaders) {
+				future.complete(result);
+			}
+
+			@Override
+			public void onUploadProgress(long bytesWritten, long contentLength, boolean done) {
+			}
+
+			@Override
+			public void onDownloadProgress(long bytesRead, long contentLength, boolean done) {
+			}
+		});
+		return future;
+	}
+}
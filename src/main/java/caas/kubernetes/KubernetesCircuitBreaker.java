@@ -0,0 +1,165 @@
+package caas.kubernetes;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * API 서버(클러스터) 단위의 circuit breaker.
+ * 최근 window-size 번의 호출 중 실패 비율이 failure-rate-threshold 이상이면 open-duration 동안 호출을 막고(OPEN),
+ * 그 뒤 half-open-calls 번의 시험 호출이 모두 성공하면 다시 닫는다(CLOSED).
+ */
+@Slf4j
+public final class KubernetesCircuitBreaker {
+
+	public enum State {
+		CLOSED, HALF_OPEN, OPEN
+	}
+
+	private final String cluster;
+	private final int windowSize;
+	private final int minimumCalls;
+	private final double failureRateThreshold;
+	private final long openDurationNanos;
+	private final int halfOpenCalls;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	// 최근 호출 결과 ring buffer (true = 실패)
+	private final boolean[] outcomes;
+	private int recorded;
+	private int next;
+	private int failures;
+	private State state = State.CLOSED;
+	private long openedAtNanos;
+	private int halfOpenPermits;
+	private int halfOpenSuccesses;
+
+	public KubernetesCircuitBreaker(String cluster, int windowSize, int minimumCalls, double failureRateThreshold,
+									Duration openDuration, int halfOpenCalls) {
+		this.cluster = cluster;
+		this.windowSize = windowSize;
+		this.minimumCalls = Math.min(minimumCalls, windowSize);
+		this.failureRateThreshold = failureRateThreshold;
+		this.openDurationNanos = openDuration.toNanos();
+		this.halfOpenCalls = halfOpenCalls;
+		this.outcomes = new boolean[windowSize];
+	}
+
+	/**
+	 * 호출해도 되는지 확인한다. true 를 받은 호출은 반드시 onSuccess / onFailure / onIgnored 중 하나로 결과를 알려야 한다.
+	 */
+	public boolean tryAcquire() {
+		lock.lock();
+		try {
+			if (state == State.OPEN && System.nanoTime() - openedAtNanos >= openDurationNanos) {
+				transition(State.HALF_OPEN);
+			}
+			return switch (state) {
+				case CLOSED -> true;
+				case OPEN -> false;
+				case HALF_OPEN -> {
+					if (halfOpenPermits <= 0) {
+						yield false;
+					}
+					halfOpenPermits--;
+					yield true;
+				}
+			};
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void onSuccess() {
+		lock.lock();
+		try {
+			if (state == State.HALF_OPEN) {
+				if (++halfOpenSuccesses >= halfOpenCalls) {
+					transition(State.CLOSED);
+				}
+				return;
+			}
+			record(false);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void onFailure() {
+		lock.lock();
+		try {
+			if (state == State.HALF_OPEN) {
+				transition(State.OPEN);
+				return;
+			}
+			record(true);
+			if (state == State.CLOSED && recorded >= minimumCalls && (double) failures / recorded >= failureRateThreshold) {
+				transition(State.OPEN);
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// 서버 상태와 무관한 결과(4xx, 클라이언트 측 rate limit 거절 등). HALF_OPEN 시험 기회만 돌려준다.
+	public void onIgnored() {
+		lock.lock();
+		try {
+			if (state == State.HALF_OPEN) {
+				halfOpenPermits++;
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public State getState() {
+		lock.lock();
+		try {
+			if (state == State.OPEN && System.nanoTime() - openedAtNanos >= openDurationNanos) {
+				return State.HALF_OPEN;
+			}
+			return state;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// lock 을 잡은 상태에서 호출
+	private void record(boolean failure) {
+		if (recorded == windowSize) {
+			if (outcomes[next]) {
+				failures--;
+			}
+		} else {
+			recorded++;
+		}
+		outcomes[next] = failure;
+		if (failure) {
+			failures++;
+		}
+		next = (next + 1) % windowSize;
+	}
+
+	// lock 을 잡은 상태에서 호출
+	private void transition(State target) {
+		if (state == target) {
+			return;
+		}
+		log.warn("Kubernetes API circuit breaker of cluster {} {} -> {} (failures: {}/{})", cluster, state, target, failures, recorded);
+		state = target;
+		switch (target) {
+			case OPEN -> openedAtNanos = System.nanoTime();
+			case HALF_OPEN -> {
+				halfOpenPermits = halfOpenCalls;
+				halfOpenSuccesses = 0;
+			}
+			case CLOSED -> {
+				recorded = 0;
+				next = 0;
+				failures = 0;
+			}
+		}
+	}
+}
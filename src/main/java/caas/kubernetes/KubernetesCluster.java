@@ -0,0 +1,24 @@
+package caas.kubernetes;
+
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.apis.AppsV1Api;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.apis.NetworkingV1Api;
+
+/**
+ * 컨테이너를 배치할 수 있는 Kubernetes 클러스터 하나와 컨테이너를 만드는 namespace.
+ * 클러스터마다 ApiClient(자체 rate limiter 포함), 타입별 API 객체, Deployment Informer 캐시,
+ * 보호 계층(circuit breaker / bulkhead)을 따로 가진다.
+ */
+public record KubernetesCluster(
+		String name,
+		String namespace,
+		ApiClient apiClient,
+		AppsV1Api appsV1Api,
+		CoreV1Api coreV1Api,
+		NetworkingV1Api networkingV1Api,
+		KubernetesProtoClient protoClient,
+		DeploymentStatusCache statusCache,
+		KubernetesResilience resilience
+) {
+}
@@ -0,0 +1,105 @@
+package caas.kubernetes;
+
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.openapi.models.V1Deployment;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 설정된 Kubernetes 클러스터 목록. 첫 번째가 기본 클러스터이며,
+ * 클러스터가 기록되지 않은(k8s_cluster 가 null 인) 기존 애플리케이션은 기본 클러스터에 있는 것으로 본다.
+ */
+@Slf4j
+public class KubernetesClusterRegistry {
+
+	private final KubernetesCluster defaultCluster;
+	private final Map<String, KubernetesCluster> clusters = new LinkedHashMap<>();
+
+	public KubernetesClusterRegistry(KubernetesCluster defaultCluster, List<KubernetesCluster> additionalClusters) {
+		this.defaultCluster = defaultCluster;
+		clusters.put(defaultCluster.name(), defaultCluster);
+		for (KubernetesCluster cluster : additionalClusters) {
+			if (clusters.putIfAbsent(cluster.name(), cluster) != null) {
+				throw new IllegalStateException("Duplicate Kubernetes cluster name: " + cluster.name());
+			}
+		}
+	}
+
+	/**
+	 * 추가 클러스터의 Informer 를 시작한다. 기본 클러스터의 Informer 는 빈으로서 따로 시작된다.
+	 */
+	public void start() {
+		additionalClusters().forEach(cluster -> cluster.statusCache().start());
+		log.info("Kubernetes clusters: {}", clusters.keySet());
+	}
+
+	public void stop() {
+		additionalClusters().forEach(cluster -> cluster.statusCache().stop());
+	}
+
+	public KubernetesCluster defaultCluster() {
+		return defaultCluster;
+	}
+
+	public Collection<KubernetesCluster> all() {
+		return Collections.unmodifiableCollection(clusters.values());
+	}
+
+	public boolean isMultiCluster() {
+		return clusters.size() > 1;
+	}
+
+	/**
+	 * 기록된 클러스터 이름(null 이면 기본 클러스터)의 설정 이름.
+	 */
+	public String nameOf(String clusterName) {
+		return clusterName == null ? defaultCluster.name() : clusterName;
+	}
+
+	/**
+	 * 설정에서 빠진 클러스터면 empty.
+	 */
+	public Optional<KubernetesCluster> find(String clusterName) {
+		return Optional.ofNullable(clusters.get(nameOf(clusterName)));
+	}
+
+	public KubernetesCluster get(String clusterName) {
+		return find(clusterName).orElseThrow(() -> new IllegalStateException("Unknown Kubernetes cluster: " + clusterName));
+	}
+
+	/**
+	 * 모든 클러스터의 Informer 에 이벤트 핸들러를 등록한다. 핸들러는 여러 Informer 스레드에서 동시에 호출될 수 있다.
+	 * 하나도 등록하지 못했으면(Informer 비활성화) false 를 반환한다.
+	 */
+	public boolean addEventHandler(ResourceEventHandler<V1Deployment> handler) {
+		boolean attached = false;
+		for (KubernetesCluster cluster : clusters.values()) {
+			attached |= cluster.statusCache().addEventHandler(handler);
+		}
+		return attached;
+	}
+
+	/**
+	 * 모든 클러스터의 Informer 캐시가 조회를 대신할 수 있는지 여부.
+	 */
+	public boolean isServing() {
+		return clusters.values().stream().allMatch(cluster -> cluster.statusCache().isServing(cluster.namespace()));
+	}
+
+	/**
+	 * 모든 클러스터에서 소유자의 RUNNING Deployment 수. isServing() 이 true 일 때만 의미가 있다.
+	 */
+	public long countRunning(String ownerUserId) {
+		return clusters.values().stream().mapToLong(cluster -> cluster.statusCache().countRunning(ownerUserId)).sum();
+	}
+
+	private List<KubernetesCluster> additionalClusters() {
+		return clusters.values().stream().filter(cluster -> cluster != defaultCluster).toList();
+	}
+}
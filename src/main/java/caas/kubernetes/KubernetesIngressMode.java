@@ -0,0 +1,11 @@
+package caas.kubernetes;
+
+/**
+ * 컨테이너 외부 노출용 Ingress 구성 방식.
+ */
+public enum KubernetesIngressMode {
+	/** 컨테이너마다 Ingress 하나 ({deploymentName}-ingress). */
+	PER_CONTAINER,
+	/** 고정된 수의 공유 Ingress 에 host 규칙을 나눠 담는다. 컨테이너가 많아도 ingress controller 의 재구성 횟수가 샤드 수로 묶인다. */
+	SHARED
+}
@@ -0,0 +1,45 @@
+package caas.kubernetes;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 컨트롤 서버가 생성하는 Kubernetes 리소스에 붙이는 공통 라벨.
+ * Informer 필터링, 상태 역매핑(app-id), 소유자별 조회(owner)에 사용된다.
+ */
+public final class KubernetesLabels {
+
+	public static final String APP = "app";
+	public static final String MANAGED_BY = "app.kubernetes.io/managed-by";
+	public static final String MANAGED_BY_VALUE = "caas-control-server";
+	public static final String APP_ID = "caas.fast-cloud/app-id";
+	public static final String OWNER = "caas.fast-cloud/owner";
+
+	public static final String MANAGED_SELECTOR = MANAGED_BY + "=" + MANAGED_BY_VALUE;
+
+	/** 유휴 상태로 replicas 0 이 된 시각 (ISO-8601). 이 annotation 이 있는 replicas 0 Deployment 는 IDLE 로 본다. */
+	public static final String SCALED_TO_ZERO_ANNOTATION = "caas.fast-cloud/scaled-to-zero-at";
+
+	/** warm pool 에서 대기 중인 Deployment 의 managed-by 값. 할당되면 MANAGED_BY_VALUE 로 바뀌어 Informer 에 잡힌다. */
+	public static final String WARM_POOL_MANAGED_BY_VALUE = "caas-warm-pool";
+	public static final String WARM_POOL_SELECTOR = MANAGED_BY + "=" + WARM_POOL_MANAGED_BY_VALUE;
+	/** warm pool Deployment 의 이미지 키 (이미지 이름 해시). 할당된 뒤에도 남는다. */
+	public static final String WARM_POOL = "caas.fast-cloud/warm-pool";
+	/** warm pool Deployment 의 이미지 원문 annotation. */
+	public static final String WARM_IMAGE_ANNOTATION = "caas.fast-cloud/warm-image";
+
+	/** 생성 요청 시각 (ISO-8601). 요청부터 첫 RUNNING 까지의 시간 측정에 사용하는 annotation. */
+	public static final String REQUESTED_AT_ANNOTATION = "caas.fast-cloud/requested-at";
+
+	private KubernetesLabels() {
+	}
+
+	public static Map<String, String> managed(String appLabel, String appId, String ownerUserId) {
+		Map<String, String> labels = new HashMap<>();
+		labels.put(APP, appLabel);
+		labels.put(MANAGED_BY, MANAGED_BY_VALUE);
+		labels.put(APP_ID, appId);
+		labels.put(OWNER, ownerUserId);
+		return labels;
+	}
+}
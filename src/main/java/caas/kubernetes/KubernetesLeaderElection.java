@@ -0,0 +1,320 @@
+package caas.kubernetes;
+
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.CoordinationV1Api;
+import io.kubernetes.client.openapi.models.V1Lease;
+import io.kubernetes.client.openapi.models.V1LeaseSpec;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.HttpURLConnection;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 여러 인스턴스 중 하나만 실행해야 하는 백그라운드 작업(상태 반영, 고아 수집, warm pool, scale-to-zero 등)을 위한
+ * Kubernetes Lease(coordination.k8s.io/v1) 기반 leader election. 요청 처리 경로는 모든 인스턴스에서 그대로 동작한다.
+ * - retry-period 마다 Lease 를 읽고, 비어 있거나 만료되었으면 resourceVersion 조건부 replace 로 가져오고, 자기 것이면 갱신한다.
+ *   동시에 가져오려는 인스턴스 중 하나만 성공한다 (나머지는 409)
+ * - 만료는 다른 인스턴스의 시계가 아니라 이 인스턴스가 Lease 의 변화를 마지막으로 본 시각부터 lease-duration 으로 판단한다
+ * - leader 가 renew-deadline 동안 갱신하지 못하면 스스로 물러난다. renew-deadline 이 lease-duration 보다 짧으므로
+ *   다른 인스턴스가 가져가기 전에 물러난다
+ * - 정상 종료 시 Lease 를 비워 두어 다른 인스턴스가 다음 retry-period 안에 넘겨받는다
+ * Lease 호출은 INTERACTIVE 우선순위로 보내 생성 폭주 중에도 갱신이 rate limit 에 밀리지 않게 한다.
+ * 꺼져 있으면(kubernetes.leader-election.enabled=false, 단일 인스턴스) 항상 leader 다.
+ *
+ * caas.leader_election.leader (gauge): 이 인스턴스가 leader 이면 1
+ * caas.leader_election.transitions (counter): to (leader / follower) 별 전환 수
+ */
+@Slf4j
+@Component
+public class KubernetesLeaderElection {
+
+	private final KubernetesResilience kubernetesResilience;
+	private final ApplicationEventPublisher eventPublisher;
+	private final MeterRegistry meterRegistry;
+	private final CoordinationV1Api coordinationV1Api;
+	private final boolean enabled;
+	private final String leaseName;
+	private final String namespace;
+	private final String identity;
+	private final Duration leaseDuration;
+	private final Duration renewDeadline;
+	private final Duration retryPeriod;
+	private final ScheduledExecutorService scheduler;
+
+	private volatile boolean leader;
+	private volatile String holder;
+	private volatile Instant leaderSince;
+	private volatile Instant lastRenewedAt;
+	// 마지막으로 본 Lease 내용과 그것을 본 시각 (System.nanoTime)
+	private V1LeaseSpec observedSpec;
+	private long observedAtNanos;
+	private long lastRenewedAtNanos;
+
+	public KubernetesLeaderElection(KubernetesClusterRegistry clusters,
+									KubernetesResilience kubernetesResilience,
+									ApplicationEventPublisher eventPublisher,
+									MeterRegistry meterRegistry,
+									@Value("${kubernetes.leader-election.enabled:false}") boolean enabled,
+									@Value("${kubernetes.leader-election.lease-name:caas-control-server}") String leaseName,
+									@Value("${kubernetes.leader-election.namespace:}") String namespace,
+									@Value("${kubernetes.leader-election.identity:${HOSTNAME:}}") String identity,
+									@Value("${kubernetes.leader-election.lease-duration:15s}") Duration leaseDuration,
+									@Value("${kubernetes.leader-election.renew-deadline:10s}") Duration renewDeadline,
+									@Value("${kubernetes.leader-election.retry-period:2s}") Duration retryPeriod) {
+		KubernetesCluster cluster = clusters.defaultCluster();
+		this.kubernetesResilience = kubernetesResilience;
+		this.eventPublisher = eventPublisher;
+		this.meterRegistry = meterRegistry;
+		this.coordinationV1Api = new CoordinationV1Api(cluster.apiClient());
+		this.enabled = enabled;
+		this.leaseName = leaseName;
+		this.namespace = namespace.isBlank() ? cluster.namespace() : namespace;
+		// Pod 이름(HOSTNAME)이 없으면 재시작마다 달라지는 임의 값
+		this.identity = identity.isBlank() ? UUID.randomUUID().toString() : identity;
+		this.leaseDuration = leaseDuration;
+		this.renewDeadline = renewDeadline;
+		this.retryPeriod = retryPeriod;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("leader-election-"));
+		this.leader = !enabled;
+
+		Gauge.builder("caas.leader_election.leader", this, election -> election.isLeader() ? 1 : 0)
+				.description("1 if this instance runs the singleton background tasks")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * 기동이 끝난 뒤 선출을 시작한다. leader 가 된 뒤 실행되는 작업(LeadershipChangedEvent 구독자)이 준비되지 않은 빈을 쓰지 않도록 한다.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		if (!enabled) {
+			leaderSince = Instant.now();
+			eventPublisher.publishEvent(new LeadershipChangedEvent(true, identity));
+			return;
+		}
+		if (renewDeadline.compareTo(leaseDuration) >= 0 || retryPeriod.compareTo(renewDeadline) >= 0) {
+			throw new IllegalStateException("kubernetes.leader-election requires retry-period < renew-deadline < lease-duration");
+		}
+		log.info("Leader election started. Lease: {}/{}, Identity: {}", namespace, leaseName, identity);
+		scheduler.scheduleWithFixedDelay(this::tick, 0, retryPeriod.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void stop() {
+		scheduler.shutdownNow();
+		if (enabled && leader) {
+			setLeader(false);
+			release();
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * 이 인스턴스가 singleton 백그라운드 작업을 실행해야 하는지. leader election 이 꺼져 있으면 항상 true.
+	 */
+	public boolean isLeader() {
+		return leader;
+	}
+
+	public String identity() {
+		return identity;
+	}
+
+	public String leaseName() {
+		return leaseName;
+	}
+
+	public String namespace() {
+		return namespace;
+	}
+
+	/** 마지막으로 본 Lease 보유자. 꺼져 있으면 자기 자신 */
+	public String holder() {
+		return enabled ? holder : identity;
+	}
+
+	public Instant leaderSince() {
+		return leader ? leaderSince : null;
+	}
+
+	public Instant lastRenewedAt() {
+		return lastRenewedAt;
+	}
+
+	public double transitions(boolean toLeader) {
+		return transitionCounter(toLeader).count();
+	}
+
+	private void tick() {
+		boolean renewed;
+		try {
+			renewed = tryAcquireOrRenew();
+		} catch (ApiException | RuntimeException e) {
+			log.warn("Failed to acquire or renew lease {}/{}: {}", namespace, leaseName,
+					e instanceof ApiException apiException ? apiException.getCode() + " " + e.getMessage() : e.getMessage());
+			renewed = false;
+		}
+
+		long now = System.nanoTime();
+		if (renewed) {
+			lastRenewedAtNanos = now;
+			lastRenewedAt = Instant.now();
+			if (!leader) {
+				leaderSince = Instant.now();
+				setLeader(true);
+			}
+		} else if (leader && (!identity.equals(holder) || now - lastRenewedAtNanos > renewDeadline.toNanos())) {
+			// 다른 인스턴스가 가져갔거나 renew-deadline 동안 갱신하지 못함
+			setLeader(false);
+		}
+	}
+
+	/**
+	 * @return Lease 를 가지고 있으면 true
+	 */
+	private boolean tryAcquireOrRenew() throws ApiException {
+		OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+		V1Lease lease;
+		try {
+			lease = kubernetesResilience.read("read_lease", namespace, () -> KubernetesRequestPriority.INTERACTIVE.call(() ->
+					coordinationV1Api.readNamespacedLease(leaseName, namespace).execute()));
+		} catch (ApiException e) {
+			if (e.getCode() != HttpURLConnection.HTTP_NOT_FOUND) {
+				throw e;
+			}
+			return create(now);
+		}
+
+		V1LeaseSpec spec = lease.getSpec() != null ? lease.getSpec() : new V1LeaseSpec();
+		observe(spec);
+		String currentHolder = spec.getHolderIdentity();
+		boolean heldByOther = currentHolder != null && !currentHolder.isEmpty() && !currentHolder.equals(identity);
+		if (heldByOther && !isExpired(spec)) {
+			return false;
+		}
+
+		boolean renewal = identity.equals(currentHolder);
+		int transitions = spec.getLeaseTransitions() == null ? 0 : spec.getLeaseTransitions();
+		lease.spec(new V1LeaseSpec()
+				.holderIdentity(identity)
+				.leaseDurationSeconds(leaseDurationSeconds())
+				.acquireTime(renewal ? spec.getAcquireTime() : now)
+				.renewTime(now)
+				.leaseTransitions(renewal ? transitions : transitions + 1));
+		try {
+			V1Lease replaced = kubernetesResilience.write("renew_lease", namespace, () -> KubernetesRequestPriority.INTERACTIVE.call(() ->
+					coordinationV1Api.replaceNamespacedLease(leaseName, namespace, lease).execute()));
+			observe(replaced.getSpec());
+			return true;
+		} catch (ApiException e) {
+			// 읽은 뒤 다른 인스턴스가 먼저 바꿈. 다음 주기에 다시 읽는다
+			if (e.getCode() == HttpURLConnection.HTTP_CONFLICT) {
+				return false;
+			}
+			throw e;
+		}
+	}
+
+	private boolean create(OffsetDateTime now) throws ApiException {
+		V1Lease lease = new V1Lease()
+				.metadata(new V1ObjectMeta()
+						.name(leaseName)
+						.namespace(namespace)
+						.labels(Map.of(KubernetesLabels.MANAGED_BY, KubernetesLabels.MANAGED_BY_VALUE)))
+				.spec(new V1LeaseSpec()
+						.holderIdentity(identity)
+						.leaseDurationSeconds(leaseDurationSeconds())
+						.acquireTime(now)
+						.renewTime(now)
+						.leaseTransitions(0));
+		try {
+			V1Lease created = kubernetesResilience.write("create_lease", namespace, () -> KubernetesRequestPriority.INTERACTIVE.call(() ->
+					coordinationV1Api.createNamespacedLease(namespace, lease).execute()));
+			observe(created.getSpec());
+			return true;
+		} catch (ApiException e) {
+			if (e.getCode() == HttpURLConnection.HTTP_CONFLICT) {
+				return false;
+			}
+			throw e;
+		}
+	}
+
+	// Lease 를 비워 다른 인스턴스가 만료를 기다리지 않고 가져가게 한다
+	private void release() {
+		try {
+			V1Lease lease = kubernetesResilience.read("read_lease", namespace, () ->
+					coordinationV1Api.readNamespacedLease(leaseName, namespace).execute());
+			if (lease.getSpec() == null || !identity.equals(lease.getSpec().getHolderIdentity())) {
+				return;
+			}
+			lease.getSpec()
+					.holderIdentity(null)
+					.leaseDurationSeconds(1)
+					.renewTime(OffsetDateTime.now(ZoneOffset.UTC));
+			kubernetesResilience.write("release_lease", namespace, () ->
+					coordinationV1Api.replaceNamespacedLease(leaseName, namespace, lease).execute());
+			log.info("Lease {}/{} released by {}", namespace, leaseName, identity);
+		} catch (ApiException | RuntimeException e) {
+			log.warn("Failed to release lease {}/{}: {}", namespace, leaseName, e.getMessage());
+		}
+	}
+
+	private void observe(V1LeaseSpec spec) {
+		holder = spec == null ? null : spec.getHolderIdentity();
+		if (!Objects.equals(spec, observedSpec)) {
+			observedSpec = spec;
+			observedAtNanos = System.nanoTime();
+		}
+	}
+
+	private boolean isExpired(V1LeaseSpec spec) {
+		int seconds = spec.getLeaseDurationSeconds() == null ? leaseDurationSeconds() : spec.getLeaseDurationSeconds();
+		return System.nanoTime() - observedAtNanos > TimeUnit.SECONDS.toNanos(seconds);
+	}
+
+	private int leaseDurationSeconds() {
+		return (int) Math.max(1, leaseDuration.toSeconds());
+	}
+
+	private void setLeader(boolean leader) {
+		this.leader = leader;
+		transitionCounter(leader).increment();
+		if (leader) {
+			log.info("Became leader. Lease: {}/{}, Identity: {}", namespace, leaseName, identity);
+		} else {
+			log.warn("Lost leadership. Lease: {}/{}, Identity: {}, Holder: {}", namespace, leaseName, identity, holder);
+		}
+		eventPublisher.publishEvent(new LeadershipChangedEvent(leader, identity));
+	}
+
+	private Counter transitionCounter(boolean toLeader) {
+		return Counter.builder("caas.leader_election.transitions")
+				.description("Leadership transitions of this instance")
+				.tag("to", toLeader ? "leader" : "follower")
+				.register(meterRegistry);
+	}
+}
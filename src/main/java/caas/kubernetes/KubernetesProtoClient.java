@@ -0,0 +1,69 @@
+package caas.kubernetes;
+
+import com.google.protobuf.Message;
+import io.kubernetes.client.ProtoClient;
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.models.V1Deployment;
+import io.kubernetes.client.openapi.models.V1Ingress;
+import io.kubernetes.client.openapi.models.V1Service;
+import io.kubernetes.client.proto.Meta;
+import io.kubernetes.client.proto.V1Apps;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * application/vnd.kubernetes.protobuf 로 통신하는 Deployment 조회 / 리소스 생성 (kubernetes.client.wire-format=PROTOBUF).
+ * 공유 ApiClient 의 OkHttpClient 를 쓰므로 rate limit / 타임아웃 / 인증 설정이 JSON 경로와 같다.
+ * 오류 응답(Status)은 JSON 경로와 같은 ApiException(code) 으로 바꿔 409 / 404 처리가 그대로 동작한다.
+ */
+@Component
+public class KubernetesProtoClient {
+
+	private final ProtoClient protoClient;
+
+	public KubernetesProtoClient(ApiClient apiClient) {
+		this.protoClient = new ProtoClient(apiClient);
+	}
+
+	public V1Apps.Deployment readDeployment(String namespace, String name) throws ApiException {
+		return unwrap(() -> protoClient.get(V1Apps.Deployment.newBuilder(),
+				"/apis/apps/v1/namespaces/" + namespace + "/deployments/" + name));
+	}
+
+	public void createDeployment(String namespace, V1Deployment deployment) throws ApiException {
+		unwrap(() -> protoClient.create(KubernetesProtobuf.toProto(deployment),
+				"/apis/apps/v1/namespaces/" + namespace + "/deployments", "apps/v1", "Deployment"));
+	}
+
+	public void createService(String namespace, V1Service service) throws ApiException {
+		unwrap(() -> protoClient.create(KubernetesProtobuf.toProto(service),
+				"/api/v1/namespaces/" + namespace + "/services", "v1", "Service"));
+	}
+
+	public void createIngress(String namespace, V1Ingress ingress) throws ApiException {
+		unwrap(() -> protoClient.create(KubernetesProtobuf.toProto(ingress),
+				"/apis/networking.k8s.io/v1/namespaces/" + namespace + "/ingresses", "networking.k8s.io/v1", "Ingress"));
+	}
+
+	@FunctionalInterface
+	private interface ProtoCall<T extends Message> {
+		ProtoClient.ObjectOrStatus<T> execute() throws ApiException, IOException;
+	}
+
+	private static <T extends Message> T unwrap(ProtoCall<T> call) throws ApiException {
+		ProtoClient.ObjectOrStatus<T> result;
+		try {
+			result = call.execute();
+		} catch (IOException e) {
+			// JSON 경로와 같이 전송 오류는 code 0
+			throw new ApiException(e);
+		}
+		if (result.status != null && !"Success".equals(result.status.getStatus())) {
+			Meta.Status status = result.status;
+			throw new ApiException(status.getReason() + ": " + status.getMessage(), status.getCode(), null, null);
+		}
+		return result.object;
+	}
+}
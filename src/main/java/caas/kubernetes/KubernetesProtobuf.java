@@ -0,0 +1,225 @@
+package caas.kubernetes;
+
+import io.kubernetes.client.custom.IntOrString;
+import io.kubernetes.client.openapi.models.V1Container;
+import io.kubernetes.client.openapi.models.V1ContainerPort;
+import io.kubernetes.client.openapi.models.V1Deployment;
+import io.kubernetes.client.openapi.models.V1HTTPIngressPath;
+import io.kubernetes.client.openapi.models.V1Ingress;
+import io.kubernetes.client.openapi.models.V1IngressRule;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1OwnerReference;
+import io.kubernetes.client.openapi.models.V1PodTemplateSpec;
+import io.kubernetes.client.openapi.models.V1Service;
+import io.kubernetes.client.openapi.models.V1ServicePort;
+import io.kubernetes.client.proto.IntStr;
+import io.kubernetes.client.proto.Meta;
+import io.kubernetes.client.proto.V1;
+import io.kubernetes.client.proto.V1Apps;
+import io.kubernetes.client.proto.V1Networking;
+
+/**
+ * 컨트롤 서버가 만드는 매니페스트(V1Deployment / V1Service / V1Ingress)를 protobuf 메시지로 변환한다.
+ * 매니페스트 정의는 ContainerProvisioner 한 곳에 두고, 여기서는 그 매니페스트가 사용하는 필드만 옮긴다.
+ */
+public final class KubernetesProtobuf {
+
+	private KubernetesProtobuf() {
+	}
+
+	public static V1Apps.Deployment toProto(V1Deployment deployment) {
+		V1Apps.DeploymentSpec.Builder spec = V1Apps.DeploymentSpec.newBuilder();
+		if (deployment.getSpec() != null) {
+			if (deployment.getSpec().getReplicas() != null) {
+				spec.setReplicas(deployment.getSpec().getReplicas());
+			}
+			if (deployment.getSpec().getSelector() != null && deployment.getSpec().getSelector().getMatchLabels() != null) {
+				spec.setSelector(Meta.LabelSelector.newBuilder()
+						.putAllMatchLabels(deployment.getSpec().getSelector().getMatchLabels()));
+			}
+			spec.setTemplate(toProto(deployment.getSpec().getTemplate()));
+		}
+
+		return V1Apps.Deployment.newBuilder()
+				.setMetadata(toProto(deployment.getMetadata()))
+				.setSpec(spec)
+				.build();
+	}
+
+	public static V1.Service toProto(V1Service service) {
+		V1.ServiceSpec.Builder spec = V1.ServiceSpec.newBuilder();
+		if (service.getSpec() != null) {
+			if (service.getSpec().getType() != null) {
+				spec.setType(service.getSpec().getType());
+			}
+			if (service.getSpec().getSelector() != null) {
+				spec.putAllSelector(service.getSpec().getSelector());
+			}
+			if (service.getSpec().getPorts() != null) {
+				for (V1ServicePort port : service.getSpec().getPorts()) {
+					V1.ServicePort.Builder protoPort = V1.ServicePort.newBuilder().setPort(port.getPort());
+					if (port.getName() != null) {
+						protoPort.setName(port.getName());
+					}
+					if (port.getProtocol() != null) {
+						protoPort.setProtocol(port.getProtocol());
+					}
+					if (port.getTargetPort() != null) {
+						protoPort.setTargetPort(toProto(port.getTargetPort()));
+					}
+					spec.addPorts(protoPort);
+				}
+			}
+		}
+
+		return V1.Service.newBuilder()
+				.setMetadata(toProto(service.getMetadata()))
+				.setSpec(spec)
+				.build();
+	}
+
+	public static V1Networking.Ingress toProto(V1Ingress ingress) {
+		V1Networking.IngressSpec.Builder spec = V1Networking.IngressSpec.newBuilder();
+		if (ingress.getSpec() != null) {
+			if (ingress.getSpec().getIngressClassName() != null) {
+				spec.setIngressClassName(ingress.getSpec().getIngressClassName());
+			}
+			if (ingress.getSpec().getRules() != null) {
+				for (V1IngressRule rule : ingress.getSpec().getRules()) {
+					spec.addRules(toProto(rule));
+				}
+			}
+		}
+
+		return V1Networking.Ingress.newBuilder()
+				.setMetadata(toProto(ingress.getMetadata()))
+				.setSpec(spec)
+				.build();
+	}
+
+	/**
+	 * DeploymentStatusResolver 와 같은 기준으로 protobuf Deployment 의 상태를 계산한다.
+	 */
+	public static String resolveStatus(V1Apps.Deployment deployment) {
+		if (deployment == null || !deployment.hasStatus()) {
+			return DeploymentStatusResolver.UNKNOWN;
+		}
+		V1Apps.DeploymentStatus status = deployment.getStatus();
+		return DeploymentStatusResolver.resolve(
+				status.hasReplicas() ? status.getReplicas() : null,
+				status.hasReadyReplicas() ? status.getReadyReplicas() : null,
+				status.hasAvailableReplicas() ? status.getAvailableReplicas() : null);
+	}
+
+	private static Meta.ObjectMeta toProto(V1ObjectMeta metadata) {
+		Meta.ObjectMeta.Builder builder = Meta.ObjectMeta.newBuilder();
+		if (metadata == null) {
+			return builder.build();
+		}
+		if (metadata.getName() != null) {
+			builder.setName(metadata.getName());
+		}
+		if (metadata.getNamespace() != null) {
+			builder.setNamespace(metadata.getNamespace());
+		}
+		if (metadata.getLabels() != null) {
+			builder.putAllLabels(metadata.getLabels());
+		}
+		if (metadata.getAnnotations() != null) {
+			builder.putAllAnnotations(metadata.getAnnotations());
+		}
+		if (metadata.getOwnerReferences() != null) {
+			metadata.getOwnerReferences().forEach(owner -> builder.addOwnerReferences(toProto(owner)));
+		}
+		return builder.build();
+	}
+
+	private static Meta.OwnerReference toProto(V1OwnerReference owner) {
+		Meta.OwnerReference.Builder builder = Meta.OwnerReference.newBuilder()
+				.setApiVersion(owner.getApiVersion())
+				.setKind(owner.getKind())
+				.setName(owner.getName())
+				.setUid(owner.getUid());
+		if (owner.getController() != null) {
+			builder.setController(owner.getController());
+		}
+		if (owner.getBlockOwnerDeletion() != null) {
+			builder.setBlockOwnerDeletion(owner.getBlockOwnerDeletion());
+		}
+		return builder.build();
+	}
+
+	private static V1.PodTemplateSpec toProto(V1PodTemplateSpec template) {
+		V1.PodTemplateSpec.Builder builder = V1.PodTemplateSpec.newBuilder();
+		if (template == null) {
+			return builder.build();
+		}
+		builder.setMetadata(toProto(template.getMetadata()));
+		if (template.getSpec() != null) {
+			V1.PodSpec.Builder podSpec = V1.PodSpec.newBuilder();
+			for (V1Container container : template.getSpec().getContainers()) {
+				V1.Container.Builder protoContainer = V1.Container.newBuilder().setName(container.getName());
+				if (container.getImage() != null) {
+					protoContainer.setImage(container.getImage());
+				}
+				if (container.getImagePullPolicy() != null) {
+					protoContainer.setImagePullPolicy(container.getImagePullPolicy());
+				}
+				if (container.getPorts() != null) {
+					for (V1ContainerPort port : container.getPorts()) {
+						V1.ContainerPort.Builder protoPort = V1.ContainerPort.newBuilder().setContainerPort(port.getContainerPort());
+						if (port.getName() != null) {
+							protoPort.setName(port.getName());
+						}
+						protoContainer.addPorts(protoPort);
+					}
+				}
+				podSpec.addContainers(protoContainer);
+			}
+			builder.setSpec(podSpec);
+		}
+		return builder.build();
+	}
+
+	private static V1Networking.IngressRule toProto(V1IngressRule rule) {
+		V1Networking.IngressRule.Builder builder = V1Networking.IngressRule.newBuilder();
+		if (rule.getHost() != null) {
+			builder.setHost(rule.getHost());
+		}
+		if (rule.getHttp() != null) {
+			V1Networking.HTTPIngressRuleValue.Builder http = V1Networking.HTTPIngressRuleValue.newBuilder();
+			for (V1HTTPIngressPath path : rule.getHttp().getPaths()) {
+				V1Networking.HTTPIngressPath.Builder protoPath = V1Networking.HTTPIngressPath.newBuilder()
+						.setPathType(path.getPathType());
+				if (path.getPath() != null) {
+					protoPath.setPath(path.getPath());
+				}
+				if (path.getBackend() != null && path.getBackend().getService() != null) {
+					V1Networking.ServiceBackendPort.Builder port = V1Networking.ServiceBackendPort.newBuilder();
+					if (path.getBackend().getService().getPort() != null) {
+						if (path.getBackend().getService().getPort().getNumber() != null) {
+							port.setNumber(path.getBackend().getService().getPort().getNumber());
+						}
+						if (path.getBackend().getService().getPort().getName() != null) {
+							port.setName(path.getBackend().getService().getPort().getName());
+						}
+					}
+					protoPath.setBackend(V1Networking.IngressBackend.newBuilder()
+							.setService(V1Networking.IngressServiceBackend.newBuilder()
+									.setName(path.getBackend().getService().getName())
+									.setPort(port)));
+				}
+				http.addPaths(protoPath);
+			}
+			builder.setIngressRuleValue(V1Networking.IngressRuleValue.newBuilder().setHttp(http));
+		}
+		return builder.build();
+	}
+
+	// IntOrString.type: 0 = int, 1 = string
+	private static IntStr.IntOrString toProto(IntOrString value) {
+		return value.isInteger()
+				? IntStr.IntOrString.newBuilder().setType(0).setIntVal(value.getIntValue()).build()
+				: IntStr.IntOrString.newBuilder().setType(1).setStrVal(value.getStrValue()).build();
+	}
+}
@@ -0,0 +1,88 @@
+package caas.kubernetes;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+
+/**
+ * ApiClient 의 OkHttp interceptor. 모든 Kubernetes API 요청이 KubernetesRateLimiter 의 토큰을 받은 뒤 전송된다.
+ * watch 요청은 연결을 오래 유지하므로 제외한다.
+ * 429 응답의 Retry-After 를 limiter 에 반영하고, GET 요청은 그 시간만큼 기다린 뒤 한 번 다시 보낸다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KubernetesRateLimitInterceptor implements Interceptor {
+
+	public static final int TOO_MANY_REQUESTS = 429;
+	private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+	private final KubernetesRateLimiter rateLimiter;
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		Request request = chain.request();
+		if ("true".equals(request.url().queryParameter("watch"))) {
+			return chain.proceed(request);
+		}
+
+		// 비동기 호출은 dispatcher 스레드에서 실행되므로 요청 tag 에 실린 우선순위를 먼저 본다
+		KubernetesRequestPriority tagged = request.tag(KubernetesRequestPriority.class);
+		KubernetesRequestPriority priority = tagged != null ? tagged : KubernetesRequestPriority.current();
+		acquire(priority, request);
+		Response response = chain.proceed(request);
+		if (response.code() != TOO_MANY_REQUESTS) {
+			return response;
+		}
+
+		Duration retryAfter = rateLimiter.pause(retryAfterOf(response.header("Retry-After")));
+		// 조회는 멱등이므로 서버가 요청한 시간만큼 멈춘 뒤 한 번 재시도 (대기가 max-wait 을 넘으면 429 를 그대로 반환)
+		if (!"GET".equals(request.method()) || retryAfter.compareTo(rateLimiter.maxWait(priority)) > 0) {
+			return response;
+		}
+		response.close();
+		log.debug("Retrying {} {} after {} (429)", request.method(), request.url().encodedPath(), retryAfter);
+		acquire(priority, request);
+		return chain.proceed(request);
+	}
+
+	private void acquire(KubernetesRequestPriority priority, Request request) throws IOException {
+		try {
+			if (!rateLimiter.acquire(priority)) {
+				throw new KubernetesRateLimitException(String.format("Client-side rate limit exceeded for %s %s (priority: %s)",
+						request.method(), request.url().encodedPath(), priority));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for a Kubernetes API rate limit token");
+		}
+	}
+
+	// Retry-After 는 초 단위만 해석 (HTTP-date 형식이면 기본값 사용)
+	public static Duration retryAfterOf(String header) {
+		if (header == null || header.isBlank()) {
+			return DEFAULT_RETRY_AFTER;
+		}
+		try {
+			return Duration.ofSeconds(Math.max(0, Long.parseLong(header.trim())));
+		} catch (NumberFormatException e) {
+			return DEFAULT_RETRY_AFTER;
+		}
+	}
+
+	/**
+	 * max-wait 안에 토큰을 얻지 못한 요청. ApiClient 가 code 0 의 ApiException 으로 감싸 호출자에게 전달한다.
+	 */
+	public static class KubernetesRateLimitException extends IOException {
+		public KubernetesRateLimitException(String message) {
+			super(message);
+		}
+	}
+}
@@ -0,0 +1,191 @@
+package caas.kubernetes;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Kubernetes API 호출용 클라이언트 측 token bucket (qps / burst).
+ * 대기 중인 INTERACTIVE 호출이 있는 동안 BACKGROUND 호출은 토큰을 받지 못하고,
+ * 우선순위별 max-wait 안에 토큰을 얻지 못한 호출은 거절된다.
+ * API 서버가 429 와 Retry-After 를 보내면 그 시간 동안 모든 호출을 멈춘다.
+ * 클러스터마다 따로 두며(forCluster), 지표에는 cluster 태그가 붙는다.
+ *
+ * caas.k8s.ratelimit.wait (timer): priority 별 토큰 대기 시간
+ * caas.k8s.ratelimit.rejected (counter): priority 별 거절 수
+ * caas.k8s.ratelimit.waiting (gauge): priority 별 대기 중 호출 수
+ * caas.k8s.ratelimit.throttled (counter): API 서버의 429 응답 수
+ */
+@Slf4j
+@Component
+public class KubernetesRateLimiter {
+
+	private final MeterRegistry meterRegistry;
+	private final boolean enabled;
+	private final double qps;
+	private final int burst;
+	private final Map<KubernetesRequestPriority, Duration> maxWait = new EnumMap<>(KubernetesRequestPriority.class);
+	private final Duration maxRetryAfter;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition changed = lock.newCondition();
+	private double tokens;
+	private long lastRefillNanos;
+	private long pausedUntilNanos;
+	private int interactiveWaiting;
+
+	private final Map<KubernetesRequestPriority, AtomicInteger> waiting = new EnumMap<>(KubernetesRequestPriority.class);
+	private final Map<KubernetesRequestPriority, Timer> waitTimers = new EnumMap<>(KubernetesRequestPriority.class);
+	private final Map<KubernetesRequestPriority, Counter> rejections = new EnumMap<>(KubernetesRequestPriority.class);
+	private final Counter throttled;
+
+	public KubernetesRateLimiter(MeterRegistry meterRegistry,
+								 @Value("${kubernetes.cluster.name:default}") String cluster,
+								 @Value("${kubernetes.client.rate-limit.enabled:true}") boolean enabled,
+								 @Value("${kubernetes.client.rate-limit.qps:20}") double qps,
+								 @Value("${kubernetes.client.rate-limit.burst:40}") int burst,
+								 @Value("${kubernetes.client.rate-limit.interactive-max-wait:2s}") Duration interactiveMaxWait,
+								 @Value("${kubernetes.client.rate-limit.background-max-wait:30s}") Duration backgroundMaxWait,
+								 @Value("${kubernetes.client.rate-limit.max-retry-after:30s}") Duration maxRetryAfter) {
+		this.meterRegistry = meterRegistry;
+		this.enabled = enabled;
+		this.qps = qps;
+		this.burst = burst;
+		this.maxRetryAfter = maxRetryAfter;
+		this.maxWait.put(KubernetesRequestPriority.INTERACTIVE, interactiveMaxWait);
+		this.maxWait.put(KubernetesRequestPriority.BACKGROUND, backgroundMaxWait);
+		this.tokens = burst;
+		this.lastRefillNanos = System.nanoTime();
+		this.pausedUntilNanos = lastRefillNanos;
+
+		for (KubernetesRequestPriority priority : KubernetesRequestPriority.values()) {
+			String tag = priority.name();
+			waiting.put(priority, meterRegistry.gauge("caas.k8s.ratelimit.waiting",
+					Tags.of("priority", tag, "cluster", cluster), new AtomicInteger()));
+			waitTimers.put(priority, Timer.builder("caas.k8s.ratelimit.wait")
+					.description("Time Kubernetes API calls spend waiting for a rate limit token")
+					.tag("priority", tag)
+					.tag("cluster", cluster)
+					.publishPercentileHistogram()
+					.register(meterRegistry));
+			rejections.put(priority, Counter.builder("caas.k8s.ratelimit.rejected")
+					.description("Kubernetes API calls rejected because no token was available within max-wait")
+					.tag("priority", tag)
+					.tag("cluster", cluster)
+					.register(meterRegistry));
+		}
+		this.throttled = Counter.builder("caas.k8s.ratelimit.throttled")
+				.description("429 responses received from the Kubernetes API server")
+				.tag("cluster", cluster)
+				.register(meterRegistry);
+	}
+
+	/**
+	 * 같은 설정의 다른 클러스터용 token bucket.
+	 */
+	public KubernetesRateLimiter forCluster(String otherCluster) {
+		return new KubernetesRateLimiter(meterRegistry, otherCluster, enabled, qps, burst,
+				maxWait.get(KubernetesRequestPriority.INTERACTIVE), maxWait.get(KubernetesRequestPriority.BACKGROUND), maxRetryAfter);
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * 토큰 하나를 얻을 때까지 기다린다. 우선순위별 max-wait 을 넘기면 false 를 반환한다.
+	 */
+	public boolean acquire(KubernetesRequestPriority priority) throws InterruptedException {
+		if (!enabled) {
+			return true;
+		}
+
+		long start = System.nanoTime();
+		long deadline = start + maxWait.get(priority).toNanos();
+		boolean interactive = priority == KubernetesRequestPriority.INTERACTIVE;
+		AtomicInteger waitingCount = waiting.get(priority);
+
+		lock.lockInterruptibly();
+		waitingCount.incrementAndGet();
+		if (interactive) {
+			interactiveWaiting++;
+		}
+		try {
+			while (true) {
+				long now = System.nanoTime();
+				refill(now);
+				boolean turn = interactive || interactiveWaiting == 0;
+				if (turn && now >= pausedUntilNanos && tokens >= 1) {
+					tokens -= 1;
+					waitTimers.get(priority).record(now - start, TimeUnit.NANOSECONDS);
+					return true;
+				}
+
+				long remaining = deadline - now;
+				if (remaining <= 0) {
+					rejections.get(priority).increment();
+					waitTimers.get(priority).record(now - start, TimeUnit.NANOSECONDS);
+					return false;
+				}
+				// 차례가 아니면 INTERACTIVE 대기가 끝날 때(signal)까지, 차례면 다음 토큰 / pause 해제 시점까지 대기
+				long next = turn
+						? Math.max(pausedUntilNanos - now, (long) ((1 - tokens) / qps * TimeUnit.SECONDS.toNanos(1)))
+						: remaining;
+				changed.awaitNanos(Math.max(1, Math.min(next, remaining)));
+			}
+		} finally {
+			waitingCount.decrementAndGet();
+			if (interactive && --interactiveWaiting == 0) {
+				changed.signalAll();
+			}
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * API 서버가 요청한 시간(Retry-After) 동안 모든 호출을 멈춘다. max-retry-after 로 상한을 둔다.
+	 *
+	 * @return 실제로 적용한 대기 시간
+	 */
+	public Duration pause(Duration retryAfter) {
+		throttled.increment();
+		Duration applied = retryAfter.compareTo(maxRetryAfter) > 0 ? maxRetryAfter : retryAfter;
+		if (!enabled || applied.isNegative() || applied.isZero()) {
+			return applied;
+		}
+
+		lock.lock();
+		try {
+			pausedUntilNanos = Math.max(pausedUntilNanos, System.nanoTime() + applied.toNanos());
+			changed.signalAll();
+		} finally {
+			lock.unlock();
+		}
+		log.warn("Kubernetes API server throttled the client, pausing outbound calls for {}", applied);
+		return applied;
+	}
+
+	public Duration maxWait(KubernetesRequestPriority priority) {
+		return maxWait.get(priority);
+	}
+
+	// lock 을 잡은 상태에서 호출
+	private void refill(long now) {
+		if (now > lastRefillNanos) {
+			tokens = Math.min(burst, tokens + (now - lastRefillNanos) * qps / TimeUnit.SECONDS.toNanos(1));
+			lastRefillNanos = now;
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package caas.kubernetes;
+
+import io.kubernetes.client.openapi.ApiException;
+
+/**
+ * Kubernetes API 호출의 rate limit 우선순위.
+ * 호출 스레드에 설정되어 ApiClient 의 rate limit interceptor 가 읽는다. 지정하지 않은 호출(Informer, 생성 saga,
+ * reconciliation 등)은 BACKGROUND 로 처리된다. 비동기 호출은 KubernetesAsyncCalls 가 요청 tag 로 전달한다.
+ */
+public enum KubernetesRequestPriority {
+
+	// 사용자 요청을 처리하는 중의 조회. 대기 중인 INTERACTIVE 호출이 있으면 BACKGROUND 호출은 토큰을 받지 못한다.
+	INTERACTIVE,
+	BACKGROUND;
+
+	private static final ThreadLocal<KubernetesRequestPriority> CURRENT = new ThreadLocal<>();
+
+	public static KubernetesRequestPriority current() {
+		KubernetesRequestPriority priority = CURRENT.get();
+		return priority != null ? priority : BACKGROUND;
+	}
+
+	/**
+	 * 이 우선순위로 call 을 실행한다. 같은 스레드에서 동기로 실행되는 API 호출에만 적용된다.
+	 */
+	public <T> T call(KubernetesApiMetrics.KubernetesCall<T> call) throws ApiException {
+		KubernetesRequestPriority previous = CURRENT.get();
+		CURRENT.set(this);
+		try {
+			return call.execute();
+		} finally {
+			if (previous == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(previous);
+			}
+		}
+	}
+}
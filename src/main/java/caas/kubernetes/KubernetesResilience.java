@@ -0,0 +1,295 @@
+package caas.kubernetes;
+
+import io.kubernetes.client.openapi.ApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Kubernetes API 호출 보호 계층. 모든 호출은 read() 또는 write() 를 거친다.
+ * - bulkhead: 조회와 생성 / 삭제가 서로 다른 동시 실행 한도를 써서, 생성 폭주가 목록 조회를 굶기지 않는다
+ * - circuit breaker: API 서버 장애(네트워크 오류, 5xx)가 이어지면 호출하지 않고 바로 실패한다
+ * - retry: 멱등인 조회만 지수 backoff + full jitter 로 재시도한다 (생성은 outbox saga 가 재시도)
+ * 보호 계층이 호출을 막으면 code 0 의 KubernetesUnavailableException 을 던진다.
+ * readAsync() / writeAsync() 는 비동기 호출용으로, 호출 스레드를 막지 않도록 bulkhead 자리를 기다리지 않고 재시도 대기도 timer 로 한다.
+ * 클러스터마다 따로 두어(forCluster, KubernetesCluster.resilience()) 한 클러스터의 장애나 지연이 다른 클러스터로의 호출을 막지 않는다.
+ * 빈으로 등록된 인스턴스는 기본 클러스터의 것이며, 지표에는 cluster 태그가 붙는다.
+ *
+ * caas.k8s.circuit.state (gauge): 0 = CLOSED, 1 = HALF_OPEN, 2 = OPEN
+ * caas.k8s.resilience.rejected (counter): reason (circuit_open / bulkhead_full) 과 bulkhead 별 거절 수
+ * caas.k8s.resilience.retries (counter): 조회 재시도 수
+ */
+@Slf4j
+@Component
+public class KubernetesResilience {
+
+	public enum Bulkhead {
+		READ, WRITE
+	}
+
+	private final KubernetesApiMetrics apiMetrics;
+	private final String cluster;
+	private final KubernetesCircuitBreaker circuitBreaker;
+	private final Map<Bulkhead, Semaphore> bulkheads = new EnumMap<>(Bulkhead.class);
+	private final Map<Bulkhead, Integer> bulkheadMaxConcurrent = new EnumMap<>(Bulkhead.class);
+	private final Map<Bulkhead, Duration> bulkheadMaxWait = new EnumMap<>(Bulkhead.class);
+	private final int readMaxAttempts;
+	private final Duration readRetryBackoff;
+	private final Duration readMaxRetryBackoff;
+	private final int windowSize;
+	private final int minimumCalls;
+	private final double failureRateThreshold;
+	private final Duration openDuration;
+	private final int halfOpenCalls;
+	private final MeterRegistry meterRegistry;
+	private final Counter retries;
+
+	public KubernetesResilience(
+			KubernetesApiMetrics apiMetrics,
+			MeterRegistry meterRegistry,
+			@Value("${kubernetes.cluster.name:default}") String cluster,
+			@Value("${kubernetes.client.bulkhead.read.max-concurrent:32}") int readMaxConcurrent,
+			@Value("${kubernetes.client.bulkhead.read.max-wait:100ms}") Duration readMaxWait,
+			@Value("${kubernetes.client.bulkhead.write.max-concurrent:16}") int writeMaxConcurrent,
+			@Value("${kubernetes.client.bulkhead.write.max-wait:5s}") Duration writeMaxWait,
+			@Value("${kubernetes.client.retry.read.max-attempts:3}") int readMaxAttempts,
+			@Value("${kubernetes.client.retry.read.backoff:100ms}") Duration readRetryBackoff,
+			@Value("${kubernetes.client.retry.read.max-backoff:1s}") Duration readMaxRetryBackoff,
+			@Value("${kubernetes.client.circuit-breaker.window-size:50}") int windowSize,
+			@Value("${kubernetes.client.circuit-breaker.minimum-calls:20}") int minimumCalls,
+			@Value("${kubernetes.client.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+			@Value("${kubernetes.client.circuit-breaker.open-duration:30s}") Duration openDuration,
+			@Value("${kubernetes.client.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+		this.apiMetrics = apiMetrics;
+		this.meterRegistry = meterRegistry;
+		this.cluster = cluster;
+		this.circuitBreaker = new KubernetesCircuitBreaker(cluster, windowSize, minimumCalls, failureRateThreshold, openDuration, halfOpenCalls);
+		this.bulkheads.put(Bulkhead.READ, new Semaphore(readMaxConcurrent));
+		this.bulkheads.put(Bulkhead.WRITE, new Semaphore(writeMaxConcurrent));
+		this.bulkheadMaxConcurrent.put(Bulkhead.READ, readMaxConcurrent);
+		this.bulkheadMaxConcurrent.put(Bulkhead.WRITE, writeMaxConcurrent);
+		this.bulkheadMaxWait.put(Bulkhead.READ, readMaxWait);
+		this.bulkheadMaxWait.put(Bulkhead.WRITE, writeMaxWait);
+		this.readMaxAttempts = Math.max(1, readMaxAttempts);
+		this.readRetryBackoff = readRetryBackoff;
+		this.readMaxRetryBackoff = readMaxRetryBackoff;
+		this.windowSize = windowSize;
+		this.minimumCalls = minimumCalls;
+		this.failureRateThreshold = failureRateThreshold;
+		this.openDuration = openDuration;
+		this.halfOpenCalls = halfOpenCalls;
+
+		Gauge.builder("caas.k8s.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+				.description("Kubernetes API circuit breaker state (0 = CLOSED, 1 = HALF_OPEN, 2 = OPEN)")
+				.tag("cluster", cluster)
+				.register(meterRegistry);
+		this.retries = Counter.builder("caas.k8s.resilience.retries")
+				.description("Retried idempotent Kubernetes API reads")
+				.tag("cluster", cluster)
+				.register(meterRegistry);
+	}
+
+	/**
+	 * 같은 설정의 다른 클러스터용 보호 계층. circuit breaker 와 bulkhead 를 따로 가진다.
+	 */
+	public KubernetesResilience forCluster(String otherCluster) {
+		return new KubernetesResilience(apiMetrics, meterRegistry, otherCluster,
+				bulkheadMaxConcurrent.get(Bulkhead.READ), bulkheadMaxWait.get(Bulkhead.READ),
+				bulkheadMaxConcurrent.get(Bulkhead.WRITE), bulkheadMaxWait.get(Bulkhead.WRITE),
+				readMaxAttempts, readRetryBackoff, readMaxRetryBackoff,
+				windowSize, minimumCalls, failureRateThreshold, openDuration, halfOpenCalls);
+	}
+
+	public String cluster() {
+		return cluster;
+	}
+
+	/**
+	 * 이 클러스터의 API 서버로 호출을 보낼 수 있는 상태인지 여부 (circuit breaker 가 OPEN 이 아님).
+	 */
+	public boolean isAvailable() {
+		return circuitBreaker.getState() != KubernetesCircuitBreaker.State.OPEN;
+	}
+
+	/**
+	 * 멱등 조회. 네트워크 오류와 5xx 는 jitter 를 둔 지수 backoff 로 재시도한다.
+	 */
+	public <T> T read(String operation, String namespace, KubernetesApiMetrics.KubernetesCall<T> call) throws ApiException {
+		for (int attempt = 1; ; attempt++) {
+			try {
+				return execute(Bulkhead.READ, operation, namespace, call);
+			} catch (KubernetesUnavailableException e) {
+				throw e;
+			} catch (ApiException e) {
+				if (attempt >= readMaxAttempts || !isServerFailure(e)) {
+					throw e;
+				}
+				retries.increment();
+				sleep(jitteredBackoff(attempt));
+			}
+		}
+	}
+
+	/**
+	 * 생성 / 삭제. 재시도하지 않는다.
+	 */
+	public <T> T write(String operation, String namespace, KubernetesApiMetrics.KubernetesCall<T> call) throws ApiException {
+		return execute(Bulkhead.WRITE, operation, namespace, call);
+	}
+
+	/**
+	 * read() 의 비동기 버전.
+	 */
+	public <T> CompletableFuture<T> readAsync(String operation, String namespace, Supplier<CompletableFuture<T>> call) {
+		return readAsync(operation, namespace, call, 1);
+	}
+
+	/**
+	 * write() 의 비동기 버전.
+	 */
+	public <T> CompletableFuture<T> writeAsync(String operation, String namespace, Supplier<CompletableFuture<T>> call) {
+		return executeAsync(Bulkhead.WRITE, operation, namespace, call);
+	}
+
+	private <T> CompletableFuture<T> readAsync(String operation, String namespace, Supplier<CompletableFuture<T>> call, int attempt) {
+		return executeAsync(Bulkhead.READ, operation, namespace, call).exceptionallyCompose(failure -> {
+			Throwable cause = unwrap(failure);
+			if (cause instanceof KubernetesUnavailableException || !(cause instanceof ApiException e)
+					|| attempt >= readMaxAttempts || !isServerFailure(e)) {
+				return CompletableFuture.failedFuture(cause);
+			}
+			retries.increment();
+			Duration backoff = jitteredBackoff(attempt);
+			return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(backoff.toNanos(), TimeUnit.NANOSECONDS))
+					.thenCompose(ignored -> readAsync(operation, namespace, call, attempt + 1));
+		});
+	}
+
+	private <T> CompletableFuture<T> executeAsync(Bulkhead bulkhead, String operation, String namespace,
+												  Supplier<CompletableFuture<T>> call) {
+		Semaphore permits = bulkheads.get(bulkhead);
+		if (!permits.tryAcquire()) {
+			return CompletableFuture.failedFuture(rejected("bulkhead_full", bulkhead, operation));
+		}
+		if (!circuitBreaker.tryAcquire()) {
+			permits.release();
+			return CompletableFuture.failedFuture(rejected("circuit_open", bulkhead, operation));
+		}
+
+		CompletableFuture<T> future;
+		try {
+			future = apiMetrics.recordAsync(operation, namespace, call);
+		} catch (RuntimeException e) {
+			circuitBreaker.onFailure();
+			permits.release();
+			return CompletableFuture.failedFuture(e);
+		}
+		return future.whenComplete((result, failure) -> {
+			Throwable cause = unwrap(failure);
+			if (cause == null) {
+				circuitBreaker.onSuccess();
+			} else if (cause instanceof ApiException e && !isServerFailure(e)) {
+				circuitBreaker.onIgnored();
+			} else {
+				circuitBreaker.onFailure();
+			}
+			permits.release();
+		});
+	}
+
+	private static Throwable unwrap(Throwable failure) {
+		return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+	}
+
+	private <T> T execute(Bulkhead bulkhead, String operation, String namespace,
+						  KubernetesApiMetrics.KubernetesCall<T> call) throws ApiException {
+		Semaphore permits = bulkheads.get(bulkhead);
+		if (!acquire(permits, bulkheadMaxWait.get(bulkhead))) {
+			throw rejected("bulkhead_full", bulkhead, operation);
+		}
+		try {
+			if (!circuitBreaker.tryAcquire()) {
+				throw rejected("circuit_open", bulkhead, operation);
+			}
+			try {
+				T result = apiMetrics.record(operation, namespace, call);
+				circuitBreaker.onSuccess();
+				return result;
+			} catch (ApiException e) {
+				if (isServerFailure(e)) {
+					circuitBreaker.onFailure();
+				} else {
+					circuitBreaker.onIgnored();
+				}
+				throw e;
+			} catch (RuntimeException e) {
+				circuitBreaker.onFailure();
+				throw e;
+			}
+		} finally {
+			permits.release();
+		}
+	}
+
+	// API 서버 상태를 나타내는 실패: 네트워크 / 타임아웃(code 0, 클라이언트 측 rate limit 거절 제외)과 5xx
+	private static boolean isServerFailure(ApiException e) {
+		if (e.getCode() == 0) {
+			return !(e.getCause() instanceof KubernetesRateLimitInterceptor.KubernetesRateLimitException);
+		}
+		return e.getCode() >= 500;
+	}
+
+	private Duration jitteredBackoff(int attempt) {
+		long cap = Math.min(readMaxRetryBackoff.toNanos(), readRetryBackoff.toNanos() << Math.min(attempt - 1, 16));
+		return Duration.ofNanos(ThreadLocalRandom.current().nextLong(cap + 1));
+	}
+
+	private KubernetesUnavailableException rejected(String reason, Bulkhead bulkhead, String operation) {
+		Counter.builder("caas.k8s.resilience.rejected")
+				.description("Kubernetes API calls rejected by the circuit breaker or a bulkhead")
+				.tags("reason", reason, "bulkhead", bulkhead.name(), "cluster", cluster)
+				.register(meterRegistry)
+				.increment();
+		return new KubernetesUnavailableException(String.format("Kubernetes API call %s to cluster %s rejected: %s", operation, cluster, reason));
+	}
+
+	private static boolean acquire(Semaphore permits, Duration maxWait) {
+		try {
+			return permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private static void sleep(Duration duration) throws KubernetesUnavailableException {
+		try {
+			Thread.sleep(duration.toMillis(), (int) (duration.toNanos() % 1_000_000));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new KubernetesUnavailableException("Interrupted while waiting to retry a Kubernetes API call");
+		}
+	}
+
+	/**
+	 * circuit breaker 또는 bulkhead 가 호출을 막은 경우. code 0 이므로 생성 saga 는 재시도 가능한 오류로 처리한다.
+	 */
+	public static class KubernetesUnavailableException extends ApiException {
+		public KubernetesUnavailableException(String message) {
+			super(message);
+		}
+	}
+}
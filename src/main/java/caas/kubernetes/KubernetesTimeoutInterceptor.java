@@ -0,0 +1,61 @@
+package caas.kubernetes;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kubernetes API 요청 종류별 타임아웃. ClientBuilder 의 기본 read timeout 은 무제한(watch 용)이므로
+ * 단건 조회 / 목록 조회 / 변경 요청에 각각 상한을 둔다. watch 요청과 follow 로그 요청은 새 데이터가 올 때까지 비어 있을 수 있으므로 그대로 둔다.
+ */
+@Component
+public class KubernetesTimeoutInterceptor implements Interceptor {
+
+	private final Duration connectTimeout;
+	private final Duration readTimeout;
+	private final Duration listTimeout;
+	private final Duration writeTimeout;
+
+	public KubernetesTimeoutInterceptor(
+			@Value("${kubernetes.client.timeout.connect:3s}") Duration connectTimeout,
+			@Value("${kubernetes.client.timeout.read:3s}") Duration readTimeout,
+			@Value("${kubernetes.client.timeout.list:30s}") Duration listTimeout,
+			@Value("${kubernetes.client.timeout.write:10s}") Duration writeTimeout) {
+		this.connectTimeout = connectTimeout;
+		this.readTimeout = readTimeout;
+		this.listTimeout = listTimeout;
+		this.writeTimeout = writeTimeout;
+	}
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		Request request = chain.request();
+		if ("true".equals(request.url().queryParameter("watch")) || "true".equals(request.url().queryParameter("follow"))) {
+			return chain.proceed(request);
+		}
+
+		Duration timeout = timeoutOf(request);
+		return chain
+				.withConnectTimeout((int) connectTimeout.toMillis(), TimeUnit.MILLISECONDS)
+				.withReadTimeout((int) timeout.toMillis(), TimeUnit.MILLISECONDS)
+				.withWriteTimeout((int) timeout.toMillis(), TimeUnit.MILLISECONDS)
+				.proceed(request);
+	}
+
+	private Duration timeoutOf(Request request) {
+		if (!"GET".equals(request.method())) {
+			return writeTimeout;
+		}
+		// .../namespaces/{ns}/{resource}/{name} 만 단건 조회, 목록과 하위 리소스(log 등)는 list timeout
+		List<String> segments = request.url().pathSegments();
+		int namespaces = segments.indexOf("namespaces");
+		return namespaces >= 0 && segments.size() == namespaces + 4 ? readTimeout : listTimeout;
+	}
+}
@@ -0,0 +1,11 @@
+package caas.kubernetes;
+
+/**
+ * Deployment 상태 조회와 Deployment / Service / Ingress 생성에 쓰는 Kubernetes API 직렬화 형식.
+ */
+public enum KubernetesWireFormat {
+	/** application/json. 생성된 OpenAPI 클라이언트(AppsV1Api 등)를 사용한다. */
+	JSON,
+	/** application/vnd.kubernetes.protobuf. 응답 크기와 파싱 비용이 작다. fake-k8s 프로파일의 fake API 서버는 지원하지 않는다. */
+	PROTOBUF
+}
@@ -0,0 +1,8 @@
+package caas.kubernetes;
+
+/**
+ * 이 인스턴스가 leader 가 되었거나(leader = true) leader 에서 물러났을 때 발행된다.
+ * leader election 을 끄면 기동 완료 시 leader = true 로 한 번 발행된다.
+ */
+public record LeadershipChangedEvent(boolean leader, String identity) {
+}
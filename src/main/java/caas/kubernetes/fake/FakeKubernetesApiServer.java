@@ -0,0 +1,883 @@
+package caas.kubernetes.fake;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 부하 테스트용 인프로세스 Kubernetes API 서버 대역 (fake-k8s 프로파일).
+ * 컨트롤 서버가 쓰는 엔드포인트(apps/v1 deployments, v1 services, networking.k8s.io/v1 ingresses, coordination.k8s.io/v1 leases)의
+ * create / read / replace(PUT) / delete / list / watch 와 server-side apply / JSON merge patch(PATCH) 를 메모리에서 처리하고,
+ * 지연 / 5xx / 429 를 설정된 비율로 주입한다.
+ * Deployment 는 ready-delay 후 RUNNING 으로 바뀌며 watch 로 MODIFIED 이벤트가 전달된다.
+ * Pod 는 replicas 가 1 이상인 Deployment 마다 하나씩 있는 것으로 보이고, 로그(pods/{name}/log)는 만든 줄을 흘려보낸다. Event 는 비어 있다.
+ */
+@Slf4j
+@Component
+@Profile("fake-k8s")
+public class FakeKubernetesApiServer {
+
+	private static final Pattern RESOURCE_PATH = Pattern.compile(
+			"^/(api/v1|apis/apps/v1|apis/networking\\.k8s\\.io/v1|apis/coordination\\.k8s\\.io/v1)/namespaces/([^/]+)/(deployments|services|ingresses|pods|events|leases)(?:/([^/]+))?(/log)?$");
+	private static final Map<String, String> KINDS = Map.of(
+			"deployments", "Deployment",
+			"services", "Service",
+			"ingresses", "Ingress",
+			"pods", "Pod",
+			"events", "Event",
+			"leases", "Lease");
+	private static final String FAKE_POD_SUFFIX = "-fake0";
+	private static final int DEFAULT_LOG_LINES = 10;
+	private static final Duration LOG_LINE_INTERVAL = Duration.ofSeconds(1);
+	private static final int EVENT_HISTORY_SIZE = 10_000;
+	private static final String CLOSE_WATCH = "";
+
+	private final Gson gson = new Gson();
+	private final int port;
+	private final Duration latency;
+	private final Duration latencyJitter;
+	private final double errorRate;
+	private final double throttleRate;
+	private final int retryAfterSeconds;
+	private final Duration readyDelay;
+
+	// key: resource/namespace/name
+	private final Map<String, JsonObject> objects = new ConcurrentSkipListMap<>();
+	// 최근 이벤트 (watch 가 요청한 resourceVersion 이후를 재전송하기 위함)
+	private final Deque<WatchEvent> history = new ArrayDeque<>();
+	private final Set<Watcher> watchers = new CopyOnWriteArraySet<>();
+	private final Object lock = new Object();
+	private long resourceVersion;
+
+	private HttpServer server;
+	private ExecutorService handlerExecutor;
+	private ScheduledExecutorService scheduler;
+
+	public FakeKubernetesApiServer(
+			@Value("${kubernetes.fake.port:0}") int port,
+			@Value("${kubernetes.fake.latency:20ms}") Duration latency,
+			@Value("${kubernetes.fake.latency-jitter:10ms}") Duration latencyJitter,
+			@Value("${kubernetes.fake.error-rate:0.0}") double errorRate,
+			@Value("${kubernetes.fake.throttle-rate:0.0}") double throttleRate,
+			@Value("${kubernetes.fake.retry-after-seconds:1}") int retryAfterSeconds,
+			@Value("${kubernetes.fake.ready-delay:2s}") Duration readyDelay) {
+		this.port = port;
+		this.latency = latency;
+		this.latencyJitter = latencyJitter;
+		this.errorRate = errorRate;
+		this.throttleRate = throttleRate;
+		this.retryAfterSeconds = retryAfterSeconds;
+		this.readyDelay = readyDelay;
+	}
+
+	@PostConstruct
+	public void start() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+		// watch 요청이 스레드를 오래 잡으므로 제한 없는 풀 사용
+		handlerExecutor = Executors.newCachedThreadPool(daemon("fake-k8s-http"));
+		scheduler = Executors.newSingleThreadScheduledExecutor(daemon("fake-k8s-ready"));
+		server.setExecutor(handlerExecutor);
+		server.createContext("/", this::handle);
+		server.start();
+		log.info("Fake Kubernetes API server started at {} (latency: {}±{}, error-rate: {}, throttle-rate: {}, ready-delay: {})",
+				getBaseUrl(), latency, latencyJitter, errorRate, throttleRate, readyDelay);
+	}
+
+	@PreDestroy
+	public void stop() {
+		watchers.forEach(watcher -> watcher.queue.offer(CLOSE_WATCH));
+		if (server != null) {
+			server.stop(0);
+		}
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
+		if (handlerExecutor != null) {
+			handlerExecutor.shutdownNow();
+		}
+	}
+
+	public String getBaseUrl() {
+		return "http://127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try (exchange) {
+			Matcher matcher = RESOURCE_PATH.matcher(exchange.getRequestURI().getPath());
+			if (!matcher.matches()) {
+				sendStatus(exchange, 404, "NotFound", "unsupported path: " + exchange.getRequestURI().getPath());
+				return;
+			}
+
+			String apiVersion = matcher.group(1).replaceFirst("^apis?/", "");
+			String namespace = matcher.group(2);
+			String resource = matcher.group(3);
+			String name = matcher.group(4);
+			Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+			String method = exchange.getRequestMethod();
+
+			if ("pods".equals(resource)) {
+				pods(exchange, namespace, name, matcher.group(5) != null, query);
+				return;
+			}
+			if (matcher.group(5) != null) {
+				sendStatus(exchange, 404, "NotFound", "unsupported path: " + exchange.getRequestURI().getPath());
+				return;
+			}
+			if (name == null && "GET".equals(method) && "true".equals(query.get("watch"))) {
+				watch(exchange, resource, namespace, query);
+				return;
+			}
+
+			if (injectFault(exchange)) {
+				return;
+			}
+
+			if (name == null && "POST".equals(method)) {
+				create(exchange, apiVersion, resource, namespace);
+			} else if (name == null && "GET".equals(method)) {
+				list(exchange, apiVersion, resource, namespace, query);
+			} else if (name != null && "GET".equals(method)) {
+				JsonObject object = objects.get(key(resource, namespace, name));
+				if (object == null) {
+					sendStatus(exchange, 404, "NotFound", resource + " \"" + name + "\" not found");
+				} else {
+					send(exchange, 200, object);
+				}
+			} else if (name != null && "PUT".equals(method)) {
+				replace(exchange, resource, namespace, name);
+			} else if (name != null && "DELETE".equals(method)) {
+				delete(exchange, resource, namespace, name, !"Orphan".equals(query.get("propagationPolicy")));
+			} else if (name != null && "PATCH".equals(method) && isMergePatch(exchange)) {
+				mergePatch(exchange, resource, namespace, name);
+			} else if (name != null && "PATCH".equals(method)) {
+				apply(exchange, apiVersion, resource, namespace, name);
+			} else {
+				sendStatus(exchange, 405, "MethodNotAllowed", method + " is not supported");
+			}
+		} catch (RuntimeException e) {
+			log.warn("Fake Kubernetes API server failed to handle {} {}: {}",
+					exchange.getRequestMethod(), exchange.getRequestURI(), e.getMessage());
+		}
+	}
+
+	/**
+	 * Deployment 에서 만든 Pod 의 list / read / log. Pod 는 Deployment 이름 + FAKE_POD_SUFFIX 이고 ready 면 Running, 아니면 Pending 이다.
+	 */
+	private void pods(HttpExchange exchange, String namespace, String name, boolean logRequest,
+					  Map<String, String> query) throws IOException {
+		if (injectFault(exchange)) {
+			return;
+		}
+		if (!"GET".equals(exchange.getRequestMethod())) {
+			sendStatus(exchange, 405, "MethodNotAllowed", exchange.getRequestMethod() + " is not supported");
+			return;
+		}
+
+		Map<String, String> selector = parseSelector(query.get("labelSelector"));
+		JsonArray items = new JsonArray();
+		String listVersion;
+		synchronized (lock) {
+			String prefix = key("deployments", namespace, "");
+			objects.forEach((key, deployment) -> {
+				if (key.startsWith(prefix)) {
+					JsonObject pod = podOf(deployment);
+					if (pod != null && matches(pod, selector)
+							&& (name == null || name.equals(pod.getAsJsonObject("metadata").get("name").getAsString()))) {
+						items.add(pod);
+					}
+				}
+			});
+			listVersion = String.valueOf(resourceVersion);
+		}
+
+		if (name == null) {
+			JsonObject listMetadata = new JsonObject();
+			listMetadata.addProperty("resourceVersion", listVersion);
+			JsonObject list = new JsonObject();
+			list.addProperty("apiVersion", "v1");
+			list.addProperty("kind", "PodList");
+			list.add("metadata", listMetadata);
+			list.add("items", items);
+			send(exchange, 200, list);
+		} else if (items.isEmpty()) {
+			sendStatus(exchange, 404, "NotFound", "pods \"" + name + "\" not found");
+		} else if (!logRequest) {
+			send(exchange, 200, items.get(0).getAsJsonObject());
+		} else if (!"Running".equals(items.get(0).getAsJsonObject().getAsJsonObject("status").get("phase").getAsString())) {
+			sendStatus(exchange, 400, "BadRequest", "container in pod \"" + name + "\" is waiting to start: ContainerCreating");
+		} else {
+			podLog(exchange, name, query);
+		}
+	}
+
+	/**
+	 * tailLines(기본 DEFAULT_LOG_LINES) 줄을 보내고, follow 면 클라이언트가 끊을 때까지 LOG_LINE_INTERVAL 마다 한 줄씩 더 보낸다.
+	 */
+	private void podLog(HttpExchange exchange, String name, Map<String, String> query) throws IOException {
+		long lines = parseLong(query.get("tailLines"), DEFAULT_LOG_LINES);
+		boolean follow = "true".equals(query.get("follow"));
+		exchange.getResponseHeaders().set("Content-Type", "text/plain");
+		exchange.sendResponseHeaders(200, 0);
+		OutputStream body = exchange.getResponseBody();
+		long sequence = 0;
+		try {
+			while (sequence < lines) {
+				writeLine(body, logLine(name, ++sequence));
+			}
+			while (follow) {
+				Thread.sleep(LOG_LINE_INTERVAL.toMillis());
+				writeLine(body, logLine(name, ++sequence));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (IOException e) {
+			log.debug("Log client disconnected: {}", e.getMessage());
+		}
+	}
+
+	private static String logLine(String pod, long sequence) {
+		return Instant.now() + " " + pod + " fake log line " + sequence;
+	}
+
+	// lock 을 잡은 상태에서 호출. replicas 가 0 이면 Pod 가 없다
+	private static JsonObject podOf(JsonObject deployment) {
+		JsonObject spec = deployment.getAsJsonObject("spec");
+		if (spec == null || (spec.has("replicas") && spec.get("replicas").getAsInt() == 0)) {
+			return null;
+		}
+		JsonObject deploymentMetadata = deployment.getAsJsonObject("metadata");
+		JsonObject template = spec.has("template") ? spec.getAsJsonObject("template") : new JsonObject();
+		JsonObject templateMetadata = template.has("metadata") ? template.getAsJsonObject("metadata") : new JsonObject();
+		JsonObject deploymentStatus = deployment.getAsJsonObject("status");
+		boolean ready = deploymentStatus != null && deploymentStatus.has("readyReplicas");
+
+		JsonObject metadata = new JsonObject();
+		metadata.addProperty("name", deploymentMetadata.get("name").getAsString() + FAKE_POD_SUFFIX);
+		metadata.addProperty("namespace", deploymentMetadata.get("namespace").getAsString());
+		metadata.add("creationTimestamp", deploymentMetadata.get("creationTimestamp"));
+		if (templateMetadata.has("labels")) {
+			metadata.add("labels", templateMetadata.get("labels").deepCopy());
+		}
+		JsonObject status = new JsonObject();
+		status.addProperty("phase", ready ? "Running" : "Pending");
+		JsonObject pod = new JsonObject();
+		pod.addProperty("apiVersion", "v1");
+		pod.addProperty("kind", "Pod");
+		pod.add("metadata", metadata);
+		pod.add("status", status);
+		return pod;
+	}
+
+	/**
+	 * 지연을 적용하고, 설정된 비율로 429(Retry-After 포함) 또는 500 을 응답한다. 응답했으면 true.
+	 */
+	private boolean injectFault(HttpExchange exchange) throws IOException {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long delayMillis = latency.toMillis();
+		if (!latencyJitter.isZero()) {
+			delayMillis += random.nextLong(-latencyJitter.toMillis(), latencyJitter.toMillis() + 1);
+		}
+		if (delayMillis > 0) {
+			try {
+				Thread.sleep(delayMillis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		if (throttleRate > 0 && random.nextDouble() < throttleRate) {
+			exchange.getResponseHeaders().set("Retry-After", String.valueOf(retryAfterSeconds));
+			sendStatus(exchange, 429, "TooManyRequests", "the server has received too many requests and has asked us to try again later");
+			return true;
+		}
+		if (errorRate > 0 && random.nextDouble() < errorRate) {
+			sendStatus(exchange, 500, "InternalError", "injected failure");
+			return true;
+		}
+		return false;
+	}
+
+	private void create(HttpExchange exchange, String apiVersion, String resource, String namespace) throws IOException {
+		JsonObject object = JsonParser.parseString(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8))
+				.getAsJsonObject();
+		JsonObject metadata = object.has("metadata") ? object.getAsJsonObject("metadata") : new JsonObject();
+		String name = metadata.has("name") ? metadata.get("name").getAsString() : null;
+		if (name == null) {
+			sendStatus(exchange, 422, "Invalid", "metadata.name is required");
+			return;
+		}
+
+		object.addProperty("apiVersion", apiVersion);
+		object.addProperty("kind", KINDS.get(resource));
+		metadata.addProperty("namespace", namespace);
+		metadata.addProperty("uid", UUID.randomUUID().toString());
+		metadata.addProperty("creationTimestamp", Instant.now().truncatedTo(ChronoUnit.SECONDS).toString());
+		object.add("metadata", metadata);
+		if ("deployments".equals(resource)) {
+			object.add("status", deploymentStatus(object, false));
+		}
+
+		String key = key(resource, namespace, name);
+		boolean created;
+		synchronized (lock) {
+			created = !objects.containsKey(key);
+			if (created) {
+				metadata.addProperty("resourceVersion", String.valueOf(++resourceVersion));
+				objects.put(key, object);
+				publish("ADDED", resource, namespace, object);
+			}
+		}
+
+		if (!created) {
+			sendStatus(exchange, 409, "AlreadyExists", resource + " \"" + name + "\" already exists");
+			return;
+		}
+
+		if ("deployments".equals(resource)) {
+			scheduler.schedule(() -> markReady(key), readyDelay.toMillis(), TimeUnit.MILLISECONDS);
+		}
+		send(exchange, 201, object);
+	}
+
+	/**
+	 * 객체 전체를 바꾼다. 요청에 metadata.resourceVersion 이 있으면 현재 값과 같을 때만 바꾸고 다르면 409 로 응답한다 (optimistic concurrency).
+	 */
+	private void replace(HttpExchange exchange, String resource, String namespace, String name) throws IOException {
+		JsonObject object = JsonParser.parseString(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8))
+				.getAsJsonObject();
+		JsonObject metadata = object.has("metadata") ? object.getAsJsonObject("metadata") : new JsonObject();
+		JsonElement requestedVersion = metadata.get("resourceVersion");
+
+		String key = key(resource, namespace, name);
+		int code;
+		synchronized (lock) {
+			JsonObject current = objects.get(key);
+			if (current == null) {
+				code = 404;
+			} else if (requestedVersion != null
+					&& !requestedVersion.getAsString().equals(current.getAsJsonObject("metadata").get("resourceVersion").getAsString())) {
+				code = 409;
+			} else {
+				JsonObject currentMetadata = current.getAsJsonObject("metadata");
+				for (String field : List.of("name", "namespace", "uid", "creationTimestamp")) {
+					metadata.add(field, currentMetadata.get(field));
+				}
+				metadata.addProperty("resourceVersion", String.valueOf(++resourceVersion));
+				object.add("metadata", metadata);
+				object.add("apiVersion", current.get("apiVersion"));
+				object.add("kind", current.get("kind"));
+				objects.put(key, object);
+				publish("MODIFIED", resource, namespace, object);
+				code = 200;
+			}
+		}
+
+		if (code == 404) {
+			sendStatus(exchange, 404, "NotFound", resource + " \"" + name + "\" not found");
+		} else if (code == 409) {
+			sendStatus(exchange, 409, "Conflict", "the object has been modified; please apply your changes to the latest version and try again");
+		} else {
+			send(exchange, 200, object);
+		}
+	}
+
+	/**
+	 * server-side apply (application/apply-patch+yaml, JSON 본문만 지원). field manager 는 구분하지 않고
+	 * 요청의 labels / annotations / spec 으로 덮어쓴다. 바뀐 것이 없으면 resourceVersion 을 올리지 않고 이벤트도 내지 않는다.
+	 */
+	private void apply(HttpExchange exchange, String apiVersion, String resource, String namespace, String name) throws IOException {
+		String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+		if (contentType == null || !contentType.startsWith("application/apply-patch+yaml")) {
+			sendStatus(exchange, 415, "UnsupportedMediaType", "only server-side apply patches are supported: " + contentType);
+			return;
+		}
+		JsonObject patch = JsonParser.parseString(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8))
+				.getAsJsonObject();
+		JsonObject patchMetadata = patch.has("metadata") ? patch.getAsJsonObject("metadata") : new JsonObject();
+
+		String key = key(resource, namespace, name);
+		JsonObject result;
+		boolean created;
+		synchronized (lock) {
+			JsonObject current = objects.get(key);
+			created = current == null;
+			JsonObject updated = created ? new JsonObject() : current.deepCopy();
+			JsonObject metadata = created ? new JsonObject() : updated.getAsJsonObject("metadata");
+			if (created) {
+				updated.addProperty("apiVersion", apiVersion);
+				updated.addProperty("kind", KINDS.get(resource));
+				metadata.addProperty("name", name);
+				metadata.addProperty("namespace", namespace);
+				metadata.addProperty("uid", UUID.randomUUID().toString());
+				metadata.addProperty("creationTimestamp", Instant.now().truncatedTo(ChronoUnit.SECONDS).toString());
+				updated.add("metadata", metadata);
+			}
+			for (String field : List.of("labels", "annotations")) {
+				if (patchMetadata.has(field)) {
+					metadata.add(field, patchMetadata.get(field));
+				}
+			}
+			if (patch.has("spec")) {
+				updated.add("spec", patch.get("spec"));
+			}
+			if (created && "deployments".equals(resource)) {
+				updated.add("status", deploymentStatus(updated, false));
+			}
+
+			if (!created && updated.equals(current)) {
+				result = current;
+			} else {
+				metadata.addProperty("resourceVersion", String.valueOf(++resourceVersion));
+				objects.put(key, updated);
+				publish(created ? "ADDED" : "MODIFIED", resource, namespace, updated);
+				result = updated;
+			}
+		}
+
+		if (created && "deployments".equals(resource)) {
+			scheduler.schedule(() -> markReady(key), readyDelay.toMillis(), TimeUnit.MILLISECONDS);
+		}
+		send(exchange, created ? 201 : 200, result);
+	}
+
+	private static boolean isMergePatch(HttpExchange exchange) {
+		String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+		return contentType != null && contentType.startsWith("application/merge-patch+json");
+	}
+
+	/**
+	 * JSON merge patch (RFC 7386). 없는 객체는 404 로 응답하고, 바뀐 것이 없으면 resourceVersion 을 올리지 않는다.
+	 * patch 에 metadata.resourceVersion 이 있으면 현재 값과 같을 때만 적용하고 다르면 409 로 응답한다.
+	 * Deployment 의 replicas 가 바뀌면 생성할 때처럼 ready-delay 후 RUNNING 이 된다.
+	 */
+	private void mergePatch(HttpExchange exchange, String resource, String namespace, String name) throws IOException {
+		JsonObject patch = JsonParser.parseString(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8))
+				.getAsJsonObject();
+
+		String key = key(resource, namespace, name);
+		JsonObject result;
+		boolean rescaled = false;
+		boolean conflict = false;
+		synchronized (lock) {
+			JsonObject current = objects.get(key);
+			if (current == null) {
+				result = null;
+			} else if (isStale(patch, current)) {
+				result = null;
+				conflict = true;
+			} else {
+				JsonObject updated = current.deepCopy();
+				merge(updated, patch);
+				if ("deployments".equals(resource) && !updated.get("spec").equals(current.get("spec"))) {
+					updated.add("status", deploymentStatus(updated, false));
+					rescaled = true;
+				}
+				if (updated.equals(current)) {
+					result = current;
+				} else {
+					updated.getAsJsonObject("metadata").addProperty("resourceVersion", String.valueOf(++resourceVersion));
+					objects.put(key, updated);
+					publish("MODIFIED", resource, namespace, updated);
+					result = updated;
+				}
+			}
+		}
+
+		if (conflict) {
+			sendStatus(exchange, 409, "Conflict", "the object has been modified; please apply your changes to the latest version and try again");
+			return;
+		}
+		if (result == null) {
+			sendStatus(exchange, 404, "NotFound", resource + " \"" + name + "\" not found");
+			return;
+		}
+		if (rescaled) {
+			scheduler.schedule(() -> markReady(key), readyDelay.toMillis(), TimeUnit.MILLISECONDS);
+		}
+		send(exchange, 200, result);
+	}
+
+	private static boolean isStale(JsonObject patch, JsonObject current) {
+		JsonElement requestedVersion = patch.has("metadata") ? patch.getAsJsonObject("metadata").get("resourceVersion") : null;
+		return requestedVersion != null
+				&& !requestedVersion.getAsString().equals(current.getAsJsonObject("metadata").get("resourceVersion").getAsString());
+	}
+
+	private static void merge(JsonObject target, JsonObject patch) {
+		for (Map.Entry<String, JsonElement> entry : patch.entrySet()) {
+			JsonElement value = entry.getValue();
+			if (value.isJsonNull()) {
+				target.remove(entry.getKey());
+			} else if (value.isJsonObject() && target.get(entry.getKey()) instanceof JsonObject nested) {
+				merge(nested, value.getAsJsonObject());
+			} else {
+				target.add(entry.getKey(), value.deepCopy());
+			}
+		}
+	}
+
+	private void markReady(String key) {
+		synchronized (lock) {
+			JsonObject current = objects.get(key);
+			if (current == null) {
+				return;
+			}
+			JsonObject updated = current.deepCopy();
+			updated.add("status", deploymentStatus(updated, true));
+			updated.getAsJsonObject("metadata").addProperty("resourceVersion", String.valueOf(++resourceVersion));
+			objects.put(key, updated);
+			String[] parts = key.split("/", 3);
+			publish("MODIFIED", parts[0], parts[1], updated);
+		}
+	}
+
+	// cascade 이면 ownerReferences 로 이 객체를 가리키는 객체도 함께 지운다 (Kubernetes garbage collector 대역)
+	private void delete(HttpExchange exchange, String resource, String namespace, String name, boolean cascade) throws IOException {
+		JsonObject removed;
+		synchronized (lock) {
+			removed = remove(key(resource, namespace, name));
+			if (removed != null && cascade) {
+				String uid = removed.getAsJsonObject("metadata").get("uid").getAsString();
+				objects.entrySet().stream()
+						.filter(entry -> entry.getKey().split("/", 3)[1].equals(namespace) && isOwnedBy(entry.getValue(), uid))
+						.map(Map.Entry::getKey)
+						.toList()
+						.forEach(this::remove);
+			}
+		}
+
+		if (removed == null) {
+			sendStatus(exchange, 404, "NotFound", resource + " \"" + name + "\" not found");
+			return;
+		}
+		// 실제 API 서버처럼 Service 삭제는 삭제된 객체를, 나머지는 Status 를 돌려준다 (클라이언트가 각각의 타입으로 읽는다)
+		if ("services".equals(resource)) {
+			send(exchange, 200, removed);
+			return;
+		}
+		JsonObject status = new JsonObject();
+		status.addProperty("kind", "Status");
+		status.addProperty("apiVersion", "v1");
+		status.add("metadata", new JsonObject());
+		status.addProperty("status", "Success");
+		send(exchange, 200, status);
+	}
+
+	// 호출하는 쪽이 lock 을 잡고 있어야 한다
+	private JsonObject remove(String key) {
+		JsonObject removed = objects.remove(key);
+		if (removed != null) {
+			removed = removed.deepCopy();
+			removed.getAsJsonObject("metadata").addProperty("resourceVersion", String.valueOf(++resourceVersion));
+			String[] parts = key.split("/", 3);
+			publish("DELETED", parts[0], parts[1], removed);
+		}
+		return removed;
+	}
+
+	private static boolean isOwnedBy(JsonObject object, String uid) {
+		JsonArray owners = object.getAsJsonObject("metadata").getAsJsonArray("ownerReferences");
+		if (owners == null) {
+			return false;
+		}
+		for (JsonElement owner : owners) {
+			JsonElement ownerUid = owner.getAsJsonObject().get("uid");
+			if (ownerUid != null && uid.equals(ownerUid.getAsString())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// limit 이 있으면 이름 순으로 나눠 주고, 다음 페이지의 시작 이름을 continue 토큰으로 돌려준다
+	private void list(HttpExchange exchange, String apiVersion, String resource, String namespace,
+					  Map<String, String> query) throws IOException {
+		Map<String, String> selector = parseSelector(query.get("labelSelector"));
+		int limit = query.containsKey("limit") ? Integer.parseInt(query.get("limit")) : Integer.MAX_VALUE;
+		String continueFrom = query.get("continue");
+		JsonArray items = new JsonArray();
+		String continueToken = null;
+		String listVersion;
+		synchronized (lock) {
+			String prefix = resource + "/" + namespace + "/";
+			List<String> keys = objects.keySet().stream()
+					.filter(key -> key.startsWith(prefix) && matches(objects.get(key), selector))
+					.filter(key -> continueFrom == null || key.substring(prefix.length()).compareTo(continueFrom) >= 0)
+					.sorted()
+					.toList();
+			for (String key : keys) {
+				if (items.size() == limit) {
+					continueToken = key.substring(prefix.length());
+					break;
+				}
+				items.add(objects.get(key));
+			}
+			listVersion = String.valueOf(resourceVersion);
+		}
+
+		JsonObject listMetadata = new JsonObject();
+		listMetadata.addProperty("resourceVersion", listVersion);
+		if (continueToken != null) {
+			listMetadata.addProperty("continue", continueToken);
+		}
+		JsonObject list = new JsonObject();
+		list.addProperty("apiVersion", apiVersion);
+		list.addProperty("kind", KINDS.get(resource) + "List");
+		list.add("metadata", listMetadata);
+		list.add("items", items);
+		send(exchange, 200, list);
+	}
+
+	/**
+	 * 요청한 resourceVersion 이후의 이벤트를 재전송한 뒤 새 이벤트를 줄 단위 JSON 으로 흘려보낸다.
+	 * 기록이 남아 있지 않은 오래된 resourceVersion 은 410 Gone 으로 응답해 클라이언트가 다시 LIST 하도록 한다.
+	 */
+	private void watch(HttpExchange exchange, String resource, String namespace, Map<String, String> query) throws IOException {
+		long since = parseLong(query.get("resourceVersion"), 0);
+		long timeoutSeconds = parseLong(query.get("timeoutSeconds"), 300);
+		Watcher watcher = new Watcher(resource, namespace, parseSelector(query.get("labelSelector")));
+
+		List<String> backlog;
+		synchronized (lock) {
+			if (since > 0 && !history.isEmpty() && history.peekFirst().resourceVersion > since + 1
+					&& since < resourceVersion) {
+				backlog = List.of(goneEvent(since));
+			} else {
+				backlog = history.stream()
+						.filter(event -> event.resourceVersion > since && watcher.accepts(event))
+						.map(event -> event.json)
+						.toList();
+				watchers.add(watcher);
+			}
+		}
+
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(200, 0);
+		OutputStream body = exchange.getResponseBody();
+		try {
+			for (String line : backlog) {
+				writeLine(body, line);
+			}
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+			while (watchers.contains(watcher)) {
+				long remaining = deadline - System.nanoTime();
+				if (remaining <= 0) {
+					break;
+				}
+				String line = watcher.queue.poll(remaining, TimeUnit.NANOSECONDS);
+				if (line == null || line.equals(CLOSE_WATCH)) {
+					break;
+				}
+				writeLine(body, line);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (IOException e) {
+			log.debug("Watch client disconnected: {}", e.getMessage());
+		} finally {
+			watchers.remove(watcher);
+		}
+	}
+
+	// lock 을 잡은 상태에서 호출
+	private void publish(String type, String resource, String namespace, JsonObject object) {
+		JsonObject event = new JsonObject();
+		event.addProperty("type", type);
+		event.add("object", object);
+		WatchEvent watchEvent = new WatchEvent(resourceVersion, resource, namespace, object, gson.toJson(event));
+
+		history.addLast(watchEvent);
+		if (history.size() > EVENT_HISTORY_SIZE) {
+			history.removeFirst();
+		}
+		for (Watcher watcher : watchers) {
+			if (watcher.accepts(watchEvent)) {
+				watcher.queue.offer(watchEvent.json);
+			}
+		}
+	}
+
+	private String goneEvent(long since) {
+		JsonObject status = new JsonObject();
+		status.addProperty("kind", "Status");
+		status.addProperty("apiVersion", "v1");
+		status.addProperty("status", "Failure");
+		status.addProperty("reason", "Expired");
+		status.addProperty("message", "too old resource version: " + since);
+		status.addProperty("code", 410);
+		JsonObject event = new JsonObject();
+		event.addProperty("type", "ERROR");
+		event.add("object", status);
+		return gson.toJson(event);
+	}
+
+	private static JsonObject deploymentStatus(JsonObject deployment, boolean ready) {
+		JsonObject spec = deployment.getAsJsonObject("spec");
+		int replicas = spec != null && spec.has("replicas") ? spec.get("replicas").getAsInt() : 1;
+		JsonObject status = new JsonObject();
+		status.addProperty("observedGeneration", 1);
+		status.addProperty("replicas", replicas);
+		status.addProperty("updatedReplicas", replicas);
+		if (ready) {
+			status.addProperty("readyReplicas", replicas);
+			status.addProperty("availableReplicas", replicas);
+		} else {
+			status.addProperty("unavailableReplicas", replicas);
+		}
+		return status;
+	}
+
+	private static boolean matches(JsonObject object, Map<String, String> selector) {
+		if (selector.isEmpty()) {
+			return true;
+		}
+		JsonObject metadata = object.getAsJsonObject("metadata");
+		JsonObject labels = metadata == null ? null : metadata.getAsJsonObject("labels");
+		if (labels == null) {
+			return false;
+		}
+		for (Map.Entry<String, String> requirement : selector.entrySet()) {
+			JsonElement value = labels.get(requirement.getKey());
+			if (value == null || requirement.getValue() != null && !value.getAsString().equals(requirement.getValue())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// 등호 조건(key=value)과 존재 조건(key)만 지원, 쉼표로 구분. 존재 조건의 값은 null
+	private static Map<String, String> parseSelector(String labelSelector) {
+		Map<String, String> selector = new HashMap<>();
+		if (labelSelector == null || labelSelector.isBlank()) {
+			return selector;
+		}
+		for (String requirement : labelSelector.split(",")) {
+			String[] pair = requirement.split("==?", 2);
+			if (pair.length == 2) {
+				selector.put(pair[0].trim(), pair[1].trim());
+			} else if (!pair[0].isBlank()) {
+				selector.put(pair[0].trim(), null);
+			}
+		}
+		return selector;
+	}
+
+	private static Map<String, String> parseQuery(String rawQuery) {
+		Map<String, String> query = new HashMap<>();
+		if (rawQuery == null) {
+			return query;
+		}
+		for (String parameter : rawQuery.split("&")) {
+			String[] pair = parameter.split("=", 2);
+			query.put(URLDecoder.decode(pair[0], StandardCharsets.UTF_8),
+					pair.length == 2 ? URLDecoder.decode(pair[1], StandardCharsets.UTF_8) : "");
+		}
+		return query;
+	}
+
+	private static long parseLong(String value, long defaultValue) {
+		try {
+			return value == null || value.isBlank() ? defaultValue : Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			return defaultValue;
+		}
+	}
+
+	private static String key(String resource, String namespace, String name) {
+		return resource + "/" + namespace + "/" + name;
+	}
+
+	private void sendStatus(HttpExchange exchange, int code, String reason, String message) throws IOException {
+		JsonObject status = new JsonObject();
+		status.addProperty("kind", "Status");
+		status.addProperty("apiVersion", "v1");
+		status.add("metadata", new JsonObject());
+		status.addProperty("status", "Failure");
+		status.addProperty("message", message);
+		status.addProperty("reason", reason);
+		status.addProperty("code", code);
+		send(exchange, code, status);
+	}
+
+	private void send(HttpExchange exchange, int code, JsonObject body) throws IOException {
+		byte[] bytes = gson.toJson(body).getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(code, bytes.length);
+		exchange.getResponseBody().write(bytes);
+	}
+
+	private static void writeLine(OutputStream body, String line) throws IOException {
+		body.write(line.getBytes(StandardCharsets.UTF_8));
+		body.write('\n');
+		body.flush();
+	}
+
+	private static ThreadFactory daemon(String prefix) {
+		AtomicInteger sequence = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + "-" + sequence.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	private record WatchEvent(long resourceVersion, String resource, String namespace, JsonObject object, String json) {
+	}
+
+	private static final class Watcher {
+		private final String resource;
+		private final String namespace;
+		private final Map<String, String> selector;
+		private final BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+
+		private Watcher(String resource, String namespace, Map<String, String> selector) {
+			this.resource = resource;
+			this.namespace = namespace;
+			this.selector = selector;
+		}
+
+		private boolean accepts(WatchEvent event) {
+			return resource.equals(event.resource()) && namespace.equals(event.namespace()) && matches(event.object(), selector);
+		}
+	}
+}
@@ -1,13 +1,182 @@
 package caas.repositoty;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import caas.entity.Application;
+import caas.entity.ProvisioningStatus;
+import caas.repositoty.projection.ClusterLoadView;
+import caas.repositoty.projection.ContainerSummaryView;
+import caas.repositoty.projection.ContainerView;
+import caas.repositoty.projection.IngressRouteView;
+import caas.repositoty.projection.OwnerUsageView;
+import caas.repositoty.projection.ScaleTargetView;
 
 public interface ApplicationRepository extends JpaRepository<Application, String> {
+
+    String CONTAINER_VIEW_SELECT = "select new caas.repositoty.projection.ContainerView("
+            + "a.appId, a.appName, a.k8sCluster, a.k8sNamespace, a.k8sDeploymentName, a.cachedStatus, a.createdAt, "
+            + "c.imageLink, c.externalPort, c.internalPort) "
+            + "from Config c join c.application a "
+            + "where a.ownerUserId = :ownerUserId "
+            + "and (a.provisioningStatus is null or a.provisioningStatus <> caas.entity.ProvisioningStatus.FAILED) "
+            + "and not exists (select 1 from Config c2 where c2.application = a "
+            + "and (c2.createdAt > c.createdAt or (c2.createdAt = c.createdAt and c2.configId > c.configId))) ";
+
     Optional<Application> findByAppId(String appId);
     List<Application> findByOwnerUserId(String ownerUserId);
+
+    /**
+     * 소유자의 컨테이너 목록을 애플리케이션별 최신 Config 와 함께 단일 쿼리로 조회한다.
+     * (created_at, config_id) 가 가장 큰 Config 하나만 매칭되며, 생성 실패(FAILED) 건은 제외한다.
+     */
+    @Query(CONTAINER_VIEW_SELECT + "order by a.createdAt, a.appId")
+    List<ContainerView> findContainerViewsByOwnerUserId(@Param("ownerUserId") String ownerUserId);
+
+    /**
+     * (created_at, app_id) keyset 페이지의 첫 페이지. idx_app_owner_created 인덱스를 그대로 탄다.
+     */
+    @Query(CONTAINER_VIEW_SELECT + "order by a.createdAt, a.appId")
+    List<ContainerView> findContainerViewPage(@Param("ownerUserId") String ownerUserId, Limit limit);
+
+    @Query(CONTAINER_VIEW_SELECT
+            + "and (a.createdAt > :createdAt or (a.createdAt = :createdAt and a.appId > :appId)) "
+            + "order by a.createdAt, a.appId")
+    List<ContainerView> findContainerViewPageAfter(@Param("ownerUserId") String ownerUserId,
+                                                   @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("appId") String appId,
+                                                   Limit limit);
+
+    @Query("select new caas.repositoty.projection.ContainerSummaryView("
+            + "count(a), count(distinct a.appName), "
+            + "sum(case when a.cachedStatus = 'RUNNING' then 1 else 0 end)) "
+            + "from Application a "
+            + "where a.ownerUserId = :ownerUserId "
+            + "and (a.provisioningStatus is null or a.provisioningStatus <> caas.entity.ProvisioningStatus.FAILED) "
+            + "and exists (select 1 from Config c where c.application = a)")
+    ContainerSummaryView summarizeByOwnerUserId(@Param("ownerUserId") String ownerUserId);
+
+    /**
+     * 클러스터 / namespace 의 공유 Ingress 규칙 대상. 애플리케이션별 최신 Config 의 포트를 쓰고, 생성 실패(FAILED) 건은 제외한다.
+     * 클러스터가 기록되지 않은 기존 애플리케이션은 defaultCluster 에 있는 것으로 본다.
+     */
+    @Query("select new caas.repositoty.projection.IngressRouteView("
+            + "a.appId, a.appName, a.k8sServiceName, c.internalPort, a.createdAt) "
+            + "from Config c join c.application a "
+            + "where coalesce(a.k8sCluster, :defaultCluster) = :cluster and a.k8sNamespace = :namespace "
+            + "and (a.provisioningStatus is null or a.provisioningStatus <> caas.entity.ProvisioningStatus.FAILED) "
+            + "and not exists (select 1 from Config c2 where c2.application = a "
+            + "and (c2.createdAt > c.createdAt or (c2.createdAt = c.createdAt and c2.configId > c.configId))) "
+            + "order by a.createdAt, a.appId")
+    List<IngressRouteView> findIngressRoutes(@Param("cluster") String cluster,
+                                             @Param("defaultCluster") String defaultCluster,
+                                             @Param("namespace") String namespace);
+
+    /**
+     * 클러스터별 컨테이너 수 (생성 실패 제외). k8sCluster 가 null 인 행은 기본 클러스터의 것이다.
+     */
+    @Query("select new caas.repositoty.projection.ClusterLoadView(a.k8sCluster, count(a)) "
+            + "from Application a "
+            + "where (a.provisioningStatus is null or a.provisioningStatus <> caas.entity.ProvisioningStatus.FAILED) "
+            + "group by a.k8sCluster")
+    List<ClusterLoadView> countContainersByCluster();
+
+    /**
+     * 소유자의 컨테이너 수와 최신 Config 의 requests 합 (생성 실패 제외). 크기가 없는 Config 는 기본 크기로 센다.
+     * 애플리케이션이 없으면 빈 목록이다.
+     */
+    @Query("select new caas.repositoty.projection.OwnerUsageView(a.ownerUserId, count(a), "
+            + "sum(coalesce(c.cpuMillicores, :defaultCpuMillicores)), sum(coalesce(c.memoryBytes, :defaultMemoryBytes))) "
+            + "from Config c join c.application a "
+            + "where a.ownerUserId = :ownerUserId "
+            + "and (a.provisioningStatus is null or a.provisioningStatus <> caas.entity.ProvisioningStatus.FAILED) "
+            + "and not exists (select 1 from Config c2 where c2.application = a "
+            + "and (c2.createdAt > c.createdAt or (c2.createdAt = c.createdAt and c2.configId > c.configId))) "
+            + "group by a.ownerUserId")
+    List<OwnerUsageView> sumUsageOfOwner(@Param("ownerUserId") String ownerUserId,
+                                         @Param("defaultCpuMillicores") Integer defaultCpuMillicores,
+                                         @Param("defaultMemoryBytes") Long defaultMemoryBytes);
+
+    /**
+     * 주어진 Deployment 이름 중 이미 애플리케이션에 할당된 것. warm pool 이 할당된 Deployment 를 다시 내주지 않도록 한다.
+     */
+    @Query("select a.k8sDeploymentName from Application a where a.k8sDeploymentName in :deploymentNames")
+    List<String> findAssignedDeploymentNames(@Param("deploymentNames") Collection<String> deploymentNames);
+
+    /**
+     * 생성이 끝난(PROVISIONED) 애플리케이션의 scale-to-zero 판단에 필요한 값. 최신 Config 의 포트를 쓴다.
+     */
+    @Query("select new caas.repositoty.projection.ScaleTargetView("
+            + "a.appId, a.appName, a.k8sCluster, a.k8sNamespace, a.k8sDeploymentName, a.k8sServiceName, c.internalPort, "
+            + "coalesce(a.lastActivityAt, a.createdAt), a.scaledToZeroAt) "
+            + "from Config c join c.application a "
+            + "where a.provisioningStatus = caas.entity.ProvisioningStatus.PROVISIONED "
+            + "and not exists (select 1 from Config c2 where c2.application = a "
+            + "and (c2.createdAt > c.createdAt or (c2.createdAt = c.createdAt and c2.configId > c.configId)))")
+    List<ScaleTargetView> findScaleTargets();
+
+    /**
+     * findScaleTargets() 중 replicas 0 인 것만.
+     */
+    @Query("select new caas.repositoty.projection.ScaleTargetView("
+            + "a.appId, a.appName, a.k8sCluster, a.k8sNamespace, a.k8sDeploymentName, a.k8sServiceName, c.internalPort, "
+            + "coalesce(a.lastActivityAt, a.createdAt), a.scaledToZeroAt) "
+            + "from Config c join c.application a "
+            + "where a.provisioningStatus = caas.entity.ProvisioningStatus.PROVISIONED "
+            + "and a.scaledToZeroAt is not null "
+            + "and not exists (select 1 from Config c2 where c2.application = a "
+            + "and (c2.createdAt > c.createdAt or (c2.createdAt = c.createdAt and c2.configId > c.configId)))")
+    List<ScaleTargetView> findIdleScaleTargets();
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Application a set a.lastActivityAt = :at where a.appId in :appIds")
+    int updateLastActivity(@Param("appIds") Collection<String> appIds, @Param("at") LocalDateTime at);
+
+    /**
+     * scale-to-zero 상태 전환. scaledToZeroAt 이 null 이면 깨어난 것이며 그 시각을 마지막 활동 시각으로 기록한다.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Application a set a.scaledToZeroAt = :scaledToZeroAt, "
+            + "a.lastActivityAt = case when :scaledToZeroAt is null then :at else a.lastActivityAt end "
+            + "where a.appId = :appId")
+    int updateScaledToZero(@Param("appId") String appId,
+                           @Param("scaledToZeroAt") LocalDateTime scaledToZeroAt,
+                           @Param("at") LocalDateTime at);
+
+    /**
+     * 주어진 app-id 중 살아 있는(생성 실패 제외) 애플리케이션의 것. 고아 리소스 수집에서 한 페이지 분량을 한 번에 조회한다.
+     */
+    @Query("select a.appId from Application a where a.appId in :appIds "
+            + "and (a.provisioningStatus is null or a.provisioningStatus <> caas.entity.ProvisioningStatus.FAILED)")
+    List<String> findLiveAppIds(@Param("appIds") Collection<String> appIds);
+
+    /**
+     * warm pool 에서 할당받은 Deployment 를 쓸 수 없게 되어(다른 인스턴스가 먼저 할당, 삭제됨) 애플리케이션 자신의 이름으로 바꾼다.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Application a set a.k8sDeploymentName = :deploymentName where a.appId = :appId")
+    int updateDeploymentName(@Param("appId") String appId, @Param("deploymentName") String deploymentName);
+
+    @Query("select a from Application a left join fetch a.configs where a.appId = :appId")
+    Optional<Application> findWithConfigsByAppId(@Param("appId") String appId);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Application a set a.provisioningStatus = :status, a.provisioningError = :error, a.updatedAt = :updatedAt where a.appId = :appId")
+    int updateProvisioningStatus(@Param("appId") String appId,
+                                 @Param("status") ProvisioningStatus status,
+                                 @Param("error") String error,
+                                 @Param("updatedAt") LocalDateTime updatedAt);
 }
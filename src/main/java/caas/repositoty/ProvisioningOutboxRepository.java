@@ -0,0 +1,56 @@
+package caas.repositoty;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import caas.entity.OutboxStatus;
+import caas.entity.ProvisioningOutbox;
+
+public interface ProvisioningOutboxRepository extends JpaRepository<ProvisioningOutbox, String> {
+
+    /**
+     * 처리 가능한 작업: 재시도 시각이 지난 PENDING 또는 lease 가 만료된 IN_PROGRESS (처리 중 서버가 죽은 경우).
+     */
+    @Query("select o.outboxId from ProvisioningOutbox o "
+            + "where (o.status = caas.entity.OutboxStatus.PENDING and o.nextAttemptAt <= :now) "
+            + "or (o.status = caas.entity.OutboxStatus.IN_PROGRESS and o.leaseExpiresAt < :now) "
+            + "order by o.nextAttemptAt")
+    List<String> findDispatchableIds(@Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * 조건부 UPDATE 로 작업을 선점한다. 여러 스레드(또는 인스턴스)가 동시에 시도해도 한 곳만 1을 반환한다.
+     */
+    @Transactional
+    @Modifying
+    @Query("update ProvisioningOutbox o set o.status = caas.entity.OutboxStatus.IN_PROGRESS, "
+            + "o.attempts = o.attempts + 1, o.leaseExpiresAt = :leaseExpiresAt, o.updatedAt = :now "
+            + "where o.outboxId = :outboxId "
+            + "and ((o.status = caas.entity.OutboxStatus.PENDING and o.nextAttemptAt <= :now) "
+            + "or (o.status = caas.entity.OutboxStatus.IN_PROGRESS and o.leaseExpiresAt < :now))")
+    int claim(@Param("outboxId") String outboxId,
+              @Param("now") LocalDateTime now,
+              @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("update ProvisioningOutbox o set o.status = :status, o.lastError = :error, "
+            + "o.nextAttemptAt = :nextAttemptAt, o.leaseExpiresAt = null, o.updatedAt = :now "
+            + "where o.outboxId = :outboxId")
+    int release(@Param("outboxId") String outboxId,
+                @Param("status") OutboxStatus status,
+                @Param("error") String error,
+                @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from ProvisioningOutbox o where o.appId = :appId")
+    int deleteByAppId(@Param("appId") String appId);
+}
@@ -0,0 +1,72 @@
+package caas.repositoty;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import caas.entity.TenantQuotaUsage;
+import caas.repositoty.projection.OwnerUsageView;
+
+public interface TenantQuotaUsageRepository extends JpaRepository<TenantQuotaUsage, String> {
+
+    /**
+     * 한도 안이면 사용량에 더한다. 여러 인스턴스가 동시에 시도해도 행 잠금으로 차례로 평가되므로 함께 한도를 넘지 못한다.
+     *
+     * @return 더했으면 1, 행이 없거나 한도를 넘으면 0
+     */
+    @Transactional
+    @Modifying
+    @Query("update TenantQuotaUsage u set u.containers = u.containers + :containers, "
+            + "u.cpuMillicores = u.cpuMillicores + :cpuMillicores, u.memoryBytes = u.memoryBytes + :memoryBytes "
+            + "where u.ownerUserId = :ownerUserId "
+            + "and u.containers + :containers <= :maxContainers "
+            + "and u.cpuMillicores + :cpuMillicores <= :maxCpuMillicores "
+            + "and u.memoryBytes + :memoryBytes <= :maxMemoryBytes")
+    int reserve(@Param("ownerUserId") String ownerUserId,
+                @Param("containers") long containers,
+                @Param("cpuMillicores") long cpuMillicores,
+                @Param("memoryBytes") long memoryBytes,
+                @Param("maxContainers") long maxContainers,
+                @Param("maxCpuMillicores") long maxCpuMillicores,
+                @Param("maxMemoryBytes") long maxMemoryBytes);
+
+    /**
+     * 사용량에서 뺀다. 어긋나도 음수가 되지 않게 0 에서 멈춘다.
+     */
+    @Transactional
+    @Modifying
+    @Query("update TenantQuotaUsage u set "
+            + "u.containers = case when u.containers > :containers then u.containers - :containers else 0 end, "
+            + "u.cpuMillicores = case when u.cpuMillicores > :cpuMillicores then u.cpuMillicores - :cpuMillicores else 0 end, "
+            + "u.memoryBytes = case when u.memoryBytes > :memoryBytes then u.memoryBytes - :memoryBytes else 0 end "
+            + "where u.ownerUserId = :ownerUserId")
+    int release(@Param("ownerUserId") String ownerUserId,
+                @Param("containers") long containers,
+                @Param("cpuMillicores") long cpuMillicores,
+                @Param("memoryBytes") long memoryBytes);
+
+    /**
+     * 행이 없을 때만 만든다. 동시에 만들면 나중 것은 먼저 만든 트랜잭션이 끝나길 기다렸다가 아무것도 하지 않는다.
+     * 예약하는 트랜잭션 안에서 바로 쓸 수 있도록 키 충돌을 예외로 돌려주지 않는다 (MySQL).
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "insert into caas_tenant_quota_usage (owner_user_id, containers, cpu_millicores, memory_bytes) "
+            + "values (:ownerUserId, :containers, :cpuMillicores, :memoryBytes) "
+            + "on duplicate key update owner_user_id = owner_user_id", nativeQuery = true)
+    int insertIfAbsent(@Param("ownerUserId") String ownerUserId,
+                       @Param("containers") long containers,
+                       @Param("cpuMillicores") long cpuMillicores,
+                       @Param("memoryBytes") long memoryBytes);
+
+    /**
+     * 커밋된 최신 사용량. 영속성 컨텍스트에 캐시된 엔티티가 아닌 값으로 읽는다.
+     */
+    @Query("select new caas.repositoty.projection.OwnerUsageView(u.ownerUserId, u.containers, u.cpuMillicores, u.memoryBytes) "
+            + "from TenantQuotaUsage u where u.ownerUserId = :ownerUserId")
+    Optional<OwnerUsageView> findUsage(@Param("ownerUserId") String ownerUserId);
+}
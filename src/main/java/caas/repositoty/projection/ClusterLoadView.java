@@ -0,0 +1,10 @@
+package caas.repositoty.projection;
+
+/**
+ * 클러스터별 컨테이너 수. 배치 스케줄러가 클러스터 부하를 계산할 때 사용한다.
+ */
+public record ClusterLoadView(
+        String k8sCluster,
+        Long containers
+) {
+}
@@ -0,0 +1,11 @@
+package caas.repositoty.projection;
+
+/**
+ * 컨테이너 목록 요약 집계 결과.
+ */
+public record ContainerSummaryView(
+        long totalContainers,
+        long clusterCount,
+        Long cachedRunningContainers
+) {
+}
@@ -0,0 +1,20 @@
+package caas.repositoty.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * 컨테이너 목록 조회용 읽기 모델. Application 과 최신 Config 를 한 번의 SQL 로 평탄화한 결과.
+ */
+public record ContainerView(
+        String appId,
+        String appName,
+        String k8sCluster,
+        String k8sNamespace,
+        String k8sDeploymentName,
+        String cachedStatus,
+        LocalDateTime createdAt,
+        String imageLink,
+        Integer externalPort,
+        Integer internalPort
+) {
+}
@@ -0,0 +1,15 @@
+package caas.repositoty.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * 공유 Ingress 규칙 생성용 읽기 모델. 애플리케이션의 host 와 최신 Config 의 Service 포트.
+ */
+public record IngressRouteView(
+        String appId,
+        String appName,
+        String k8sServiceName,
+        Integer internalPort,
+        LocalDateTime createdAt
+) {
+}
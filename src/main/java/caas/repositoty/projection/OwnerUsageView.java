@@ -0,0 +1,12 @@
+package caas.repositoty.projection;
+
+/**
+ * 소유자별 컨테이너 수와 requests 합. 할당량 사용량 행을 처음 만들거나 읽을 때 사용한다.
+ */
+public record OwnerUsageView(
+        String ownerUserId,
+        Long containers,
+        Long cpuMillicores,
+        Long memoryBytes
+) {
+}
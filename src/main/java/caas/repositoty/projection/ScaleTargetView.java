@@ -0,0 +1,19 @@
+package caas.repositoty.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * 유휴 컨테이너 scale-to-zero 대상 읽기 모델. lastActivityAt 은 요청이 관측된 적 없으면 생성 시각이다.
+ */
+public record ScaleTargetView(
+        String appId,
+        String appName,
+        String k8sCluster,
+        String k8sNamespace,
+        String k8sDeploymentName,
+        String k8sServiceName,
+        Integer internalPort,
+        LocalDateTime lastActivityAt,
+        LocalDateTime scaledToZeroAt
+) {
+}
@@ -0,0 +1,66 @@
+package caas.service;
+
+import caas.dto.request.ContainerCreateRequestDto;
+import caas.dto.response.ContainerCreateResponseDto;
+import caas.dto.response.ErrorCode;
+import caas.dto.response.ProvisioningStatusResponseDto;
+import caas.entity.Application;
+import caas.entity.ProvisioningStatus;
+import caas.exception.CaasException;
+import caas.repositoty.ApplicationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * 요청 스레드를 Kubernetes 호출에 묶어두지 않는 비동기 컨테이너 생성.
+ * 요청을 outbox 와 함께 DB에 기록한 뒤 즉시 containerId 를 돌려주고, 실제 리소스 생성은 워커 풀에서 처리한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AsyncProvisioningService {
+
+	private final ApplicationRepository applicationRepository;
+	private final ProvisioningSaga provisioningSaga;
+	private final ProvisioningOutboxDispatcher outboxDispatcher;
+	private final ContainerPlacementScheduler placementScheduler;
+	private final WarmDeploymentPool warmPool;
+	private final ContainerResourcePolicy resourcePolicy;
+
+	public ContainerCreateResponseDto submit(ContainerCreateRequestDto request) {
+		// 워커 풀이 포화 상태면 아무것도 기록하지 않고 거절 (back-pressure)
+		if (!outboxDispatcher.hasCapacity()) {
+			throw new CaasException(ErrorCode.PROVISIONING_QUEUE_FULL);
+		}
+
+		String containerId = UUID.randomUUID().toString();
+		ContainerResources resources = resourcePolicy.resolve(request);
+		Application application = ContainerService.newApplication(request, containerId, placementScheduler.place(resources));
+		warmPool.claim(application, request.getImageLink(), resources);
+		application.getConfigs().add(ContainerService.newConfig(request, resources, application));
+		String outboxId = provisioningSaga.begin(application, false);
+		// 바로 넘기지 못하면 outbox 에 남은 작업을 poll 이 처리한다
+		outboxDispatcher.tryDispatch(outboxId);
+
+		log.info("Container creation accepted. ContainerId: {}", containerId);
+		return ContainerService.toCreateResponse(request, containerId);
+	}
+
+	public ProvisioningStatusResponseDto getProvisioningStatus(String containerId) {
+		Application application = applicationRepository.findByAppId(containerId)
+				.orElseThrow(() -> new CaasException(ErrorCode.CONTAINER_NOT_FOUND));
+
+		return ProvisioningStatusResponseDto.builder()
+				.containerId(application.getAppId())
+				.provisioningStatus(application.getProvisioningStatus() == null
+						? ProvisioningStatus.PROVISIONED.name()
+						: application.getProvisioningStatus().name())
+				.status(application.getCachedStatus())
+				.error(application.getProvisioningError())
+				.updatedAt(application.getUpdatedAt())
+				.build();
+	}
+}
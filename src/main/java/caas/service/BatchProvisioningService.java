@@ -0,0 +1,123 @@
+package caas.service;
+
+import caas.dto.request.ContainerBatchCreateRequestDto;
+import caas.dto.request.ContainerCreateRequestDto;
+import caas.dto.response.ContainerBatchCreateResponseDto;
+import caas.dto.response.ErrorCode;
+import caas.entity.Application;
+import caas.exception.CaasException;
+import caas.kubernetes.KubernetesCluster;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 여러 컨테이너를 한 번에 생성한다 (CI 의 preview 환경 등).
+ * 모든 항목의 클러스터 배치와 할당량 예약을 한 번에 하고(하나라도 넘거나 자리가 모자라면 전체 거절), 할당량 예약과 Application / Config / outbox 를 한 트랜잭션의 JDBC batch insert 로 기록한 뒤, 항목별 생성 saga 를
+ * batchProvisioningExecutor 에서 병렬로 실행한다. 항목마다 성공 / 실패를 돌려주며 실패한 항목만 보상(삭제)된다.
+ */
+@Slf4j
+@Service
+public class BatchProvisioningService {
+
+	private static final String CREATED = "CREATED";
+	private static final String FAILED = "FAILED";
+
+	private final ProvisioningSaga provisioningSaga;
+	private final ContainerPlacementScheduler placementScheduler;
+	private final WarmDeploymentPool warmPool;
+	private final ContainerResourcePolicy resourcePolicy;
+	private final TaskExecutor batchExecutor;
+	private final int maxBatchSize;
+
+	public BatchProvisioningService(ProvisioningSaga provisioningSaga,
+									ContainerPlacementScheduler placementScheduler,
+									WarmDeploymentPool warmPool,
+									ContainerResourcePolicy resourcePolicy,
+									@Qualifier("batchProvisioningExecutor") TaskExecutor batchExecutor,
+									@Value("${caas.container.batch.max-size:50}") int maxBatchSize) {
+		this.provisioningSaga = provisioningSaga;
+		this.placementScheduler = placementScheduler;
+		this.warmPool = warmPool;
+		this.resourcePolicy = resourcePolicy;
+		this.batchExecutor = batchExecutor;
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	public ContainerBatchCreateResponseDto createContainers(ContainerBatchCreateRequestDto request) {
+		List<ContainerCreateRequestDto> items = request.getContainers();
+		if (items.size() > maxBatchSize) {
+			throw new CaasException(ErrorCode.INVALID_PARAMETER);
+		}
+		List<ContainerResources> resources = items.stream().map(resourcePolicy::resolve).toList();
+		// 배치 / 할당량 모두 전체가 들어가지 않으면 하나도 만들지 않는다 (할당량은 beginAll() 의 트랜잭션에서 예약)
+		List<KubernetesCluster> placements = placementScheduler.place(resources);
+		List<Application> applications = new ArrayList<>(items.size());
+		for (int i = 0; i < items.size(); i++) {
+			ContainerCreateRequestDto item = items.get(i);
+			Application application = ContainerService.newApplication(item, UUID.randomUUID().toString(), placements.get(i));
+			warmPool.claim(application, item.getImageLink(), resources.get(i));
+			application.getConfigs().add(ContainerService.newConfig(item, resources.get(i), application));
+			applications.add(application);
+		}
+		List<String> outboxIds = provisioningSaga.beginAll(applications, true);
+
+		List<CompletableFuture<Optional<String>>> futures = new ArrayList<>(outboxIds.size());
+		for (String outboxId : outboxIds) {
+			futures.add(CompletableFuture.supplyAsync(() -> provisioningSaga.execute(outboxId, false), batchExecutor));
+		}
+
+		List<ContainerBatchCreateResponseDto.Result> results = new ArrayList<>(items.size());
+		int succeeded = 0;
+		for (int i = 0; i < items.size(); i++) {
+			String containerId = applications.get(i).getAppId();
+			Optional<String> failure = join(futures.get(i));
+			if (failure.isPresent()) {
+				log.error("Batch container creation failed. ContainerId: {}, Error: {}", containerId, failure.get());
+				results.add(ContainerBatchCreateResponseDto.Result.builder()
+						.index(i)
+						.containerId(containerId)
+						.result(FAILED)
+						.errorCode(ErrorCode.CONTAINER_CREATE_FAILED.getCode())
+						.errorMessage(ErrorCode.CONTAINER_CREATE_FAILED.getMessage())
+						.build());
+			} else {
+				succeeded++;
+				results.add(ContainerBatchCreateResponseDto.Result.builder()
+						.index(i)
+						.containerId(containerId)
+						.result(CREATED)
+						.container(ContainerService.toCreateResponse(items.get(i), containerId))
+						.build());
+			}
+		}
+
+		log.info("Batch container creation finished. Requested: {}, Succeeded: {}", items.size(), succeeded);
+		return ContainerBatchCreateResponseDto.builder()
+				.summary(ContainerBatchCreateResponseDto.Summary.builder()
+						.requested(items.size())
+						.succeeded(succeeded)
+						.failed(items.size() - succeeded)
+						.build())
+				.results(results)
+				.build();
+	}
+
+	// saga 밖에서 난 오류(DB 장애 등)도 해당 항목의 실패로 처리
+	private static Optional<String> join(CompletableFuture<Optional<String>> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			return Optional.of(String.valueOf(e.getCause() != null ? e.getCause().getMessage() : e.getMessage()));
+		}
+	}
+}
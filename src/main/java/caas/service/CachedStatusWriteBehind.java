@@ -0,0 +1,78 @@
+package caas.service;
+
+import caas.kubernetes.KubernetesLeaderElection;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * caas_application.cached_status 쓰기 버퍼.
+ * 같은 애플리케이션의 상태 변경은 마지막 값 하나로 합쳐지고, 주기적으로 JDBC batch UPDATE 로 반영된다.
+ * 여러 인스턴스가 같은 watch 이벤트를 받으므로 반영은 leader 만 한다. follower 도 마지막 값은 모아 두어(애플리케이션 수만큼)
+ * leader 가 되면 바로 반영하며, 이미 같은 값이면 UPDATE 조건에 걸려 바뀌지 않는다.
+ */
+@Slf4j
+@Component
+public class CachedStatusWriteBehind {
+
+	private static final String UPDATE_SQL =
+			"update caas_application set cached_status = ? where app_id = ? and cached_status <> ?";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final KubernetesLeaderElection leaderElection;
+	private final int batchSize;
+	private final Map<String, String> pending = new ConcurrentHashMap<>();
+
+	public CachedStatusWriteBehind(JdbcTemplate jdbcTemplate,
+								   KubernetesLeaderElection leaderElection,
+								   @Value("${caas.reconciler.batch-size:200}") int batchSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.leaderElection = leaderElection;
+		this.batchSize = batchSize;
+	}
+
+	public void record(String appId, String status) {
+		pending.put(appId, status);
+	}
+
+	@Scheduled(fixedDelayString = "${caas.reconciler.flush-interval-ms:1000}")
+	public void flush() {
+		if (pending.isEmpty() || !leaderElection.isLeader()) {
+			return;
+		}
+
+		List<Map.Entry<String, String>> batch = new ArrayList<>(pending.size());
+		for (Map.Entry<String, String> entry : pending.entrySet()) {
+			// 읽은 뒤 더 새로운 값이 들어왔으면 제거하지 않고 다음 flush 에 반영
+			if (pending.remove(entry.getKey(), entry.getValue())) {
+				batch.add(Map.entry(entry.getKey(), entry.getValue()));
+			}
+		}
+
+		try {
+			jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batchSize, (ps, entry) -> {
+				ps.setString(1, entry.getValue());
+				ps.setString(2, entry.getKey());
+				ps.setString(3, entry.getValue());
+			});
+			log.debug("Flushed {} cached status updates", batch.size());
+		} catch (RuntimeException e) {
+			// 실패한 항목은 더 새로운 값이 없을 때만 되돌려 다음 주기에 다시 시도
+			batch.forEach(entry -> pending.putIfAbsent(entry.getKey(), entry.getValue()));
+			log.warn("Failed to flush {} cached status updates: {}", batch.size(), e.getMessage());
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		flush();
+	}
+}
@@ -0,0 +1,42 @@
+package caas.service;
+
+import caas.dto.response.ErrorCode;
+import caas.exception.CaasException;
+import caas.repositoty.projection.ContainerView;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 컨테이너 목록 keyset 페이지 커서. 마지막 행의 (created_at, app_id) 를 불투명한 문자열로 인코딩한다.
+ */
+record ContainerCursor(LocalDateTime createdAt, String appId) {
+
+	private static final String SEPARATOR = "|";
+
+	static ContainerCursor after(ContainerView container) {
+		return new ContainerCursor(container.createdAt(), container.appId());
+	}
+
+	static ContainerCursor decode(String cursor) {
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int separator = decoded.indexOf(SEPARATOR);
+			if (separator < 0) {
+				throw new CaasException(ErrorCode.INVALID_PARAMETER);
+			}
+			return new ContainerCursor(
+					LocalDateTime.parse(decoded.substring(0, separator)),
+					decoded.substring(separator + 1));
+		} catch (IllegalArgumentException | DateTimeParseException e) {
+			throw new CaasException(ErrorCode.INVALID_PARAMETER, e);
+		}
+	}
+
+	String encode() {
+		String raw = createdAt + SEPARATOR + appId;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,332 @@
+package caas.service;
+
+import caas.dto.response.ErrorCode;
+import caas.entity.Application;
+import caas.exception.CaasException;
+import caas.kubernetes.KubernetesCluster;
+import caas.kubernetes.KubernetesClusterRegistry;
+import caas.kubernetes.KubernetesLabels;
+import caas.repositoty.ApplicationRepository;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Response;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 컨테이너 Pod 의 로그 / 이벤트를 API 서버에서 받는 대로 클라이언트에 흘려보낸다.
+ * - 응답 본문을 문자열로 모으지 않고 스트림마다 고정 크기 버퍼 하나로 복사한다. 버퍼는 스트림이 끝나면 풀로 돌아가 재사용된다
+ * - 클라이언트가 느리면 쓰기가 막혀 API 서버에서 더 읽지 않으므로, TCP 흐름 제어로 API 서버 쪽도 함께 멈춘다 (back-pressure)
+ * - 동시 스트림 수는 max-streams 로 제한하고, 넘으면 TOO_MANY_LOG_STREAMS(503)로 거절한다.
+ *   스트림 수 x buffer-size 가 로그 전송에 쓰는 힙의 상한이다
+ * - Pod 조회와 로그 요청 시작까지는 응답을 쓰기 전에 끝내므로 404 / 409 / 503 이 일반 오류 응답으로 나간다.
+ *   이후 복사는 요청 스레드를 반환한 채(servlet async) containerLogExecutor 에서 실행되며 max-duration 이 지나면 끊는다
+ *
+ * caas.container.logs.active (gauge): 열린 스트림 수
+ * caas.container.logs.rejections (counter): max-streams 를 넘어 거절한 수
+ */
+@Slf4j
+@Service
+public class ContainerLogService {
+
+	private final ApplicationRepository applicationRepository;
+	private final KubernetesClusterRegistry clusters;
+	private final TaskExecutor containerLogExecutor;
+	private final int bufferSize;
+	private final int maxTailLines;
+	private final Duration maxDuration;
+	private final Semaphore streams;
+	private final BlockingQueue<byte[]> buffers;
+	private final Counter rejections;
+
+	public ContainerLogService(ApplicationRepository applicationRepository,
+							   KubernetesClusterRegistry clusters,
+							   @Qualifier("containerLogExecutor") TaskExecutor containerLogExecutor,
+							   MeterRegistry meterRegistry,
+							   @Value("${caas.container.logs.max-streams:256}") int maxStreams,
+							   @Value("${caas.container.logs.buffer-size:8KB}") DataSize bufferSize,
+							   @Value("${caas.container.logs.max-tail-lines:5000}") int maxTailLines,
+							   @Value("${caas.container.logs.max-duration:30m}") Duration maxDuration) {
+		this.applicationRepository = applicationRepository;
+		this.clusters = clusters;
+		this.containerLogExecutor = containerLogExecutor;
+		this.bufferSize = Math.toIntExact(bufferSize.toBytes());
+		this.maxTailLines = maxTailLines;
+		this.maxDuration = maxDuration;
+		this.streams = new Semaphore(maxStreams);
+		this.buffers = new ArrayBlockingQueue<>(maxStreams);
+		this.rejections = Counter.builder("caas.container.logs.rejections")
+				.description("Log and event streams rejected because max-streams were already open")
+				.register(meterRegistry);
+		Gauge.builder("caas.container.logs.active", streams, semaphore -> maxStreams - semaphore.availablePermits())
+				.description("Pod log and event streams currently open")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Pod 로그를 text/plain 으로 흘려보낸다. podName 이 없으면 실행 중인 가장 최근 Pod 를 고른다.
+	 * sinceTime 은 생성된 API 클라이언트에 없으므로 sinceSeconds 로 바꿔 보낸다.
+	 */
+	public void streamLogs(String containerId, String podName, boolean follow, Integer tailLines, OffsetDateTime sinceTime,
+						   HttpServletRequest request, HttpServletResponse response) {
+		Application application = findApplication(containerId);
+		KubernetesCluster cluster = clusters.get(application.getK8sCluster());
+		String namespace = application.getK8sNamespace();
+		String pod = resolvePod(cluster, application, podName)
+				.orElseThrow(() -> new CaasException(ErrorCode.CONTAINER_POD_NOT_FOUND));
+
+		Integer tail = tailLines == null ? null : Math.max(0, Math.min(tailLines, maxTailLines));
+		Integer sinceSeconds = sinceTime == null ? null
+				: (int) Math.max(1, Duration.between(sinceTime, OffsetDateTime.now()).toSeconds());
+		LogStream stream = open(cluster, "read_pod_log", namespace, () -> cluster.coreV1Api().readNamespacedPodLog(pod, namespace)
+				.follow(follow)
+				.tailLines(tail)
+				.sinceSeconds(sinceSeconds)
+				.buildCall(null));
+		transfer(stream, MediaType.TEXT_PLAIN_VALUE + ";charset=UTF-8", request, response);
+	}
+
+	/**
+	 * Pod 의 Kubernetes Event 를 흘려보낸다. follow 가 아니면 API 서버의 EventList(JSON)를 그대로,
+	 * follow 면 watch 이벤트를 줄 단위 JSON(NDJSON)으로 전달한다. Pod 가 아직 없으면 Deployment 의 이벤트를 보낸다.
+	 */
+	public void streamEvents(String containerId, String podName, boolean follow,
+							 HttpServletRequest request, HttpServletResponse response) {
+		Application application = findApplication(containerId);
+		KubernetesCluster cluster = clusters.get(application.getK8sCluster());
+		String namespace = application.getK8sNamespace();
+		String involvedObject = resolvePod(cluster, application, podName)
+				.orElseGet(() -> {
+					if (podName != null) {
+						throw new CaasException(ErrorCode.CONTAINER_POD_NOT_FOUND);
+					}
+					return application.getK8sDeploymentName();
+				});
+
+		LogStream stream = open(cluster, "list_events", namespace, () -> cluster.coreV1Api().listNamespacedEvent(namespace)
+				.fieldSelector("involvedObject.name=" + involvedObject)
+				.watch(follow)
+				.buildCall(null));
+		transfer(stream, follow ? MediaType.APPLICATION_NDJSON_VALUE : MediaType.APPLICATION_JSON_VALUE, request, response);
+	}
+
+	private Application findApplication(String containerId) {
+		return applicationRepository.findByAppId(containerId)
+				.orElseThrow(() -> new CaasException(ErrorCode.CONTAINER_NOT_FOUND));
+	}
+
+	// 요청한 Pod 는 이 Deployment 의 것일 때만 허용한다 (같은 namespace 의 다른 Pod 로그를 읽지 못하도록)
+	private Optional<String> resolvePod(KubernetesCluster cluster, Application application, String podName) {
+		String namespace = application.getK8sNamespace();
+		List<V1Pod> pods;
+		try {
+			pods = cluster.resilience().read("list_pods", namespace, () -> cluster.coreV1Api().listNamespacedPod(namespace)
+					.labelSelector(KubernetesLabels.APP + "=" + application.getK8sDeploymentName())
+					.execute()
+					.getItems());
+		} catch (ApiException | RuntimeException e) {
+			log.warn("Failed to list pods of {}: {}", application.getK8sDeploymentName(), e.getMessage());
+			throw new CaasException(ErrorCode.KUBERNETES_UNAVAILABLE);
+		}
+
+		if (podName != null) {
+			return pods.stream()
+					.map(pod -> pod.getMetadata().getName())
+					.filter(podName::equals)
+					.findFirst();
+		}
+		return pods.stream()
+				.max(Comparator.comparing((V1Pod pod) -> pod.getStatus() != null && "Running".equals(pod.getStatus().getPhase()))
+						.thenComparing(pod -> pod.getMetadata().getCreationTimestamp(), Comparator.nullsFirst(Comparator.naturalOrder())))
+				.map(pod -> pod.getMetadata().getName());
+	}
+
+	/**
+	 * 스트림 자리를 잡고 API 서버 요청을 시작한다. 응답 헤더까지만 받고 본문은 읽지 않는다.
+	 * read bulkhead / 재시도는 요청을 시작하는 동안에만 적용되며, 본문을 흘려보내는 동안에는 자리를 잡지 않는다.
+	 */
+	private LogStream open(KubernetesCluster cluster, String operation, String namespace, CallBuilder callBuilder) {
+		if (!streams.tryAcquire()) {
+			rejections.increment();
+			throw new CaasException(ErrorCode.TOO_MANY_LOG_STREAMS);
+		}
+		try {
+			return cluster.resilience().read(operation, namespace, () -> {
+				Call call = callBuilder.build();
+				// call timeout 은 전체 전송 시간의 상한이므로 스트림에는 두지 않는다 (follow 는 read timeout 도 없음)
+				call.timeout().clearTimeout();
+				Response response;
+				try {
+					response = call.execute();
+				} catch (IOException e) {
+					throw new ApiException(e);
+				}
+				if (!response.isSuccessful()) {
+					try (response) {
+						throw new ApiException(response.message(), response.code(), response.headers().toMultimap(),
+								response.body() != null ? response.body().string() : null);
+					} catch (IOException e) {
+						throw new ApiException(e);
+					}
+				}
+				return new LogStream(call, response);
+			});
+		} catch (ApiException e) {
+			streams.release();
+			if (e.getCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+				throw new CaasException(ErrorCode.CONTAINER_POD_NOT_FOUND);
+			}
+			// 컨테이너가 아직 시작되지 않은 Pod 의 로그는 400 으로 응답된다
+			if (e.getCode() == HttpURLConnection.HTTP_BAD_REQUEST) {
+				throw new CaasException(ErrorCode.CONTAINER_LOG_NOT_READY);
+			}
+			log.warn("Failed to open {} stream: {}", operation, e.getMessage());
+			throw new CaasException(ErrorCode.KUBERNETES_UNAVAILABLE);
+		} catch (RuntimeException e) {
+			streams.release();
+			log.warn("Failed to open {} stream: {}", operation, e.getMessage());
+			throw new CaasException(ErrorCode.KUBERNETES_UNAVAILABLE);
+		}
+	}
+
+	private void transfer(LogStream stream, String contentType, HttpServletRequest request, HttpServletResponse response) {
+		response.setContentType(contentType);
+		AsyncContext asyncContext = request.startAsync();
+		asyncContext.setTimeout(maxDuration.toMillis());
+		// 시간이 다 되었거나 연결 오류면 API 서버 요청을 취소해 복사 스레드의 read 를 깨운다
+		asyncContext.addListener(new AsyncListener() {
+			@Override
+			public void onComplete(AsyncEvent event) {
+			}
+
+			@Override
+			public void onTimeout(AsyncEvent event) {
+				stream.abort();
+				complete(asyncContext);
+			}
+
+			@Override
+			public void onError(AsyncEvent event) {
+				stream.abort();
+				complete(asyncContext);
+			}
+
+			@Override
+			public void onStartAsync(AsyncEvent event) {
+			}
+		});
+
+		try {
+			containerLogExecutor.execute(() -> {
+				try (stream) {
+					stream.copyTo(asyncContext.getResponse().getOutputStream());
+				} catch (IOException | IllegalStateException e) {
+					// 클라이언트가 끊었거나, 시간이 다 되어 스트림을 닫은 경우
+					log.debug("Log stream ended: {}", e.getMessage());
+				} finally {
+					complete(asyncContext);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			// 이미 async 로 넘어갔으므로 예외 대신 상태 코드만 돌려준다
+			stream.close();
+			rejections.increment();
+			response.setStatus(ErrorCode.TOO_MANY_LOG_STREAMS.getCode() / 100);
+			complete(asyncContext);
+		}
+	}
+
+	// 시간 초과 / 연결 오류 리스너와 복사 스레드가 모두 부르므로 이미 끝난 경우는 무시한다
+	private static void complete(AsyncContext asyncContext) {
+		try {
+			asyncContext.complete();
+		} catch (IllegalStateException e) {
+			log.debug("Log stream already completed: {}", e.getMessage());
+		}
+	}
+
+	private byte[] borrowBuffer() {
+		byte[] buffer = buffers.poll();
+		return buffer != null ? buffer : new byte[bufferSize];
+	}
+
+	@FunctionalInterface
+	private interface CallBuilder {
+		Call build() throws ApiException;
+	}
+
+	/**
+	 * 열린 API 서버 응답 하나와 그 복사에 쓰는 버퍼.
+	 * 버퍼는 복사 스레드만 쓰므로 close() 는 복사 스레드에서 부르고, 다른 스레드는 abort() 로 요청만 취소한다.
+	 */
+	private final class LogStream implements Closeable {
+
+		private final Call call;
+		private final Response upstream;
+		private final byte[] buffer;
+		private final AtomicBoolean closed = new AtomicBoolean();
+
+		private LogStream(Call call, Response upstream) {
+			this.call = call;
+			this.upstream = upstream;
+			this.buffer = borrowBuffer();
+		}
+
+		// 받은 만큼 바로 쓰고, 당장 더 읽을 것이 없을 때만 flush 해 follow 출력이 지연되지 않게 한다
+		void copyTo(OutputStream outputStream) throws IOException {
+			InputStream source = Objects.requireNonNull(upstream.body()).byteStream();
+			int read;
+			while ((read = source.read(buffer)) != -1) {
+				outputStream.write(buffer, 0, read);
+				if (source.available() == 0) {
+					outputStream.flush();
+				}
+			}
+			outputStream.flush();
+		}
+
+		void abort() {
+			call.cancel();
+		}
+
+		@Override
+		public void close() {
+			if (closed.compareAndSet(false, true)) {
+				upstream.close();
+				buffers.offer(buffer);
+				streams.release();
+			}
+		}
+	}
+}
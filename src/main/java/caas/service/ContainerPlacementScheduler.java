@@ -0,0 +1,360 @@
+package caas.service;
+
+import caas.dto.response.ErrorCode;
+import caas.exception.CaasException;
+import caas.kubernetes.KubernetesCluster;
+import caas.kubernetes.KubernetesClusterRegistry;
+import caas.repositoty.ApplicationRepository;
+import caas.repositoty.projection.ClusterLoadView;
+import io.kubernetes.client.custom.Quantity;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.models.V1Container;
+import io.kubernetes.client.openapi.models.V1Node;
+import io.kubernetes.client.openapi.models.V1NodeList;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.kubernetes.client.openapi.models.V1PodList;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 새 컨테이너를 만들 클러스터 / namespace 를 고른다.
+ * 클러스터마다 노드 allocatable 과 종료되지 않은 Pod 의 requests 합을 주기적으로 읽고(capacity-tracking),
+ * 컨테이너의 requests 를 더했을 때 사용 비율이 가장 낮은 클러스터에 배치한다.
+ * - 용량 읽기는 클러스터 전체 목록 조회라 오래 걸릴 수 있으므로 내부 전용 스레드에서 실행하고, Pod 는 pod-page-size 개씩 나눠 읽는다
+ * - 배치했지만 아직 Pod 가 없어 requests 합에 잡히지 않았을 수 있는 컨테이너는 용량을 두 번 다시 읽을 때까지 메모리에서 따로 더한다
+ * - 컨테이너 수는 DB 집계로 주기적으로 맞추고, 그 사이의 배치는 메모리에서 바로 더한다
+ * - 용량을 읽지 못한 클러스터(노드 / Pod 조회 권한 없음, 장애)는 용량을 아는 클러스터에 자리가 없을 때만 컨테이너 수가 적은 순으로 쓴다
+ * - 용량을 아는 클러스터만 있고 어디에도 들어가지 않으면 CLUSTER_CAPACITY_EXCEEDED 로 거절한다
+ * - circuit breaker 가 열린 클러스터는 후보에서 빼고, 모든 클러스터가 열려 있으면 KUBERNETES_UNAVAILABLE 로 거절한다
+ *
+ * caas.placement.decisions (counter): cluster 별 배치 수
+ * caas.placement.cluster.utilization (gauge): cluster 별 max(CPU, memory) 예상 사용 비율 (용량을 모르면 NaN)
+ */
+@Slf4j
+@Service
+public class ContainerPlacementScheduler {
+
+	private static final String ALL_NAMESPACES = "*";
+	private static final String ACTIVE_POD_SELECTOR = "status.phase!=Succeeded,status.phase!=Failed";
+
+	private final KubernetesClusterRegistry clusters;
+	private final ApplicationRepository applicationRepository;
+	private final boolean capacityTracking;
+	private final Duration capacityMaxAge;
+	private final Duration refreshInterval;
+	private final int podPageSize;
+	private final ScheduledExecutorService scheduler;
+	// 클러스터 목록은 기동 후 바뀌지 않으므로 생성자에서 채운 뒤 읽기만 한다
+	private final Map<String, ClusterState> states = new LinkedHashMap<>();
+
+	public ContainerPlacementScheduler(KubernetesClusterRegistry clusters,
+									   ApplicationRepository applicationRepository,
+									   MeterRegistry meterRegistry,
+									   @Value("${kubernetes.placement.capacity-tracking:true}") boolean capacityTracking,
+									   @Value("${kubernetes.placement.capacity-max-age:5m}") Duration capacityMaxAge,
+									   @Value("${kubernetes.placement.refresh-interval-ms:30000}") long refreshIntervalMs,
+									   @Value("${kubernetes.placement.pod-page-size:500}") int podPageSize) {
+		this.clusters = clusters;
+		this.applicationRepository = applicationRepository;
+		this.capacityTracking = capacityTracking;
+		this.capacityMaxAge = capacityMaxAge;
+		this.refreshInterval = Duration.ofMillis(refreshIntervalMs);
+		this.podPageSize = Math.max(1, podPageSize);
+		// 클러스터 전체 목록 조회가 공용 @Scheduled 스레드(write-behind flush, outbox poll, SSE heartbeat)를 막지 않도록 내부 전용 스레드에서 실행한다
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("placement-refresh-"));
+
+		for (KubernetesCluster cluster : clusters.all()) {
+			ClusterState state = new ClusterState(Counter.builder("caas.placement.decisions")
+					.description("Containers placed on each Kubernetes cluster")
+					.tag("cluster", cluster.name())
+					.register(meterRegistry));
+			states.put(cluster.name(), state);
+			Gauge.builder("caas.placement.cluster.utilization", state, this::utilization)
+					.description("Estimated max(CPU, memory) utilization of each Kubernetes cluster (NaN when unknown)")
+					.tag("cluster", cluster.name())
+					.register(meterRegistry);
+		}
+	}
+
+	@PostConstruct
+	public void start() {
+		scheduler.scheduleWithFixedDelay(this::refreshSafely, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void stop() {
+		scheduler.shutdownNow();
+	}
+
+	public KubernetesCluster place(ContainerResources resources) {
+		return place(List.of(resources)).get(0);
+	}
+
+	/**
+	 * 컨테이너들을 순서대로 배치한다. 하나라도 자리가 없으면 아무것도 배치하지 않고 CLUSTER_CAPACITY_EXCEEDED 를,
+	 * 호출할 수 있는(circuit breaker 가 열리지 않은) 클러스터가 없으면 KUBERNETES_UNAVAILABLE 을 던진다.
+	 */
+	public synchronized List<KubernetesCluster> place(List<ContainerResources> containers) {
+		List<KubernetesCluster> placed = new ArrayList<>(containers.size());
+		for (ContainerResources resources : containers) {
+			KubernetesCluster cluster = choose(resources);
+			if (cluster == null) {
+				for (int i = 0; i < placed.size(); i++) {
+					states.get(placed.get(i).name()).remove(containers.get(i));
+				}
+				throw new CaasException(isAnyClusterAvailable() ? ErrorCode.CLUSTER_CAPACITY_EXCEEDED : ErrorCode.KUBERNETES_UNAVAILABLE);
+			}
+			states.get(cluster.name()).add(resources);
+			placed.add(cluster);
+		}
+		placed.forEach(cluster -> states.get(cluster.name()).decisions.increment());
+		return placed;
+	}
+
+	/**
+	 * DB 의 클러스터별 컨테이너 수와, capacity-tracking 이 켜져 있으면 각 클러스터의 노드 / Pod 용량을 다시 읽는다.
+	 */
+	public void refresh() {
+		Map<String, Long> containers = new HashMap<>();
+		for (ClusterLoadView load : applicationRepository.countContainersByCluster()) {
+			containers.merge(clusters.nameOf(load.k8sCluster()), load.containers(), Long::sum);
+		}
+		synchronized (this) {
+			states.forEach((name, state) -> state.containers.set(containers.getOrDefault(name, 0L)));
+		}
+
+		if (capacityTracking) {
+			for (KubernetesCluster cluster : clusters.all()) {
+				refreshCapacity(cluster, states.get(cluster.name()));
+			}
+		}
+	}
+
+	private boolean isAnyClusterAvailable() {
+		return clusters.all().stream().anyMatch(cluster -> cluster.resilience().isAvailable());
+	}
+
+	private void refreshSafely() {
+		try {
+			refresh();
+		} catch (RuntimeException e) {
+			log.warn("Placement refresh failed: {}", e.getMessage());
+		}
+	}
+
+	// 용량을 아는 클러스터 중 배치 후 사용 비율이 가장 낮은 곳, 없으면 용량을 모르는 클러스터 중 컨테이너가 가장 적은 곳
+	private KubernetesCluster choose(ContainerResources resources) {
+		KubernetesCluster best = null;
+		double bestUtilization = Double.MAX_VALUE;
+		long bestContainers = Long.MAX_VALUE;
+		KubernetesCluster fallback = null;
+		long fallbackContainers = Long.MAX_VALUE;
+
+		for (KubernetesCluster cluster : clusters.all()) {
+			// API 서버 장애로 circuit 이 열린 클러스터에는 배치하지 않는다 (DB 에 기록한 뒤 생성이 바로 실패하므로)
+			if (!cluster.resilience().isAvailable()) {
+				continue;
+			}
+			ClusterState state = states.get(cluster.name());
+			long containers = state.containers.get();
+			Capacity capacity = currentCapacity(state);
+			if (capacity == null) {
+				if (containers < fallbackContainers) {
+					fallback = cluster;
+					fallbackContainers = containers;
+				}
+				continue;
+			}
+
+			double utilization = capacity.utilization(state.pendingCpu() + resources.cpuCores(),
+					state.pendingMemory() + resources.memoryBytes());
+			if (utilization > 1) {
+				continue;
+			}
+			if (utilization < bestUtilization || (utilization == bestUtilization && containers < bestContainers)) {
+				best = cluster;
+				bestUtilization = utilization;
+				bestContainers = containers;
+			}
+		}
+		return best != null ? best : fallback;
+	}
+
+	private void refreshCapacity(KubernetesCluster cluster, ClusterState state) {
+		try {
+			// resourceVersion=0: etcd 대신 API 서버의 watch 캐시에서 응답
+			V1NodeList nodes = cluster.resilience().read("list_node", ALL_NAMESPACES, () ->
+					cluster.coreV1Api().listNode().resourceVersion("0").execute());
+			Capacity capacity = Capacity.of(nodes.getItems(), List.of(), Instant.now());
+			// Pod 는 limit / continue 로 나눠 읽어 한 번에 받는 응답과 힙 사용을 page 크기로 제한한다.
+			// resourceVersion=0 이면 API 서버가 limit 을 무시하고 전체를 돌려주므로 지정하지 않는다
+			String continueToken = null;
+			do {
+				String token = continueToken;
+				V1PodList pods = cluster.resilience().read("list_pod", ALL_NAMESPACES, () ->
+						cluster.coreV1Api().listPodForAllNamespaces()
+								.fieldSelector(ACTIVE_POD_SELECTOR)
+								.limit(podPageSize)
+								._continue(token)
+								.execute());
+				capacity = capacity.plus(pods.getItems());
+				continueToken = pods.getMetadata() == null ? null : pods.getMetadata().getContinue();
+			} while (continueToken != null && !continueToken.isEmpty());
+			synchronized (this) {
+				state.capacity = capacity;
+				state.rotatePending();
+			}
+			if (state.failing) {
+				log.info("Capacity tracking recovered for cluster {}", cluster.name());
+			}
+			state.failing = false;
+			log.debug("Cluster {} capacity: {}", cluster.name(), state.capacity);
+		} catch (ApiException | RuntimeException e) {
+			// 권한이 없는 클러스터는 매 주기 실패하므로 처음 한 번만 경고
+			if (!state.failing) {
+				log.warn("Failed to read capacity of cluster {}, placing by container count until it recovers: {}",
+						cluster.name(), e.getMessage());
+			}
+			state.failing = true;
+		}
+	}
+
+	private Capacity currentCapacity(ClusterState state) {
+		Capacity capacity = state.capacity;
+		if (capacity == null || capacity.observedAt().isBefore(Instant.now().minus(capacityMaxAge))) {
+			return null;
+		}
+		return capacity;
+	}
+
+	private double utilization(ClusterState state) {
+		Capacity capacity = currentCapacity(state);
+		return capacity == null ? Double.NaN : capacity.utilization(state.pendingCpu(), state.pendingMemory());
+	}
+
+	/**
+	 * Ready 이고 스케줄 가능한 노드의 allocatable 합과 종료되지 않은 Pod 의 container requests 합 (CPU: core, memory: byte).
+	 */
+	record Capacity(double allocatableCpu, double allocatableMemory, double requestedCpu, double requestedMemory,
+					Instant observedAt) {
+
+		static Capacity of(List<V1Node> nodes, List<V1Pod> pods, Instant observedAt) {
+			double allocatableCpu = 0;
+			double allocatableMemory = 0;
+			for (V1Node node : nodes) {
+				if (!isSchedulable(node) || node.getStatus() == null || node.getStatus().getAllocatable() == null) {
+					continue;
+				}
+				allocatableCpu += amount(node.getStatus().getAllocatable(), "cpu");
+				allocatableMemory += amount(node.getStatus().getAllocatable(), "memory");
+			}
+			return new Capacity(allocatableCpu, allocatableMemory, 0, 0, observedAt).plus(pods);
+		}
+
+		// Pod 목록의 한 page 를 requests 합에 더한다
+		Capacity plus(List<V1Pod> pods) {
+			double cpu = requestedCpu;
+			double memory = requestedMemory;
+			for (V1Pod pod : pods) {
+				if (pod.getSpec() == null) {
+					continue;
+				}
+				for (V1Container container : pod.getSpec().getContainers()) {
+					if (container.getResources() != null && container.getResources().getRequests() != null) {
+						cpu += amount(container.getResources().getRequests(), "cpu");
+						memory += amount(container.getResources().getRequests(), "memory");
+					}
+				}
+			}
+			return new Capacity(allocatableCpu, allocatableMemory, cpu, memory, observedAt);
+		}
+
+		double utilization(double pendingCpu, double pendingMemory) {
+			if (allocatableCpu <= 0 || allocatableMemory <= 0) {
+				return Double.POSITIVE_INFINITY;
+			}
+			return Math.max((requestedCpu + pendingCpu) / allocatableCpu,
+					(requestedMemory + pendingMemory) / allocatableMemory);
+		}
+
+		private static boolean isSchedulable(V1Node node) {
+			if (node.getSpec() != null && Boolean.TRUE.equals(node.getSpec().getUnschedulable())) {
+				return false;
+			}
+			return node.getStatus() != null && node.getStatus().getConditions() != null
+					&& node.getStatus().getConditions().stream()
+					.anyMatch(condition -> "Ready".equals(condition.getType()) && "True".equals(condition.getStatus()));
+		}
+
+		private static double amount(Map<String, Quantity> resources, String name) {
+			Quantity quantity = resources.get(name);
+			return quantity == null ? 0 : quantity.getNumber().doubleValue();
+		}
+	}
+
+	/**
+	 * 클러스터별 배치 상태. pending* 는 스케줄러의 lock 안에서만 바꾼다.
+	 */
+	private static final class ClusterState {
+		private final AtomicLong containers = new AtomicLong();
+		private final Counter decisions;
+		private volatile Capacity capacity;
+		private volatile boolean failing;
+		// 지난번 / 이번 용량 읽기 이후 배치한 컨테이너의 requests 합 (CPU: core, memory: byte)
+		private double previousCpu;
+		private double previousMemory;
+		private double currentCpu;
+		private double currentMemory;
+
+		private ClusterState(Counter decisions) {
+			this.decisions = decisions;
+		}
+
+		void add(ContainerResources resources) {
+			containers.incrementAndGet();
+			currentCpu += resources.cpuCores();
+			currentMemory += resources.memoryBytes();
+		}
+
+		void remove(ContainerResources resources) {
+			containers.decrementAndGet();
+			currentCpu -= resources.cpuCores();
+			currentMemory -= resources.memoryBytes();
+		}
+
+		double pendingCpu() {
+			return previousCpu + currentCpu;
+		}
+
+		double pendingMemory() {
+			return previousMemory + currentMemory;
+		}
+
+		// 지난번 읽기 전에 배치한 컨테이너는 이번 읽기의 Pod requests 합에 들어 있으므로 뺀다
+		void rotatePending() {
+			previousCpu = currentCpu;
+			previousMemory = currentMemory;
+			currentCpu = 0;
+			currentMemory = 0;
+		}
+	}
+}
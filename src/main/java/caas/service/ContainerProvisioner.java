@@ -0,0 +1,475 @@
+package caas.service;
+
+import caas.entity.Application;
+import caas.entity.Config;
+import caas.kubernetes.KubernetesAsyncCalls;
+import caas.kubernetes.KubernetesCluster;
+import caas.kubernetes.KubernetesClusterRegistry;
+import caas.kubernetes.KubernetesLabels;
+import caas.kubernetes.KubernetesRequestPriority;
+import caas.kubernetes.KubernetesWireFormat;
+import io.kubernetes.client.custom.IntOrString;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.AppsV1Api;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.apis.NetworkingV1Api;
+import io.kubernetes.client.openapi.models.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.net.HttpURLConnection;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * 애플리케이션 하나에 대한 Kubernetes 리소스(Deployment / Service / Ingress)를 애플리케이션이 배치된 클러스터에 생성한다.
+ * kubernetes.ingress.mode=SHARED 이면 Ingress 를 만들지 않고 SharedIngressShards 의 공유 Ingress 에 host 규칙을 등록한다.
+ * warm pool 에서 할당받은 Deployment 는 새로 만들지 않고 WarmDeploymentPool 이 라벨만 바꿔 넘겨받는다.
+ * Service / Ingress 는 Deployment 를 owner 로 지정하므로 Deployment 하나를 지우면 Kubernetes garbage collector 가 함께 지운다.
+ */
+@Slf4j
+@Component
+public class ContainerProvisioner {
+
+	private static final String BACKGROUND_PROPAGATION = "Background";
+
+	private final KubernetesClusterRegistry clusters;
+	private final TaskExecutor fanOutExecutor;
+	private final SharedIngressShards sharedIngress;
+	private final WarmDeploymentPool warmPool;
+	private final ContainerResourcePolicy resourcePolicy;
+
+	@Value("${kubernetes.ingress.base-domain}")
+	private String baseDomain;
+
+	@Value("${kubernetes.client.wire-format:JSON}")
+	private KubernetesWireFormat wireFormat;
+
+	public ContainerProvisioner(KubernetesClusterRegistry clusters,
+								@Qualifier("provisioningFanOutExecutor") TaskExecutor fanOutExecutor,
+								SharedIngressShards sharedIngress,
+								WarmDeploymentPool warmPool,
+								ContainerResourcePolicy resourcePolicy) {
+		this.clusters = clusters;
+		this.fanOutExecutor = fanOutExecutor;
+		this.sharedIngress = sharedIngress;
+		this.warmPool = warmPool;
+		this.resourcePolicy = resourcePolicy;
+	}
+
+	public static String ingressNameOf(String deploymentName) {
+		return deploymentName + "-ingress";
+	}
+
+	/**
+	 * Deployment 를 만들고 uid 를 돌려준다. 생성 응답으로 uid 를 알 수 없으면(PROTOBUF, 이미 존재, warm pool 할당) null 이며,
+	 * 이때는 createServiceAndIngress() 가 Informer 캐시 또는 API 서버에서 조회한다.
+	 */
+	public String createDeployment(Application application, Config config) throws ApiException {
+		if (WarmDeploymentPool.isWarmName(application.getK8sDeploymentName())
+				&& warmPool.adopt(application, requestedAtOf(application))) {
+			return null;
+		}
+		return createDeployment(clusters.get(application.getK8sCluster()), application.getK8sNamespace(),
+				application.getK8sDeploymentName(), application.getAppId(), application.getOwnerUserId(),
+				config.getImageLink(), config.getInternalPort(), resourcesOf(config), requestedAtOf(application));
+	}
+
+	/**
+	 * createDeployment() 의 비동기 버전. 호출 스레드를 막지 않으며 JSON 형식으로만 요청한다.
+	 * warm pool 할당에 실패해 Deployment 이름을 바꿀 때의 DB 기록은 dbExecutor 에서 한다.
+	 */
+	public CompletableFuture<String> createDeploymentAsync(Application application, Config config, Executor dbExecutor) {
+		if (WarmDeploymentPool.isWarmName(application.getK8sDeploymentName())) {
+			return warmPool.adoptAsync(application, requestedAtOf(application), dbExecutor)
+					.thenCompose(adopted -> adopted ? CompletableFuture.completedFuture(null) : newDeploymentAsync(application, config));
+		}
+		return newDeploymentAsync(application, config);
+	}
+
+	private CompletableFuture<String> newDeploymentAsync(Application application, Config config) {
+		KubernetesCluster cluster = clusters.get(application.getK8sCluster());
+		AppsV1Api appsV1Api = cluster.appsV1Api();
+		String namespace = application.getK8sNamespace();
+		String deploymentName = application.getK8sDeploymentName();
+		V1Deployment deployment = deploymentManifest(deploymentName, application.getAppId(), application.getOwnerUserId(),
+				config.getImageLink(), config.getInternalPort(), resourcesOf(config), requestedAtOf(application));
+
+		return created(cluster.resilience().writeAsync("create_deployment", namespace, () ->
+				KubernetesAsyncCalls.<V1Deployment>execute(appsV1Api.getApiClient(),
+						() -> appsV1Api.createNamespacedDeployment(namespace, deployment).buildCall(null),
+						V1Deployment.class, KubernetesRequestPriority.BACKGROUND)), "Deployment", deploymentName)
+				.thenApply(ContainerProvisioner::uidOf);
+	}
+
+	/**
+	 * Deployment 가 생성된 뒤 Service 와 Ingress 를 동시에 생성한다.
+	 * 한쪽이 실패해도 다른 쪽 호출이 끝날 때까지 기다린 뒤 첫 번째 예외를 던진다.
+	 *
+	 * @param deploymentUid createDeployment() 가 돌려준 uid, 모르면 null
+	 */
+	public void createServiceAndIngress(Application application, Config config, String deploymentUid) throws ApiException {
+		KubernetesCluster cluster = clusters.get(application.getK8sCluster());
+		String namespace = application.getK8sNamespace();
+		String deploymentName = application.getK8sDeploymentName();
+		String serviceName = application.getK8sServiceName();
+		V1OwnerReference owner = deploymentOwnerOf(cluster, namespace, deploymentName, deploymentUid);
+
+		CompletableFuture<Void> ingressFuture = sharedIngress.isEnabled()
+				? sharedIngress.register(application)
+				: CompletableFuture.runAsync(() -> {
+					try {
+						createIngress(cluster, namespace, ingressNameOf(deploymentName), serviceName, application.getAppId(),
+								application.getOwnerUserId(), application.getAppName(), config.getInternalPort(), owner);
+					} catch (ApiException e) {
+						throw new CompletionException(e);
+					}
+				}, fanOutExecutor);
+
+		ApiException serviceFailure = null;
+		try {
+			createService(cluster, namespace, serviceName, deploymentName, application.getAppId(),
+					application.getOwnerUserId(), config.getInternalPort(), owner);
+		} catch (ApiException e) {
+			serviceFailure = e;
+		}
+
+		try {
+			ingressFuture.join();
+		} catch (CompletionException e) {
+			if (serviceFailure == null) {
+				throw unwrap(e);
+			}
+		}
+
+		if (serviceFailure != null) {
+			throw serviceFailure;
+		}
+	}
+
+	/**
+	 * createServiceAndIngress() 의 비동기 버전. 두 호출이 모두 끝난 뒤 완료되며, 하나라도 실패하면 실패로 완료된다.
+	 */
+	public CompletableFuture<Void> createServiceAndIngressAsync(Application application, Config config, String deploymentUid) {
+		KubernetesCluster cluster = clusters.get(application.getK8sCluster());
+		return deploymentOwnerOfAsync(cluster, application.getK8sNamespace(), application.getK8sDeploymentName(), deploymentUid)
+				.thenCompose(owner -> createServiceAndIngressAsync(cluster, application, config, owner));
+	}
+
+	private CompletableFuture<Void> createServiceAndIngressAsync(KubernetesCluster cluster, Application application, Config config,
+																 V1OwnerReference owner) {
+		CoreV1Api coreV1Api = cluster.coreV1Api();
+		NetworkingV1Api networkingV1Api = cluster.networkingV1Api();
+		String namespace = application.getK8sNamespace();
+		String deploymentName = application.getK8sDeploymentName();
+		String serviceName = application.getK8sServiceName();
+		V1Service service = serviceManifest(serviceName, deploymentName, application.getAppId(),
+				application.getOwnerUserId(), config.getInternalPort());
+		service.getMetadata().ownerReferences(List.of(owner));
+
+		CompletableFuture<V1Service> serviceFuture = created(cluster.resilience().writeAsync("create_service", namespace, () ->
+				KubernetesAsyncCalls.execute(coreV1Api.getApiClient(),
+						() -> coreV1Api.createNamespacedService(namespace, service).buildCall(null),
+						V1Service.class, KubernetesRequestPriority.BACKGROUND)), "Service", serviceName);
+		if (sharedIngress.isEnabled()) {
+			return CompletableFuture.allOf(serviceFuture, sharedIngress.register(application));
+		}
+
+		String ingressName = ingressNameOf(deploymentName);
+		V1Ingress ingress = ingressManifest(ingressName, serviceName, application.getAppId(), application.getOwnerUserId(),
+				hostOf(application.getAppName(), baseDomain), config.getInternalPort());
+		ingress.getMetadata().ownerReferences(List.of(owner));
+		CompletableFuture<V1Ingress> ingressFuture = created(cluster.resilience().writeAsync("create_ingress", namespace, () ->
+				KubernetesAsyncCalls.execute(networkingV1Api.getApiClient(),
+						() -> networkingV1Api.createNamespacedIngress(namespace, ingress).buildCall(null),
+						V1Ingress.class, KubernetesRequestPriority.BACKGROUND)), "Ingress", ingressName);
+		return CompletableFuture.allOf(serviceFuture, ingressFuture);
+	}
+
+	/**
+	 * Deployment 를 삭제한다. Service / Ingress 는 owner reference 로 묶여 있어 Kubernetes garbage collector 가
+	 * 함께 지우므로(propagationPolicy=Background) 호출은 하나다. 존재하지 않는 Deployment(404)는 무시한다.
+	 * SHARED 모드에서는 먼저 공유 Ingress 에서 host 규칙을 뺀다.
+	 * owner reference 가 없는 리소스(이 방식 이전에 만들어진 것)는 OrphanResourceCollector 가 정리한다.
+	 */
+	public void deleteResources(Application application) throws ApiException {
+		KubernetesCluster cluster = clusters.get(application.getK8sCluster());
+		String namespace = application.getK8sNamespace();
+		String deploymentName = application.getK8sDeploymentName();
+
+		if (sharedIngress.isEnabled()) {
+			try {
+				sharedIngress.release(application).join();
+			} catch (CompletionException e) {
+				throw unwrap(e);
+			}
+		}
+
+		try {
+			cluster.resilience().write("delete_deployment", namespace, () ->
+					cluster.appsV1Api().deleteNamespacedDeployment(deploymentName, namespace)
+							.propagationPolicy(BACKGROUND_PROPAGATION)
+							.execute());
+			log.info("Deployment deleted with its Service / Ingress: {}", deploymentName);
+		} catch (ApiException e) {
+			ignoreNotFound(e, "Deployment", deploymentName);
+		}
+	}
+
+	/**
+	 * Service / Ingress 의 owner 로 지정할 Deployment. uid 를 모르면 Informer 캐시, 없으면 API 서버에서 읽는다.
+	 */
+	private V1OwnerReference deploymentOwnerOf(KubernetesCluster cluster, String namespace, String deploymentName,
+											   String deploymentUid) throws ApiException {
+		String uid = deploymentUid != null ? deploymentUid : cluster.statusCache().find(namespace, deploymentName)
+				.map(ContainerProvisioner::uidOf)
+				.orElse(null);
+		if (uid == null) {
+			uid = cluster.resilience().read("read_deployment", namespace, () -> wireFormat == KubernetesWireFormat.PROTOBUF
+					? cluster.protoClient().readDeployment(namespace, deploymentName).getMetadata().getUid()
+					: uidOf(cluster.appsV1Api().readNamespacedDeployment(deploymentName, namespace).execute()));
+		}
+		return deploymentOwnerReference(deploymentName, uid);
+	}
+
+	// deploymentOwnerOf() 의 비동기 버전
+	private CompletableFuture<V1OwnerReference> deploymentOwnerOfAsync(KubernetesCluster cluster, String namespace,
+																	   String deploymentName, String deploymentUid) {
+		String uid = deploymentUid != null ? deploymentUid : cluster.statusCache().find(namespace, deploymentName)
+				.map(ContainerProvisioner::uidOf)
+				.orElse(null);
+		if (uid != null) {
+			return CompletableFuture.completedFuture(deploymentOwnerReference(deploymentName, uid));
+		}
+		AppsV1Api appsV1Api = cluster.appsV1Api();
+		return cluster.resilience().readAsync("read_deployment", namespace, () ->
+						KubernetesAsyncCalls.<V1Deployment>execute(appsV1Api.getApiClient(),
+								() -> appsV1Api.readNamespacedDeployment(deploymentName, namespace).buildCall(null),
+								V1Deployment.class, KubernetesRequestPriority.BACKGROUND))
+				.thenApply(deployment -> deploymentOwnerReference(deploymentName, uidOf(deployment)));
+	}
+
+	static V1OwnerReference deploymentOwnerReference(String deploymentName, String uid) {
+		return new V1OwnerReference()
+				.apiVersion("apps/v1")
+				.kind("Deployment")
+				.name(deploymentName)
+				.uid(uid)
+				.blockOwnerDeletion(true);
+	}
+
+	private static String uidOf(V1Deployment deployment) {
+		return deployment != null && deployment.getMetadata() != null ? deployment.getMetadata().getUid() : null;
+	}
+
+	private String createDeployment(KubernetesCluster cluster, String namespace, String deploymentName, String containerId,
+									String ownerUserId, String imageLink, Integer internalPort, V1ResourceRequirements resources,
+									Instant requestedAt) throws ApiException {
+		V1Deployment deployment = deploymentManifest(deploymentName, containerId, ownerUserId, imageLink, internalPort,
+				resources, requestedAt);
+
+		try {
+			V1Deployment created = cluster.resilience().write("create_deployment", namespace, () -> {
+				if (wireFormat == KubernetesWireFormat.PROTOBUF) {
+					cluster.protoClient().createDeployment(namespace, deployment);
+					return null;
+				}
+				return cluster.appsV1Api().createNamespacedDeployment(namespace, deployment).execute();
+			});
+			log.info("Deployment created: {}", deploymentName);
+			return uidOf(created);
+		} catch (ApiException e) {
+			ignoreAlreadyExists(e, "Deployment", deploymentName);
+			return null;
+		}
+	}
+
+	static V1Deployment deploymentManifest(String deploymentName, String containerId, String ownerUserId,
+										   String imageLink, Integer internalPort, V1ResourceRequirements resources,
+										   Instant requestedAt) {
+		return new V1Deployment()
+				.apiVersion("apps/v1")
+				.kind("Deployment")
+				.metadata(new V1ObjectMeta()
+						.name(deploymentName)
+						.labels(KubernetesLabels.managed(deploymentName, containerId, ownerUserId))
+						.annotations(Map.of(KubernetesLabels.REQUESTED_AT_ANNOTATION, requestedAt.toString())))
+				.spec(new V1DeploymentSpec()
+						.replicas(1)
+						.selector(new V1LabelSelector()
+								.matchLabels(Map.of("app", deploymentName)))
+						.template(new V1PodTemplateSpec()
+								.metadata(new V1ObjectMeta()
+										.labels(Map.of("app", deploymentName)))
+								.spec(new V1PodSpec()
+										.containers(List.of(
+												new V1Container()
+														.name(deploymentName)
+														.image(imageLink)
+														.ports(List.of(
+																new V1ContainerPort()
+																		.containerPort(internalPort)
+																		.name("http")))
+														.resources(resources)
+														.imagePullPolicy("IfNotPresent")
+										)))));
+	}
+
+	private void createService(KubernetesCluster cluster, String namespace, String serviceName, String deploymentName,
+							   String containerId, String ownerUserId, Integer internalPort, V1OwnerReference owner) throws ApiException {
+		V1Service service = serviceManifest(serviceName, deploymentName, containerId, ownerUserId, internalPort);
+		service.getMetadata().ownerReferences(List.of(owner));
+
+		try {
+			cluster.resilience().write("create_service", namespace, () -> {
+				if (wireFormat == KubernetesWireFormat.PROTOBUF) {
+					cluster.protoClient().createService(namespace, service);
+					return null;
+				}
+				return cluster.coreV1Api().createNamespacedService(namespace, service).execute();
+			});
+			log.info("Service created: {}", serviceName);
+		} catch (ApiException e) {
+			ignoreAlreadyExists(e, "Service", serviceName);
+		}
+	}
+
+	static V1Service serviceManifest(String serviceName, String deploymentName, String containerId,
+									 String ownerUserId, Integer internalPort) {
+		return new V1Service()
+				.apiVersion("v1")
+				.kind("Service")
+				.metadata(new V1ObjectMeta()
+						.name(serviceName)
+						.labels(KubernetesLabels.managed(deploymentName, containerId, ownerUserId)))
+				.spec(new V1ServiceSpec()
+						.type("ClusterIP")  // Ingress와 함께 사용하므로 ClusterIP로 변경
+						.selector(Map.of("app", deploymentName))
+						.ports(List.of(
+								new V1ServicePort()
+										.port(internalPort)
+										.targetPort(new IntOrString(internalPort))
+										.name("http")
+										.protocol("TCP")
+						)));
+	}
+
+	private void createIngress(KubernetesCluster cluster, String namespace, String ingressName, String serviceName,
+							   String containerId, String ownerUserId, String clusterName, Integer servicePort,
+							   V1OwnerReference owner) throws ApiException {
+		String host = hostOf(clusterName, baseDomain);
+		V1Ingress ingress = ingressManifest(ingressName, serviceName, containerId, ownerUserId, host, servicePort);
+		ingress.getMetadata().ownerReferences(List.of(owner));
+
+		try {
+			cluster.resilience().write("create_ingress", namespace, () -> {
+				if (wireFormat == KubernetesWireFormat.PROTOBUF) {
+					cluster.protoClient().createIngress(namespace, ingress);
+					return null;
+				}
+				return cluster.networkingV1Api().createNamespacedIngress(namespace, ingress).execute();
+			});
+			log.info("Ingress created: {} with host: {} -> Service: {}:{}", ingressName, host, serviceName, servicePort);
+		} catch (ApiException e) {
+			ignoreAlreadyExists(e, "Ingress", ingressName);
+		}
+	}
+
+	static String hostOf(String clusterName, String baseDomain) {
+		return sanitizedClusterNameOf(clusterName) + "." + baseDomain;
+	}
+
+	static String sanitizedClusterNameOf(String clusterName) {
+		return clusterName.toLowerCase().replaceAll("[^a-z0-9-]", "-");
+	}
+
+	static V1Ingress ingressManifest(String ingressName, String serviceName, String containerId,
+									 String ownerUserId, String host, Integer servicePort) {
+		return new V1Ingress()
+				.apiVersion("networking.k8s.io/v1")
+				.kind("Ingress")
+				.metadata(new V1ObjectMeta()
+						.name(ingressName)
+						.labels(KubernetesLabels.managed(serviceName, containerId, ownerUserId))
+						.annotations(Map.of(
+								"nginx.ingress.kubernetes.io/rewrite-target", "/",
+								"nginx.ingress.kubernetes.io/ssl-redirect", "false"
+						)))
+				.spec(new V1IngressSpec()
+						.ingressClassName("nginx")  // nginx ingress controller 사용 (다른 컨트롤러 사용 시 변경)
+						.rules(List.of(
+								new V1IngressRule()
+										.host(host)
+										.http(new V1HTTPIngressRuleValue()
+												.paths(List.of(
+														new V1HTTPIngressPath()
+																.path("/")
+																.pathType("Prefix")
+																.backend(new V1IngressBackend()
+																		.service(new V1IngressServiceBackend()
+																				.name(serviceName)
+																				.port(new V1ServiceBackendPort()
+																						.number(servicePort)  // Service의 포트 사용
+																				)
+																		)
+																)
+												))
+										)
+						)));
+	}
+
+	private static Instant requestedAtOf(Application application) {
+		return application.getCreatedAt() == null
+				? Instant.now()
+				: application.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant();
+	}
+
+	private V1ResourceRequirements resourcesOf(Config config) {
+		return resourcePolicy.requirementsOf(resourcePolicy.resourcesOf(config));
+	}
+
+	// ignoreAlreadyExists() 의 비동기 버전. 이미 있으면 null 로 완료된다
+	private static <T> CompletableFuture<T> created(CompletableFuture<T> call, String kind, String name) {
+		return call.thenApply(result -> {
+			log.info("{} created: {}", kind, name);
+			return result;
+		}).exceptionallyCompose(failure -> {
+			Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+			if (cause instanceof ApiException e && e.getCode() == HttpURLConnection.HTTP_CONFLICT) {
+				log.info("{} already exists, skipping: {}", kind, name);
+				return CompletableFuture.completedFuture(null);
+			}
+			return CompletableFuture.failedFuture(cause);
+		});
+	}
+
+	// 이전 시도에서 이미 만들어진 리소스는 성공으로 간주 (이름이 containerId 로 고정되어 재시도가 멱등)
+	private static void ignoreAlreadyExists(ApiException e, String kind, String name) throws ApiException {
+		if (e.getCode() != HttpURLConnection.HTTP_CONFLICT) {
+			throw e;
+		}
+		log.info("{} already exists, skipping: {}", kind, name);
+	}
+
+	private static void ignoreNotFound(ApiException e, String kind, String name) throws ApiException {
+		if (e.getCode() != HttpURLConnection.HTTP_NOT_FOUND) {
+			throw e;
+		}
+		log.debug("{} not found, nothing to delete: {}", kind, name);
+	}
+
+	private static ApiException unwrap(CompletionException e) {
+		if (e.getCause() instanceof ApiException apiException) {
+			return apiException;
+		}
+		throw e;
+	}
+}
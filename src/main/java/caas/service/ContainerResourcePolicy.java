@@ -0,0 +1,120 @@
+package caas.service;
+
+import caas.dto.request.ContainerCreateRequestDto;
+import caas.dto.response.ErrorCode;
+import caas.entity.Config;
+import caas.exception.CaasException;
+import io.kubernetes.client.custom.Quantity;
+import io.kubernetes.client.custom.QuantityFormatException;
+import io.kubernetes.client.openapi.models.V1ResourceRequirements;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+
+/**
+ * 생성 요청의 CPU / 메모리 크기를 정하고 Deployment 의 resources 로 바꾼다 (LimitRange 와 같은 역할).
+ * - 요청에 없으면 default-cpu / default-memory 를 쓰고, min / max 범위를 벗어나면 INVALID_CONTAINER_RESOURCES 로 거절한다
+ * - limits 는 requests × limit-ratio 로 정한다. 기본값은 CPU 는 2 배까지 burst 를 허용하고 메모리는 requests 와 같게 두어,
+ *   한 컨테이너가 노드 메모리를 잡아먹어 다른 컨테이너가 축출되지 않도록 한다
+ * 크기가 기록되지 않은 이전 Config 는 기본 크기로 간주한다.
+ */
+@Component
+public class ContainerResourcePolicy {
+
+	private static final BigDecimal MILLI = BigDecimal.valueOf(1000);
+
+	private final ContainerResources defaults;
+	private final ContainerResources min;
+	private final ContainerResources max;
+	private final double cpuLimitRatio;
+	private final double memoryLimitRatio;
+
+	public ContainerResourcePolicy(@Value("${kubernetes.resources.default-cpu:100m}") String defaultCpu,
+								   @Value("${kubernetes.resources.default-memory:128Mi}") String defaultMemory,
+								   @Value("${kubernetes.resources.min-cpu:10m}") String minCpu,
+								   @Value("${kubernetes.resources.min-memory:16Mi}") String minMemory,
+								   @Value("${kubernetes.resources.max-cpu:2}") String maxCpu,
+								   @Value("${kubernetes.resources.max-memory:4Gi}") String maxMemory,
+								   @Value("${kubernetes.resources.cpu-limit-ratio:2.0}") double cpuLimitRatio,
+								   @Value("${kubernetes.resources.memory-limit-ratio:1.0}") double memoryLimitRatio) {
+		this.defaults = new ContainerResources(millicoresOf(defaultCpu), bytesOf(defaultMemory));
+		this.min = new ContainerResources(millicoresOf(minCpu), bytesOf(minMemory));
+		this.max = new ContainerResources(millicoresOf(maxCpu), bytesOf(maxMemory));
+		if (cpuLimitRatio < 1 || memoryLimitRatio < 1) {
+			throw new IllegalStateException("kubernetes.resources.*-limit-ratio must be at least 1");
+		}
+		this.cpuLimitRatio = cpuLimitRatio;
+		this.memoryLimitRatio = memoryLimitRatio;
+	}
+
+	public ContainerResources defaults() {
+		return defaults;
+	}
+
+	/**
+	 * 요청의 cpu / memory 에 기본값을 채우고 범위를 확인한다.
+	 */
+	public ContainerResources resolve(ContainerCreateRequestDto request) {
+		ContainerResources resources;
+		try {
+			resources = new ContainerResources(
+					request.getCpu() == null || request.getCpu().isBlank() ? defaults.cpuMillicores() : millicoresOf(request.getCpu()),
+					request.getMemory() == null || request.getMemory().isBlank() ? defaults.memoryBytes() : bytesOf(request.getMemory()));
+		} catch (QuantityFormatException | IllegalArgumentException | ArithmeticException e) {
+			throw new CaasException(ErrorCode.INVALID_CONTAINER_RESOURCES);
+		}
+		if (resources.cpuMillicores() < min.cpuMillicores() || resources.cpuMillicores() > max.cpuMillicores()
+				|| resources.memoryBytes() < min.memoryBytes() || resources.memoryBytes() > max.memoryBytes()) {
+			throw new CaasException(ErrorCode.INVALID_CONTAINER_RESOURCES);
+		}
+		return resources;
+	}
+
+	public ContainerResources resourcesOf(Config config) {
+		return new ContainerResources(
+				config.getCpuMillicores() != null ? config.getCpuMillicores() : defaults.cpuMillicores(),
+				config.getMemoryBytes() != null ? config.getMemoryBytes() : defaults.memoryBytes());
+	}
+
+	public V1ResourceRequirements requirementsOf(ContainerResources resources) {
+		return requirementsOf(resources, cpuLimitRatio, memoryLimitRatio);
+	}
+
+	static V1ResourceRequirements requirementsOf(ContainerResources resources, double cpuLimitRatio, double memoryLimitRatio) {
+		return new V1ResourceRequirements()
+				.requests(Map.of(
+						"cpu", cpu(resources.cpuMillicores()),
+						"memory", memory(resources.memoryBytes())))
+				.limits(Map.of(
+						"cpu", cpu((int) Math.ceil(resources.cpuMillicores() * cpuLimitRatio)),
+						"memory", memory((long) Math.ceil(resources.memoryBytes() * memoryLimitRatio))));
+	}
+
+	// 1m 보다 작은 단위는 올림 (API 서버도 millicore 미만을 허용하지 않는다)
+	static int millicoresOf(String cpu) {
+		BigDecimal cores = Quantity.fromString(cpu.strip()).getNumber();
+		if (cores.signum() <= 0) {
+			throw new IllegalArgumentException("cpu must be positive: " + cpu);
+		}
+		return cores.multiply(MILLI).setScale(0, RoundingMode.CEILING).intValueExact();
+	}
+
+	static long bytesOf(String memory) {
+		BigDecimal bytes = Quantity.fromString(memory.strip()).getNumber();
+		if (bytes.signum() <= 0) {
+			throw new IllegalArgumentException("memory must be positive: " + memory);
+		}
+		return bytes.setScale(0, RoundingMode.CEILING).longValueExact();
+	}
+
+	private static Quantity cpu(int millicores) {
+		return new Quantity(BigDecimal.valueOf(millicores).divide(MILLI), Quantity.Format.DECIMAL_SI);
+	}
+
+	private static Quantity memory(long bytes) {
+		return new Quantity(BigDecimal.valueOf(bytes), Quantity.Format.BINARY_SI);
+	}
+}
@@ -0,0 +1,11 @@
+package caas.service;
+
+/**
+ * 컨테이너 하나의 CPU / 메모리 requests. Config 에 저장되는 단위(millicore, byte) 그대로 다룬다.
+ */
+public record ContainerResources(int cpuMillicores, long memoryBytes) {
+
+	public double cpuCores() {
+		return cpuMillicores / 1000.0;
+	}
+}
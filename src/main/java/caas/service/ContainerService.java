@@ -3,23 +3,35 @@ package caas.service;
 import caas.dto.request.ContainerCreateRequestDto;
 import caas.dto.response.ContainerCreateResponseDto;
 import caas.dto.response.ContainerListResponseDto;
+import caas.dto.response.ContainerPageResponseDto;
+import caas.dto.response.ErrorCode;
 import caas.entity.Application;
 import caas.entity.Config;
+import caas.entity.ProvisioningStatus;
+import caas.exception.CaasException;
+import caas.kubernetes.DeploymentStatusCache;
+import caas.kubernetes.DeploymentStatusResolver;
+import caas.kubernetes.KubernetesCluster;
+import caas.kubernetes.KubernetesClusterRegistry;
+import caas.kubernetes.KubernetesProtobuf;
+import caas.kubernetes.KubernetesRequestPriority;
+import caas.kubernetes.KubernetesWireFormat;
 import caas.repositoty.ApplicationRepository;
-import caas.repositoty.ConfigRepository;
-import io.kubernetes.client.custom.IntOrString;
-import io.kubernetes.client.openapi.ApiClient;
+import caas.repositoty.projection.ContainerSummaryView;
+import caas.repositoty.projection.ContainerView;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.kubernetes.client.openapi.ApiException;
-import io.kubernetes.client.openapi.apis.AppsV1Api;
-import io.kubernetes.client.openapi.apis.CoreV1Api;
-import io.kubernetes.client.openapi.apis.NetworkingV1Api;
-import io.kubernetes.client.openapi.models.*;
+import io.kubernetes.client.openapi.models.V1Deployment;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -28,209 +40,134 @@ import java.util.*;
 @RequiredArgsConstructor
 public class ContainerService {
 
-	private final ApiClient apiClient;
 	private final ApplicationRepository applicationRepository;
-	private final ConfigRepository configRepository;
-	private static final String DEFAULT_NAMESPACE = "default";
-	private static final String DEFAULT_OWNER_USER_ID = "1";
-
-	@Value("${kubernetes.ingress.base-domain}")
-	private String baseDomain;
-
-	@Transactional
+	private final KubernetesClusterRegistry clusters;
+	private final ProvisioningSaga provisioningSaga;
+	private final ObjectMapper objectMapper;
+	private final ContainerStatusEventHub containerStatusEventHub;
+	private final ContainerPlacementScheduler placementScheduler;
+	private final WarmDeploymentPool warmPool;
+	private final ContainerResourcePolicy resourcePolicy;
+	private final ContainerStatusFanOut statusFanOut;
+	static final String DEFAULT_OWNER_USER_ID = "1";
+	private static final int STREAM_CHUNK_SIZE = 500;
+
+	@Value("${caas.container.page.max-size:500}")
+	private int maxPageSize;
+
+	@Value("${caas.container.status-read-mode:LIVE}")
+	private StatusReadMode defaultReadMode;
+
+	@Value("${kubernetes.client.wire-format:JSON}")
+	private KubernetesWireFormat wireFormat;
+
+	/**
+	 * 동기 생성. 배치할 클러스터를 고른 뒤 할당량 예약과 DB 기록(짧은 트랜잭션) 후 Kubernetes 리소스를 트랜잭션 밖에서 만든다.
+	 * circuit breaker 가 열린 클러스터는 배치 대상에서 빠지며, 모두 열려 있으면 DB 에 기록하지 않고 바로 거절한다.
+	 * 실패하면 saga 가 이미 만든 리소스를 삭제하고 FAILED 로 기록한다.
+	 */
 	public ContainerCreateResponseDto createContainer(ContainerCreateRequestDto request) {
 		String containerId = UUID.randomUUID().toString();
-		String deploymentName = request.getClusterName() + "-" + containerId.substring(0, 8);
-		String serviceName = deploymentName + "-svc";
-		String ingressName = deploymentName + "-ingress";
+		ContainerResources resources = resourcePolicy.resolve(request);
+		Application application = newApplication(request, containerId, placementScheduler.place(resources));
+		warmPool.claim(application, request.getImageLink(), resources);
+		application.getConfigs().add(newConfig(request, resources, application));
+		String outboxId = provisioningSaga.begin(application, true);
+
+		Optional<String> failure = provisioningSaga.execute(outboxId, false);
+		if (failure.isPresent()) {
+			log.error("Container creation failed. ContainerId: {}, Error: {}", containerId, failure.get());
+			throw new CaasException(ErrorCode.CONTAINER_CREATE_FAILED);
+		}
 
-		try {
-			// Kubernetes 리소스 생성
-			createDeployment(deploymentName, request.getImageLink(), request.getInternalPort());
-			createService(serviceName, deploymentName, request.getInternalPort());
-			createIngress(ingressName, serviceName, request.getClusterName(), request.getInternalPort());
-
-			// DB에 Application 저장
-			Application application = new Application();
-			application.setAppId(containerId);
-			application.setAppName(request.getClusterName());
-			application.setK8sNamespace(DEFAULT_NAMESPACE);
-			application.setK8sDeploymentName(deploymentName);
-			application.setK8sServiceName(serviceName);
-			application.setOwnerUserId(DEFAULT_OWNER_USER_ID);
-			application.setCachedStatus("PENDING");
-			
-			application = applicationRepository.save(application);
-
-			// DB에 Config 저장
-			Config config = new Config();
-			config.setConfigId(UUID.randomUUID().toString());
-			config.setApplication(application);
-			config.setImageLink(request.getImageLink());
-			config.setExternalPort(request.getExternalPort());
-			config.setInternalPort(request.getInternalPort());
-			
-			configRepository.save(config);
-
-			log.info("Container created successfully. ContainerId: {}, Deployment: {}, Service: {}, Ingress: {}", 
-					containerId, deploymentName, serviceName, ingressName);
-
-			return ContainerCreateResponseDto.builder()
-					.containerId(containerId)
-					.clusterName(request.getClusterName())
-					.imageLink(request.getImageLink())
-					.ports(ContainerCreateResponseDto.Ports.builder()
-							.external(request.getExternalPort())
-							.internal(request.getInternalPort())
-							.build())
-					.requestTime(LocalDateTime.now())
-					.status("PENDING")
-					.build();
+		log.info("Container created successfully. ContainerId: {}, Cluster: {}, Deployment: {}, Service: {}, Ingress: {}", 
+				containerId, application.getK8sCluster(), application.getK8sDeploymentName(), application.getK8sServiceName(),
+				ContainerProvisioner.ingressNameOf(application.getK8sDeploymentName()));
 
-		} catch (ApiException e) {
-			log.error("Failed to create container. Error: {}", e.getMessage(), e);
-			throw new RuntimeException("컨테이너 생성 중 오류가 발생했습니다: " + e.getMessage(), e);
-		}
+		return toCreateResponse(request, containerId);
 	}
 
-	private void createDeployment(String deploymentName, String imageLink, Integer internalPort) throws ApiException {
-		AppsV1Api appsV1Api = new AppsV1Api(apiClient);
-
-		V1Deployment deployment = new V1Deployment()
-				.apiVersion("apps/v1")
-				.kind("Deployment")
-				.metadata(new V1ObjectMeta()
-						.name(deploymentName)
-						.labels(Map.of("app", deploymentName)))
-				.spec(new V1DeploymentSpec()
-						.replicas(1)
-						.selector(new V1LabelSelector()
-								.matchLabels(Map.of("app", deploymentName)))
-						.template(new V1PodTemplateSpec()
-								.metadata(new V1ObjectMeta()
-										.labels(Map.of("app", deploymentName)))
-								.spec(new V1PodSpec()
-										.containers(List.of(
-												new V1Container()
-														.name(deploymentName)
-														.image(imageLink)
-														.ports(List.of(
-																new V1ContainerPort()
-																		.containerPort(internalPort)
-																		.name("http")))
-														.imagePullPolicy("IfNotPresent")
-										)))));
-
-		appsV1Api.createNamespacedDeployment(DEFAULT_NAMESPACE, deployment);
-		log.info("Deployment created: {}", deploymentName);
+	/**
+	 * 컨테이너 삭제. DB 기록을 먼저 지운 뒤 Deployment 하나를 삭제하면 Service / Ingress 는 owner reference 로 함께 삭제된다.
+	 * Kubernetes 삭제가 실패해도 응답은 성공이며, 남은 리소스는 OrphanResourceCollector 가 정리한다.
+	 */
+	public void deleteContainer(String containerId) {
+		Application application = provisioningSaga.remove(containerId)
+				.orElseThrow(() -> new CaasException(ErrorCode.CONTAINER_NOT_FOUND));
+		provisioningSaga.teardown(application);
+		log.info("Container deleted. ContainerId: {}, Cluster: {}, Deployment: {}",
+				containerId, application.getK8sCluster(), application.getK8sDeploymentName());
 	}
 
-	private void createService(String serviceName, String deploymentName, Integer internalPort) throws ApiException {
-		CoreV1Api coreV1Api = new CoreV1Api(apiClient);
-
-		V1Service service = new V1Service()
-				.apiVersion("v1")
-				.kind("Service")
-				.metadata(new V1ObjectMeta()
-						.name(serviceName)
-						.labels(Map.of("app", deploymentName)))
-				.spec(new V1ServiceSpec()
-						.type("ClusterIP")  // Ingress와 함께 사용하므로 ClusterIP로 변경
-						.selector(Map.of("app", deploymentName))
-						.ports(List.of(
-								new V1ServicePort()
-										.port(internalPort)
-										.targetPort(new IntOrString(internalPort))
-										.name("http")
-										.protocol("TCP")
-						)));
-
-		coreV1Api.createNamespacedService(DEFAULT_NAMESPACE, service);
-		log.info("Service created: {}", serviceName);
+	static Application newApplication(ContainerCreateRequestDto request, String containerId, KubernetesCluster cluster) {
+		String deploymentName = deploymentNameOf(request.getClusterName(), containerId);
+
+		Application application = new Application();
+		application.setAppId(containerId);
+		application.setAppName(request.getClusterName());
+		application.setK8sCluster(cluster.name());
+		application.setK8sNamespace(cluster.namespace());
+		application.setK8sDeploymentName(deploymentName);
+		application.setK8sServiceName(deploymentName + "-svc");
+		application.setOwnerUserId(DEFAULT_OWNER_USER_ID);
+		application.setCachedStatus(DeploymentStatusResolver.PENDING);
+		application.setProvisioningStatus(ProvisioningStatus.REQUESTED);
+		return application;
 	}
 
-	private void createIngress(String ingressName, String serviceName, String clusterName, Integer servicePort) throws ApiException {
-		NetworkingV1Api networkingV1Api = new NetworkingV1Api(apiClient);
-
-		String sanitizedClusterName = clusterName.toLowerCase().replaceAll("[^a-z0-9-]", "-");
-		String host = sanitizedClusterName + "." + baseDomain;
-
-		V1Ingress ingress = new V1Ingress()
-				.apiVersion("networking.k8s.io/v1")
-				.kind("Ingress")
-				.metadata(new V1ObjectMeta()
-						.name(ingressName)
-						.labels(Map.of("app", serviceName))
-						.annotations(Map.of(
-								"nginx.ingress.kubernetes.io/rewrite-target", "/",
-								"nginx.ingress.kubernetes.io/ssl-redirect", "false"
-						)))
-				.spec(new V1IngressSpec()
-						.ingressClassName("nginx")  // nginx ingress controller 사용 (다른 컨트롤러 사용 시 변경)
-						.rules(List.of(
-								new V1IngressRule()
-										.host(host)
-										.http(new V1HTTPIngressRuleValue()
-												.paths(List.of(
-														new V1HTTPIngressPath()
-																.path("/")
-																.pathType("Prefix")
-																.backend(new V1IngressBackend()
-																		.service(new V1IngressServiceBackend()
-																				.name(serviceName)
-																				.port(new V1ServiceBackendPort()
-																						.number(servicePort)  // Service의 포트 사용
-																				)
-																		)
-																)
-												))
-										)
-						)));
-
-		networkingV1Api.createNamespacedIngress(DEFAULT_NAMESPACE, ingress);
-		log.info("Ingress created: {} with host: {} -> Service: {}:{}", ingressName, host, serviceName, servicePort);
+	// warm pool 을 쓰지 않을 때의 Deployment 이름. Service 이름도 이것으로 정한다
+	static String deploymentNameOf(String appName, String appId) {
+		return appName + "-" + appId.substring(0, 8);
 	}
 
-	public ContainerListResponseDto getContainers() {
-		// DB에서 사용자의 Application 목록 조회 (하드코딩: user id = 1)
-		List<Application> applications = applicationRepository.findByOwnerUserId(DEFAULT_OWNER_USER_ID);
-		
-		List<ContainerListResponseDto.ContainerInfo> containerInfos = new ArrayList<>();
-		int runningCount = 0;
-		Set<String> clusterNames = new HashSet<>();
+	static Config newConfig(ContainerCreateRequestDto request, ContainerResources resources, Application application) {
+		Config config = new Config();
+		config.setConfigId(UUID.randomUUID().toString());
+		config.setApplication(application);
+		config.setImageLink(request.getImageLink());
+		config.setExternalPort(request.getExternalPort());
+		config.setInternalPort(request.getInternalPort());
+		config.setCpuMillicores(resources.cpuMillicores());
+		config.setMemoryBytes(resources.memoryBytes());
+		return config;
+	}
+
+	static ContainerCreateResponseDto toCreateResponse(ContainerCreateRequestDto request, String containerId) {
+		return ContainerCreateResponseDto.builder()
+				.containerId(containerId)
+				.clusterName(request.getClusterName())
+				.imageLink(request.getImageLink())
+				.ports(ContainerCreateResponseDto.Ports.builder()
+						.external(request.getExternalPort())
+						.internal(request.getInternalPort())
+						.build())
+				.requestTime(LocalDateTime.now())
+				.status(DeploymentStatusResolver.PENDING)
+				.build();
+	}
 
-		for (Application application : applications) {
-			// Config 조회 (첫 번째 Config 사용)
-			Config config = application.getConfigs().isEmpty() 
-					? null 
-					: application.getConfigs().get(0);
+	public ContainerListResponseDto getContainers(StatusReadMode readMode) {
+		// DB에서 사용자의 컨테이너 목록을 최신 Config 와 함께 단일 쿼리로 조회 (하드코딩: user id = 1)
+		List<ContainerView> containers = applicationRepository.findContainerViewsByOwnerUserId(DEFAULT_OWNER_USER_ID);
+		
+		// Deployment 상태 확인 (CACHED: DB 컬럼, LIVE: Informer 캐시 우선, 미동기화 시 API 직접 조회)
+		List<String> statuses = resolveStatuses(containers, readMode);
 
-			if (config == null) {
-				continue;
-			}
+		List<ContainerListResponseDto.ContainerInfo> containerInfos = new ArrayList<>(containers.size());
+		for (int i = 0; i < containers.size(); i++) {
+			containerInfos.add(toContainerInfo(containers.get(i), statuses.get(i)));
+		}
+		return toListResponse(containerInfos);
+	}
 
-			// Kubernetes에서 Deployment 상태 확인
-			String status = getDeploymentStatus(application.getK8sNamespace(), application.getK8sDeploymentName());
-			if ("RUNNING".equals(status)) {
+	static ContainerListResponseDto toListResponse(List<ContainerListResponseDto.ContainerInfo> containerInfos) {
+		int runningCount = 0;
+		Set<String> clusterNames = new HashSet<>();
+		for (ContainerListResponseDto.ContainerInfo containerInfo : containerInfos) {
+			if (DeploymentStatusResolver.RUNNING.equals(containerInfo.status())) {
 				runningCount++;
 			}
-
-			clusterNames.add(application.getAppName());
-
-			// ContainerInfo 생성
-			ContainerListResponseDto.ContainerInfo containerInfo = ContainerListResponseDto.ContainerInfo.builder()
-					.containerId(application.getAppId())
-					.clusterName(application.getAppName())
-					.status(status)
-					.image(config.getImageLink())
-					.ports(ContainerListResponseDto.ContainerInfo.Ports.builder()
-							.external(config.getExternalPort())
-							.internal(config.getInternalPort())
-							.build())
-					.createdAt(application.getCreatedAt())
-					.build();
-
-			containerInfos.add(containerInfo);
+			clusterNames.add(containerInfo.clusterName());
 		}
 
 		// Summary 생성
@@ -246,36 +183,183 @@ public class ContainerService {
 				.build();
 	}
 
-	private String getDeploymentStatus(String namespace, String deploymentName) {
-		try {
-			AppsV1Api appsV1Api = new AppsV1Api(apiClient);
-			V1Deployment deployment = appsV1Api.readNamespacedDeployment(deploymentName, namespace)
-					.execute();
+	/**
+	 * (created_at, app_id) keyset 페이지 조회. 요약 정보는 목록을 세지 않고 집계 쿼리로 계산한다.
+	 */
+	public ContainerPageResponseDto getContainerPage(String cursor, int size, StatusReadMode readMode) {
+		if (size < 1 || size > maxPageSize) {
+			throw new CaasException(ErrorCode.INVALID_PARAMETER);
+		}
+
+		// 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+		Limit limit = Limit.of(size + 1);
+		List<ContainerView> rows;
+		if (cursor == null || cursor.isBlank()) {
+			rows = applicationRepository.findContainerViewPage(DEFAULT_OWNER_USER_ID, limit);
+		} else {
+			ContainerCursor after = ContainerCursor.decode(cursor);
+			rows = applicationRepository.findContainerViewPageAfter(DEFAULT_OWNER_USER_ID, after.createdAt(), after.appId(), limit);
+		}
+
+		boolean hasNext = rows.size() > size;
+		List<ContainerView> page = hasNext ? rows.subList(0, size) : rows;
+
+		List<String> statuses = resolveStatuses(page, readMode);
+		List<ContainerListResponseDto.ContainerInfo> containerInfos = new ArrayList<>(page.size());
+		for (int i = 0; i < page.size(); i++) {
+			containerInfos.add(toContainerInfo(page.get(i), statuses.get(i)));
+		}
+
+		return ContainerPageResponseDto.builder()
+				.summary(summarize(DEFAULT_OWNER_USER_ID, readMode))
+				.containers(containerInfos)
+				.nextCursor(hasNext ? ContainerCursor.after(page.get(page.size() - 1)).encode() : null)
+				.hasNext(hasNext)
+				.build();
+	}
+
+	/**
+	 * 컨테이너 목록을 NDJSON 으로 한 줄씩 내보낸다. 전체 목록을 메모리에 올리지 않도록 (created_at, app_id) keyset 으로
+	 * STREAM_CHUNK_SIZE 개씩 읽는다. 조각마다 짧은 쿼리로 읽고 커넥션을 돌려준 뒤 상태를 한 번에 계산(statusFanOut)하고 쓰므로,
+	 * 느린 클라이언트로의 쓰기나 Kubernetes 조회 중에 DB 커넥션이나 트랜잭션을 잡고 있지 않는다.
+	 */
+	public void streamContainers(OutputStream outputStream, StatusReadMode readMode) throws IOException {
+		Limit limit = Limit.of(STREAM_CHUNK_SIZE);
+		List<ContainerView> chunk = applicationRepository.findContainerViewPage(DEFAULT_OWNER_USER_ID, limit);
+		while (!chunk.isEmpty()) {
+			List<String> statuses = resolveStatuses(chunk, readMode);
+			for (int i = 0; i < chunk.size(); i++) {
+				outputStream.write(objectMapper.writeValueAsBytes(toContainerInfo(chunk.get(i), statuses.get(i))));
+				outputStream.write('\n');
+			}
+			outputStream.flush();
+			if (chunk.size() < STREAM_CHUNK_SIZE) {
+				break;
+			}
+			ContainerView last = chunk.get(chunk.size() - 1);
+			chunk = applicationRepository.findContainerViewPageAfter(DEFAULT_OWNER_USER_ID, last.createdAt(), last.appId(), limit);
+		}
+	}
+
+	/**
+	 * 소유자 컨테이너의 상태 변경을 SSE 로 구독한다. 폴링 없이 watch 이벤트가 도착할 때마다 전달된다.
+	 */
+	public SseEmitter subscribeStatusEvents() {
+		return containerStatusEventHub.subscribe(DEFAULT_OWNER_USER_ID);
+	}
+
+	private ContainerListResponseDto.Summary summarize(String ownerUserId, StatusReadMode readMode) {
+		ContainerSummaryView summary = applicationRepository.summarizeByOwnerUserId(ownerUserId);
+		// 실행 중 개수는 클러스터별 Informer 캐시의 owner 인덱스 합, CACHED 모드이거나 준비되지 않은 캐시가 있으면 DB 의 cached_status 집계에서 가져온다
+		long running = effective(readMode) == StatusReadMode.LIVE && clusters.isServing()
+				? clusters.countRunning(ownerUserId)
+				: Optional.ofNullable(summary.cachedRunningContainers()).orElse(0L);
+
+		return ContainerListResponseDto.Summary.builder()
+				.totalContainers(Math.toIntExact(summary.totalContainers()))
+				.runningContainers(Math.toIntExact(running))
+				.clusterCount(Math.toIntExact(summary.clusterCount()))
+				.build();
+	}
+
+	/**
+	 * 목록의 상태를 한 번에 계산한다. Informer 캐시로 답할 수 없는 컨테이너만 API 서버 조회를 동시에 실행한다.
+	 */
+	private List<String> resolveStatuses(List<ContainerView> containers, StatusReadMode readMode) {
+		if (effective(readMode) == StatusReadMode.CACHED) {
+			return containers.stream().map(ContainerView::cachedStatus).toList();
+		}
 
-			if (deployment == null || deployment.getStatus() == null) {
-				return "UNKNOWN";
+		List<String> statuses = new ArrayList<>(containers.size());
+		List<ContainerView> misses = new ArrayList<>();
+		for (ContainerView container : containers) {
+			String status = localDeploymentStatus(container).orElse(null);
+			if (status == null) {
+				misses.add(container);
 			}
+			statuses.add(status);
+		}
+		if (misses.isEmpty()) {
+			return statuses;
+		}
 
-			V1DeploymentStatus status = deployment.getStatus();
-			Integer replicas = status.getReplicas();
-			Integer readyReplicas = status.getReadyReplicas();
-			Integer availableReplicas = status.getAvailableReplicas();
-
-			// Deployment가 실행 중인지 확인
-			if (replicas != null && replicas > 0) {
-				if (readyReplicas != null && readyReplicas > 0 && availableReplicas != null && availableReplicas > 0) {
-					return "RUNNING";
-				} else {
-					return "PENDING";
-				}
-			} else {
-				return "STOPPED";
+		Iterator<String> read = statusFanOut.map(misses, this::readDeploymentStatus).iterator();
+		for (int i = 0; i < statuses.size(); i++) {
+			if (statuses.get(i) == null) {
+				statuses.set(i, read.next());
 			}
+		}
+		return statuses;
+	}
+
+	StatusReadMode effective(StatusReadMode readMode) {
+		return readMode != null ? readMode : defaultReadMode;
+	}
+
+	static ContainerListResponseDto.ContainerInfo toContainerInfo(ContainerView container, String status) {
+		return ContainerListResponseDto.ContainerInfo.builder()
+				.containerId(container.appId())
+				.clusterName(container.appName())
+				.status(status)
+				.image(container.imageLink())
+				.ports(ContainerListResponseDto.ContainerInfo.Ports.builder()
+						.external(container.externalPort())
+						.internal(container.internalPort())
+						.build())
+				.createdAt(container.createdAt())
+				.build();
+	}
+
+	// Informer 캐시로 답할 수 있으면 상태, API 서버를 조회해야 하면 empty
+	Optional<String> localDeploymentStatus(ContainerView container) {
+		Optional<KubernetesCluster> cluster = clusters.find(container.k8sCluster());
+		if (cluster.isEmpty()) {
+			// 설정에서 빠진 클러스터는 조회할 클라이언트가 없으므로 DB 의 마지막 상태로 응답
+			return Optional.of(lastKnownStatus(container));
+		}
+		DeploymentStatusCache deploymentStatusCache = cluster.get().statusCache();
+		String namespace = container.k8sNamespace();
+		if (!deploymentStatusCache.isServing(namespace)) {
+			return Optional.empty();
+		}
+		Optional<V1Deployment> cached = deploymentStatusCache.find(namespace, container.k8sDeploymentName());
+		if (cached.isPresent()) {
+			return Optional.of(DeploymentStatusResolver.resolve(cached.get()));
+		}
+		// 동기화된 캐시에 없으면 삭제된 Deployment로 간주 (생성 직후는 watch 지연 가능성이 있어 직접 조회)
+		// 클러스터가 기록되지 않은 애플리케이션은 managed-by 라벨이 없던 시절에 만들어졌을 수 있어 Informer 에 잡히지 않으므로 직접 조회한다
+		if (container.k8sCluster() != null && deploymentStatusCache.isMissTrusted(container.createdAt())) {
+			return Optional.of(DeploymentStatusResolver.STOPPED);
+		}
+		return Optional.empty();
+	}
+
+	private String readDeploymentStatus(ContainerView container) {
+		KubernetesCluster cluster = clusters.get(container.k8sCluster());
+		String namespace = container.k8sNamespace();
+		String deploymentName = container.k8sDeploymentName();
+		try {
+			// 사용자 요청 처리 중의 조회이므로 reconciliation / 생성 작업보다 먼저 rate limit 토큰을 받는다
+			return KubernetesRequestPriority.INTERACTIVE.call(() ->
+					cluster.resilience().read("read_deployment", namespace, () -> wireFormat == KubernetesWireFormat.PROTOBUF
+							? KubernetesProtobuf.resolveStatus(cluster.protoClient().readDeployment(namespace, deploymentName))
+							: DeploymentStatusResolver.resolve(cluster.appsV1Api().readNamespacedDeployment(deploymentName, namespace).execute())));
 		} catch (ApiException e) {
-			log.warn("Failed to get deployment status for {} in namespace {}: {}", deploymentName, namespace, e.getMessage());
-			// Deployment가 없거나 조회 실패 시 STOPPED로 간주
-			return "STOPPED";
+			if (e.getCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+				return DeploymentStatusResolver.STOPPED;
+			}
+			// API 서버 장애 / circuit open / bulkhead 포화: 마지막으로 알려진 상태로 응답
+			log.warn("Failed to get deployment status for {} in namespace {}, serving last known status: {}",
+					deploymentName, namespace, e.getMessage());
+			return lastKnownStatus(container);
 		}
 	}
-}
 
+	// 오래되었더라도 Informer 캐시에 남은 상태, 없으면 DB 의 cached_status
+	String lastKnownStatus(ContainerView container) {
+		return clusters.find(container.k8sCluster())
+				.flatMap(cluster -> cluster.statusCache().find(container.k8sNamespace(), container.k8sDeploymentName()))
+				.map(DeploymentStatusResolver::resolve)
+				.orElseGet(() -> container.cachedStatus() != null ? container.cachedStatus() : DeploymentStatusResolver.UNKNOWN);
+	}
+}
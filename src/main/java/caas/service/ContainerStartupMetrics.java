@@ -0,0 +1,106 @@
+package caas.service;
+
+import caas.kubernetes.KubernetesClusterRegistry;
+import caas.kubernetes.DeploymentStatusResolver;
+import caas.kubernetes.KubernetesLabels;
+import caas.kubernetes.KubernetesLeaderElection;
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.openapi.models.V1Deployment;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 생성 요청 시각(requested-at annotation)부터 Deployment 가 처음 RUNNING 을 보고할 때까지의 시간을 기록한다.
+ * 모든 인스턴스가 같은 watch 이벤트를 받으므로 합산했을 때 한 번만 세도록 leader 만 기록한다.
+ * caas.container.time.to.running (distribution summary, 초)
+ */
+@Slf4j
+@Component
+public class ContainerStartupMetrics implements ResourceEventHandler<V1Deployment> {
+
+	private final KubernetesClusterRegistry clusters;
+	private final KubernetesLeaderElection leaderElection;
+	private final DistributionSummary timeToRunning;
+	private final Duration window;
+	// 같은 애플리케이션이 RUNNING 을 여러 번 보고해도(재시작 등) 첫 번째만 기록
+	private final Map<String, Instant> recorded = new ConcurrentHashMap<>();
+
+	public ContainerStartupMetrics(KubernetesClusterRegistry clusters,
+								   KubernetesLeaderElection leaderElection,
+								   MeterRegistry meterRegistry,
+								   @Value("${caas.metrics.time-to-running.window:1h}") Duration window) {
+		this.clusters = clusters;
+		this.leaderElection = leaderElection;
+		this.window = window;
+		this.timeToRunning = DistributionSummary.builder("caas.container.time.to.running")
+				.description("Time from container create request to the Deployment first reporting RUNNING")
+				.baseUnit("seconds")
+				.publishPercentileHistogram()
+				.register(meterRegistry);
+	}
+
+	@PostConstruct
+	public void start() {
+		clusters.addEventHandler(this);
+	}
+
+	@Override
+	public void onAdd(V1Deployment deployment) {
+		// 재시작 직후 replay 되는 기존 Deployment 는 측정 대상이 아님
+	}
+
+	@Override
+	public void onUpdate(V1Deployment oldDeployment, V1Deployment newDeployment) {
+		if (leaderElection.isLeader()
+				&& DeploymentStatusResolver.RUNNING.equals(DeploymentStatusResolver.resolve(newDeployment))
+				&& !DeploymentStatusResolver.RUNNING.equals(DeploymentStatusResolver.resolve(oldDeployment))) {
+			record(newDeployment);
+		}
+	}
+
+	@Override
+	public void onDelete(V1Deployment deployment, boolean deletedFinalStateUnknown) {
+	}
+
+	@Scheduled(fixedDelayString = "${caas.metrics.time-to-running.prune-interval-ms:60000}")
+	public void prune() {
+		Instant cutoff = Instant.now().minus(window);
+		recorded.values().removeIf(requestedAt -> requestedAt.isBefore(cutoff));
+	}
+
+	private void record(V1Deployment deployment) {
+		if (deployment.getMetadata() == null || deployment.getMetadata().getAnnotations() == null
+				|| deployment.getMetadata().getLabels() == null) {
+			return;
+		}
+		String appId = deployment.getMetadata().getLabels().get(KubernetesLabels.APP_ID);
+		String requestedAtValue = deployment.getMetadata().getAnnotations().get(KubernetesLabels.REQUESTED_AT_ANNOTATION);
+		if (appId == null || requestedAtValue == null) {
+			return;
+		}
+
+		try {
+			Instant requestedAt = Instant.parse(requestedAtValue);
+			Duration elapsed = Duration.between(requestedAt, Instant.now());
+			// window 보다 오래된 요청은 첫 RUNNING 이 아닌 재시작으로 간주
+			if (elapsed.isNegative() || elapsed.compareTo(window) > 0 || recorded.putIfAbsent(appId, requestedAt) != null) {
+				return;
+			}
+			timeToRunning.record(elapsed.toMillis() / 1000.0);
+		} catch (DateTimeParseException e) {
+			log.debug("Invalid {} annotation on {}: {}", KubernetesLabels.REQUESTED_AT_ANNOTATION,
+					deployment.getMetadata().getName(), requestedAtValue);
+		}
+	}
+}
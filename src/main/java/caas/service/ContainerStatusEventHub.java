@@ -0,0 +1,292 @@
+package caas.service;
+
+import caas.dto.response.ContainerStatusEventDto;
+import caas.dto.response.ErrorCode;
+import caas.exception.CaasException;
+import caas.kubernetes.KubernetesClusterRegistry;
+import caas.kubernetes.DeploymentStatusResolver;
+import caas.kubernetes.KubernetesLabels;
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.openapi.models.V1Deployment;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 컨테이너 상태 변경을 SSE 구독자에게 전달한다.
+ * 구독자 수와 무관하게 클러스터 / namespace 당 하나인 Deployment Informer watch 를 공유하며,
+ * 구독자마다 고정 크기 버퍼를 두고 가득 차면 가장 오래된 이벤트를 버린다.
+ * 버린 이벤트가 max-dropped-events 를 넘은 느린 구독자는 연결을 끊는다.
+ * 전송은 sender-threads 크기의 풀에서 막히는 SseEmitter.send() 로 한다. 쓰기 하나가 send-timeout 을 넘기면
+ * 그 구독자를 멈춘 것으로 보고 구독을 끊은 뒤, 붙잡힌 스레드 대신 풀에 스레드를 하나 더 둔다.
+ * 멈춘 쓰기 자체는 서블릿 컨테이너의 쓰기 타임아웃(server.tomcat.connection-timeout)에 끝나고 그때 추가 스레드도 돌려준다.
+ * 그래서 응답하지 않는 브라우저가 있어도 다른 구독자의 전송 스레드는 항상 sender-threads 개다.
+ */
+@Slf4j
+@Component
+public class ContainerStatusEventHub implements ResourceEventHandler<V1Deployment> {
+
+	private static final String STATUS_EVENT = "status";
+	// Subscriber.writeStartedAt: 쓰는 중이 아님 / send-timeout 을 넘겨 끊은 쓰기
+	private static final long IDLE = 0;
+	private static final long STALLED = Long.MIN_VALUE;
+
+	private final KubernetesClusterRegistry clusters;
+	private final int bufferSize;
+	private final int maxDroppedEvents;
+	private final int maxSubscribers;
+	private final Duration timeout;
+	private final Duration sendTimeout;
+	private final int senderThreads;
+	private final ThreadPoolTaskExecutor senderExecutor;
+	private final ScheduledExecutorService watchdog =
+			Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("status-events-watchdog-"));
+	private final AtomicInteger stalledSenders = new AtomicInteger();
+	private final Map<String, Set<Subscriber>> subscribersByOwner = new ConcurrentHashMap<>();
+	private final AtomicInteger subscriberCount = new AtomicInteger();
+
+	public ContainerStatusEventHub(KubernetesClusterRegistry clusters,
+								   @Value("${caas.events.buffer-size:64}") int bufferSize,
+								   @Value("${caas.events.max-dropped-events:256}") int maxDroppedEvents,
+								   @Value("${caas.events.max-subscribers:1000}") int maxSubscribers,
+								   @Value("${caas.events.timeout:30m}") Duration timeout,
+								   @Value("${caas.events.sender-threads:4}") int senderThreads,
+								   @Value("${caas.events.send-timeout:10s}") Duration sendTimeout) {
+		this.clusters = clusters;
+		this.bufferSize = bufferSize;
+		this.maxDroppedEvents = maxDroppedEvents;
+		this.maxSubscribers = maxSubscribers;
+		this.timeout = timeout;
+		this.sendTimeout = sendTimeout;
+		this.senderThreads = senderThreads;
+
+		this.senderExecutor = new ThreadPoolTaskExecutor();
+		this.senderExecutor.setCorePoolSize(senderThreads);
+		this.senderExecutor.setMaxPoolSize(senderThreads);
+		this.senderExecutor.setThreadNamePrefix("status-events-");
+		this.senderExecutor.initialize();
+	}
+
+	@PostConstruct
+	public void start() {
+		if (clusters.addEventHandler(this)) {
+			log.info("Container status event hub attached to informers.");
+		}
+		long interval = Math.max(100, sendTimeout.toMillis() / 2);
+		watchdog.scheduleWithFixedDelay(this::disconnectStalledSafely, interval, interval, TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		watchdog.shutdownNow();
+		subscribersByOwner.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+		senderExecutor.shutdown();
+	}
+
+	public SseEmitter subscribe(String ownerUserId) {
+		if (subscriberCount.incrementAndGet() > maxSubscribers) {
+			subscriberCount.decrementAndGet();
+			throw new CaasException(ErrorCode.SERVICE_UNAVAILABLE);
+		}
+
+		SseEmitter emitter = new SseEmitter(timeout.toMillis());
+		Subscriber subscriber = new Subscriber(ownerUserId, emitter, new ArrayBlockingQueue<>(bufferSize));
+		subscribersByOwner.computeIfAbsent(ownerUserId, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+		emitter.onCompletion(() -> remove(subscriber));
+		emitter.onTimeout(() -> remove(subscriber));
+		emitter.onError(error -> remove(subscriber));
+		return emitter;
+	}
+
+	@Override
+	public void onAdd(V1Deployment deployment) {
+		// 구독 이전부터 존재하던 Deployment 의 초기 전달(replay)은 변경이 아니므로 무시
+	}
+
+	@Override
+	public void onUpdate(V1Deployment oldDeployment, V1Deployment newDeployment) {
+		String previous = DeploymentStatusResolver.resolve(oldDeployment);
+		String current = DeploymentStatusResolver.resolve(newDeployment);
+		if (!previous.equals(current)) {
+			publish(newDeployment, previous, current);
+		}
+	}
+
+	@Override
+	public void onDelete(V1Deployment deployment, boolean deletedFinalStateUnknown) {
+		publish(deployment, DeploymentStatusResolver.resolve(deployment), DeploymentStatusResolver.STOPPED);
+	}
+
+	/**
+	 * 연결이 끊긴 구독자를 정리하기 위해 주기적으로 heartbeat 주석을 보낸다.
+	 */
+	@Scheduled(fixedDelayString = "${caas.events.heartbeat-interval-ms:15000}")
+	public void heartbeat() {
+		subscribersByOwner.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+			if (subscriber.queue.isEmpty()) {
+				enqueue(subscriber, SseEmitter.event().comment("heartbeat"));
+			}
+		}));
+	}
+
+	private void publish(V1Deployment deployment, String previousStatus, String status) {
+		Map<String, String> labels = deployment.getMetadata() == null ? null : deployment.getMetadata().getLabels();
+		if (labels == null || labels.get(KubernetesLabels.APP_ID) == null) {
+			return;
+		}
+
+		Set<Subscriber> subscribers = subscribersByOwner.get(labels.get(KubernetesLabels.OWNER));
+		if (subscribers == null || subscribers.isEmpty()) {
+			return;
+		}
+
+		ContainerStatusEventDto event = ContainerStatusEventDto.builder()
+				.containerId(labels.get(KubernetesLabels.APP_ID))
+				.previousStatus(previousStatus)
+				.status(status)
+				.occurredAt(LocalDateTime.now())
+				.build();
+		subscribers.forEach(subscriber -> enqueue(subscriber, SseEmitter.event().name(STATUS_EVENT).data(event)));
+	}
+
+	// Informer 스레드에서 호출되므로 절대 블로킹하지 않는다
+	private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+		while (!subscriber.queue.offer(event)) {
+			subscriber.queue.poll();
+			if (subscriber.dropped.incrementAndGet() > maxDroppedEvents) {
+				log.warn("Disconnecting slow status subscriber for owner {} after {} dropped events",
+						subscriber.ownerUserId, subscriber.dropped.get());
+				subscriber.emitter.complete();
+				remove(subscriber);
+				return;
+			}
+		}
+		scheduleSend(subscriber);
+	}
+
+	private void scheduleSend(Subscriber subscriber) {
+		if (!subscriber.sending.compareAndSet(false, true)) {
+			return;
+		}
+		senderExecutor.execute(() -> {
+			try {
+				SseEmitter.SseEventBuilder event;
+				while (subscriber.active.get() && (event = subscriber.queue.poll()) != null) {
+					write(subscriber, event);
+				}
+			} catch (IOException | IllegalStateException e) {
+				log.debug("Status subscriber disconnected: {}", e.getMessage());
+				remove(subscriber);
+			} finally {
+				subscriber.sending.set(false);
+				if (!subscriber.queue.isEmpty() && subscriber.active.get()) {
+					scheduleSend(subscriber);
+				}
+			}
+		});
+	}
+
+	private void write(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+		subscriber.writeStartedAt.set(System.nanoTime());
+		try {
+			subscriber.emitter.send(event);
+		} finally {
+			if (subscriber.writeStartedAt.getAndSet(IDLE) == STALLED) {
+				// 끊긴 뒤에야 돌아온 쓰기. 대신 두었던 스레드를 돌려준다
+				resizeSenders(stalledSenders.decrementAndGet());
+				subscriber.emitter.complete();
+			}
+		}
+	}
+
+	private void disconnectStalledSafely() {
+		try {
+			disconnectStalled();
+		} catch (RuntimeException e) {
+			log.warn("Stalled status subscriber check failed: {}", e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * send-timeout 을 넘긴 쓰기의 구독자를 끊는다. 막힌 send() 가 emitter 잠금을 쥐고 있으므로 여기서 complete() 하지 않고
+	 * 쓰기가 돌아올 때 write() 가 한다.
+	 */
+	private void disconnectStalled() {
+		long now = System.nanoTime();
+		long limit = sendTimeout.toNanos();
+		subscribersByOwner.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+			long startedAt = subscriber.writeStartedAt.get();
+			if (startedAt == IDLE || startedAt == STALLED || now - startedAt <= limit
+					|| !subscriber.writeStartedAt.compareAndSet(startedAt, STALLED)) {
+				return;
+			}
+			log.warn("Disconnecting stalled status subscriber for owner {}: a write has been blocked for more than {}",
+					subscriber.ownerUserId, sendTimeout);
+			remove(subscriber);
+			resizeSenders(stalledSenders.incrementAndGet());
+		}));
+	}
+
+	// 막힌 쓰기마다 스레드를 하나씩 더 둬 다른 구독자에게는 항상 sender-threads 개가 남게 한다
+	private synchronized void resizeSenders(int stalled) {
+		int size = senderThreads + Math.max(0, stalled);
+		if (size >= senderExecutor.getMaxPoolSize()) {
+			senderExecutor.setMaxPoolSize(size);
+			senderExecutor.setCorePoolSize(size);
+		} else {
+			senderExecutor.setCorePoolSize(size);
+			senderExecutor.setMaxPoolSize(size);
+		}
+	}
+
+	private void remove(Subscriber subscriber) {
+		if (!subscriber.active.compareAndSet(true, false)) {
+			return;
+		}
+		subscriberCount.decrementAndGet();
+		subscriber.queue.clear();
+		Set<Subscriber> subscribers = subscribersByOwner.get(subscriber.ownerUserId);
+		if (subscribers != null) {
+			subscribers.remove(subscriber);
+		}
+	}
+
+	private static final class Subscriber {
+		private final String ownerUserId;
+		private final SseEmitter emitter;
+		private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+		private final AtomicBoolean sending = new AtomicBoolean();
+		private final AtomicBoolean active = new AtomicBoolean(true);
+		private final AtomicInteger dropped = new AtomicInteger();
+		// 진행 중인 send() 를 시작한 System.nanoTime(), 쓰는 중이 아니면 IDLE
+		private final AtomicLong writeStartedAt = new AtomicLong(IDLE);
+
+		private Subscriber(String ownerUserId, SseEmitter emitter, BlockingQueue<SseEmitter.SseEventBuilder> queue) {
+			this.ownerUserId = ownerUserId;
+			this.emitter = emitter;
+			this.queue = queue;
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package caas.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * 컨테이너별 상태 조회를 containerStatusExecutor 에서 동시에 실행한다.
+ * 요청 하나가 동시에 실행하는 조회 수를 max-concurrency 로 제한해 큰 목록 하나가 read bulkhead 와 rate limit 토큰을 독차지하지 않게 한다.
+ */
+@Component
+public class ContainerStatusFanOut {
+
+	private final TaskExecutor executor;
+	private final int maxConcurrency;
+
+	public ContainerStatusFanOut(@Qualifier("containerStatusExecutor") TaskExecutor executor,
+								 @Value("${caas.container.status-lookup.max-concurrency:8}") int maxConcurrency) {
+		this.executor = executor;
+		this.maxConcurrency = maxConcurrency;
+	}
+
+	/**
+	 * items 순서대로 lookup 결과를 반환한다. max-concurrency 가 1 이하이거나 항목이 하나뿐이면 호출 스레드에서 차례로 실행한다.
+	 */
+	public <T, R> List<R> map(List<T> items, Function<T, R> lookup) {
+		if (maxConcurrency <= 1 || items.size() <= 1) {
+			return items.stream().map(lookup).toList();
+		}
+
+		Semaphore permits = new Semaphore(maxConcurrency);
+		List<CompletableFuture<R>> futures = new ArrayList<>(items.size());
+		for (T item : items) {
+			permits.acquireUninterruptibly();
+			CompletableFuture<R> future;
+			try {
+				future = CompletableFuture.supplyAsync(() -> lookup.apply(item), executor);
+			} catch (TaskRejectedException e) {
+				// executor 종료 중: 호출 스레드에서 직접 조회
+				future = CompletableFuture.supplyAsync(() -> lookup.apply(item), Runnable::run);
+			}
+			future.whenComplete((result, failure) -> permits.release());
+			futures.add(future);
+		}
+
+		List<R> results = new ArrayList<>(futures.size());
+		for (CompletableFuture<R> future : futures) {
+			try {
+				results.add(future.join());
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException cause) {
+					throw cause;
+				}
+				throw e;
+			}
+		}
+		return results;
+	}
+}
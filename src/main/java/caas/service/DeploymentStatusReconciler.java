@@ -0,0 +1,64 @@
+package caas.service;
+
+import caas.kubernetes.KubernetesClusterRegistry;
+import caas.kubernetes.DeploymentStatusResolver;
+import caas.kubernetes.KubernetesLabels;
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.openapi.models.V1Deployment;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Deployment watch 이벤트를 받아 caas_application.cached_status 를 최신 상태로 유지한다.
+ * 별도 watch 를 열지 않고 클러스터별 DeploymentStatusCache 의 Informer 에 핸들러로 붙는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeploymentStatusReconciler implements ResourceEventHandler<V1Deployment> {
+
+	private final KubernetesClusterRegistry clusters;
+	private final CachedStatusWriteBehind writeBehind;
+
+	@Value("${caas.reconciler.enabled:true}")
+	private boolean enabled;
+
+	@PostConstruct
+	public void start() {
+		if (enabled && clusters.addEventHandler(this)) {
+			log.info("Deployment status reconciler attached to informers.");
+		}
+	}
+
+	@Override
+	public void onAdd(V1Deployment deployment) {
+		reconcile(deployment, DeploymentStatusResolver.resolve(deployment));
+	}
+
+	@Override
+	public void onUpdate(V1Deployment oldDeployment, V1Deployment newDeployment) {
+		String status = DeploymentStatusResolver.resolve(newDeployment);
+		// resync 로 같은 객체가 다시 전달되는 경우 등 상태 전이가 없으면 기록하지 않음
+		if (!status.equals(DeploymentStatusResolver.resolve(oldDeployment))) {
+			reconcile(newDeployment, status);
+		}
+	}
+
+	@Override
+	public void onDelete(V1Deployment deployment, boolean deletedFinalStateUnknown) {
+		reconcile(deployment, DeploymentStatusResolver.STOPPED);
+	}
+
+	private void reconcile(V1Deployment deployment, String status) {
+		Map<String, String> labels = deployment.getMetadata() == null ? null : deployment.getMetadata().getLabels();
+		String appId = labels == null ? null : labels.get(KubernetesLabels.APP_ID);
+		if (appId != null) {
+			writeBehind.record(appId, status);
+		}
+	}
+}
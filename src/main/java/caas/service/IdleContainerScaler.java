@@ -0,0 +1,527 @@
+package caas.service;
+
+import caas.kubernetes.DeploymentStatusResolver;
+import caas.kubernetes.KubernetesCluster;
+import caas.kubernetes.KubernetesClusterRegistry;
+import caas.kubernetes.KubernetesLabels;
+import caas.kubernetes.KubernetesLeaderElection;
+import caas.repositoty.ApplicationRepository;
+import caas.repositoty.projection.ScaleTargetView;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.kubernetes.client.custom.V1Patch;
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.models.V1Deployment;
+import io.kubernetes.client.openapi.models.V1Service;
+import io.kubernetes.client.util.PatchUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 유휴 컨테이너 scale-to-zero 와 첫 요청 시 깨우기.
+ * - 활동 감지: ingress-nginx controller 의 /metrics 에서 host 별 nginx_ingress_controller_requests 카운터를 읽어,
+ *   지난 확인 이후 늘어난 host 의 애플리케이션 last_activity_at 을 갱신한다. 카운터를 읽지 못한 주기에는 아무것도 줄이지 않는다
+ * - scale-to-zero: idle-timeout 동안 요청이 없으면 Service 를 activator(컨트롤 서버)를 가리키는 ExternalName 으로 바꾼 뒤 replicas 를 0 으로 줄인다.
+ *   Ingress 는 Service 이름으로 연결되므로 Ingress 구성 방식(PER_CONTAINER / SHARED)과 무관하다
+ * - 깨우기: activator 로 들어온 요청의 host 로 애플리케이션을 찾아 replicas 를 1 로 되돌리고, RUNNING 이 되면 Service 를 원래대로 돌린다.
+ *   요청은 그동안 붙잡아 두었다가 같은 주소로 307 redirect 한다 (ScaleToZeroActivatorFilter)
+ * 애플리케이션별 전환(줄이기 / 깨우기)은 순서대로 실행되며, 같은 애플리케이션에 대한 동시 깨우기 요청은 하나로 합친다.
+ * 활동 감지와 줄이기는 leader 만 하고, 깨우기는 요청을 받은 인스턴스가 한다 (유휴 목록은 모든 인스턴스가 갱신).
+ * 유휴 목록은 확인 주기마다 갱신되므로, 목록에 없는 컨테이너 host 의 요청은 DB 에서 한 번 더 찾아 leader 가 방금 줄인 것도 깨운다.
+ *
+ * caas.container.scaled_to_zero (counter): 유휴로 replicas 0 이 된 수
+ * caas.container.idle (gauge): 현재 replicas 0 인 컨테이너 수
+ * caas.container.scale_up (timer): 깨우기 요청부터 Service 가 다시 Pod 를 가리킬 때까지, outcome 별
+ */
+@Slf4j
+@Service
+public class IdleContainerScaler implements ResourceEventHandler<V1Deployment> {
+
+	private static final Pattern INGRESS_REQUESTS = Pattern.compile(
+			"^nginx_ingress_controller_requests\\{(.*)}\\s+(\\S+)(?:\\s+\\d+)?$");
+	private static final Pattern HOST_LABEL = Pattern.compile("(?:^|,)host=\"([^\"]*)\"");
+
+	private final KubernetesClusterRegistry clusters;
+	private final ApplicationRepository applicationRepository;
+	private final KubernetesLeaderElection leaderElection;
+	private final ObjectMapper objectMapper;
+	private final MeterRegistry meterRegistry;
+	private final boolean enabled;
+	private final Duration idleTimeout;
+	private final List<String> ingressMetricsUrls;
+	private final String activatorHost;
+	private final int activatorPort;
+	private final Duration wakeTimeout;
+	private final Duration checkInterval;
+	private final String baseDomain;
+	private final Counter scaledToZero;
+	private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+	// host -> (appId -> 애플리케이션). replicas 0 인 애플리케이션만 담는다
+	private final Map<String, Map<String, ScaleTargetView>> idleByHost = new ConcurrentHashMap<>();
+	// url -> host -> 지난 확인 때의 요청 수
+	private final Map<String, Map<String, Double>> lastRequestCounts = new HashMap<>();
+	// appId -> 진행 중인 전환 (마지막 것)
+	private final Map<String, CompletableFuture<Void>> transitions = new ConcurrentHashMap<>();
+	// appId -> 진행 중인 깨우기
+	private final Map<String, CompletableFuture<Void>> wakes = new ConcurrentHashMap<>();
+	// appId -> RUNNING 이 되기를 기다리는 깨우기
+	private final Map<String, PendingReady> pendingReady = new ConcurrentHashMap<>();
+	private final ScheduledExecutorService executor;
+
+	public IdleContainerScaler(KubernetesClusterRegistry clusters,
+							   ApplicationRepository applicationRepository,
+							   KubernetesLeaderElection leaderElection,
+							   ObjectMapper objectMapper,
+							   MeterRegistry meterRegistry,
+							   @Value("${kubernetes.scale-to-zero.enabled:false}") boolean enabled,
+							   @Value("${kubernetes.scale-to-zero.idle-timeout:30m}") Duration idleTimeout,
+							   @Value("${kubernetes.scale-to-zero.ingress-metrics-urls:}") List<String> ingressMetricsUrls,
+							   @Value("${kubernetes.scale-to-zero.activator-host:}") String activatorHost,
+							   @Value("${kubernetes.scale-to-zero.activator-port:8080}") int activatorPort,
+							   @Value("${kubernetes.scale-to-zero.wake-timeout:60s}") Duration wakeTimeout,
+							   @Value("${kubernetes.scale-to-zero.check-interval-ms:60000}") long checkIntervalMs,
+							   @Value("${kubernetes.scale-to-zero.threads:2}") int threads,
+							   @Value("${kubernetes.ingress.base-domain}") String baseDomain) {
+		this.clusters = clusters;
+		this.applicationRepository = applicationRepository;
+		this.leaderElection = leaderElection;
+		this.objectMapper = objectMapper;
+		this.meterRegistry = meterRegistry;
+		this.enabled = enabled;
+		this.idleTimeout = idleTimeout;
+		this.ingressMetricsUrls = ingressMetricsUrls.stream().map(String::strip).filter(url -> !url.isEmpty()).toList();
+		this.activatorHost = activatorHost;
+		this.activatorPort = activatorPort;
+		this.wakeTimeout = wakeTimeout;
+		this.checkInterval = Duration.ofMillis(checkIntervalMs);
+		this.baseDomain = baseDomain;
+		this.executor = Executors.newScheduledThreadPool(Math.max(1, threads), new CustomizableThreadFactory("scale-to-zero-"));
+
+		this.scaledToZero = Counter.builder("caas.container.scaled_to_zero")
+				.description("Idle containers scaled to zero replicas")
+				.register(meterRegistry);
+		Gauge.builder("caas.container.idle", idleByHost, idle -> idle.values().stream().mapToInt(Map::size).sum())
+				.description("Containers currently scaled to zero")
+				.register(meterRegistry);
+	}
+
+	@PostConstruct
+	public void start() {
+		if (!enabled) {
+			return;
+		}
+		if (activatorHost.isBlank()) {
+			throw new IllegalStateException("kubernetes.scale-to-zero.activator-host is required when scale-to-zero is enabled");
+		}
+		if (ingressMetricsUrls.isEmpty()) {
+			log.warn("kubernetes.scale-to-zero.ingress-metrics-urls is empty. Idle containers will not be scaled to zero.");
+		}
+		clusters.addEventHandler(this);
+		// Informer 가 꺼져 있거나 이벤트를 놓친 경우를 위한 확인
+		executor.scheduleWithFixedDelay(this::pollPendingReady, 1, 1, TimeUnit.SECONDS);
+		// ingress 지표 수집(HTTP)과 DB 조회를 공용 @Scheduled 스레드가 아닌 이 클래스의 스레드에서 한다. 첫 실행이 유휴 목록도 채운다
+		executor.scheduleWithFixedDelay(this::checkSafely, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void stop() {
+		executor.shutdownNow();
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * host 가 replicas 0 인 애플리케이션의 것이면 깨운다. 같은 host 의 애플리케이션이 여럿이면 모두 깨운다.
+	 * 유휴 목록에 없어도 host 가 컨테이너 host(이름.base-domain) 모양이면 DB 에서 찾아 본다.
+	 *
+	 * @return 해당하는 애플리케이션이 없으면 empty
+	 */
+	public Optional<CompletableFuture<Void>> wakeByHost(String host) {
+		if (!enabled) {
+			return Optional.empty();
+		}
+		Map<String, ScaleTargetView> idle = idleByHost.get(host);
+		if ((idle == null || idle.isEmpty()) && isContainerHost(host)) {
+			idle = findIdle(host);
+		}
+		if (idle == null || idle.isEmpty()) {
+			return Optional.empty();
+		}
+		return Optional.of(CompletableFuture.allOf(idle.values().stream()
+				.map(this::wake)
+				.toArray(CompletableFuture[]::new)));
+	}
+
+	public void check() {
+		if (!enabled) {
+			return;
+		}
+		List<ScaleTargetView> targets = applicationRepository.findScaleTargets();
+		refreshIdle(targets);
+		if (!leaderElection.isLeader()) {
+			// 다시 leader 가 되었을 때 그동안 늘어난 요청 수를 한 번에 활동으로 보지 않도록 기준값을 버린다
+			lastRequestCounts.clear();
+			return;
+		}
+
+		Optional<Set<String>> activeHosts = readActiveHosts();
+		if (activeHosts.isEmpty()) {
+			return;
+		}
+
+		LocalDateTime now = LocalDateTime.now();
+		LocalDateTime idleBefore = now.minus(idleTimeout);
+		List<String> active = new ArrayList<>();
+		for (ScaleTargetView target : targets) {
+			if (target.scaledToZeroAt() != null) {
+				continue;
+			}
+			if (activeHosts.get().contains(hostOf(target))) {
+				active.add(target.appId());
+			} else if (target.lastActivityAt() != null && target.lastActivityAt().isBefore(idleBefore)
+					&& !transitions.containsKey(target.appId())) {
+				serialize(target.appId(), () -> CompletableFuture.runAsync(() -> scaleToZero(target), executor));
+			}
+		}
+		if (!active.isEmpty()) {
+			applicationRepository.updateLastActivity(active, now);
+		}
+	}
+
+	private void checkSafely() {
+		try {
+			check();
+		} catch (RuntimeException e) {
+			log.warn("Scale-to-zero check failed: {}", e.getMessage());
+		}
+	}
+
+	@Override
+	public void onAdd(V1Deployment deployment) {
+		completeIfRunning(deployment);
+	}
+
+	@Override
+	public void onUpdate(V1Deployment oldDeployment, V1Deployment newDeployment) {
+		completeIfRunning(newDeployment);
+	}
+
+	@Override
+	public void onDelete(V1Deployment deployment, boolean deletedFinalStateUnknown) {
+	}
+
+	private CompletableFuture<Void> wake(ScaleTargetView target) {
+		String appId = target.appId();
+		CompletableFuture<Void> wake = new CompletableFuture<>();
+		CompletableFuture<Void> inProgress = wakes.putIfAbsent(appId, wake);
+		if (inProgress != null) {
+			return inProgress;
+		}
+
+		Timer.Sample sample = Timer.start(meterRegistry);
+		serialize(appId, () -> scaleUp(target)).whenComplete((ignored, failure) -> {
+			wakes.remove(appId, wake);
+			sample.stop(Timer.builder("caas.container.scale_up")
+					.description("Time from the first request to an idle container until it serves traffic again")
+					.tag("outcome", failure == null ? "SUCCESS" : "FAILED")
+					.publishPercentileHistogram()
+					.register(meterRegistry));
+			if (failure == null) {
+				wake.complete(null);
+			} else {
+				log.warn("Failed to wake container {}: {}", appId, failure.getMessage());
+				wake.completeExceptionally(failure);
+			}
+		});
+		return wake;
+	}
+
+	// Service 를 먼저 activator 로 돌려, replicas 0 이 된 뒤의 요청이 실패하지 않고 깨우기로 이어지게 한다
+	private void scaleToZero(ScaleTargetView target) {
+		try {
+			patchService(target, activatorServiceSpec(target));
+			LocalDateTime now = LocalDateTime.now();
+			applicationRepository.updateScaledToZero(target.appId(), now, now);
+			markIdle(target);
+			patchDeployment(target, 0, Instant.now().toString());
+			scaledToZero.increment();
+			log.info("Idle container scaled to zero: {} ({})", target.appId(), target.k8sDeploymentName());
+		} catch (ApiException | RuntimeException e) {
+			log.warn("Failed to scale idle container {} to zero: {}", target.appId(), e.getMessage());
+		}
+	}
+
+	private CompletableFuture<Void> scaleUp(ScaleTargetView target) {
+		PendingReady pending = new PendingReady(target, new CompletableFuture<>());
+		pendingReady.put(target.appId(), pending);
+		return CompletableFuture.runAsync(() -> {
+					try {
+						patchDeployment(target, 1, null);
+					} catch (ApiException e) {
+						throw new IllegalStateException("Failed to scale up " + target.k8sDeploymentName() + ": " + e.getMessage(), e);
+					}
+				}, executor)
+				.thenCompose(ignored -> pending.ready().orTimeout(wakeTimeout.toMillis(), TimeUnit.MILLISECONDS))
+				.thenRunAsync(() -> {
+					try {
+						patchService(target, podServiceSpec(target));
+					} catch (ApiException e) {
+						throw new IllegalStateException("Failed to restore service " + target.k8sServiceName() + ": " + e.getMessage(), e);
+					}
+					applicationRepository.updateScaledToZero(target.appId(), null, LocalDateTime.now());
+					markAwake(target);
+					log.info("Idle container woke up: {} ({})", target.appId(), target.k8sDeploymentName());
+				}, executor)
+				.whenComplete((ignored, failure) -> pendingReady.remove(target.appId(), pending));
+	}
+
+	// 같은 애플리케이션의 전환을 앞선 전환이 끝난 뒤에 실행한다
+	private CompletableFuture<Void> serialize(String appId, Supplier<CompletableFuture<Void>> transition) {
+		CompletableFuture<Void> next = transitions.compute(appId, (id, previous) ->
+				(previous == null ? CompletableFuture.<Void>completedFuture(null) : previous.exceptionally(failure -> null))
+						.thenCompose(ignored -> transition.get()));
+		next.whenComplete((ignored, failure) -> transitions.remove(appId, next));
+		return next;
+	}
+
+	private void completeIfRunning(V1Deployment deployment) {
+		Map<String, String> labels = deployment.getMetadata() == null ? null : deployment.getMetadata().getLabels();
+		PendingReady pending = labels == null ? null : pendingReady.get(labels.get(KubernetesLabels.APP_ID));
+		if (pending != null && DeploymentStatusResolver.RUNNING.equals(DeploymentStatusResolver.resolve(deployment))) {
+			pending.ready().complete(null);
+		}
+	}
+
+	private void pollPendingReady() {
+		for (PendingReady pending : pendingReady.values()) {
+			ScaleTargetView target = pending.target();
+			try {
+				KubernetesCluster cluster = clusters.get(target.k8sCluster());
+				completeIfRunning(cluster.resilience().read("get_deployment", target.k8sNamespace(), () ->
+						cluster.appsV1Api().readNamespacedDeployment(target.k8sDeploymentName(), target.k8sNamespace()).execute()));
+			} catch (ApiException | RuntimeException e) {
+				log.debug("Failed to check readiness of {}: {}", target.k8sDeploymentName(), e.getMessage());
+			}
+		}
+	}
+
+	private void refreshIdle(List<ScaleTargetView> targets) {
+		Map<String, Map<String, ScaleTargetView>> idle = new HashMap<>();
+		for (ScaleTargetView target : targets) {
+			if (target.scaledToZeroAt() != null) {
+				idle.computeIfAbsent(hostOf(target), host -> new ConcurrentHashMap<>()).put(target.appId(), target);
+			}
+		}
+		idleByHost.keySet().retainAll(idle.keySet());
+		idleByHost.putAll(idle);
+	}
+
+	// 다른 인스턴스가 다음 확인 전에 줄인 애플리케이션. 찾으면 유휴 목록에도 넣어 다음 요청은 DB 를 거치지 않는다
+	private Map<String, ScaleTargetView> findIdle(String host) {
+		Map<String, ScaleTargetView> idle = new HashMap<>();
+		for (ScaleTargetView target : applicationRepository.findIdleScaleTargets()) {
+			if (host.equals(hostOf(target))) {
+				markIdle(target);
+				idle.put(target.appId(), target);
+			}
+		}
+		return idle;
+	}
+
+	// 컨테이너 host 는 base-domain 바로 아래 한 단계다 (ContainerProvisioner.hostOf)
+	private boolean isContainerHost(String host) {
+		String suffix = "." + baseDomain;
+		return host != null && host.length() > suffix.length() && host.endsWith(suffix)
+				&& host.indexOf('.') == host.length() - suffix.length();
+	}
+
+	private void markIdle(ScaleTargetView target) {
+		idleByHost.computeIfAbsent(hostOf(target), host -> new ConcurrentHashMap<>()).put(target.appId(), target);
+	}
+
+	private void markAwake(ScaleTargetView target) {
+		idleByHost.computeIfPresent(hostOf(target), (host, idle) -> {
+			idle.remove(target.appId());
+			return idle.isEmpty() ? null : idle;
+		});
+	}
+
+	/**
+	 * 지난 확인 이후 요청 수가 늘어난 host. 한 곳이라도 읽지 못했거나 처음 읽은 경우(비교할 값 없음) empty.
+	 */
+	private Optional<Set<String>> readActiveHosts() {
+		if (ingressMetricsUrls.isEmpty()) {
+			return Optional.empty();
+		}
+		Set<String> active = new HashSet<>();
+		boolean complete = true;
+		for (String url : ingressMetricsUrls) {
+			Map<String, Double> counts;
+			try {
+				counts = readRequestCounts(url);
+			} catch (IOException | RuntimeException e) {
+				log.warn("Failed to read ingress request counts from {}: {}", url, e.getMessage());
+				complete = false;
+				continue;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return Optional.empty();
+			}
+			Map<String, Double> previous = lastRequestCounts.put(url, counts);
+			if (previous == null) {
+				complete = false;
+				continue;
+			}
+			// 줄어든 경우는 controller 재시작으로 카운터가 초기화된 것
+			counts.forEach((host, count) -> {
+				double before = previous.getOrDefault(host, 0.0);
+				if (count > before || (count < before && count > 0)) {
+					active.add(host);
+				}
+			});
+		}
+		return complete ? Optional.of(active) : Optional.empty();
+	}
+
+	private Map<String, Double> readRequestCounts(String url) throws IOException, InterruptedException {
+		HttpResponse<Stream<String>> response = httpClient.send(
+				HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(10)).GET().build(),
+				HttpResponse.BodyHandlers.ofLines());
+		if (response.statusCode() != 200) {
+			response.body().close();
+			throw new IOException("HTTP " + response.statusCode());
+		}
+		Map<String, Double> counts = new HashMap<>();
+		try (Stream<String> lines = response.body()) {
+			lines.forEach(line -> {
+				Matcher sample = INGRESS_REQUESTS.matcher(line);
+				if (!sample.matches()) {
+					return;
+				}
+				Matcher host = HOST_LABEL.matcher(sample.group(1));
+				if (host.find()) {
+					counts.merge(host.group(1), Double.parseDouble(sample.group(2)), Double::sum);
+				}
+			});
+		}
+		return counts;
+	}
+
+	private String hostOf(ScaleTargetView target) {
+		return ContainerProvisioner.hostOf(target.appName(), baseDomain);
+	}
+
+	private void patchDeployment(ScaleTargetView target, int replicas, String scaledToZeroAt) throws ApiException {
+		ObjectNode patch = objectMapper.createObjectNode();
+		ObjectNode annotations = patch.putObject("metadata").putObject("annotations");
+		if (scaledToZeroAt == null) {
+			annotations.putNull(KubernetesLabels.SCALED_TO_ZERO_ANNOTATION);
+		} else {
+			annotations.put(KubernetesLabels.SCALED_TO_ZERO_ANNOTATION, scaledToZeroAt);
+		}
+		patch.putObject("spec").put("replicas", replicas);
+
+		KubernetesCluster cluster = clusters.get(target.k8sCluster());
+		String namespace = target.k8sNamespace();
+		V1Patch body = new V1Patch(toJson(patch));
+		cluster.resilience().write("scale_deployment", namespace, () -> PatchUtils.patch(V1Deployment.class,
+				() -> cluster.appsV1Api().patchNamespacedDeployment(target.k8sDeploymentName(), namespace, body).buildCall(null),
+				V1Patch.PATCH_FORMAT_JSON_MERGE_PATCH,
+				cluster.apiClient()));
+	}
+
+	private void patchService(ScaleTargetView target, ObjectNode spec) throws ApiException {
+		ObjectNode patch = objectMapper.createObjectNode();
+		patch.set("spec", spec);
+
+		KubernetesCluster cluster = clusters.get(target.k8sCluster());
+		String namespace = target.k8sNamespace();
+		V1Patch body = new V1Patch(toJson(patch));
+		cluster.resilience().write("patch_service", namespace, () -> PatchUtils.patch(V1Service.class,
+				() -> cluster.coreV1Api().patchNamespacedService(target.k8sServiceName(), namespace, body).buildCall(null),
+				V1Patch.PATCH_FORMAT_JSON_MERGE_PATCH,
+				cluster.apiClient()));
+	}
+
+	// Ingress 가 참조하는 Service 포트는 그대로 두고 targetPort 만 activator 포트로 바꾼다 (ExternalName 의 upstream 포트)
+	private ObjectNode activatorServiceSpec(ScaleTargetView target) {
+		ObjectNode spec = objectMapper.createObjectNode();
+		spec.put("type", "ExternalName");
+		spec.put("externalName", activatorHost);
+		spec.putNull("selector");
+		spec.putNull("clusterIP");
+		spec.putNull("clusterIPs");
+		spec.set("ports", servicePorts(target.internalPort(), activatorPort));
+		return spec;
+	}
+
+	private ObjectNode podServiceSpec(ScaleTargetView target) {
+		ObjectNode spec = objectMapper.createObjectNode();
+		spec.put("type", "ClusterIP");
+		spec.putNull("externalName");
+		spec.putObject("selector").put(KubernetesLabels.APP, target.k8sDeploymentName());
+		spec.set("ports", servicePorts(target.internalPort(), target.internalPort()));
+		return spec;
+	}
+
+	private ArrayNode servicePorts(int port, int targetPort) {
+		ArrayNode ports = objectMapper.createArrayNode();
+		ports.addObject()
+				.put("name", "http")
+				.put("port", port)
+				.put("targetPort", targetPort)
+				.put("protocol", "TCP");
+		return ports;
+	}
+
+	private String toJson(ObjectNode patch) {
+		try {
+			return objectMapper.writeValueAsString(patch);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private record PendingReady(ScaleTargetView target, CompletableFuture<Void> ready) {
+	}
+}
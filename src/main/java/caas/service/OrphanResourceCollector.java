@@ -0,0 +1,306 @@
+package caas.service;
+
+import caas.kubernetes.KubernetesCluster;
+import caas.kubernetes.KubernetesClusterRegistry;
+import caas.kubernetes.KubernetesLabels;
+import caas.kubernetes.KubernetesLeaderElection;
+import caas.repositoty.ApplicationRepository;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.models.V1Deployment;
+import io.kubernetes.client.openapi.models.V1DeploymentList;
+import io.kubernetes.client.openapi.models.V1Ingress;
+import io.kubernetes.client.openapi.models.V1IngressList;
+import io.kubernetes.client.openapi.models.V1ListMeta;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Service;
+import io.kubernetes.client.openapi.models.V1ServiceList;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.net.HttpURLConnection;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DB(caas_application)에 없는 애플리케이션의 Kubernetes 리소스(고아)를 주기적으로 삭제한다.
+ * 삭제 API 의 Kubernetes 삭제가 실패했거나, 삭제 중 진행되던 생성이 리소스를 만들었거나, owner reference 가 없던 시절에
+ * 만들어진 Service / Ingress 가 남은 경우를 정리한다. 생성 실패(FAILED) 애플리케이션의 리소스도 고아로 본다.
+ * leader 인스턴스에서만 실행하며, 수집 중 leader 에서 물러나면 다음 페이지부터 멈춘다.
+ * - 목록은 클러스터 / 종류별로 page-size 개씩 limit / continue 로 나눠 읽고, 한 페이지의 app-id 를 한 번의 IN 쿼리로 DB 와 비교한다
+ * - 만들어진 지 min-age 가 지나지 않은 리소스는 건너뛴다
+ * - 삭제는 batch-size 개마다 batch-pause 만큼 쉬며, 한 번의 수집에서 max-deletes-per-sweep 개를 넘지 않는다.
+ *   호출은 BACKGROUND 우선순위로 rate limit 을 거치므로 사용자 요청을 밀어내지 않는다
+ *
+ * caas.gc.orphans_deleted (counter): 삭제한 고아 리소스 수, kind 별
+ */
+@Slf4j
+@Service
+public class OrphanResourceCollector {
+
+	// 공유 Ingress 샤드처럼 app-id 라벨이 없는 리소스는 대상이 아니다
+	private static final String ORPHAN_CANDIDATE_SELECTOR = KubernetesLabels.MANAGED_SELECTOR + "," + KubernetesLabels.APP_ID;
+	private static final String BACKGROUND_PROPAGATION = "Background";
+
+	private final KubernetesClusterRegistry clusters;
+	private final ApplicationRepository applicationRepository;
+	private final KubernetesLeaderElection leaderElection;
+	private final MeterRegistry meterRegistry;
+	private final boolean enabled;
+	private final Duration interval;
+	private final int pageSize;
+	private final Duration minAge;
+	private final int batchSize;
+	private final Duration batchPause;
+	private final int maxDeletesPerSweep;
+	private final ScheduledExecutorService scheduler;
+
+	public OrphanResourceCollector(KubernetesClusterRegistry clusters,
+								   ApplicationRepository applicationRepository,
+								   KubernetesLeaderElection leaderElection,
+								   MeterRegistry meterRegistry,
+								   @Value("${caas.gc.enabled:true}") boolean enabled,
+								   @Value("${caas.gc.interval:10m}") Duration interval,
+								   @Value("${caas.gc.page-size:500}") int pageSize,
+								   @Value("${caas.gc.min-age:10m}") Duration minAge,
+								   @Value("${caas.gc.batch-size:20}") int batchSize,
+								   @Value("${caas.gc.batch-pause:1s}") Duration batchPause,
+								   @Value("${caas.gc.max-deletes-per-sweep:500}") int maxDeletesPerSweep) {
+		this.clusters = clusters;
+		this.applicationRepository = applicationRepository;
+		this.leaderElection = leaderElection;
+		this.meterRegistry = meterRegistry;
+		this.enabled = enabled;
+		this.interval = interval;
+		this.pageSize = Math.max(1, pageSize);
+		this.minAge = minAge;
+		this.batchSize = Math.max(1, batchSize);
+		this.batchPause = batchPause;
+		this.maxDeletesPerSweep = maxDeletesPerSweep;
+		// batch-pause 동안 다른 @Scheduled 작업을 막지 않도록 내부 전용 스레드에서 실행한다
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("orphan-gc-"));
+	}
+
+	@PostConstruct
+	public void start() {
+		if (!enabled) {
+			return;
+		}
+		scheduler.scheduleWithFixedDelay(this::collectSafely, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void stop() {
+		scheduler.shutdownNow();
+	}
+
+	/**
+	 * 모든 클러스터에서 고아 리소스를 한 번 수집한다. Deployment 를 먼저 지워 owner reference 가 있는 Service / Ingress 는
+	 * Kubernetes garbage collector 가 함께 지우게 한다.
+	 *
+	 * @return 삭제한 리소스 수
+	 */
+	public int collect() {
+		Sweep sweep = new Sweep(OffsetDateTime.now().minus(minAge));
+		for (KubernetesCluster cluster : clusters.all()) {
+			for (ResourceKind kind : ResourceKind.values()) {
+				if (sweep.exhausted()) {
+					log.info("Orphan collection stopped at max-deletes-per-sweep ({})", maxDeletesPerSweep);
+					return sweep.deleted;
+				}
+				if (!leaderElection.isLeader()) {
+					log.info("Orphan collection stopped: no longer the leader");
+					return sweep.deleted;
+				}
+				try {
+					collect(cluster, kind, sweep);
+				} catch (ApiException e) {
+					// continue 토큰 만료(410) 등. 다음 수집에서 처음부터 다시 읽는다
+					log.warn("Failed to collect orphan {} in cluster {}: {} {}", kind.plural, cluster.name(), e.getCode(), e.getMessage());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return sweep.deleted;
+				}
+			}
+		}
+		if (sweep.deleted > 0) {
+			log.info("Orphan collection deleted {} resources", sweep.deleted);
+		}
+		return sweep.deleted;
+	}
+
+	private void collectSafely() {
+		if (!leaderElection.isLeader()) {
+			return;
+		}
+		try {
+			collect();
+		} catch (RuntimeException e) {
+			log.warn("Orphan collection failed: {}", e.getMessage());
+		}
+	}
+
+	private void collect(KubernetesCluster cluster, ResourceKind kind, Sweep sweep) throws ApiException, InterruptedException {
+		String namespace = cluster.namespace();
+		String continueToken = null;
+		do {
+			String token = continueToken;
+			Page page = cluster.resilience().read("list_" + kind.plural, namespace, () ->
+					kind.list(cluster, ORPHAN_CANDIDATE_SELECTOR, pageSize, token));
+
+			List<V1ObjectMeta> candidates = page.items().stream()
+					.filter(metadata -> metadata.getDeletionTimestamp() == null)
+					.filter(metadata -> metadata.getCreationTimestamp() != null
+							&& metadata.getCreationTimestamp().isBefore(sweep.createdBefore))
+					.toList();
+			if (!candidates.isEmpty()) {
+				Set<String> appIds = new HashSet<>();
+				candidates.forEach(metadata -> appIds.add(metadata.getLabels().get(KubernetesLabels.APP_ID)));
+				Set<String> live = new HashSet<>(applicationRepository.findLiveAppIds(appIds));
+
+				List<String> orphans = new ArrayList<>();
+				candidates.stream()
+						.filter(metadata -> !live.contains(metadata.getLabels().get(KubernetesLabels.APP_ID)))
+						.forEach(metadata -> orphans.add(metadata.getName()));
+				delete(cluster, kind, orphans, sweep);
+			}
+			continueToken = page.continueToken();
+		} while (continueToken != null && !continueToken.isEmpty() && !sweep.exhausted() && leaderElection.isLeader());
+	}
+
+	private void delete(KubernetesCluster cluster, ResourceKind kind, List<String> names, Sweep sweep)
+			throws InterruptedException {
+		String namespace = cluster.namespace();
+		Counter deleted = Counter.builder("caas.gc.orphans_deleted")
+				.description("Orphaned Kubernetes resources deleted by the collector")
+				.tag("kind", kind.kind)
+				.register(meterRegistry);
+
+		for (String name : names) {
+			if (sweep.exhausted()) {
+				return;
+			}
+			if (sweep.inBatch == batchSize) {
+				Thread.sleep(batchPause.toMillis());
+				sweep.inBatch = 0;
+			}
+			sweep.inBatch++;
+			try {
+				cluster.resilience().write("delete_" + kind.plural, namespace, () -> {
+					kind.delete(cluster, name);
+					return null;
+				});
+				sweep.deleted++;
+				deleted.increment();
+				log.info("Orphan {} deleted: {} (cluster {})", kind.kind, name, cluster.name());
+			} catch (ApiException e) {
+				// Deployment 와 함께 이미 지워진 Service / Ingress
+				if (e.getCode() != HttpURLConnection.HTTP_NOT_FOUND) {
+					log.warn("Failed to delete orphan {} {}: {} {}", kind.kind, name, e.getCode(), e.getMessage());
+				}
+			} catch (RuntimeException e) {
+				log.warn("Failed to delete orphan {} {}: {}", kind.kind, name, e.getMessage());
+			}
+		}
+	}
+
+	// 한 번의 수집 동안의 삭제 수와 batch 진행 상태
+	private final class Sweep {
+		private final OffsetDateTime createdBefore;
+		private int deleted;
+		private int inBatch;
+
+		private Sweep(OffsetDateTime createdBefore) {
+			this.createdBefore = createdBefore;
+		}
+
+		private boolean exhausted() {
+			return deleted >= maxDeletesPerSweep;
+		}
+	}
+
+	private record Page(List<V1ObjectMeta> items, String continueToken) {
+
+		private static Page of(List<V1ObjectMeta> items, V1ListMeta metadata) {
+			return new Page(items, metadata == null ? null : metadata.getContinue());
+		}
+	}
+
+	private enum ResourceKind {
+
+		DEPLOYMENT("Deployment", "deployments") {
+			@Override
+			Page list(KubernetesCluster cluster, String selector, int limit, String continueToken) throws ApiException {
+				V1DeploymentList list = cluster.appsV1Api().listNamespacedDeployment(cluster.namespace())
+						.labelSelector(selector)
+						.limit(limit)
+						._continue(continueToken)
+						.execute();
+				return Page.of(list.getItems().stream().map(V1Deployment::getMetadata).toList(), list.getMetadata());
+			}
+
+			@Override
+			void delete(KubernetesCluster cluster, String name) throws ApiException {
+				cluster.appsV1Api().deleteNamespacedDeployment(name, cluster.namespace())
+						.propagationPolicy(BACKGROUND_PROPAGATION)
+						.execute();
+			}
+		},
+		SERVICE("Service", "services") {
+			@Override
+			Page list(KubernetesCluster cluster, String selector, int limit, String continueToken) throws ApiException {
+				V1ServiceList list = cluster.coreV1Api().listNamespacedService(cluster.namespace())
+						.labelSelector(selector)
+						.limit(limit)
+						._continue(continueToken)
+						.execute();
+				return Page.of(list.getItems().stream().map(V1Service::getMetadata).toList(), list.getMetadata());
+			}
+
+			@Override
+			void delete(KubernetesCluster cluster, String name) throws ApiException {
+				cluster.coreV1Api().deleteNamespacedService(name, cluster.namespace()).execute();
+			}
+		},
+		INGRESS("Ingress", "ingresses") {
+			@Override
+			Page list(KubernetesCluster cluster, String selector, int limit, String continueToken) throws ApiException {
+				V1IngressList list = cluster.networkingV1Api().listNamespacedIngress(cluster.namespace())
+						.labelSelector(selector)
+						.limit(limit)
+						._continue(continueToken)
+						.execute();
+				return Page.of(list.getItems().stream().map(V1Ingress::getMetadata).toList(), list.getMetadata());
+			}
+
+			@Override
+			void delete(KubernetesCluster cluster, String name) throws ApiException {
+				cluster.networkingV1Api().deleteNamespacedIngress(name, cluster.namespace()).execute();
+			}
+		};
+
+		private final String kind;
+		private final String plural;
+
+		ResourceKind(String kind, String plural) {
+			this.kind = kind;
+			this.plural = plural;
+		}
+
+		abstract Page list(KubernetesCluster cluster, String selector, int limit, String continueToken) throws ApiException;
+
+		abstract void delete(KubernetesCluster cluster, String name) throws ApiException;
+	}
+}
@@ -0,0 +1,99 @@
+package caas.service;
+
+import caas.repositoty.ProvisioningOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+/**
+ * outbox 에 기록된 생성 작업을 워커 풀에서 실행한다.
+ * 접수 직후 바로 넘겨받는 경로와, 놓친 작업(풀 포화, 재시도 예약, 서버 재시작)을 주기적으로 줍는 경로가 있다.
+ */
+@Slf4j
+@Component
+public class ProvisioningOutboxDispatcher {
+
+	private final ProvisioningOutboxRepository outboxRepository;
+	private final ProvisioningSaga provisioningSaga;
+	private final TaskExecutor provisioningExecutor;
+	private final Semaphore inFlight;
+	private final int batchSize;
+
+	public ProvisioningOutboxDispatcher(ProvisioningOutboxRepository outboxRepository,
+										ProvisioningSaga provisioningSaga,
+										@Qualifier("provisioningExecutor") TaskExecutor provisioningExecutor,
+										@Value("${caas.provisioning.max-pool-size:8}") int maxPoolSize,
+										@Value("${caas.provisioning.queue-capacity:100}") int queueCapacity,
+										@Value("${caas.outbox.batch-size:20}") int batchSize) {
+		this.outboxRepository = outboxRepository;
+		this.provisioningSaga = provisioningSaga;
+		this.provisioningExecutor = provisioningExecutor;
+		// 실행 중 + 대기 중 작업 수를 워커 풀 용량으로 제한해 executor 가 거절하기 전에 입구에서 걸러낸다
+		this.inFlight = new Semaphore(maxPoolSize + queueCapacity);
+		this.batchSize = batchSize;
+	}
+
+	public boolean hasCapacity() {
+		return inFlight.availablePermits() > 0;
+	}
+
+	/**
+	 * 작업을 선점해 워커 풀에 넘긴다. 풀이 가득 찼거나 다른 곳에서 선점했다면 false 를 반환하며,
+	 * 이 경우 outbox 는 그대로 남아 poll() 이 다시 처리한다.
+	 */
+	public boolean tryDispatch(String outboxId) {
+		if (!inFlight.tryAcquire()) {
+			return false;
+		}
+
+		try {
+			if (!provisioningSaga.claim(outboxId)) {
+				inFlight.release();
+				return false;
+			}
+			provisioningExecutor.execute(() -> {
+				try {
+					provisioningSaga.execute(outboxId, true);
+				} finally {
+					inFlight.release();
+				}
+			});
+			return true;
+		} catch (TaskRejectedException e) {
+			// 선점한 작업은 lease 만료 후 poll() 이 다시 가져간다
+			log.warn("Provisioning executor rejected outbox {}: {}", outboxId, e.getMessage());
+			inFlight.release();
+			return false;
+		} catch (RuntimeException e) {
+			inFlight.release();
+			throw e;
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${caas.outbox.poll-interval-ms:5000}")
+	public void poll() {
+		int available = Math.min(inFlight.availablePermits(), batchSize);
+		if (available <= 0) {
+			return;
+		}
+
+		List<String> outboxIds = outboxRepository.findDispatchableIds(LocalDateTime.now(), Limit.of(available));
+		for (String outboxId : outboxIds) {
+			if (!tryDispatch(outboxId) && !hasCapacity()) {
+				break;
+			}
+		}
+		if (!outboxIds.isEmpty()) {
+			log.debug("Outbox poll picked up {} entries", outboxIds.size());
+		}
+	}
+}
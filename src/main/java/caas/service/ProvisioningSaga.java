@@ -0,0 +1,353 @@
+package caas.service;
+
+import caas.entity.Application;
+import caas.entity.Config;
+import caas.entity.OutboxEventType;
+import caas.entity.OutboxStatus;
+import caas.entity.ProvisioningOutbox;
+import caas.entity.ProvisioningStatus;
+import caas.kubernetes.KubernetesRateLimitInterceptor;
+import caas.repositoty.ApplicationRepository;
+import caas.repositoty.ProvisioningOutboxRepository;
+import io.kubernetes.client.openapi.ApiException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * 컨테이너 생성 saga.
+ * 1) 짧은 로컬 트랜잭션에서 할당량 예약과 Application / Config / outbox 를 함께 기록하고
+ * 2) 트랜잭션 밖에서 Kubernetes 리소스를 만든 뒤
+ * 3) 복구 불가능한 실패 시 이미 만든 리소스를 삭제(보상)하고, FAILED 기록과 같은 트랜잭션에서 할당량을 돌려준다.
+ * Kubernetes 호출 동안 DB 커넥션을 잡지 않으며, DB 기록이 먼저이므로 고아 리소스가 남지 않는다.
+ */
+@Slf4j
+@Service
+public class ProvisioningSaga {
+
+	private static final int MAX_ERROR_LENGTH = 1000;
+	private static final String PHASE_TIMER = "caas.provisioning.phase";
+
+	private final ApplicationRepository applicationRepository;
+	private final ProvisioningOutboxRepository outboxRepository;
+	private final ContainerProvisioner containerProvisioner;
+	private final TenantQuotaLedger quotaLedger;
+	private final ContainerResourcePolicy resourcePolicy;
+	private final MeterRegistry meterRegistry;
+	private final TransactionTemplate transactionTemplate;
+	private final int maxAttempts;
+	private final Duration lease;
+	private final Duration retryBackoff;
+	private final Duration maxRetryBackoff;
+
+	public ProvisioningSaga(ApplicationRepository applicationRepository,
+							ProvisioningOutboxRepository outboxRepository,
+							ContainerProvisioner containerProvisioner,
+							TenantQuotaLedger quotaLedger,
+							ContainerResourcePolicy resourcePolicy,
+							MeterRegistry meterRegistry,
+							TransactionTemplate transactionTemplate,
+							@Value("${caas.outbox.max-attempts:5}") int maxAttempts,
+							@Value("${caas.outbox.lease:5m}") Duration lease,
+							@Value("${caas.outbox.retry-backoff:5s}") Duration retryBackoff,
+							@Value("${caas.outbox.max-retry-backoff:5m}") Duration maxRetryBackoff) {
+		this.applicationRepository = applicationRepository;
+		this.outboxRepository = outboxRepository;
+		this.containerProvisioner = containerProvisioner;
+		this.quotaLedger = quotaLedger;
+		this.resourcePolicy = resourcePolicy;
+		this.meterRegistry = meterRegistry;
+		this.transactionTemplate = transactionTemplate;
+		this.maxAttempts = maxAttempts;
+		this.lease = lease;
+		this.retryBackoff = retryBackoff;
+		this.maxRetryBackoff = maxRetryBackoff;
+	}
+
+	/**
+	 * Application(Config 포함)과 CREATE outbox 를 한 트랜잭션으로 기록한다.
+	 * claimed 가 true 이면 호출 스레드가 바로 실행할 수 있도록 선점된(IN_PROGRESS) 상태로 기록한다.
+	 * 소유자의 할당량도 같은 트랜잭션에서 예약하므로, 한도를 넘으면 아무것도 기록되지 않고 기록이 실패하면 예약도 되돌려진다.
+	 */
+	@Transactional
+	public String begin(Application application, boolean claimed) {
+		quotaLedger.reserve(application.getOwnerUserId(), resourcePolicy.resourcesOf(latestConfig(application)));
+		ProvisioningOutbox outbox = newOutbox(application, claimed, LocalDateTime.now());
+		applicationRepository.save(application);
+		outboxRepository.save(outbox);
+		return outbox.getOutboxId();
+	}
+
+	/**
+	 * 여러 Application(Config 포함)과 CREATE outbox 를 한 트랜잭션으로 기록한다.
+	 * hibernate.jdbc.batch_size / order_inserts 설정으로 테이블별 INSERT 가 JDBC batch 로 묶인다.
+	 * 할당량은 소유자별로 모두 들어갈 때만 예약된다 (begin() 과 같은 트랜잭션 규칙).
+	 *
+	 * @return applications 와 같은 순서의 outboxId
+	 */
+	@Transactional
+	public List<String> beginAll(List<Application> applications, boolean claimed) {
+		applications.stream()
+				.collect(Collectors.groupingBy(Application::getOwnerUserId, LinkedHashMap::new,
+						Collectors.mapping(application -> resourcePolicy.resourcesOf(latestConfig(application)), Collectors.toList())))
+				.forEach(quotaLedger::reserve);
+		LocalDateTime now = LocalDateTime.now();
+		List<ProvisioningOutbox> outboxes = applications.stream()
+				.map(application -> newOutbox(application, claimed, now))
+				.toList();
+
+		applicationRepository.saveAll(applications);
+		outboxRepository.saveAll(outboxes);
+		return outboxes.stream().map(ProvisioningOutbox::getOutboxId).toList();
+	}
+
+	private ProvisioningOutbox newOutbox(Application application, boolean claimed, LocalDateTime now) {
+		ProvisioningOutbox outbox = new ProvisioningOutbox();
+		outbox.setOutboxId(UUID.randomUUID().toString());
+		outbox.setAppId(application.getAppId());
+		outbox.setEventType(OutboxEventType.CREATE);
+		outbox.setNextAttemptAt(now);
+		if (claimed) {
+			outbox.setStatus(OutboxStatus.IN_PROGRESS);
+			outbox.setAttempts(1);
+			outbox.setLeaseExpiresAt(now.plus(lease));
+		} else {
+			outbox.setStatus(OutboxStatus.PENDING);
+		}
+		return outbox;
+	}
+
+	public boolean claim(String outboxId) {
+		LocalDateTime now = LocalDateTime.now();
+		return outboxRepository.claim(outboxId, now, now.plus(lease)) == 1;
+	}
+
+	/**
+	 * 선점된 outbox 를 실행한다.
+	 *
+	 * @param retryable false 이면 첫 실패에서 바로 보상 후 FAILED 처리한다 (동기 API 경로)
+	 * @return 실패 시 오류 메시지, 성공 또는 재시도 예약 시 empty
+	 */
+	public Optional<String> execute(String outboxId, boolean retryable) {
+		ProvisioningOutbox outbox = outboxRepository.findById(outboxId).orElse(null);
+		if (outbox == null) {
+			return Optional.of("outbox not found: " + outboxId);
+		}
+
+		Application application = applicationRepository.findWithConfigsByAppId(outbox.getAppId()).orElse(null);
+		if (application == null || application.getConfigs().isEmpty()) {
+			String error = "application not found: " + outbox.getAppId();
+			release(outboxId, OutboxStatus.FAILED, error, LocalDateTime.now());
+			return Optional.of(error);
+		}
+
+		Config config = latestConfig(application);
+
+		Timer.Sample total = Timer.start(meterRegistry);
+		String phase = "deployment";
+		try {
+			Timer.Sample deploymentPhase = Timer.start(meterRegistry);
+			String deploymentUid = containerProvisioner.createDeployment(application, config);
+			deploymentPhase.stop(phaseTimer(phase, "SUCCESS"));
+			updateStatus(application.getAppId(), ProvisioningStatus.DEPLOYMENT_CREATED, null);
+
+			phase = "service_ingress";
+			Timer.Sample serviceIngressPhase = Timer.start(meterRegistry);
+			containerProvisioner.createServiceAndIngress(application, config, deploymentUid);
+			serviceIngressPhase.stop(phaseTimer(phase, "SUCCESS"));
+			updateStatus(application.getAppId(), ProvisioningStatus.PROVISIONED, null);
+			release(outboxId, OutboxStatus.COMPLETED, null, LocalDateTime.now());
+			total.stop(phaseTimer("total", "SUCCESS"));
+
+			log.info("Container provisioned. ContainerId: {}, Attempt: {}", application.getAppId(), outbox.getAttempts());
+			return Optional.empty();
+		} catch (ApiException e) {
+			total.stop(phaseTimer("total", "FAILED_AT_" + phase.toUpperCase()));
+			String error = e.getCode() + " " + e.getMessage();
+			if (retryable && isRetryable(e) && outbox.getAttempts() < maxAttempts) {
+				LocalDateTime nextAttemptAt = LocalDateTime.now().plus(backoff(outbox.getAttempts(), e));
+				log.warn("Provisioning attempt {} failed for {}, retrying at {}. Error: {}",
+						outbox.getAttempts(), application.getAppId(), nextAttemptAt, error);
+				release(outboxId, OutboxStatus.PENDING, error, nextAttemptAt);
+				return Optional.empty();
+			}
+			log.error("Failed to provision container {}. Error: {}", application.getAppId(), error, e);
+			compensate(outboxId, application, config, error);
+			return Optional.of(error);
+		} catch (RuntimeException e) {
+			total.stop(phaseTimer("total", "FAILED_AT_" + phase.toUpperCase()));
+			log.error("Failed to provision container {}. Error: {}", application.getAppId(), e.getMessage(), e);
+			compensate(outboxId, application, config, e.getMessage());
+			return Optional.of(String.valueOf(e.getMessage()));
+		}
+	}
+
+	/**
+	 * 선점된 outbox 를 비동기로 실행한다 (reactive API). 첫 실패에서 바로 보상 후 FAILED 처리하는 execute(outboxId, false) 와 같다.
+	 * Kubernetes 생성 호출은 스레드를 막지 않고, DB 작업과 보상(삭제)은 dbExecutor 에서 실행한다.
+	 *
+	 * @return 실패 시 오류 메시지, 성공 시 empty
+	 */
+	public CompletableFuture<Optional<String>> executeAsync(String outboxId, Executor dbExecutor) {
+		return CompletableFuture.supplyAsync(() -> outboxRepository.findById(outboxId)
+						.flatMap(outbox -> applicationRepository.findWithConfigsByAppId(outbox.getAppId())), dbExecutor)
+				.thenCompose(found -> {
+					if (found.isEmpty() || found.get().getConfigs().isEmpty()) {
+						String error = "application not found for outbox: " + outboxId;
+						return CompletableFuture.supplyAsync(() -> {
+							release(outboxId, OutboxStatus.FAILED, error, LocalDateTime.now());
+							return Optional.of(error);
+						}, dbExecutor);
+					}
+					return provisionAsync(outboxId, found.get(), dbExecutor);
+				});
+	}
+
+	private CompletableFuture<Optional<String>> provisionAsync(String outboxId, Application application, Executor dbExecutor) {
+		Config config = latestConfig(application);
+		AtomicReference<String> phase = new AtomicReference<>("deployment");
+		Timer.Sample total = Timer.start(meterRegistry);
+		Timer.Sample deploymentPhase = Timer.start(meterRegistry);
+
+		return containerProvisioner.createDeploymentAsync(application, config, dbExecutor)
+				.thenApplyAsync(deploymentUid -> {
+					deploymentPhase.stop(phaseTimer("deployment", "SUCCESS"));
+					updateStatus(application.getAppId(), ProvisioningStatus.DEPLOYMENT_CREATED, null);
+					phase.set("service_ingress");
+					return deploymentUid;
+				}, dbExecutor)
+				.thenCompose(deploymentUid -> {
+					Timer.Sample serviceIngressPhase = Timer.start(meterRegistry);
+					return containerProvisioner.createServiceAndIngressAsync(application, config, deploymentUid)
+							.thenRun(() -> serviceIngressPhase.stop(phaseTimer("service_ingress", "SUCCESS")));
+				})
+				.thenApplyAsync(ignored -> {
+					updateStatus(application.getAppId(), ProvisioningStatus.PROVISIONED, null);
+					release(outboxId, OutboxStatus.COMPLETED, null, LocalDateTime.now());
+					total.stop(phaseTimer("total", "SUCCESS"));
+					log.info("Container provisioned. ContainerId: {}", application.getAppId());
+					return Optional.<String>empty();
+				}, dbExecutor)
+				.exceptionallyAsync(failure -> {
+					Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+					total.stop(phaseTimer("total", "FAILED_AT_" + phase.get().toUpperCase()));
+					String error = cause instanceof ApiException e ? e.getCode() + " " + e.getMessage() : String.valueOf(cause.getMessage());
+					log.error("Failed to provision container {}. Error: {}", application.getAppId(), error, cause);
+					compensate(outboxId, application, config, error);
+					return Optional.of(error);
+				}, dbExecutor);
+	}
+
+	/**
+	 * Application(Config 포함)과 남은 outbox 를 한 트랜잭션으로 삭제하고 할당량을 돌려준다.
+	 * FAILED 는 보상 단계에서 이미 돌려줬으므로 제외한다.
+	 * DB 기록을 먼저 지우므로 이후 Kubernetes 삭제가 실패하거나 진행 중이던 생성이 리소스를 만들어도
+	 * OrphanResourceCollector 가 고아로 보고 정리한다.
+	 *
+	 * @return 삭제된 Application, 없으면 empty
+	 */
+	@Transactional
+	public Optional<Application> remove(String appId) {
+		Optional<Application> application = applicationRepository.findWithConfigsByAppId(appId);
+		application.ifPresent(found -> {
+			outboxRepository.deleteByAppId(appId);
+			applicationRepository.delete(found);
+			if (found.getProvisioningStatus() != ProvisioningStatus.FAILED && !found.getConfigs().isEmpty()) {
+				quotaLedger.release(found.getOwnerUserId(), resourcePolicy.resourcesOf(latestConfig(found)));
+			}
+		});
+		return application;
+	}
+
+	/**
+	 * remove() 로 DB 에서 지운 애플리케이션의 Kubernetes 리소스를 삭제한다.
+	 * 삭제 실패는 기록만 하고 OrphanResourceCollector 에 맡긴다.
+	 */
+	public void teardown(Application application) {
+		try {
+			containerProvisioner.deleteResources(application);
+		} catch (ApiException | RuntimeException e) {
+			log.warn("Failed to delete resources of container {}, leaving them to the orphan collector. Error: {}",
+					application.getAppId(), e.getMessage());
+		}
+	}
+
+	private static Config latestConfig(Application application) {
+		return application.getConfigs().stream()
+				.max(Comparator.comparing(Config::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder())))
+				.orElseThrow();
+	}
+
+	private void compensate(String outboxId, Application application, Config config, String error) {
+		try {
+			containerProvisioner.deleteResources(application);
+		} catch (ApiException e) {
+			// 삭제 실패 시에도 상태는 FAILED 로 남기고, 남은 리소스는 app-id 라벨로 추적 가능
+			log.error("Compensation failed for container {}. Error: {}", application.getAppId(), e.getMessage(), e);
+		}
+		// 그 사이 remove() 로 지워졌으면 할당량은 거기서 이미 돌려줬다
+		transactionTemplate.executeWithoutResult(status -> {
+			int updated = applicationRepository.updateProvisioningStatus(application.getAppId(), ProvisioningStatus.FAILED,
+					truncate(error), LocalDateTime.now());
+			release(outboxId, OutboxStatus.FAILED, error, LocalDateTime.now());
+			if (updated == 1) {
+				quotaLedger.release(application.getOwnerUserId(), resourcePolicy.resourcesOf(config));
+			}
+		});
+	}
+
+	private Timer phaseTimer(String phase, String outcome) {
+		return Timer.builder(PHASE_TIMER)
+				.description("Container provisioning phase latency")
+				.tags("phase", phase, "outcome", outcome)
+				.publishPercentileHistogram()
+				.register(meterRegistry);
+	}
+
+	// 네트워크 오류(code 0), 429, 5xx 만 재시도
+	private static boolean isRetryable(ApiException e) {
+		return e.getCode() == 0 || e.getCode() == 429 || e.getCode() >= 500;
+	}
+
+	// 429 응답이면 API 서버가 요청한 Retry-After 보다 먼저 재시도하지 않는다
+	private Duration backoff(int attempts, ApiException e) {
+		Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 16));
+		if (e.getCode() == KubernetesRateLimitInterceptor.TOO_MANY_REQUESTS && e.getResponseHeaders() != null) {
+			List<String> retryAfter = e.getResponseHeaders().get("retry-after");
+			if (retryAfter != null && !retryAfter.isEmpty()) {
+				Duration requested = KubernetesRateLimitInterceptor.retryAfterOf(retryAfter.get(0));
+				delay = requested.compareTo(delay) > 0 ? requested : delay;
+			}
+		}
+		return delay.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : delay;
+	}
+
+	private void updateStatus(String appId, ProvisioningStatus status, String error) {
+		applicationRepository.updateProvisioningStatus(appId, status, truncate(error), LocalDateTime.now());
+	}
+
+	private void release(String outboxId, OutboxStatus status, String error, LocalDateTime nextAttemptAt) {
+		outboxRepository.release(outboxId, status, truncate(error), nextAttemptAt, LocalDateTime.now());
+	}
+
+	private static String truncate(String error) {
+		return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+	}
+}
@@ -0,0 +1,136 @@
+package caas.service;
+
+import caas.dto.request.ContainerCreateRequestDto;
+import caas.dto.response.ContainerCreateResponseDto;
+import caas.dto.response.ContainerListResponseDto;
+import caas.dto.response.ErrorCode;
+import caas.entity.Application;
+import caas.exception.CaasException;
+import caas.kubernetes.DeploymentStatusResolver;
+import caas.kubernetes.KubernetesAsyncCalls;
+import caas.kubernetes.KubernetesCluster;
+import caas.kubernetes.KubernetesClusterRegistry;
+import caas.kubernetes.KubernetesRequestPriority;
+import caas.repositoty.ApplicationRepository;
+import caas.repositoty.projection.ContainerView;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.AppsV1Api;
+import io.kubernetes.client.openapi.models.V1Deployment;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.net.HttpURLConnection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 요청 스레드를 막지 않는 컨테이너 API (/reactive/container).
+ * Kubernetes 호출은 비동기 클라이언트(OkHttp dispatcher)로, JPA 호출은 Hikari 풀 크기로 제한된 jpaScheduler 에서 실행한다.
+ * 상태 조회 / 생성 로직과 보호 계층(bulkhead, circuit breaker, rate limit)은 동기 API 와 같다.
+ */
+@Slf4j
+@Service
+public class ReactiveContainerService {
+
+	private final ContainerService containerService;
+	private final ApplicationRepository applicationRepository;
+	private final ProvisioningSaga provisioningSaga;
+	private final KubernetesClusterRegistry clusters;
+	private final ContainerPlacementScheduler placementScheduler;
+	private final WarmDeploymentPool warmPool;
+	private final ContainerResourcePolicy resourcePolicy;
+	private final Scheduler jpaScheduler;
+	private final int statusLookupConcurrency;
+
+	public ReactiveContainerService(ContainerService containerService,
+									ApplicationRepository applicationRepository,
+									ProvisioningSaga provisioningSaga,
+									KubernetesClusterRegistry clusters,
+									ContainerPlacementScheduler placementScheduler,
+									WarmDeploymentPool warmPool,
+									ContainerResourcePolicy resourcePolicy,
+									@Qualifier("jpaScheduler") Scheduler jpaScheduler,
+									@Value("${caas.container.status-lookup.max-concurrency:8}") int statusLookupConcurrency) {
+		this.containerService = containerService;
+		this.applicationRepository = applicationRepository;
+		this.provisioningSaga = provisioningSaga;
+		this.clusters = clusters;
+		this.placementScheduler = placementScheduler;
+		this.warmPool = warmPool;
+		this.resourcePolicy = resourcePolicy;
+		this.jpaScheduler = jpaScheduler;
+		this.statusLookupConcurrency = Math.max(1, statusLookupConcurrency);
+	}
+
+	public Mono<ContainerCreateResponseDto> createContainer(ContainerCreateRequestDto request) {
+		return Mono.defer(() -> {
+			String containerId = UUID.randomUUID().toString();
+			ContainerResources resources = resourcePolicy.resolve(request);
+
+			// 배치는 스케줄러 잠금을, 할당량 예약과 DB 기록은 JPA 호출을 기다리므로 요청 스레드가 아닌 jpaScheduler 에서 한다
+			return Mono.fromCallable(() -> {
+						Application application = ContainerService.newApplication(request, containerId, placementScheduler.place(resources));
+						warmPool.claim(application, request.getImageLink(), resources);
+						application.getConfigs().add(ContainerService.newConfig(request, resources, application));
+						return provisioningSaga.begin(application, true);
+					})
+					.subscribeOn(jpaScheduler)
+					.flatMap(outboxId -> Mono.fromFuture(() -> provisioningSaga.executeAsync(outboxId, jpaScheduler::schedule)))
+					.flatMap(failure -> {
+						if (failure.isPresent()) {
+							log.error("Container creation failed. ContainerId: {}, Error: {}", containerId, failure.get());
+							return Mono.error(new CaasException(ErrorCode.CONTAINER_CREATE_FAILED));
+						}
+						log.info("Container created successfully. ContainerId: {}", containerId);
+						return Mono.just(ContainerService.toCreateResponse(request, containerId));
+					});
+		});
+	}
+
+	/**
+	 * 컨테이너 목록. Informer 캐시로 답할 수 없는 상태만 API 서버에서 조회하며, 요청당 동시 조회 수는 max-concurrency 로 제한한다.
+	 */
+	public Mono<ContainerListResponseDto> getContainers(StatusReadMode readMode) {
+		boolean cached = containerService.effective(readMode) == StatusReadMode.CACHED;
+		return Mono.fromCallable(() -> applicationRepository.findContainerViewsByOwnerUserId(ContainerService.DEFAULT_OWNER_USER_ID))
+				.subscribeOn(jpaScheduler)
+				.flatMapMany(Flux::fromIterable)
+				.flatMapSequential(container -> cached
+						? Mono.just(ContainerService.toContainerInfo(container, container.cachedStatus()))
+						: deploymentStatus(container).map(status -> ContainerService.toContainerInfo(container, status)),
+						statusLookupConcurrency)
+				.collectList()
+				.map(ContainerService::toListResponse);
+	}
+
+	private Mono<String> deploymentStatus(ContainerView container) {
+		Optional<String> local = containerService.localDeploymentStatus(container);
+		return local.map(Mono::just).orElseGet(() -> readDeploymentStatus(container));
+	}
+
+	private Mono<String> readDeploymentStatus(ContainerView container) {
+		KubernetesCluster cluster = clusters.get(container.k8sCluster());
+		AppsV1Api appsV1Api = cluster.appsV1Api();
+		String namespace = container.k8sNamespace();
+		String deploymentName = container.k8sDeploymentName();
+		return Mono.fromFuture(() -> cluster.resilience().readAsync("read_deployment", namespace, () ->
+						KubernetesAsyncCalls.<V1Deployment>execute(appsV1Api.getApiClient(),
+								() -> appsV1Api.readNamespacedDeployment(deploymentName, namespace).buildCall(null),
+								V1Deployment.class, KubernetesRequestPriority.INTERACTIVE)))
+				.map(DeploymentStatusResolver::resolve)
+				.onErrorResume(ApiException.class, e -> {
+					if (e.getCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+						return Mono.just(DeploymentStatusResolver.STOPPED);
+					}
+					// API 서버 장애 / circuit open / bulkhead 포화: 마지막으로 알려진 상태로 응답
+					log.warn("Failed to get deployment status for {} in namespace {}, serving last known status: {}",
+							deploymentName, namespace, e.getMessage());
+					return Mono.fromSupplier(() -> containerService.lastKnownStatus(container));
+				});
+	}
+}
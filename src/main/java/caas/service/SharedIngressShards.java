@@ -0,0 +1,280 @@
+package caas.service;
+
+import caas.entity.Application;
+import caas.kubernetes.KubernetesCluster;
+import caas.kubernetes.KubernetesResilience;
+import caas.kubernetes.KubernetesClusterRegistry;
+import caas.kubernetes.KubernetesIngressMode;
+import caas.kubernetes.KubernetesLabels;
+import caas.kubernetes.LeadershipChangedEvent;
+import caas.repositoty.ApplicationRepository;
+import caas.repositoty.projection.IngressRouteView;
+import io.kubernetes.client.custom.V1Patch;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.JSON;
+import io.kubernetes.client.openapi.apis.NetworkingV1Api;
+import io.kubernetes.client.openapi.models.*;
+import io.kubernetes.client.util.PatchUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.HttpURLConnection;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 공유 Ingress 샤드 (kubernetes.ingress.mode=SHARED).
+ * 컨테이너별 Ingress 대신 host 규칙을 sanitize 된 클러스터 이름의 해시로 고정된 수의 Ingress({@value #SHARD_NAME_PREFIX}{n})에 나눠 담는다.
+ * 샤드는 배치된 Kubernetes 클러스터 / namespace 마다 따로 있다.
+ * - 샤드의 규칙 목록은 매번 DB 의 애플리케이션 목록에서 전체를 다시 만들어 server-side apply 로 반영한다.
+ *   read-modify-write 가 없으므로 여러 스레드 / 인스턴스가 동시에 반영해도 resourceVersion 충돌이 없고,
+ *   규칙이 그대로면 API 서버가 객체를 바꾸지 않아 ingress controller 도 다시 구성하지 않는다
+ * - 등록 / 해제 요청은 샤드별로 debounce 동안 모였다가 apply 한 번으로 반영되며, 호출자는 그 apply 가 끝날 때 완료되는 future 를 받는다
+ * - 같은 샤드의 apply 는 한 번에 하나씩 실행되어, 먼저 읽은 오래된 규칙 목록이 나중에 쓰이지 않는다
+ */
+@Slf4j
+@Component
+public class SharedIngressShards {
+
+	static final String SHARD_LABEL = "caas.fast-cloud/ingress-shard";
+	private static final String SHARD_NAME_PREFIX = "caas-ingress-shard-";
+	// 모든 인스턴스가 같은 field manager 로 샤드의 규칙 전체를 소유한다
+	private static final String FIELD_MANAGER = KubernetesLabels.MANAGED_BY_VALUE;
+
+	private final KubernetesClusterRegistry clusters;
+	private final ApplicationRepository applicationRepository;
+	private final boolean enabled;
+	private final int shards;
+	private final Duration debounce;
+	private final String baseDomain;
+	private final ScheduledExecutorService scheduler;
+
+	// 다음 apply 를 기다리는 호출자. debounce 동안 들어온 요청은 같은 future 를 공유한다
+	private final Map<Shard, CompletableFuture<Void>> pending = new ConcurrentHashMap<>();
+	private final Map<Shard, Object> applyLocks = new ConcurrentHashMap<>();
+	// 규칙에서 빼는 중인 애플리케이션. DB 에서 FAILED 로 바뀌거나 삭제되어 더 이상 조회되지 않으면 함께 정리된다
+	private final Map<Shard, Set<String>> releasing = new ConcurrentHashMap<>();
+
+	public SharedIngressShards(KubernetesClusterRegistry clusters,
+							   ApplicationRepository applicationRepository,
+							   @Value("${kubernetes.ingress.mode:PER_CONTAINER}") KubernetesIngressMode mode,
+							   @Value("${kubernetes.ingress.shared.shards:16}") int shards,
+							   @Value("${kubernetes.ingress.shared.debounce:200ms}") Duration debounce,
+							   @Value("${kubernetes.ingress.shared.apply-threads:2}") int applyThreads,
+							   @Value("${kubernetes.ingress.base-domain}") String baseDomain) {
+		this.clusters = clusters;
+		this.applicationRepository = applicationRepository;
+		this.enabled = mode == KubernetesIngressMode.SHARED;
+		this.shards = Math.max(1, shards);
+		this.debounce = debounce;
+		this.baseDomain = baseDomain;
+		// TaskScheduler 빈으로 등록하면 @Scheduled 작업이 이 풀로 옮겨 가므로 내부 전용 풀을 쓴다
+		this.scheduler = Executors.newScheduledThreadPool(Math.max(1, applyThreads), new CustomizableThreadFactory("ingress-shard-"));
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public static int shardOf(String clusterName, int shards) {
+		return Math.floorMod(ContainerProvisioner.sanitizedClusterNameOf(clusterName).hashCode(), shards);
+	}
+
+	public static String shardNameOf(int shard) {
+		return SHARD_NAME_PREFIX + shard;
+	}
+
+	/**
+	 * 애플리케이션의 host 규칙을 샤드에 추가한다. 규칙이 반영된 apply 가 끝나면 완료되고, apply 가 실패하면 ApiException 으로 실패한다.
+	 */
+	public CompletableFuture<Void> register(Application application) {
+		Shard shard = shardOf(application);
+		Set<String> released = releasing.get(shard);
+		if (released != null) {
+			released.remove(application.getAppId());
+		}
+		return requestApply(shard);
+	}
+
+	/**
+	 * 애플리케이션의 host 규칙을 샤드에서 뺀다. 완료 / 실패 조건은 register() 와 같다.
+	 */
+	public CompletableFuture<Void> release(Application application) {
+		Shard shard = shardOf(application);
+		releasing.computeIfAbsent(shard, key -> ConcurrentHashMap.newKeySet()).add(application.getAppId());
+		return requestApply(shard);
+	}
+
+	/**
+	 * leader 가 되면(leader election 이 꺼져 있으면 기동 시) 모든 샤드를 DB 기준으로 다시 반영하고,
+	 * 샤드 수를 줄여 쓰이지 않게 된 샤드 Ingress 를 삭제한다. 요청 경로의 register() / release() 는 모든 인스턴스에서 동작한다.
+	 */
+	@EventListener(condition = "#event.leader")
+	public void resyncAll(LeadershipChangedEvent event) {
+		if (!enabled) {
+			return;
+		}
+		for (KubernetesCluster cluster : clusters.all()) {
+			for (int index = 0; index < shards; index++) {
+				requestApply(new Shard(cluster.name(), cluster.namespace(), index));
+			}
+			scheduler.execute(() -> deleteStaleShards(cluster));
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		scheduler.shutdownNow();
+		pending.values().forEach(future -> future.completeExceptionally(
+				new KubernetesResilience.KubernetesUnavailableException("Shared ingress apply cancelled by shutdown")));
+	}
+
+	private Shard shardOf(Application application) {
+		return new Shard(clusters.nameOf(application.getK8sCluster()), application.getK8sNamespace(),
+				shardOf(application.getAppName(), shards));
+	}
+
+	private CompletableFuture<Void> requestApply(Shard shard) {
+		return pending.computeIfAbsent(shard, key -> {
+			scheduler.schedule(() -> apply(key), debounce.toNanos(), TimeUnit.NANOSECONDS);
+			return new CompletableFuture<>();
+		}).copy();
+	}
+
+	private void apply(Shard shard) {
+		// 꺼낸 뒤에 들어온 요청은 새 future 와 다음 apply 로 간다
+		CompletableFuture<Void> waiting = pending.remove(shard);
+		synchronized (applyLocks.computeIfAbsent(shard, key -> new Object())) {
+			try {
+				applyShard(shard);
+				waiting.complete(null);
+			} catch (ApiException | RuntimeException e) {
+				log.warn("Failed to apply shared ingress {} in {}/{}: {}", shardNameOf(shard.index()), shard.cluster(),
+						shard.namespace(), e.getMessage());
+				waiting.completeExceptionally(e);
+			}
+		}
+	}
+
+	private void applyShard(Shard shard) throws ApiException {
+		KubernetesCluster cluster = clusters.get(shard.cluster());
+		NetworkingV1Api networkingV1Api = cluster.networkingV1Api();
+		String namespace = shard.namespace();
+		String ingressName = shardNameOf(shard.index());
+		Map<String, IngressRouteView> routes = routesOf(shard);
+
+		if (routes.isEmpty()) {
+			// 규칙도 defaultBackend 도 없는 Ingress 는 API 서버가 거부하므로 삭제한다
+			try {
+				cluster.resilience().write("delete_ingress", namespace, () ->
+						networkingV1Api.deleteNamespacedIngress(ingressName, namespace).execute());
+				log.info("Shared ingress deleted (no hosts): {}", ingressName);
+			} catch (ApiException e) {
+				if (e.getCode() != HttpURLConnection.HTTP_NOT_FOUND) {
+					throw e;
+				}
+			}
+			return;
+		}
+
+		V1Ingress ingress = shardManifest(ingressName, shard.index(), routes);
+		String body = JSON.serialize(ingress);
+		cluster.resilience().write("apply_ingress", namespace, () -> PatchUtils.patch(V1Ingress.class,
+				() -> networkingV1Api.patchNamespacedIngress(ingressName, namespace, new V1Patch(body))
+						.fieldManager(FIELD_MANAGER)
+						.force(true)
+						.buildCall(null),
+				V1Patch.PATCH_FORMAT_APPLY_YAML,
+				networkingV1Api.getApiClient()));
+		log.info("Shared ingress applied: {} with {} hosts", ingressName, routes.size());
+	}
+
+	// key: host. 같은 host 는 나중에 만든 애플리케이션이 가져간다 (조회가 created_at 오름차순)
+	private Map<String, IngressRouteView> routesOf(Shard shard) {
+		List<IngressRouteView> candidates = applicationRepository.findIngressRoutes(shard.cluster(),
+				clusters.defaultCluster().name(), shard.namespace());
+		Set<String> released = releasing.getOrDefault(shard, new HashSet<>());
+		Set<String> present = new HashSet<>();
+		Map<String, IngressRouteView> routes = new TreeMap<>();
+		for (IngressRouteView route : candidates) {
+			present.add(route.appId());
+			if (shardOf(route.appName(), shards) == shard.index() && !released.contains(route.appId())) {
+				routes.put(ContainerProvisioner.hostOf(route.appName(), baseDomain), route);
+			}
+		}
+		released.retainAll(present);
+		return routes;
+	}
+
+	private void deleteStaleShards(KubernetesCluster cluster) {
+		NetworkingV1Api networkingV1Api = cluster.networkingV1Api();
+		String namespace = cluster.namespace();
+		try {
+			V1IngressList ingresses = cluster.resilience().read("list_ingress", namespace, () ->
+					networkingV1Api.listNamespacedIngress(namespace)
+							.labelSelector(KubernetesLabels.MANAGED_SELECTOR + "," + SHARD_LABEL)
+							.execute());
+			for (V1Ingress ingress : ingresses.getItems()) {
+				Map<String, String> labels = ingress.getMetadata().getLabels();
+				String shard = labels == null ? null : labels.get(SHARD_LABEL);
+				if (shard != null && Integer.parseInt(shard) >= shards) {
+					String ingressName = ingress.getMetadata().getName();
+					cluster.resilience().write("delete_ingress", namespace, () ->
+							networkingV1Api.deleteNamespacedIngress(ingressName, namespace).execute());
+					log.info("Stale shared ingress deleted: {}", ingressName);
+				}
+			}
+		} catch (ApiException | RuntimeException e) {
+			log.warn("Failed to clean up stale shared ingresses in {}/{}: {}", cluster.name(), namespace, e.getMessage());
+		}
+	}
+
+	private static V1Ingress shardManifest(String ingressName, int shard, Map<String, IngressRouteView> routes) {
+		List<V1IngressRule> rules = routes.entrySet().stream()
+				.map(entry -> new V1IngressRule()
+						.host(entry.getKey())
+						.http(new V1HTTPIngressRuleValue()
+								.paths(List.of(
+										new V1HTTPIngressPath()
+												.path("/")
+												.pathType("Prefix")
+												.backend(new V1IngressBackend()
+														.service(new V1IngressServiceBackend()
+																.name(entry.getValue().k8sServiceName())
+																.port(new V1ServiceBackendPort()
+																		.number(entry.getValue().internalPort()))))))))
+				.toList();
+
+		return new V1Ingress()
+				.apiVersion("networking.k8s.io/v1")
+				.kind("Ingress")
+				.metadata(new V1ObjectMeta()
+						.name(ingressName)
+						.labels(Map.of(
+								KubernetesLabels.MANAGED_BY, KubernetesLabels.MANAGED_BY_VALUE,
+								SHARD_LABEL, String.valueOf(shard)))
+						.annotations(Map.of(
+								"nginx.ingress.kubernetes.io/rewrite-target", "/",
+								"nginx.ingress.kubernetes.io/ssl-redirect", "false"
+						)))
+				.spec(new V1IngressSpec()
+						.ingressClassName("nginx")
+						.rules(rules));
+	}
+
+	private record Shard(String cluster, String namespace, int index) {
+	}
+}
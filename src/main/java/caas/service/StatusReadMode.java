@@ -0,0 +1,11 @@
+package caas.service;
+
+/**
+ * 컨테이너 목록의 상태값 출처.
+ */
+public enum StatusReadMode {
+	/** Informer 캐시(미동기화 시 API 서버)에서 실시간 상태를 읽는다. */
+	LIVE,
+	/** 재조정기가 기록한 caas_application.cached_status 를 그대로 사용한다. Kubernetes 를 전혀 조회하지 않는다. */
+	CACHED
+}
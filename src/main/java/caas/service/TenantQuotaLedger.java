@@ -0,0 +1,153 @@
+package caas.service;
+
+import caas.dto.response.ErrorCode;
+import caas.exception.CaasException;
+import caas.repositoty.ApplicationRepository;
+import caas.repositoty.TenantQuotaUsageRepository;
+import caas.repositoty.projection.OwnerUsageView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 소유자(ownerUserId)별 할당량 장부.
+ * 사용량은 DB 의 소유자별 행(caas_tenant_quota_usage)에 있고, 생성 요청은 애플리케이션 목록을 다시 세지 않고
+ * 그 행 하나를 한도 조건이 붙은 UPDATE 로 늘려 보는 것으로 허용 / 거절된다.
+ * 행 잠금으로 동시 요청이 차례로 평가되므로 컨트롤 서버가 여러 대여도 함께 한도를 넘지 못한다.
+ * 예약과 반환은 애플리케이션을 기록 / 삭제하는 트랜잭션 안에서만 호출된다(MANDATORY). 행은 애플리케이션과 함께
+ * 커밋되거나 함께 롤백되므로, 예약 후 기록 전에 서버가 죽어도 어긋나지 않고 기동 시 다시 맞출 필요가 없다.
+ * - reserve(): ProvisioningSaga.begin() / beginAll()
+ * - release(): 생성 saga 가 실패(FAILED)로 끝나 보상할 때, 애플리케이션을 삭제할 때 (ProvisioningSaga)
+ * 행이 없는 소유자는 처음 예약할 때 DB 의 생성 실패가 아닌 애플리케이션과 최신 Config 의 크기로 만든다.
+ *
+ * caas.quota.rejections (counter): 넘은 항목(containers, cpu, memory)별 거절 수
+ */
+@Service
+public class TenantQuotaLedger {
+
+	private final ApplicationRepository applicationRepository;
+	private final TenantQuotaUsageRepository usageRepository;
+	private final ContainerResourcePolicy resourcePolicy;
+	private final MeterRegistry meterRegistry;
+	private final boolean enabled;
+	private final Usage limit;
+
+	public TenantQuotaLedger(ApplicationRepository applicationRepository,
+							 TenantQuotaUsageRepository usageRepository,
+							 ContainerResourcePolicy resourcePolicy,
+							 MeterRegistry meterRegistry,
+							 @Value("${caas.quota.enabled:true}") boolean enabled,
+							 @Value("${caas.quota.max-containers:50}") long maxContainers,
+							 @Value("${caas.quota.cpu:20}") String cpu,
+							 @Value("${caas.quota.memory:40Gi}") String memory) {
+		this.applicationRepository = applicationRepository;
+		this.usageRepository = usageRepository;
+		this.resourcePolicy = resourcePolicy;
+		this.meterRegistry = meterRegistry;
+		this.enabled = enabled;
+		this.limit = new Usage(maxContainers, ContainerResourcePolicy.millicoresOf(cpu), ContainerResourcePolicy.bytesOf(memory));
+	}
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void reserve(String ownerUserId, ContainerResources resources) {
+		reserve(ownerUserId, List.of(resources));
+	}
+
+	/**
+	 * 모두 들어가면 한 번에 예약하고, 하나라도 넘으면 아무것도 예약하지 않고 CONTAINER_QUOTA_EXCEEDED 를 던진다.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void reserve(String ownerUserId, List<ContainerResources> resources) {
+		if (!enabled) {
+			return;
+		}
+		Usage requested = Usage.of(resources);
+		if (tryReserve(ownerUserId, requested)) {
+			return;
+		}
+		Optional<OwnerUsageView> current = usageRepository.findUsage(ownerUserId);
+		if (current.isEmpty()) {
+			initialize(ownerUserId);
+			if (tryReserve(ownerUserId, requested)) {
+				return;
+			}
+			current = usageRepository.findUsage(ownerUserId);
+		}
+		String exceeded = current.map(usage -> Usage.of(usage).plus(requested).exceeded(limit)).orElse(null);
+		Counter.builder("caas.quota.rejections")
+				.description("Container creations rejected by the per-owner quota")
+				.tag("resource", exceeded != null ? exceeded : "containers")
+				.register(meterRegistry)
+				.increment();
+		throw new CaasException(ErrorCode.CONTAINER_QUOTA_EXCEEDED);
+	}
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void release(String ownerUserId, ContainerResources resources) {
+		release(ownerUserId, List.of(resources));
+	}
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void release(String ownerUserId, List<ContainerResources> resources) {
+		if (!enabled) {
+			return;
+		}
+		Usage released = Usage.of(resources);
+		usageRepository.release(ownerUserId, released.containers(), released.cpuMillicores(), released.memoryBytes());
+	}
+
+	private boolean tryReserve(String ownerUserId, Usage requested) {
+		return usageRepository.reserve(ownerUserId, requested.containers(), requested.cpuMillicores(), requested.memoryBytes(),
+				limit.containers(), limit.cpuMillicores(), limit.memoryBytes()) == 1;
+	}
+
+	// 아직 예약한 적 없는 소유자의 행을 DB 의 애플리케이션으로 만든다. 다른 서버가 먼저 만들었으면 그 행을 쓴다
+	private void initialize(String ownerUserId) {
+		ContainerResources defaults = resourcePolicy.defaults();
+		Usage usage = applicationRepository.sumUsageOfOwner(ownerUserId, defaults.cpuMillicores(), defaults.memoryBytes()).stream()
+				.findFirst()
+				.map(Usage::of)
+				.orElse(Usage.NONE);
+		usageRepository.insertIfAbsent(ownerUserId, usage.containers(), usage.cpuMillicores(), usage.memoryBytes());
+	}
+
+	private record Usage(long containers, long cpuMillicores, long memoryBytes) {
+
+		private static final Usage NONE = new Usage(0, 0, 0);
+
+		static Usage of(OwnerUsageView owner) {
+			return new Usage(owner.containers(), owner.cpuMillicores(), owner.memoryBytes());
+		}
+
+		static Usage of(List<ContainerResources> resources) {
+			long cpuMillicores = 0;
+			long memoryBytes = 0;
+			for (ContainerResources container : resources) {
+				cpuMillicores += container.cpuMillicores();
+				memoryBytes += container.memoryBytes();
+			}
+			return new Usage(resources.size(), cpuMillicores, memoryBytes);
+		}
+
+		Usage plus(Usage other) {
+			return new Usage(containers + other.containers, cpuMillicores + other.cpuMillicores, memoryBytes + other.memoryBytes);
+		}
+
+		// 넘은 항목 이름, 모두 한도 안이면 null
+		String exceeded(Usage limit) {
+			if (containers > limit.containers) {
+				return "containers";
+			}
+			if (cpuMillicores > limit.cpuMillicores) {
+				return "cpu";
+			}
+			return memoryBytes > limit.memoryBytes ? "memory" : null;
+		}
+	}
+}
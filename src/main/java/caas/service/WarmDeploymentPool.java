@@ -0,0 +1,496 @@
+package caas.service;
+
+import caas.entity.Application;
+import caas.kubernetes.DeploymentStatusResolver;
+import caas.kubernetes.KubernetesAsyncCalls;
+import caas.kubernetes.KubernetesCluster;
+import caas.kubernetes.KubernetesClusterRegistry;
+import caas.kubernetes.KubernetesLabels;
+import caas.kubernetes.KubernetesLeaderElection;
+import caas.kubernetes.KubernetesRequestPriority;
+import caas.repositoty.ApplicationRepository;
+import io.kubernetes.client.custom.V1Patch;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.JSON;
+import io.kubernetes.client.openapi.apis.AppsV1Api;
+import io.kubernetes.client.openapi.models.V1Container;
+import io.kubernetes.client.openapi.models.V1Deployment;
+import io.kubernetes.client.openapi.models.V1DeploymentSpec;
+import io.kubernetes.client.openapi.models.V1LabelSelector;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1PodSpec;
+import io.kubernetes.client.openapi.models.V1PodTemplateSpec;
+import io.kubernetes.client.openapi.models.V1ResourceRequirements;
+import io.kubernetes.client.util.PatchUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 자주 쓰는 이미지의 Deployment 를 미리 띄워 두고(warm pool) 생성 요청에 할당한다.
+ * 대기 중인 Deployment 는 managed-by={@value KubernetesLabels#WARM_POOL_MANAGED_BY_VALUE} 라벨이라 Informer 에 잡히지 않는다.
+ * 할당은 두 단계다.
+ * - claim(): 생성 요청에서 애플리케이션의 Deployment 이름을 대기 중인 것으로 바꾼다 (메모리에서만 꺼냄)
+ * - adopt(): saga 가 Deployment 를 만드는 대신 라벨(managed-by / app-id / owner)만 merge patch 한다.
+ *   읽은 resourceVersion 을 patch 에 넣어 그 사이에 다른 인스턴스가 먼저 할당했으면 409 로 실패하므로, 한 Deployment 는 한 애플리케이션만 가져간다.
+ *   Pod template 은 그대로라 재시작 없이 이미 스케줄 / 이미지 pull 이 끝난 Pod 를 쓰고, Service 는 app 라벨로 그 Pod 를 고른다
+ * 대기 중인 Deployment 가 사라졌거나(404) 다른 애플리케이션이 가져갔으면 애플리케이션 자신의 이름으로 바꿔(DB 포함) 새로 만든다.
+ * 대기 중인 Deployment 는 기본 크기(kubernetes.resources.default-*)로 만들며, 다른 크기를 요청한 생성은 pool 을 쓰지 않는다(unpooled).
+ * refill() 은 클러스터마다 대기 중인 Deployment 를 다시 읽어 pool 을 맞추고, 모자란 만큼 만들고 남거나 설정에서 빠진 이미지의 것은 지운다.
+ * 클러스터마다 목록 조회와 생성 / 삭제를 차례로 기다리므로 공용 @Scheduled 스레드가 아닌 내부 전용 스레드에서 실행한다.
+ * 이미 애플리케이션에 기록된 이름은 pool 에 넣지 않으므로 재시작해도 같은 Deployment 를 두 번 내주지 않는다.
+ * 모든 인스턴스가 refill() 로 자신의 pool 을 맞추고 claim() 하며, 대기 중인 Deployment 의 생성 / 삭제만 leader 가 한다.
+ * 여러 인스턴스가 같은 이름을 꺼내도 adopt() 의 조건부 patch 로 하나만 할당된다.
+ *
+ * caas.warmpool.claims (counter): cluster / image / outcome (hit, miss, unpooled) 별 할당 시도 수
+ * caas.warmpool.available (gauge): cluster / image 별 대기 중인 Deployment 수
+ */
+@Slf4j
+@Service
+public class WarmDeploymentPool {
+
+	public static final String NAME_PREFIX = "caas-warm-";
+	private static final String UNPOOLED_IMAGE = "unpooled";
+	// 읽은 뒤 patch 전에 Deployment 가 바뀌면(상태 갱신, 다른 인스턴스의 할당) 다시 읽는 횟수
+	private static final int MAX_ADOPT_ATTEMPTS = 3;
+
+	private final KubernetesClusterRegistry clusters;
+	private final ApplicationRepository applicationRepository;
+	private final KubernetesLeaderElection leaderElection;
+	private final MeterRegistry meterRegistry;
+	private final ContainerResourcePolicy resourcePolicy;
+	private final boolean enabled;
+	private final int size;
+	private final Duration claimTimeout;
+	private final Duration refillInterval;
+	private final ScheduledExecutorService refiller;
+	// image -> 이미지 키. 클러스터 / 이미지 목록은 기동 후 바뀌지 않으므로 생성자에서 채운 뒤 읽기만 한다
+	private final Map<String, String> imageKeys = new HashMap<>();
+	private final Map<PoolKey, Pool> pools = new HashMap<>();
+
+	public WarmDeploymentPool(KubernetesClusterRegistry clusters,
+							  ApplicationRepository applicationRepository,
+							  KubernetesLeaderElection leaderElection,
+							  MeterRegistry meterRegistry,
+							  ContainerResourcePolicy resourcePolicy,
+							  @Value("${kubernetes.warm-pool.enabled:false}") boolean enabled,
+							  @Value("${kubernetes.warm-pool.images:}") List<String> images,
+							  @Value("${kubernetes.warm-pool.size:2}") int size,
+							  @Value("${kubernetes.warm-pool.claim-timeout:5m}") Duration claimTimeout,
+							  @Value("${kubernetes.warm-pool.refill-interval-ms:5000}") long refillIntervalMs) {
+		this.clusters = clusters;
+		this.applicationRepository = applicationRepository;
+		this.leaderElection = leaderElection;
+		this.meterRegistry = meterRegistry;
+		this.resourcePolicy = resourcePolicy;
+		this.enabled = enabled;
+		this.size = Math.max(0, size);
+		this.claimTimeout = claimTimeout;
+		this.refillInterval = Duration.ofMillis(refillIntervalMs);
+		this.refiller = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("warm-pool-refill-"));
+
+		for (String image : images) {
+			if (!image.isBlank()) {
+				imageKeys.put(image.strip(), imageKeyOf(image.strip()));
+			}
+		}
+		for (KubernetesCluster cluster : clusters.all()) {
+			for (String image : imageKeys.keySet()) {
+				Pool pool = new Pool();
+				pools.put(new PoolKey(cluster.name(), image), pool);
+				Gauge.builder("caas.warmpool.available", pool, Pool::available)
+						.description("Pre-provisioned deployments waiting to be claimed")
+						.tags("cluster", cluster.name(), "image", image)
+						.register(meterRegistry);
+			}
+		}
+	}
+
+	@PostConstruct
+	public void start() {
+		if (isEnabled()) {
+			refiller.scheduleWithFixedDelay(this::refillSafely, 0, refillInterval.toMillis(), TimeUnit.MILLISECONDS);
+		}
+	}
+
+	@PreDestroy
+	public void stop() {
+		refiller.shutdownNow();
+	}
+
+	public boolean isEnabled() {
+		return enabled && !pools.isEmpty();
+	}
+
+	public static boolean isWarmName(String deploymentName) {
+		return deploymentName != null && deploymentName.startsWith(NAME_PREFIX);
+	}
+
+	/**
+	 * 애플리케이션이 배치된 클러스터에 imageLink 의 대기 중인 Deployment 가 있으면 그 이름을 애플리케이션의 Deployment 이름으로 쓴다.
+	 * DB 에 기록하기 전에 호출해야 한다.
+	 */
+	public void claim(Application application, String imageLink, ContainerResources resources) {
+		if (!isEnabled()) {
+			return;
+		}
+		String cluster = clusters.nameOf(application.getK8sCluster());
+		Pool pool = pools.get(new PoolKey(cluster, imageLink));
+		if (pool == null) {
+			claims(cluster, UNPOOLED_IMAGE, "unpooled").increment();
+			return;
+		}
+		if (!resources.equals(resourcePolicy.defaults())) {
+			claims(cluster, imageLink, "unpooled").increment();
+			return;
+		}
+
+		Optional<String> deploymentName = pool.take();
+		claims(cluster, imageLink, deploymentName.isPresent() ? "hit" : "miss").increment();
+		deploymentName.ifPresent(name -> {
+			application.setK8sDeploymentName(name);
+			log.debug("Warm deployment {} claimed for {}", name, application.getAppId());
+		});
+	}
+
+	/**
+	 * claim() 으로 할당된 대기 중인 Deployment 를 애플리케이션의 것으로 바꾼다. 이미 이 애플리케이션의 것이면 그대로 쓴다.
+	 *
+	 * @return Deployment 를 새로 만들어야 하면 false. 이때 애플리케이션의 Deployment 이름은 자신의 것으로 바뀌어 있다
+	 */
+	public boolean adopt(Application application, Instant requestedAt) throws ApiException {
+		KubernetesCluster cluster = clusters.get(application.getK8sCluster());
+		AppsV1Api appsV1Api = cluster.appsV1Api();
+		String namespace = application.getK8sNamespace();
+		String deploymentName = application.getK8sDeploymentName();
+
+		for (int attempt = 1; ; attempt++) {
+			try {
+				V1Deployment current = cluster.resilience().read("read_warm_deployment", namespace, () ->
+						appsV1Api.readNamespacedDeployment(deploymentName, namespace).execute());
+				Holder holder = holderOf(current, application);
+				if (holder == Holder.APPLICATION) {
+					return true;
+				}
+				if (holder == Holder.OTHER) {
+					return reassign(application, "was adopted by another application");
+				}
+				V1Patch patch = adoptPatch(application, requestedAt, current.getMetadata().getResourceVersion());
+				cluster.resilience().write("adopt_deployment", namespace, () -> PatchUtils.patch(V1Deployment.class,
+						() -> appsV1Api.patchNamespacedDeployment(deploymentName, namespace, patch).buildCall(null),
+						V1Patch.PATCH_FORMAT_JSON_MERGE_PATCH,
+						appsV1Api.getApiClient()));
+				log.info("Warm deployment adopted: {} -> {}", deploymentName, application.getAppId());
+				return true;
+			} catch (ApiException e) {
+				if (e.getCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+					return reassign(application, "no longer exists");
+				}
+				if (e.getCode() != HttpURLConnection.HTTP_CONFLICT || attempt >= MAX_ADOPT_ATTEMPTS) {
+					throw e;
+				}
+			}
+		}
+	}
+
+	/**
+	 * adopt() 의 비동기 버전. 애플리케이션의 Deployment 이름을 바꿀 때의 DB 기록은 dbExecutor 에서 한다.
+	 */
+	public CompletableFuture<Boolean> adoptAsync(Application application, Instant requestedAt, Executor dbExecutor) {
+		return adoptAsync(application, requestedAt, dbExecutor, 1);
+	}
+
+	private CompletableFuture<Boolean> adoptAsync(Application application, Instant requestedAt, Executor dbExecutor, int attempt) {
+		KubernetesCluster cluster = clusters.get(application.getK8sCluster());
+		AppsV1Api appsV1Api = cluster.appsV1Api();
+		String namespace = application.getK8sNamespace();
+		String deploymentName = application.getK8sDeploymentName();
+
+		return cluster.resilience().readAsync("read_warm_deployment", namespace, () ->
+						KubernetesAsyncCalls.<V1Deployment>execute(appsV1Api.getApiClient(),
+								() -> appsV1Api.readNamespacedDeployment(deploymentName, namespace).buildCall(null),
+								V1Deployment.class, KubernetesRequestPriority.BACKGROUND))
+				.thenCompose(current -> switch (holderOf(current, application)) {
+					case APPLICATION -> CompletableFuture.completedFuture(true);
+					case OTHER -> CompletableFuture.supplyAsync(() -> reassign(application, "was adopted by another application"), dbExecutor);
+					case NONE -> {
+						V1Patch patch = adoptPatch(application, requestedAt, current.getMetadata().getResourceVersion());
+						yield cluster.resilience().writeAsync("adopt_deployment", namespace, () ->
+										KubernetesAsyncCalls.<V1Deployment>execute(appsV1Api.getApiClient(),
+												KubernetesAsyncCalls.patch(appsV1Api.getApiClient(),
+														() -> appsV1Api.patchNamespacedDeployment(deploymentName, namespace, patch).buildCall(null),
+														V1Patch.PATCH_FORMAT_JSON_MERGE_PATCH),
+												V1Deployment.class, KubernetesRequestPriority.BACKGROUND))
+								.thenApply(adopted -> {
+									log.info("Warm deployment adopted: {} -> {}", deploymentName, application.getAppId());
+									return true;
+								});
+					}
+				})
+				.exceptionallyCompose(failure -> {
+					Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+					if (cause instanceof ApiException e && e.getCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+						return CompletableFuture.supplyAsync(() -> reassign(application, "no longer exists"), dbExecutor);
+					}
+					if (cause instanceof ApiException e && e.getCode() == HttpURLConnection.HTTP_CONFLICT && attempt < MAX_ADOPT_ATTEMPTS) {
+						return adoptAsync(application, requestedAt, dbExecutor, attempt + 1);
+					}
+					return CompletableFuture.failedFuture(cause);
+				});
+	}
+
+	// 같은 이름을 꺼낸 다른 인스턴스와 겹치지 않도록, warm pool 이 아닐 때 쓰는 애플리케이션 자신의 이름으로 바꾼다
+	private boolean reassign(Application application, String reason) {
+		String warmName = application.getK8sDeploymentName();
+		String deploymentName = ContainerService.deploymentNameOf(application.getAppName(), application.getAppId());
+		applicationRepository.updateDeploymentName(application.getAppId(), deploymentName);
+		application.setK8sDeploymentName(deploymentName);
+		log.warn("Warm deployment {} {}, creating {} for {}", warmName, reason, deploymentName, application.getAppId());
+		return false;
+	}
+
+	// 대기 중인 Deployment 를 가진 애플리케이션. NONE 이면 아직 대기 중이다
+	private static Holder holderOf(V1Deployment deployment, Application application) {
+		Map<String, String> labels = deployment.getMetadata().getLabels();
+		if (labels == null || KubernetesLabels.WARM_POOL_MANAGED_BY_VALUE.equals(labels.get(KubernetesLabels.MANAGED_BY))) {
+			return Holder.NONE;
+		}
+		return application.getAppId().equals(labels.get(KubernetesLabels.APP_ID)) ? Holder.APPLICATION : Holder.OTHER;
+	}
+
+	/**
+	 * 클러스터마다 pool 을 API 서버의 대기 중인 Deployment 로 맞춘다. 모자라거나 남는 Deployment 의 생성 / 삭제는 leader 만 한다.
+	 */
+	public void refill() {
+		if (!isEnabled()) {
+			return;
+		}
+		boolean leader = leaderElection.isLeader();
+		for (KubernetesCluster cluster : clusters.all()) {
+			try {
+				refill(cluster, leader);
+			} catch (ApiException | RuntimeException e) {
+				log.warn("Failed to refill warm pool in cluster {}: {}", cluster.name(), e.getMessage());
+			}
+		}
+	}
+
+	private void refillSafely() {
+		try {
+			refill();
+		} catch (RuntimeException e) {
+			log.warn("Warm pool refill failed: {}", e.getMessage());
+		}
+	}
+
+	private void refill(KubernetesCluster cluster, boolean leader) throws ApiException {
+		AppsV1Api appsV1Api = cluster.appsV1Api();
+		String namespace = cluster.namespace();
+		List<V1Deployment> waiting = cluster.resilience().read("list_warm_deployments", namespace, () ->
+				appsV1Api.listNamespacedDeployment(namespace)
+						.labelSelector(KubernetesLabels.WARM_POOL_SELECTOR)
+						.execute()).getItems();
+
+		Set<String> names = new HashSet<>();
+		waiting.forEach(deployment -> names.add(deployment.getMetadata().getName()));
+		Set<String> assigned = names.isEmpty() ? Set.of() : new HashSet<>(applicationRepository.findAssignedDeploymentNames(names));
+
+		// 이미지 키별 대기 중인 Deployment 이름 (RUNNING 인 것부터)
+		Map<String, List<String>> byImageKey = new HashMap<>();
+		waiting.stream()
+				.filter(deployment -> !assigned.contains(deployment.getMetadata().getName()))
+				.sorted(Comparator.comparing(deployment -> !DeploymentStatusResolver.RUNNING.equals(DeploymentStatusResolver.resolve(deployment))))
+				.forEach(deployment -> byImageKey.computeIfAbsent(imageKeyOf(deployment), key -> new ArrayList<>())
+						.add(deployment.getMetadata().getName()));
+
+		Set<String> surplus = new LinkedHashSet<>();
+		for (Map.Entry<String, String> image : imageKeys.entrySet()) {
+			Pool pool = pools.get(new PoolKey(cluster.name(), image.getKey()));
+			List<String> candidates = byImageKey.getOrDefault(image.getValue(), List.of());
+			surplus.addAll(pool.reset(candidates, size, Instant.now().minus(claimTimeout)));
+			if (!leader) {
+				continue;
+			}
+			for (int missing = size - pool.available(); missing > 0; missing--) {
+				createWarmDeployment(cluster, namespace, image.getKey(), image.getValue());
+			}
+		}
+		if (!leader) {
+			return;
+		}
+		// 설정에서 빠진 이미지의 대기 중인 Deployment
+		byImageKey.forEach((imageKey, deploymentNames) -> {
+			if (!imageKeys.containsValue(imageKey)) {
+				surplus.addAll(deploymentNames);
+			}
+		});
+
+		for (String deploymentName : surplus) {
+			try {
+				cluster.resilience().write("delete_warm_deployment", namespace, () ->
+						appsV1Api.deleteNamespacedDeployment(deploymentName, namespace).execute());
+				log.info("Surplus warm deployment deleted: {}", deploymentName);
+			} catch (ApiException e) {
+				if (e.getCode() != HttpURLConnection.HTTP_NOT_FOUND) {
+					throw e;
+				}
+			}
+		}
+	}
+
+	private void createWarmDeployment(KubernetesCluster cluster, String namespace, String imageLink, String imageKey) throws ApiException {
+		String deploymentName = NAME_PREFIX + imageKey + "-" + UUID.randomUUID().toString().substring(0, 8);
+		V1Deployment deployment = warmDeploymentManifest(deploymentName, imageLink, imageKey,
+				resourcePolicy.requirementsOf(resourcePolicy.defaults()));
+		cluster.resilience().write("create_warm_deployment", namespace, () ->
+				cluster.appsV1Api().createNamespacedDeployment(namespace, deployment).execute());
+		log.info("Warm deployment created: {} ({})", deploymentName, imageLink);
+	}
+
+	static V1Deployment warmDeploymentManifest(String deploymentName, String imageLink, String imageKey,
+											   V1ResourceRequirements resources) {
+		return new V1Deployment()
+				.apiVersion("apps/v1")
+				.kind("Deployment")
+				.metadata(new V1ObjectMeta()
+						.name(deploymentName)
+						.labels(Map.of(
+								KubernetesLabels.APP, deploymentName,
+								KubernetesLabels.MANAGED_BY, KubernetesLabels.WARM_POOL_MANAGED_BY_VALUE,
+								KubernetesLabels.WARM_POOL, imageKey))
+						.annotations(Map.of(KubernetesLabels.WARM_IMAGE_ANNOTATION, imageLink)))
+				.spec(new V1DeploymentSpec()
+						.replicas(1)
+						.selector(new V1LabelSelector()
+								.matchLabels(Map.of("app", deploymentName)))
+						.template(new V1PodTemplateSpec()
+								.metadata(new V1ObjectMeta()
+										.labels(Map.of("app", deploymentName)))
+								.spec(new V1PodSpec()
+										.containers(List.of(
+												new V1Container()
+														.name(deploymentName)
+														.image(imageLink)
+														.resources(resources)
+														.imagePullPolicy("IfNotPresent")
+										)))));
+	}
+
+	// 라벨을 컨트롤 서버가 만든 Deployment 와 같게 바꾼다. app 라벨과 Pod template 은 건드리지 않는다.
+	// resourceVersion 이 현재 값과 다르면 API 서버가 409 로 거절한다
+	private static V1Patch adoptPatch(Application application, Instant requestedAt, String resourceVersion) {
+		Map<String, Object> metadata = Map.of(
+				"resourceVersion", resourceVersion,
+				"labels", Map.of(
+						KubernetesLabels.MANAGED_BY, KubernetesLabels.MANAGED_BY_VALUE,
+						KubernetesLabels.APP_ID, application.getAppId(),
+						KubernetesLabels.OWNER, application.getOwnerUserId()),
+				"annotations", Map.of(KubernetesLabels.REQUESTED_AT_ANNOTATION, requestedAt.toString()));
+		return new V1Patch(JSON.serialize(Map.of("metadata", metadata)));
+	}
+
+	private Counter claims(String cluster, String image, String outcome) {
+		return Counter.builder("caas.warmpool.claims")
+				.description("Warm pool claim attempts by outcome")
+				.tags("cluster", cluster, "image", image, "outcome", outcome)
+				.register(meterRegistry);
+	}
+
+	private static String imageKeyOf(V1Deployment deployment) {
+		Map<String, String> labels = deployment.getMetadata().getLabels();
+		return labels == null ? "" : labels.getOrDefault(KubernetesLabels.WARM_POOL, "");
+	}
+
+	// 라벨 값 길이 제한(63자)과 허용 문자 때문에 이미지 이름 대신 해시 앞부분을 쓴다
+	static String imageKeyOf(String imageLink) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(imageLink.getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(digest, 0, 5);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private record PoolKey(String cluster, String image) {
+	}
+
+	private enum Holder {
+		NONE, APPLICATION, OTHER
+	}
+
+	/**
+	 * 한 클러스터 / 이미지의 대기 중인 Deployment. claim 과 refill 이 같은 이름을 동시에 다루지 않도록 모든 접근을 동기화한다.
+	 */
+	private static final class Pool {
+
+		private final Deque<String> available = new ArrayDeque<>();
+		// 이 서버가 꺼냈지만 아직 DB 에 기록되지 않았거나 라벨이 바뀌지 않은 이름 -> 꺼낸 시각
+		private final Map<String, Instant> claimed = new HashMap<>();
+
+		synchronized Optional<String> take() {
+			String deploymentName = available.pollFirst();
+			if (deploymentName != null) {
+				claimed.put(deploymentName, Instant.now());
+			}
+			return Optional.ofNullable(deploymentName);
+		}
+
+		synchronized int available() {
+			return available.size();
+		}
+
+		/**
+		 * API 서버에서 읽은 대기 중인 Deployment 로 pool 을 다시 채우고, size 를 넘는 것을 돌려준다.
+		 * 꺼낸 지 claimTimeout 이 지나도록 DB 에 기록되지 않은 이름(생성 요청 실패)은 다시 pool 에 넣는다.
+		 */
+		synchronized List<String> reset(List<String> candidates, int size, Instant claimExpiredBefore) {
+			claimed.keySet().retainAll(candidates);
+			claimed.values().removeIf(claimedAt -> claimedAt.isBefore(claimExpiredBefore));
+			available.clear();
+			List<String> surplus = new ArrayList<>();
+			for (String deploymentName : candidates) {
+				if (claimed.containsKey(deploymentName)) {
+					continue;
+				}
+				if (available.size() < size) {
+					available.addLast(deploymentName);
+				} else {
+					surplus.add(deploymentName);
+				}
+			}
+			return surplus;
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package caas.repositoty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import caas.entity.Application;
+import caas.entity.Config;
+import caas.entity.ProvisioningStatus;
+import caas.repositoty.projection.ContainerView;
+
+/**
+ * GET /container 의 목록 조회가 컨테이너 수와 관계없이 같은 수의 SQL 문으로 끝나는지(N+1 이 없는지) 확인한다.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ApplicationRepositoryTest {
+
+    private static final String OWNER_USER_ID = "1";
+    private static final int CONFIGS_PER_APP = 3;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void containerListRunsConstantNumberOfStatements() {
+        saveApplications(1);
+        long singleAppStatements = countListStatements(1);
+        assertThat(singleAppStatements).isPositive();
+
+        saveApplications(49);
+        long manyAppsStatements = countListStatements(50);
+
+        assertThat(manyAppsStatements).isEqualTo(singleAppStatements);
+    }
+
+    @Test
+    void containerListUsesLatestConfigAndSkipsFailed() {
+        saveApplications(2);
+        Application failed = newApplication();
+        failed.setProvisioningStatus(ProvisioningStatus.FAILED);
+        entityManager.persist(failed);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ContainerView> containers = applicationRepository.findContainerViewsByOwnerUserId(OWNER_USER_ID);
+
+        assertThat(containers).hasSize(2);
+        assertThat(containers).extracting(ContainerView::imageLink).containsOnly("image:" + (CONFIGS_PER_APP - 1));
+    }
+
+    private long countListStatements(int expectedContainers) {
+        entityManager.clear();
+        statistics.clear();
+
+        List<ContainerView> containers = applicationRepository.findContainerViewsByOwnerUserId(OWNER_USER_ID);
+
+        assertThat(containers).hasSize(expectedContainers);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void saveApplications(int count) {
+        for (int i = 0; i < count; i++) {
+            entityManager.persist(newApplication());
+        }
+        entityManager.flush();
+    }
+
+    private static Application newApplication() {
+        String appId = UUID.randomUUID().toString();
+        Application application = new Application();
+        application.setAppId(appId);
+        application.setAppName("app-" + appId.substring(0, 8));
+        application.setK8sNamespace("default");
+        application.setK8sDeploymentName(application.getAppName());
+        application.setK8sServiceName(application.getAppName() + "-svc");
+        application.setOwnerUserId(OWNER_USER_ID);
+        application.setCachedStatus("RUNNING");
+        application.setProvisioningStatus(ProvisioningStatus.PROVISIONED);
+        // 마지막 Config 가 최신이다 (created_at 이 같으면 config_id 가 큰 것)
+        for (int i = 0; i < CONFIGS_PER_APP; i++) {
+            Config config = new Config();
+            config.setConfigId(appId.substring(0, 8) + "-" + i);
+            config.setApplication(application);
+            config.setImageLink("image:" + i);
+            config.setExternalPort(80);
+            config.setInternalPort(8080);
+            application.getConfigs().add(config);
+        }
+        return application;
+    }
+}
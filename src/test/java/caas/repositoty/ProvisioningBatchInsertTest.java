@@ -0,0 +1,144 @@
+package caas.repositoty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import caas.entity.Application;
+import caas.entity.Config;
+import caas.entity.OutboxEventType;
+import caas.entity.OutboxStatus;
+import caas.entity.ProvisioningOutbox;
+import caas.entity.ProvisioningStatus;
+import caas.service.ContainerProvisioner;
+import caas.service.ContainerResourcePolicy;
+import caas.service.ProvisioningSaga;
+import caas.service.TenantQuotaLedger;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 일괄 생성의 DB 기록(ProvisioningSaga.beginAll)이 항목 수와 관계없이 테이블별 batch INSERT 하나로 끝나는지,
+ * 직접 id 를 정하는 엔티티(Persistable)의 save() 가 SELECT 없이 persist 되는지 확인한다.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(ProvisioningSaga.class)
+class ProvisioningBatchInsertTest {
+
+    private static final String OWNER_USER_ID = "1";
+    private static final int BATCH_SIZE = 20;
+
+    @MockBean
+    private ContainerProvisioner containerProvisioner;
+
+    @MockBean
+    private TenantQuotaLedger quotaLedger;
+
+    @MockBean
+    private ContainerResourcePolicy resourcePolicy;
+
+    @MockBean
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ProvisioningSaga provisioningSaga;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private ProvisioningOutboxRepository outboxRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void beginAllWritesEachTableWithOneBatchedStatement() {
+        List<Application> applications = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            applications.add(newApplication());
+        }
+
+        List<String> outboxIds = provisioningSaga.beginAll(applications, true);
+        entityManager.flush();
+
+        // Application / Config / outbox 각 20 행, 테이블마다 INSERT 하나
+        assertThat(outboxIds).hasSize(BATCH_SIZE);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(3L * BATCH_SIZE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void saveOfNewEntitiesPersistsWithoutSelect() {
+        Application application = newApplication();
+        ProvisioningOutbox outbox = newOutbox(application);
+
+        applicationRepository.save(application);
+        outboxRepository.save(outbox);
+        entityManager.flush();
+
+        // isNew() 가 false 였다면 merge() 가 먼저 SELECT 로 행을 찾는다
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(application.isNew()).isFalse();
+        assertThat(outbox.isNew()).isFalse();
+    }
+
+    private static Application newApplication() {
+        String appId = UUID.randomUUID().toString();
+        Application application = new Application();
+        application.setAppId(appId);
+        application.setAppName("app-" + appId.substring(0, 8));
+        application.setK8sNamespace("default");
+        application.setK8sDeploymentName(application.getAppName());
+        application.setK8sServiceName(application.getAppName() + "-svc");
+        application.setOwnerUserId(OWNER_USER_ID);
+        application.setCachedStatus("PENDING");
+        application.setProvisioningStatus(ProvisioningStatus.REQUESTED);
+
+        Config config = new Config();
+        config.setConfigId(UUID.randomUUID().toString());
+        config.setApplication(application);
+        config.setImageLink("image");
+        config.setExternalPort(80);
+        config.setInternalPort(8080);
+        application.getConfigs().add(config);
+        return application;
+    }
+
+    private static ProvisioningOutbox newOutbox(Application application) {
+        ProvisioningOutbox outbox = new ProvisioningOutbox();
+        outbox.setOutboxId(UUID.randomUUID().toString());
+        outbox.setAppId(application.getAppId());
+        outbox.setEventType(OutboxEventType.CREATE);
+        outbox.setStatus(OutboxStatus.PENDING);
+        outbox.setNextAttemptAt(LocalDateTime.now());
+        return outbox;
+    }
+}